@@ -0,0 +1,350 @@
+package cn.swj.geo.admission;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.fence.FenceSnapshot;
+import cn.swj.geo.util.CoordinateParser;
+import cn.swj.geo.util.GeoUtil;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 16:30
+ * @Description: 批量判断的准入控制。按输入规模估算成本（点位数 × 顶点数，或点位数 × 围栏数），
+ * 超过 maxCost 直接拒绝；否则按成本划分为 SMALL / MEDIUM / LARGE，每个等级用一个信号量限制同时执行的数量，
+ * 拿不到许可时排队，队列满或等待超时则拒绝。拿到许可后在截止时间内执行，GeoUtil 的批量循环中途检查截止时间，
+ * 超时抛出 DeadlineExceededException，大请求不会一直占着线程
+ * @Version 1.0
+ */
+public class AdmissionController {
+
+    // JTS buffer 默认每 1/4 圆 8 段，圆形区域约 33 个顶点
+    private static final int CIRCLE_VERTICES = 33;
+
+    private static final long DEFAULT_SMALL_MAX_COST = 1_000_000L;
+
+    private static final long DEFAULT_MEDIUM_MAX_COST = 100_000_000L;
+
+    private static final long DEFAULT_MAX_COST = 10_000_000_000L;
+
+    private static final int DEFAULT_MAX_QUEUE_LENGTH = 64;
+
+    private static final long DEFAULT_QUEUE_TIMEOUT_MILLIS = 200;
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+
+    private final long smallMaxCost;
+
+    private final long mediumMaxCost;
+
+    private final long maxCost;
+
+    private final int maxQueueLength;
+
+    private final long queueTimeoutMillis;
+
+    private final long timeoutMillis;
+
+    private final Map<CostClass, Semaphore> semaphores = new EnumMap<>(CostClass.class);
+
+    private final Map<CostClass, Integer> permits = new EnumMap<>(CostClass.class);
+
+    private final LongAdder admittedCount = new LongAdder();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final LongAdder deadlineExceededCount = new LongAdder();
+
+    /**
+     * 按 CPU 核数设置并发上限：SMALL 4 倍核数，MEDIUM 等于核数，LARGE 1 个*
+     */
+    public AdmissionController() {
+        this(DEFAULT_SMALL_MAX_COST, DEFAULT_MEDIUM_MAX_COST, DEFAULT_MAX_COST,
+                Runtime.getRuntime().availableProcessors() * 4, Runtime.getRuntime().availableProcessors(), 1,
+                DEFAULT_MAX_QUEUE_LENGTH, DEFAULT_QUEUE_TIMEOUT_MILLIS, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param smallMaxCost       SMALL 等级的成本上限
+     * @param mediumMaxCost      MEDIUM 等级的成本上限，更大的为 LARGE
+     * @param maxCost            可接受的最大成本，超过直接拒绝
+     * @param smallPermits       SMALL 等级同时执行的数量
+     * @param mediumPermits      MEDIUM 等级同时执行的数量
+     * @param largePermits       LARGE 等级同时执行的数量
+     * @param maxQueueLength     每个等级最多排队的请求数
+     * @param queueTimeoutMillis 排队最长等待 毫秒
+     * @param timeoutMillis      默认的请求截止时间 毫秒，从进入排队开始计算
+     */
+    public AdmissionController(long smallMaxCost, long mediumMaxCost, long maxCost, int smallPermits, int mediumPermits, int largePermits,
+                               int maxQueueLength, long queueTimeoutMillis, long timeoutMillis) {
+        if (smallMaxCost <= 0 || mediumMaxCost < smallMaxCost || maxCost < mediumMaxCost) {
+            throw new RuntimeException("cost thresholds must be positive and ascending");
+        }
+        if (smallPermits <= 0 || mediumPermits <= 0 || largePermits <= 0) {
+            throw new RuntimeException("permits is le 0");
+        }
+        if (maxQueueLength < 0 || queueTimeoutMillis < 0 || timeoutMillis <= 0) {
+            throw new RuntimeException("maxQueueLength, queueTimeoutMillis or timeoutMillis is out of range");
+        }
+        this.smallMaxCost = smallMaxCost;
+        this.mediumMaxCost = mediumMaxCost;
+        this.maxCost = maxCost;
+        this.maxQueueLength = maxQueueLength;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.timeoutMillis = timeoutMillis;
+        permits.put(CostClass.SMALL, smallPermits);
+        permits.put(CostClass.MEDIUM, mediumPermits);
+        permits.put(CostClass.LARGE, largePermits);
+        permits.forEach((costClass, count) -> semaphores.put(costClass, new Semaphore(count, true)));
+    }
+
+    /**
+     * 估算成本：点位数 × 顶点数，溢出时取 Long.MAX_VALUE*
+     *
+     * @param points   点位数
+     * @param vertices 顶点数或围栏数
+     * @return
+     */
+    public static long estimateCost(long points, long vertices) {
+        long a = Math.max(1, points);
+        long b = Math.max(1, vertices);
+        return a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+    }
+
+    /**
+     * 成本对应的等级*
+     *
+     * @param cost 成本
+     * @return
+     */
+    public CostClass classify(long cost) {
+        if (cost <= smallMaxCost) {
+            return CostClass.SMALL;
+        }
+        return cost <= mediumMaxCost ? CostClass.MEDIUM : CostClass.LARGE;
+    }
+
+    /**
+     * 按默认截止时间执行*
+     *
+     * @param cost 估算成本
+     * @param work 执行内容
+     * @return
+     */
+    public <T> T execute(long cost, Supplier<T> work) {
+        return execute(cost, timeoutMillis, work);
+    }
+
+    /**
+     * 申请许可后在截止时间内执行*
+     *
+     * @param cost          估算成本
+     * @param timeoutMillis 截止时间 毫秒，从进入排队开始计算
+     * @param work          执行内容
+     * @return
+     */
+    public <T> T execute(long cost, long timeoutMillis, Supplier<T> work) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        if (cost > maxCost) {
+            rejectedCount.increment();
+            throw new AdmissionRejectedException("request cost " + cost + " exceeds the limit " + maxCost + ", split it into smaller batches", cost, null);
+        }
+        CostClass costClass = classify(cost);
+        Semaphore semaphore = semaphores.get(costClass);
+        if (!semaphore.tryAcquire()) {
+            if (semaphore.getQueueLength() >= maxQueueLength) {
+                rejectedCount.increment();
+                throw new AdmissionRejectedException(costClass + " queue is full (" + maxQueueLength + "), retry later", cost, costClass);
+            }
+            long waitNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis), deadline - System.nanoTime());
+            boolean acquired;
+            try {
+                acquired = waitNanos > 0 && semaphore.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                rejectedCount.increment();
+                throw new AdmissionRejectedException(costClass + " requests are saturated, no permit within " + queueTimeoutMillis + " ms, retry later", cost, costClass);
+            }
+        }
+        admittedCount.increment();
+        try {
+            return Deadline.runUntil(deadline, work);
+        } catch (DeadlineExceededException e) {
+            deadlineExceededCount.increment();
+            throw e;
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 带准入控制的 GeoUtil.pointListIsContainedRegion*
+     *
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @param locationDTOList       待比较的点
+     * @return
+     */
+    public List<LocationDTO> pointListIsContainedRegion(List<LocationDTO> regionLocationDTOList, List<LocationDTO> locationDTOList) {
+        return execute(estimateCost(size(locationDTOList), size(regionLocationDTOList)),
+                () -> GeoUtil.pointListIsContainedRegion(regionLocationDTOList, locationDTOList));
+    }
+
+    /**
+     * 带准入控制的 GeoUtil.pointListIsContainedRegionSequence*
+     *
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @param locationDTOList       待比较的点
+     * @return
+     */
+    public List<LocationDTO> pointListIsContainedRegionSequence(List<LocationDTO> regionLocationDTOList, List<LocationDTO> locationDTOList) {
+        return execute(estimateCost(size(locationDTOList), size(regionLocationDTOList)),
+                () -> GeoUtil.pointListIsContainedRegionSequence(regionLocationDTOList, locationDTOList));
+    }
+
+    /**
+     * 带准入控制的 GeoUtil.objListIsContainedRegion*
+     *
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @param objList               待比较的对象
+     * @param lngField              经度的字段名
+     * @param latField              纬度的字段名
+     * @return
+     */
+    public <T> List<T> objListIsContainedRegion(List<LocationDTO> regionLocationDTOList, List<T> objList, String lngField, String latField) {
+        return execute(estimateCost(size(objList), size(regionLocationDTOList)),
+                () -> GeoUtil.objListIsContainedRegion(regionLocationDTOList, objList, lngField, latField));
+    }
+
+    /**
+     * 带准入控制的 GeoUtil.pointListIsContainedRoundRegion*
+     *
+     * @param roundnessDTO    圆心和半径
+     * @param locationDTOList 待比较的点
+     * @return
+     */
+    public List<LocationDTO> pointListIsContainedRoundRegion(RoundnessDTO roundnessDTO, List<LocationDTO> locationDTOList) {
+        return execute(estimateCost(size(locationDTOList), CIRCLE_VERTICES),
+                () -> GeoUtil.pointListIsContainedRoundRegion(roundnessDTO, locationDTOList));
+    }
+
+    /**
+     * 带准入控制的 GeoUtil.objListIsContainedRoundRegion*
+     *
+     * @param roundnessDTO 圆心和半径
+     * @param objList      待比较的对象
+     * @param lngField     经度的字段名
+     * @param latField     纬度的字段名
+     * @return
+     */
+    public <T> List<T> objListIsContainedRoundRegion(RoundnessDTO roundnessDTO, List<T> objList, String lngField, String latField) {
+        return execute(estimateCost(size(objList), CIRCLE_VERTICES),
+                () -> GeoUtil.objListIsContainedRoundRegion(roundnessDTO, objList, lngField, latField));
+    }
+
+    /**
+     * 带准入控制的 GeoUtil.calculateShortestDistanceFromCurve4Points*
+     *
+     * @param curveLocationDTOList 曲线的点
+     * @param locationDTOList      点位列表
+     * @param distance             指定最大距离
+     * @return
+     */
+    public List<LocationDTO> calculateShortestDistanceFromCurve4Points(List<LocationDTO> curveLocationDTOList, List<LocationDTO> locationDTOList, String distance) {
+        return execute(estimateCost(size(locationDTOList), size(curveLocationDTOList)),
+                () -> GeoUtil.calculateShortestDistanceFromCurve4Points(curveLocationDTOList, locationDTOList, distance));
+    }
+
+    /**
+     * 带准入控制的 GeoUtil.calculateShortestDistanceFromCurve4Objs*
+     *
+     * @param curveLocationDTOList 曲线的点
+     * @param objList              对象列表
+     * @param distance             指定最大距离
+     * @param lngField             经度的字段名
+     * @param latField             纬度的字段名
+     * @return
+     */
+    public <T> List<T> calculateShortestDistanceFromCurve4Objs(List<LocationDTO> curveLocationDTOList, List<T> objList, String distance, String lngField, String latField) {
+        return execute(estimateCost(size(objList), size(curveLocationDTOList)),
+                () -> GeoUtil.calculateShortestDistanceFromCurve4Objs(curveLocationDTOList, objList, distance, lngField, latField));
+    }
+
+    /**
+     * 带准入控制的批量围栏查询，成本按点位数 × 围栏数估算*
+     *
+     * @param fenceSnapshot   围栏快照
+     * @param locationDTOList 待判断的点位
+     * @return 与 locationDTOList 一一对应的围栏 ID 列表
+     */
+    public List<List<String>> fencesContaining(FenceSnapshot fenceSnapshot, List<LocationDTO> locationDTOList) {
+        if (ObjectUtil.isEmpty(fenceSnapshot)) {
+            throw new RuntimeException("fenceSnapshot is null");
+        }
+        if (CollectionUtil.isEmpty(locationDTOList)) {
+            throw new RuntimeException("locationDTOList is empty");
+        }
+        return execute(estimateCost(locationDTOList.size(), fenceSnapshot.size()), () -> {
+            List<List<String>> resList = new ArrayList<>(locationDTOList.size());
+            int checkInterval = Deadline.checkInterval(fenceSnapshot.size());
+            for (int i = 0; i < locationDTOList.size(); i++) {
+                if (i % checkInterval == 0) {
+                    Deadline.check();
+                }
+                LocationDTO locationDTO = locationDTOList.get(i);
+                locationDTO.check();
+                resList.add(fenceSnapshot.fencesContaining(CoordinateParser.parse(locationDTO.getLng()), CoordinateParser.parse(locationDTO.getLat())));
+            }
+            return resList;
+        });
+    }
+
+    /**
+     * 正在执行的数量*
+     *
+     * @param costClass 等级
+     * @return
+     */
+    public int getInFlight(CostClass costClass) {
+        return permits.get(costClass) - semaphores.get(costClass).availablePermits();
+    }
+
+    /**
+     * 正在排队的数量（近似值）*
+     *
+     * @param costClass 等级
+     * @return
+     */
+    public int getQueueLength(CostClass costClass) {
+        return semaphores.get(costClass).getQueueLength();
+    }
+
+    public long getAdmittedCount() {
+        return admittedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getDeadlineExceededCount() {
+        return deadlineExceededCount.sum();
+    }
+
+    private static long size(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
+}
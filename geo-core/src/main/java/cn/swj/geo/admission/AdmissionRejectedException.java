@@ -0,0 +1,34 @@
+package cn.swj.geo.admission;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 16:05
+ * @Description: 请求成本超过上限，或排队超时未拿到执行许可
+ * @Version 1.0
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final long cost;
+
+    private final CostClass costClass;
+
+    public AdmissionRejectedException(String message, long cost, CostClass costClass) {
+        super(message);
+        this.cost = cost;
+        this.costClass = costClass;
+    }
+
+    public long getCost() {
+        return cost;
+    }
+
+    /**
+     * 成本超过上限直接拒绝时为 null*
+     *
+     * @return
+     */
+    public CostClass getCostClass() {
+        return costClass;
+    }
+
+}
@@ -0,0 +1,26 @@
+package cn.swj.geo.admission;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 16:00
+ * @Description: 按估算成本划分的等级，每个等级有独立的并发上限
+ * @Version 1.0
+ */
+public enum CostClass {
+
+    /**
+     * 小请求，例如几百个点位对几十个顶点*
+     */
+    SMALL,
+
+    /**
+     * 中等请求*
+     */
+    MEDIUM,
+
+    /**
+     * 大请求，同时只允许很少几个在执行*
+     */
+    LARGE
+
+}
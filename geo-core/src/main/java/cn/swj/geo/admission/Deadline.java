@@ -0,0 +1,114 @@
+package cn.swj.geo.admission;
+
+import java.util.function.Supplier;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 16:15
+ * @Description: 当前线程上的请求截止时间。GeoUtil 的批量循环每隔一段检查一次，超时抛出 DeadlineExceededException；
+ * 并行流的工作线程看不到 ThreadLocal，需先取出 current() 再在 lambda 中调用 check(long)
+ * @Version 1.0
+ */
+public final class Deadline {
+
+    /**
+     * 没有截止时间*
+     */
+    public static final long NONE = Long.MAX_VALUE;
+
+    // 批量循环每隔多少个点位检查一次，单个点位成本为常数时的上限
+    public static final int CHECK_INTERVAL = 1024;
+
+    // 两次检查之间大约做多少次边判断，单次边判断按 1 ~ 2 纳秒计约 100 微秒
+    private static final long CHECK_COST = 1 << 16;
+
+    private static final ThreadLocal<long[]> CURRENT = ThreadLocal.withInitial(() -> new long[]{NONE});
+
+    private Deadline() {
+    }
+
+    /**
+     * 在截止时间内执行，可嵌套，取较早的截止时间*
+     *
+     * @param timeoutMillis 超时时间 毫秒
+     * @param work          执行内容
+     * @return
+     */
+    public static <T> T run(long timeoutMillis, Supplier<T> work) {
+        return runUntil(System.nanoTime() + timeoutMillis * 1_000_000L, work);
+    }
+
+    /**
+     * 在截止时间内执行，可嵌套，取较早的截止时间*
+     *
+     * @param deadlineNanos 截止时间，System.nanoTime() 口径
+     * @param work          执行内容
+     * @return
+     */
+    public static <T> T runUntil(long deadlineNanos, Supplier<T> work) {
+        long[] holder = CURRENT.get();
+        long previous = holder[0];
+        holder[0] = previous == NONE ? deadlineNanos : earlier(previous, deadlineNanos);
+        try {
+            return work.get();
+        } finally {
+            holder[0] = previous;
+        }
+    }
+
+    /**
+     * 当前线程的截止时间*
+     *
+     * @return 没有截止时间时为 NONE
+     */
+    public static long current() {
+        return CURRENT.get()[0];
+    }
+
+    /**
+     * 按单个点位的成本（顶点数、围栏数等）算出检查间隔，保证两次检查之间的计算量大致相同。
+     * 大区域上每个点位都要判断上千条边，固定每 1024 个点位检查一次会让超时严重滞后*
+     *
+     * @param costPerPoint 单个点位的成本，如区域顶点数
+     * @return 1 ~ CHECK_INTERVAL
+     */
+    public static int checkInterval(long costPerPoint) {
+        if (costPerPoint <= 1) {
+            return CHECK_INTERVAL;
+        }
+        return (int) Math.max(1, Math.min(CHECK_INTERVAL, CHECK_COST / costPerPoint));
+    }
+
+    /**
+     * 检查当前线程是否超过截止时间*
+     */
+    public static void check() {
+        check(current());
+    }
+
+    /**
+     * 检查是否超过截止时间*
+     *
+     * @param deadlineNanos 截止时间，NONE 表示不检查
+     */
+    public static void check(long deadlineNanos) {
+        if (deadlineNanos != NONE && System.nanoTime() - deadlineNanos > 0) {
+            throw new DeadlineExceededException("deadline exceeded by " + (System.nanoTime() - deadlineNanos) / 1_000_000 + " ms");
+        }
+    }
+
+    /**
+     * 距截止时间还剩多少纳秒*
+     *
+     * @return 没有截止时间时为 Long.MAX_VALUE
+     */
+    public static long remainingNanos() {
+        long deadline = current();
+        return deadline == NONE ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    private static long earlier(long a, long b) {
+        return a - b < 0 ? a : b;
+    }
+
+}
@@ -0,0 +1,15 @@
+package cn.swj.geo.admission;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 16:10
+ * @Description: 请求执行超过截止时间，批量循环中途停止
+ * @Version 1.0
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+}
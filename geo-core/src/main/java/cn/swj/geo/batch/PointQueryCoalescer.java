@@ -0,0 +1,307 @@
+package cn.swj.geo.batch;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.swj.geo.region.CompiledCircle;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.region.CoordinatePredicate;
+import cn.swj.geo.util.CoordinateParser;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 17:00
+ * @Description: 单点判断合并器。同一个预编译围栏上并发到达的单点判断先进入该围栏的批次，
+ * 批次满 maxBatchSize 个或等待满一个窗口后，一次调用 testBatch 批量判断，再逐个完成调用方的 future。
+ * 窗口取 windowMicros 与（latencySloMicros - 最近批量判断耗时）中较小的一个，保证排队加计算不超过延迟目标；
+ * 超出预算时窗口不低于 windowMicros 的 1/MIN_WINDOW_DIVISOR，仍然合并，耗时的移动平均随后续批次回落。
+ * 定时器线程只负责到期取出批次，批量判断交给 flushExecutor 执行。
+ * 围栏按对象身份区分，请复用同一个 CompiledRegion / CompiledCircle
+ * @Version 1.0
+ */
+public class PointQueryCoalescer implements AutoCloseable {
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private static final long DEFAULT_WINDOW_MICROS = 200;
+
+    private static final long DEFAULT_LATENCY_SLO_MICROS = 1000;
+
+    // 超出延迟预算时窗口最短取 windowMicros 的 1/8，避免一次慢批次把窗口压到 0 后再也不合并
+    private static final int MIN_WINDOW_DIVISOR = 8;
+
+    private final int maxBatchSize;
+
+    private final long windowMicros;
+
+    private final long latencySloMicros;
+
+    private final ConcurrentHashMap<CoordinatePredicate, Batch> pendingMap = new ConcurrentHashMap<>();
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final Executor flushExecutor;
+
+    // 自建的 flushExecutor 在 close 时关闭，外部传入的由调用方管理
+    private final ExecutorService ownedFlushExecutor;
+
+    // 批量判断耗时的指数移动平均 纳秒
+    private volatile long kernelNanos;
+
+    private volatile boolean closed;
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final LongAdder batchCount = new LongAdder();
+
+    public PointQueryCoalescer() {
+        this(DEFAULT_MAX_BATCH_SIZE, DEFAULT_WINDOW_MICROS, DEFAULT_LATENCY_SLO_MICROS);
+    }
+
+    /**
+     * @param maxBatchSize     每批最多点位数量
+     * @param windowMicros     最长等待窗口 微秒
+     * @param latencySloMicros 延迟目标 微秒，窗口会按最近的批量判断耗时缩短
+     */
+    public PointQueryCoalescer(int maxBatchSize, long windowMicros, long latencySloMicros) {
+        this(maxBatchSize, windowMicros, latencySloMicros, null);
+    }
+
+    /**
+     * @param maxBatchSize     每批最多点位数量
+     * @param windowMicros     最长等待窗口 微秒
+     * @param latencySloMicros 延迟目标 微秒，窗口会按最近的批量判断耗时缩短
+     * @param flushExecutor    执行到期批次的线程池，为 null 时按 CPU 核数自建
+     */
+    public PointQueryCoalescer(int maxBatchSize, long windowMicros, long latencySloMicros, Executor flushExecutor) {
+        if (maxBatchSize <= 0) {
+            throw new RuntimeException("maxBatchSize is le 0");
+        }
+        if (windowMicros < 0 || latencySloMicros < 0) {
+            throw new RuntimeException("windowMicros or latencySloMicros is lt 0");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.windowMicros = windowMicros;
+        this.latencySloMicros = latencySloMicros;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "geo-point-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        if (flushExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.ownedFlushExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "geo-point-coalescer-flush-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.flushExecutor = this.ownedFlushExecutor;
+        } else {
+            this.ownedFlushExecutor = null;
+            this.flushExecutor = flushExecutor;
+        }
+    }
+
+    /**
+     * 判断 x,y 是否在区域内*
+     *
+     * @param compiledRegion 预编译区域
+     * @param x              经度
+     * @param y              纬度
+     * @return
+     */
+    public CompletableFuture<Boolean> pointIsContainedRegion(CompiledRegion compiledRegion, String x, String y) {
+        if (!StrUtil.isAllNotBlank(x, y)) {
+            throw new RuntimeException("x or y is empty");
+        }
+        return submit(compiledRegion, CoordinateParser.parse(x), CoordinateParser.parse(y));
+    }
+
+    /**
+     * 判断 x,y 是否在圆内*
+     *
+     * @param compiledCircle 预编译圆形
+     * @param x              经度
+     * @param y              纬度
+     * @return
+     */
+    public CompletableFuture<Boolean> pointIsContainedRoundRegion(CompiledCircle compiledCircle, String x, String y) {
+        if (!StrUtil.isAllNotBlank(x, y)) {
+            throw new RuntimeException("x or y is empty");
+        }
+        return submit(compiledCircle, CoordinateParser.parse(x), CoordinateParser.parse(y));
+    }
+
+    /**
+     * 提交一个单点判断，关闭后在调用线程上直接判断*
+     *
+     * @param fence 预编译围栏
+     * @param lng   经度
+     * @param lat   纬度
+     * @return 判断结果
+     */
+    public CompletableFuture<Boolean> submit(CoordinatePredicate fence, double lng, double lat) {
+        if (ObjectUtil.isEmpty(fence)) {
+            throw new RuntimeException("fence is null");
+        }
+        requestCount.increment();
+
+        long window = windowNanos();
+        if (window == 0 || closed) {
+            batchCount.increment();
+            return CompletableFuture.completedFuture(fence.test(lng, lat));
+        }
+
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        // [0] 新建的批次 [1] 已满的批次
+        Batch[] holder = new Batch[2];
+        pendingMap.compute(fence, (key, batch) -> {
+            if (batch == null) {
+                batch = new Batch(key, maxBatchSize);
+                holder[0] = batch;
+            }
+            batch.add(lng, lat, future);
+            if (batch.size == maxBatchSize) {
+                holder[1] = batch;
+                return null;
+            }
+            return batch;
+        });
+
+        if (holder[1] != null) {
+            // 批次已满，由当前线程直接判断
+            flush(holder[1]);
+        } else if (holder[0] != null) {
+            Batch batch = holder[0];
+            try {
+                scheduler.schedule(() -> {
+                    if (pendingMap.remove(batch.fence, batch)) {
+                        flushAsync(batch);
+                    }
+                }, window, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // 与 close 并发，批次在关闭之后才放入，由当前线程判断
+                if (pendingMap.remove(batch.fence, batch)) {
+                    flush(batch);
+                }
+            }
+        }
+        return future;
+    }
+
+    /**
+     * 平均每批的点位数量*
+     *
+     * @return
+     */
+    public double getAverageBatchSize() {
+        long batches = batchCount.sum();
+        return batches == 0 ? 0 : (double) requestCount.sum() / batches;
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * 关闭前把还在等待的批次全部判断完，之后提交的判断不再合并。
+     * 已交给 flushExecutor 的批次照常执行完*
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        for (CoordinatePredicate fence : pendingMap.keySet()) {
+            Batch batch = pendingMap.remove(fence);
+            if (batch != null) {
+                flush(batch);
+            }
+        }
+        if (ownedFlushExecutor != null) {
+            ownedFlushExecutor.shutdown();
+        }
+    }
+
+    long windowNanos() {
+        long window = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        if (window == 0) {
+            return 0;
+        }
+        long budget = TimeUnit.MICROSECONDS.toNanos(latencySloMicros) - kernelNanos;
+        long minWindow = Math.max(1, window / MIN_WINDOW_DIVISOR);
+        return Math.max(minWindow, Math.min(window, budget));
+    }
+
+    private void flushAsync(Batch batch) {
+        try {
+            flushExecutor.execute(() -> flush(batch));
+        } catch (RejectedExecutionException e) {
+            // flushExecutor 已关闭，由定时器线程判断
+            flush(batch);
+        }
+    }
+
+    private void flush(Batch batch) {
+        batchCount.increment();
+        boolean[] result = new boolean[batch.size];
+        long start = System.nanoTime();
+        try {
+            batch.fence.testBatch(batch.lngs, batch.lats, batch.size, result);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < batch.size; i++) {
+                batch.futures[i].completeExceptionally(e);
+            }
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        kernelNanos = kernelNanos == 0 ? elapsed : (kernelNanos * 7 + elapsed) / 8;
+        for (int i = 0; i < batch.size; i++) {
+            batch.futures[i].complete(result[i]);
+        }
+    }
+
+    private static final class Batch {
+
+        private final CoordinatePredicate fence;
+
+        private final double[] lngs;
+
+        private final double[] lats;
+
+        private final CompletableFuture<Boolean>[] futures;
+
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        private Batch(CoordinatePredicate fence, int capacity) {
+            this.fence = fence;
+            this.lngs = new double[capacity];
+            this.lats = new double[capacity];
+            this.futures = new CompletableFuture[capacity];
+        }
+
+        private void add(double lng, double lat, CompletableFuture<Boolean> future) {
+            lngs[size] = lng;
+            lats[size] = lat;
+            futures[size] = future;
+            size++;
+        }
+
+    }
+
+}
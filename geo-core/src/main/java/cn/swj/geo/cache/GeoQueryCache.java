@@ -0,0 +1,532 @@
+package cn.swj.geo.cache;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.util.CoordinateParser;
+import cn.swj.geo.util.GeoUtil;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 14:30
+ * @Description: 点位查询结果缓存，放在 pointIsContainedRegion、pointIsContainedRoundRegion、calculateDistance 前面。
+ * key 为量化后的坐标加上区域的完整输入（或调用方给出的围栏版本号），指纹只用于散列，命中时还要逐个比较区域坐标，
+ * 指纹碰撞不会返回另一个区域的结果。结果按 LRU 分段淘汰，每段一把锁，并发访问只会竞争同一分段。
+ * 区域本身也按顶点数计重缓存，未命中时不用重新构造几何图形，结果的 key 复用区域缓存中的坐标，不会每条结果各存一份
+ * @Version 1.0
+ */
+public class GeoQueryCache {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    // 默认量化精度 1e-7 度，约 1 厘米
+    private static final double DEFAULT_QUANTUM = 1e-7;
+
+    // 默认最多缓存 100 万个区域顶点
+    private static final long DEFAULT_MAXIMUM_REGION_VERTICES = 1_000_000L;
+
+    private static final byte OP_REGION = 1;
+    private static final byte OP_REGION_SEQUENCE = 2;
+    private static final byte OP_ROUND_REGION = 3;
+    private static final byte OP_DISTANCE = 4;
+
+    // 距离查询没有区域
+    private static final ShapeKey DISTANCE_SHAPE = new ShapeKey(OP_DISTANCE, new double[0]);
+
+    private final double quantum;
+
+    private final Segment[] segments;
+
+    private final int segmentMask;
+
+    // 区域缓存，只在结果未命中时访问
+    private final LinkedHashMap<ShapeKey, RegionEntry> regionMap = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ReentrantLock regionLock = new ReentrantLock();
+
+    private final long maximumRegionVertices;
+
+    private long regionVertices;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public GeoQueryCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_QUANTUM, DEFAULT_MAXIMUM_REGION_VERTICES);
+    }
+
+    /**
+     * 创建缓存*
+     *
+     * @param maximumSize           最多缓存的结果数
+     * @param quantum               坐标量化精度 单位度，落在同一个量化格子里的点位共用结果
+     * @param maximumRegionVertices 缓存区域的顶点总数上限
+     */
+    public GeoQueryCache(int maximumSize, double quantum, long maximumRegionVertices) {
+        if (maximumSize <= 0) {
+            throw new RuntimeException("maximumSize is le 0");
+        }
+        if (quantum <= 0) {
+            throw new RuntimeException("quantum is le 0");
+        }
+        if (maximumRegionVertices <= 0) {
+            throw new RuntimeException("maximumRegionVertices is le 0");
+        }
+        this.quantum = quantum;
+        this.maximumRegionVertices = maximumRegionVertices;
+
+        // 分段数为 2 的幂，约为 cpu 数的 4 倍
+        int segmentCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+        segmentCount = Math.min(segmentCount, Integer.highestOneBit(maximumSize));
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        int segmentSize = Math.max(1, maximumSize / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    /**
+     * 带缓存的 GeoUtil.pointIsContainedRegion*
+     *
+     * @param regionLocationList 几何图形组成的点位
+     * @param x                  经度
+     * @param y                  纬度
+     * @return
+     */
+    public boolean pointIsContainedRegion(List<LocationDTO> regionLocationList, String x, String y) {
+        return pointIsContainedRegion(regionLocationList, x, y, false);
+    }
+
+    /**
+     * 带缓存的 GeoUtil.pointIsContainedRegionSequence*
+     *
+     * @param regionLocationList 几何图形组成的点位
+     * @param x                  经度
+     * @param y                  纬度
+     * @return
+     */
+    public boolean pointIsContainedRegionSequence(List<LocationDTO> regionLocationList, String x, String y) {
+        return pointIsContainedRegion(regionLocationList, x, y, true);
+    }
+
+    private boolean pointIsContainedRegion(List<LocationDTO> regionLocationList, String x, String y, boolean sequence) {
+        if (CollectionUtil.isEmpty(regionLocationList)) {
+            throw new RuntimeException("regionLocationList is empty");
+        }
+        if (!StrUtil.isAllNotBlank(x, y)) {
+            throw new RuntimeException("x or y is empty");
+        }
+        ShapeKey shape = shape(sequence ? OP_REGION_SEQUENCE : OP_REGION, regionLocationList);
+        double lng = CoordinateParser.parse(x);
+        double lat = CoordinateParser.parse(y);
+
+        long a = quantize(lng);
+        long b = quantize(lat);
+        Object value = get(new QueryKey(shape, a, b, 0, 0));
+        if (value != null) {
+            return (Boolean) value;
+        }
+
+        RegionEntry regionEntry = getCompiledRegion(shape, regionLocationList, sequence);
+        boolean contained = containsExactly(regionEntry.compiledRegion, lng, lat);
+        put(new QueryKey(regionEntry.shape, a, b, 0, 0), contained);
+        return contained;
+    }
+
+    /**
+     * 带缓存的预编译区域判断，顶点相同的区域共用结果*
+     *
+     * @param compiledRegion 预编译区域
+     * @param lng            经度
+     * @param lat            纬度
+     * @return
+     */
+    public boolean pointIsContainedRegion(CompiledRegion compiledRegion, double lng, double lat) {
+        return pointIsContainedRegion(0L, compiledRegion, lng, lat);
+    }
+
+    /**
+     * 带缓存的预编译区域判断，区域按顶点加调用方的围栏版本号区分，围栏更新后换版本号即可让旧结果失效*
+     *
+     * @param fenceVersion   围栏版本号
+     * @param compiledRegion 预编译区域
+     * @param lng            经度
+     * @param lat            纬度
+     * @return
+     */
+    public boolean pointIsContainedRegion(long fenceVersion, CompiledRegion compiledRegion, double lng, double lat) {
+        if (ObjectUtil.isEmpty(compiledRegion)) {
+            throw new RuntimeException("compiledRegion is null");
+        }
+        QueryKey key = new QueryKey(new ShapeKey(compiledRegion), quantize(lng), quantize(lat), fenceVersion, 0);
+        Object value = get(key);
+        if (value != null) {
+            return (Boolean) value;
+        }
+
+        boolean contained = containsExactly(compiledRegion, lng, lat);
+        put(key, contained);
+        return contained;
+    }
+
+    /**
+     * 带缓存的 GeoUtil.pointIsContainedRoundRegion*
+     *
+     * @param roundnessDTO 圆心和半径
+     * @param x            经度
+     * @param y            纬度
+     * @return
+     */
+    public boolean pointIsContainedRoundRegion(RoundnessDTO roundnessDTO, String x, String y) {
+        if (ObjectUtil.isEmpty(roundnessDTO)) {
+            throw new RuntimeException("roundnessDTO is null");
+        }
+        roundnessDTO.check();
+        if (!StrUtil.isAllNotBlank(x, y)) {
+            throw new RuntimeException("x or y is empty");
+        }
+
+        ShapeKey shape = new ShapeKey(OP_ROUND_REGION, new double[]{CoordinateParser.parse(roundnessDTO.getCenterPoint().getLng()),
+                CoordinateParser.parse(roundnessDTO.getCenterPoint().getLat()), CoordinateParser.parse(roundnessDTO.getRadius())});
+        QueryKey key = new QueryKey(shape, quantize(CoordinateParser.parse(x)), quantize(CoordinateParser.parse(y)), 0, 0);
+        Object value = get(key);
+        if (value != null) {
+            return (Boolean) value;
+        }
+
+        boolean contained = GeoUtil.pointIsContainedRoundRegion(roundnessDTO, x, y);
+        put(key, contained);
+        return contained;
+    }
+
+    /**
+     * 带缓存的 GeoUtil.calculateDistance*
+     *
+     * @param startLocation 开始坐标
+     * @param endLocation   结束坐标
+     * @return
+     */
+    public String calculateDistance(LocationDTO startLocation, LocationDTO endLocation) {
+        startLocation.check();
+        endLocation.check();
+
+        QueryKey key = new QueryKey(DISTANCE_SHAPE,
+                quantize(CoordinateParser.parse(startLocation.getLng())), quantize(CoordinateParser.parse(startLocation.getLat())),
+                quantize(CoordinateParser.parse(endLocation.getLng())), quantize(CoordinateParser.parse(endLocation.getLat())));
+        Object value = get(key);
+        if (value != null) {
+            return (String) value;
+        }
+
+        String distance = GeoUtil.calculateDistance(startLocation, endLocation);
+        put(key, distance);
+        return distance;
+    }
+
+    /**
+     * 清空缓存，统计数据保留*
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.map.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        regionLock.lock();
+        try {
+            regionMap.clear();
+            regionVertices = 0;
+        } finally {
+            regionLock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 命中率，还没有请求时为 0*
+     *
+     * @return
+     */
+    public double getHitRate() {
+        long hit = hitCount.sum();
+        long total = hit + missCount.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * 当前缓存的结果数*
+     *
+     * @return
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private long quantize(double value) {
+        return Math.round(value / quantum);
+    }
+
+    private Object get(QueryKey key) {
+        Segment segment = segments[(key.hash >>> 16) & segmentMask];
+        Object value;
+        segment.lock.lock();
+        try {
+            value = segment.map.get(key);
+        } finally {
+            segment.lock.unlock();
+        }
+        if (value != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return value;
+    }
+
+    private void put(QueryKey key, Object value) {
+        Segment segment = segments[(key.hash >>> 16) & segmentMask];
+        segment.lock.lock();
+        try {
+            segment.map.put(key, value);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private boolean containsExactly(CompiledRegion compiledRegion, double lng, double lat) {
+        Geometry geometry = compiledRegion.getGeometry();
+        return compiledRegion.getPreparedGeometry().contains(geometry.getFactory().createPoint(new Coordinate(lng, lat)));
+    }
+
+    private RegionEntry getCompiledRegion(ShapeKey shape, List<LocationDTO> regionLocationList, boolean sequence) {
+        regionLock.lock();
+        try {
+            RegionEntry regionEntry = regionMap.get(shape);
+            if (regionEntry != null) {
+                return regionEntry;
+            }
+        } finally {
+            regionLock.unlock();
+        }
+
+        // 构造区域不持锁，并发未命中时可能重复构造，结果一致
+        CompiledRegion compiledRegion = sequence ? GeoUtil.compileRegionSequence(regionLocationList) : GeoUtil.compileRegion(regionLocationList);
+        RegionEntry regionEntry = new RegionEntry(shape, compiledRegion);
+        if (compiledRegion.getVertexCount() > maximumRegionVertices) {
+            return regionEntry;
+        }
+
+        regionLock.lock();
+        try {
+            RegionEntry previous = regionMap.put(shape, regionEntry);
+            if (previous != null) {
+                regionVertices -= previous.compiledRegion.getVertexCount();
+            }
+            regionVertices += compiledRegion.getVertexCount();
+            // 按顶点数淘汰最久未使用的区域
+            Iterator<RegionEntry> iterator = regionMap.values().iterator();
+            while (regionVertices > maximumRegionVertices && iterator.hasNext()) {
+                RegionEntry eldest = iterator.next();
+                if (eldest == regionEntry) {
+                    continue;
+                }
+                regionVertices -= eldest.compiledRegion.getVertexCount();
+                iterator.remove();
+            }
+        } finally {
+            regionLock.unlock();
+        }
+        return regionEntry;
+    }
+
+    /**
+     * 区域点位解析为坐标，作为区域的完整输入*
+     */
+    private static ShapeKey shape(byte op, List<LocationDTO> regionLocationList) {
+        double[] coordinates = new double[regionLocationList.size() * 2];
+        int i = 0;
+        for (LocationDTO locationDTO : regionLocationList) {
+            if (locationDTO == null) {
+                throw new RuntimeException("x or y is empty");
+            }
+            locationDTO.check();
+            coordinates[i++] = CoordinateParser.parse(locationDTO.getLng());
+            coordinates[i++] = CoordinateParser.parse(locationDTO.getLat());
+        }
+        return new ShapeKey(op, coordinates);
+    }
+
+    /**
+     * 一个分段，LinkedHashMap 按访问顺序淘汰*
+     */
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final LinkedHashMap<QueryKey, Object> map;
+
+        Segment(int maximumSize) {
+            this.map = new LinkedHashMap<QueryKey, Object>(Math.min(maximumSize, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<QueryKey, Object> eldest) {
+                    if (size() > maximumSize) {
+                        evictionCount.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * 缓存的区域和它的完整输入*
+     */
+    private static final class RegionEntry {
+
+        private final ShapeKey shape;
+
+        private final CompiledRegion compiledRegion;
+
+        RegionEntry(ShapeKey shape, CompiledRegion compiledRegion) {
+            this.shape = shape;
+            this.compiledRegion = compiledRegion;
+        }
+    }
+
+    /**
+     * 区域或圆形的完整输入：解析后的坐标，或预编译区域本身。
+     * 指纹只用于散列，equals 逐个比较坐标（预编译区域比较顶点）*
+     */
+    private static final class ShapeKey {
+
+        private final byte op;
+        private final double[] coordinates;
+        private final CompiledRegion compiledRegion;
+        private final long fingerprint;
+
+        ShapeKey(byte op, double[] coordinates) {
+            this.op = op;
+            this.coordinates = coordinates;
+            this.compiledRegion = null;
+            // FNV-1a 64 位
+            long hash = (0xcbf29ce484222325L ^ op) * 0x100000001b3L;
+            for (double coordinate : coordinates) {
+                hash = (hash ^ Double.doubleToLongBits(coordinate)) * 0x100000001b3L;
+            }
+            this.fingerprint = hash;
+        }
+
+        ShapeKey(CompiledRegion compiledRegion) {
+            this.op = OP_REGION;
+            this.coordinates = null;
+            this.compiledRegion = compiledRegion;
+            this.fingerprint = compiledRegion.getFingerprint();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShapeKey)) {
+                return false;
+            }
+            ShapeKey other = (ShapeKey) o;
+            if (op != other.op || fingerprint != other.fingerprint) {
+                return false;
+            }
+            if (compiledRegion != null || other.compiledRegion != null) {
+                return compiledRegion != null && compiledRegion.hasSameVertices(other.compiledRegion);
+            }
+            return Arrays.equals(coordinates, other.coordinates);
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (fingerprint ^ (fingerprint >>> 32));
+        }
+    }
+
+    private static final class QueryKey {
+
+        private final ShapeKey shape;
+        private final long a;
+        private final long b;
+        private final long c;
+        private final long d;
+        private final int hash;
+
+        QueryKey(ShapeKey shape, long a, long b, long c, long d) {
+            this.shape = shape;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+            long h = shape.fingerprint * 31 + shape.op;
+            h = h * 0x9E3779B97F4A7C15L + a;
+            h = h * 0x9E3779B97F4A7C15L + b;
+            h = h * 0x9E3779B97F4A7C15L + c;
+            h = h * 0x9E3779B97F4A7C15L + d;
+            this.hash = (int) (h ^ (h >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QueryKey)) {
+                return false;
+            }
+            QueryKey other = (QueryKey) o;
+            return a == other.a && b == other.b && c == other.c && d == other.d && shape.equals(other.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+package cn.swj.geo.cluster;
+
+import java.util.Arrays;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 11:10
+ * @Description: 网格累加表，long 网格编号到数量、经纬度累加值、样本下标的开放寻址哈希表，不装箱
+ * @Version 1.0
+ */
+final class CellTable {
+
+    static final long EMPTY = Long.MIN_VALUE;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final int sampleSize;
+
+    long[] keys;
+
+    int[] counts;
+
+    double[] sumLngs;
+
+    double[] sumLats;
+
+    // 每个槽位 sampleSize 个样本下标
+    int[] samples;
+
+    private int mask;
+
+    private int size;
+
+    CellTable(int expectedSize, int sampleSize) {
+        this.sampleSize = sampleSize;
+        int capacity = Integer.highestOneBit(Math.max(16, (int) Math.min(1 << 30, (long) (expectedSize / LOAD_FACTOR) + 1)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * 累加一个点位*
+     */
+    void add(long key, double lng, double lat, int index) {
+        int slot = slot(key);
+        int count = counts[slot]++;
+        sumLngs[slot] += lng;
+        sumLats[slot] += lat;
+        if (count < sampleSize) {
+            samples[slot * sampleSize + count] = index;
+        }
+    }
+
+    /**
+     * 合并另一张表，样本优先保留本表已有的*
+     */
+    void merge(CellTable other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] == EMPTY) {
+                continue;
+            }
+            int slot = slot(other.keys[i]);
+            mergeSamples(slot, other, i);
+            counts[slot] += other.counts[i];
+            sumLngs[slot] += other.sumLngs[i];
+            sumLats[slot] += other.sumLats[i];
+        }
+    }
+
+    /**
+     * 查找网格所在槽位，不存在返回 -1*
+     */
+    int find(long key) {
+        int i = hash(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    int sampleCount(int slot) {
+        return Math.min(counts[slot], sampleSize);
+    }
+
+    int sampleSize() {
+        return sampleSize;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void mergeSamples(int slot, CellTable other, int otherSlot) {
+        int have = sampleCount(slot);
+        int take = Math.min(other.sampleCount(otherSlot), sampleSize - have);
+        if (take > 0) {
+            System.arraycopy(other.samples, otherSlot * sampleSize, samples, slot * sampleSize + have, take);
+        }
+    }
+
+    // 查找或插入
+    private int slot(long key) {
+        int i = hash(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            rehash();
+            return slot(key);
+        }
+        keys[i] = key;
+        size++;
+        return i;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        double[] oldSumLngs = sumLngs;
+        double[] oldSumLats = sumLats;
+        int[] oldSamples = samples;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) {
+                continue;
+            }
+            int j = hash(oldKeys[i]) & mask;
+            while (keys[j] != EMPTY) {
+                j = (j + 1) & mask;
+            }
+            keys[j] = oldKeys[i];
+            counts[j] = oldCounts[i];
+            sumLngs[j] = oldSumLngs[i];
+            sumLats[j] = oldSumLats[i];
+            System.arraycopy(oldSamples, i * sampleSize, samples, j * sampleSize, sampleSize);
+            size++;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        counts = new int[capacity];
+        sumLngs = new double[capacity];
+        sumLats = new double[capacity];
+        samples = new int[capacity * sampleSize];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
@@ -0,0 +1,391 @@
+package cn.swj.geo.cluster;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.region.CoordinatePredicate;
+import cn.swj.geo.store.PointStore;
+import cn.swj.geo.util.CoordinateParser;
+import org.locationtech.jts.geom.Envelope;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 14:00
+ * @Description: 固定分辨率的点位密度网格。每次 add 把输入分块，每个线程累加到自己的 int[] 局部网格，
+ * 全部分块结束后每个线程的局部网格合并一次到 long[] 总网格；流式追加时局部网格跨批复用，读完整个流才合并。
+ * 可带权重、可按区域裁剪，支持一批一批追加形成滚动统计
+ * @Version 1.0
+ */
+public class DensityGrid {
+
+    // 小于该数量时不拆分
+    private static final int MIN_CHUNK_SIZE = 65536;
+
+    // 流式输入每批缓冲的分块数量，每批至少能拆成两块并行
+    private static final int STREAM_BATCH_CHUNKS = Math.max(2, ForkJoinPool.getCommonPoolParallelism());
+
+    private final double minLng;
+
+    private final double minLat;
+
+    private final double maxLng;
+
+    private final double maxLat;
+
+    private final int columns;
+
+    private final int rows;
+
+    private final double cellWidth;
+
+    private final double cellHeight;
+
+    // 为空时不裁剪
+    private final CoordinatePredicate clip;
+
+    // 行优先，下标为 row * columns + column
+    private final long[] counts;
+
+    // 第一次带权重追加时创建
+    private double[] weights;
+
+    private long total;
+
+    /**
+     * 创建密度网格*
+     *
+     * @param minLng  最小经度
+     * @param minLat  最小纬度
+     * @param maxLng  最大经度
+     * @param maxLat  最大纬度
+     * @param columns 列数
+     * @param rows    行数
+     * @param clip    裁剪区域，为空时不裁剪
+     */
+    public DensityGrid(double minLng, double minLat, double maxLng, double maxLat, int columns, int rows, CoordinatePredicate clip) {
+        if (!(maxLng > minLng) || !(maxLat > minLat)) {
+            throw new RuntimeException("grid extent is empty");
+        }
+        if (columns <= 0 || rows <= 0 || (long) columns * rows > Integer.MAX_VALUE - 8) {
+            throw new RuntimeException("columns or rows is out of range");
+        }
+        this.minLng = minLng;
+        this.minLat = minLat;
+        this.maxLng = maxLng;
+        this.maxLat = maxLat;
+        this.columns = columns;
+        this.rows = rows;
+        this.cellWidth = (maxLng - minLng) / columns;
+        this.cellHeight = (maxLat - minLat) / rows;
+        this.clip = clip;
+        this.counts = new long[columns * rows];
+    }
+
+    /**
+     * 以区域外包框为范围创建密度网格，并按区域裁剪*
+     *
+     * @param compiledRegion 预编译区域
+     * @param columns        列数
+     * @param rows           行数
+     * @return
+     */
+    public static DensityGrid of(CompiledRegion compiledRegion, int columns, int rows) {
+        if (ObjectUtil.isEmpty(compiledRegion)) {
+            throw new RuntimeException("compiledRegion is null");
+        }
+        Envelope envelope = compiledRegion.getEnvelope();
+        return new DensityGrid(envelope.getMinX(), envelope.getMinY(), envelope.getMaxX(), envelope.getMaxY(), columns, rows, compiledRegion);
+    }
+
+    /**
+     * 追加一批坐标*
+     *
+     * @param lngs     经度
+     * @param lats     纬度
+     * @param from     开始下标（包含）
+     * @param to       结束下标（不包含）
+     * @param parallel 是否并行
+     */
+    public void add(double[] lngs, double[] lats, int from, int to, boolean parallel) {
+        rangeCheck(lngs.length, lats.length, from, to);
+        accumulate(from, to, i -> lngs[i], i -> lats[i], null, parallel);
+    }
+
+    /**
+     * 追加一批带权重的坐标，数量统计不受权重影响*
+     *
+     * @param lngs     经度
+     * @param lats     纬度
+     * @param values   权重
+     * @param from     开始下标（包含）
+     * @param to       结束下标（不包含）
+     * @param parallel 是否并行
+     */
+    public void add(double[] lngs, double[] lats, double[] values, int from, int to, boolean parallel) {
+        rangeCheck(lngs.length, Math.min(lats.length, values.length), from, to);
+        accumulate(from, to, i -> lngs[i], i -> lats[i], i -> values[i], parallel);
+    }
+
+    /**
+     * 追加 PointStore 中的全部点位*
+     *
+     * @param pointStore 点位存储
+     * @param parallel   是否并行
+     */
+    public void add(PointStore pointStore, boolean parallel) {
+        if (ObjectUtil.isEmpty(pointStore)) {
+            throw new RuntimeException("pointStore is null");
+        }
+        accumulate(0, pointStore.size(), pointStore::getLng, pointStore::getLat, null, parallel);
+    }
+
+    /**
+     * 流式追加点位，按批缓冲后并行统计，内存只与批大小和线程数有关，空的点位跳过*
+     *
+     * @param locationDTOStream 点位流
+     */
+    public void add(Stream<LocationDTO> locationDTOStream) {
+        int batchSize = STREAM_BATCH_CHUNKS * MIN_CHUNK_SIZE;
+        double[] lngs = new double[batchSize];
+        double[] lats = new double[batchSize];
+        Map<Thread, Partial> partials = new ConcurrentHashMap<>();
+        int size = 0;
+        Iterator<LocationDTO> iterator = locationDTOStream.iterator();
+        while (iterator.hasNext()) {
+            LocationDTO locationDTO = iterator.next();
+            if (ObjectUtil.isEmpty(locationDTO) || !StrUtil.isAllNotBlank(locationDTO.getLng(), locationDTO.getLat())) {
+                continue;
+            }
+            lngs[size] = CoordinateParser.parse(locationDTO.getLng());
+            lats[size] = CoordinateParser.parse(locationDTO.getLat());
+            if (++size == batchSize) {
+                accumulate(0, size, i -> lngs[i], i -> lats[i], null, true, partials);
+                size = 0;
+            }
+        }
+        if (size > 0) {
+            accumulate(0, size, i -> lngs[i], i -> lats[i], null, true, partials);
+        }
+        mergePartials(partials.values());
+    }
+
+    /**
+     * 合并另一张范围、分辨率相同的网格*
+     *
+     * @param other 密度网格
+     */
+    public void merge(DensityGrid other) {
+        if (other.columns != columns || other.rows != rows || other.minLng != minLng || other.minLat != minLat
+                || other.maxLng != maxLng || other.maxLat != maxLat) {
+            throw new RuntimeException("grid extent or resolution is different");
+        }
+        long[] otherCounts;
+        double[] otherWeights;
+        long otherTotal;
+        synchronized (other) {
+            otherTotal = other.total;
+            otherCounts = other.counts.clone();
+            otherWeights = other.weights == null ? null : other.weights.clone();
+        }
+        synchronized (this) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += otherCounts[i];
+            }
+            if (otherWeights != null) {
+                if (weights == null) {
+                    weights = new double[counts.length];
+                }
+                for (int i = 0; i < weights.length; i++) {
+                    weights[i] += otherWeights[i];
+                }
+            }
+            total += otherTotal;
+        }
+    }
+
+    /**
+     * 坐标所在的格子下标，不在范围内返回 -1*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    public int cellIndex(double lng, double lat) {
+        if (!(lng >= minLng && lng <= maxLng && lat >= minLat && lat <= maxLat)) {
+            return -1;
+        }
+        int column = Math.min(columns - 1, (int) ((lng - minLng) / cellWidth));
+        int row = Math.min(rows - 1, (int) ((lat - minLat) / cellHeight));
+        return row * columns + column;
+    }
+
+    public synchronized long getCount(int column, int row) {
+        return counts[row * columns + column];
+    }
+
+    public synchronized double getWeight(int column, int row) {
+        return weights == null ? 0 : weights[row * columns + column];
+    }
+
+    /**
+     * 数量网格的副本，行优先*
+     *
+     * @return
+     */
+    public synchronized long[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * 权重网格的副本，行优先，没有追加过权重时全为 0*
+     *
+     * @return
+     */
+    public synchronized double[] getWeights() {
+        return weights == null ? new double[counts.length] : weights.clone();
+    }
+
+    /**
+     * 已统计的点位总数，不含范围外和被裁剪的点位*
+     *
+     * @return
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(counts, 0);
+        weights = null;
+        total = 0;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public double getCellWidth() {
+        return cellWidth;
+    }
+
+    public double getCellHeight() {
+        return cellHeight;
+    }
+
+    private void accumulate(int from, int to, IntToDoubleFunction lngs, IntToDoubleFunction lats, IntToDoubleFunction values, boolean parallel) {
+        Map<Thread, Partial> partials = new ConcurrentHashMap<>();
+        accumulate(from, to, lngs, lats, values, parallel, partials);
+        mergePartials(partials.values());
+    }
+
+    /**
+     * 分块累加到执行线程自己的局部网格，不合并到总网格*
+     */
+    private void accumulate(int from, int to, IntToDoubleFunction lngs, IntToDoubleFunction lats, IntToDoubleFunction values,
+                            boolean parallel, Map<Thread, Partial> partials) {
+        int size = to - from;
+        if (size <= 0) {
+            return;
+        }
+        int chunks = parallel ? Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), size / MIN_CHUNK_SIZE)) : 1;
+        int chunkSize = (size + chunks - 1) / chunks;
+
+        IntStream chunkStream = IntStream.range(0, chunks);
+        (chunks > 1 ? chunkStream.parallel() : chunkStream).forEach(c -> {
+            int start = from + c * chunkSize;
+            int end = Math.min(to, start + chunkSize);
+            // 一个线程同一时间只处理一块，局部网格不需要加锁
+            Partial partial = partials.computeIfAbsent(Thread.currentThread(), thread -> new Partial(counts.length));
+            if (partial.total > Integer.MAX_VALUE - (end - start)) {
+                // int 计数可能溢出，先合并到总网格
+                mergePartials(Collections.singletonList(partial));
+                partial.reset();
+            }
+            if (values != null && partial.weights == null) {
+                partial.weights = new double[counts.length];
+            }
+            for (int i = start; i < end; i++) {
+                double lng = lngs.applyAsDouble(i);
+                double lat = lats.applyAsDouble(i);
+                int cell = cellIndex(lng, lat);
+                if (cell < 0 || (clip != null && !clip.test(lng, lat))) {
+                    continue;
+                }
+                partial.counts[cell]++;
+                partial.total++;
+                if (values != null) {
+                    partial.weights[cell] += values.applyAsDouble(i);
+                }
+            }
+        });
+    }
+
+    private synchronized void mergePartials(Collection<Partial> partials) {
+        for (Partial partial : partials) {
+            if (partial.total == 0) {
+                continue;
+            }
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += partial.counts[i];
+            }
+            if (partial.weights != null) {
+                if (weights == null) {
+                    weights = new double[counts.length];
+                }
+                for (int i = 0; i < weights.length; i++) {
+                    weights[i] += partial.weights[i];
+                }
+            }
+            total += partial.total;
+        }
+    }
+
+    private static void rangeCheck(int length, int otherLength, int from, int to) {
+        if (from < 0 || to > Math.min(length, otherLength) || from > to) {
+            throw new RuntimeException("from or to is out of range");
+        }
+    }
+
+    /**
+     * 单个线程的局部网格*
+     */
+    private static final class Partial {
+
+        private final int[] counts;
+
+        // 第一次遇到带权重的分块时创建
+        private double[] weights;
+
+        private int total;
+
+        private Partial(int cells) {
+            this.counts = new int[cells];
+        }
+
+        private void reset() {
+            Arrays.fill(counts, 0);
+            if (weights != null) {
+                Arrays.fill(weights, 0);
+            }
+            total = 0;
+        }
+
+    }
+
+}
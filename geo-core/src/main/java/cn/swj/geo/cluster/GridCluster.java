@@ -0,0 +1,292 @@
+package cn.swj.geo.cluster;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import cn.swj.geo.dto.ClusterDTO;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.region.CoordinatePredicate;
+import cn.swj.geo.store.PointStore;
+import cn.swj.geo.util.CoordinateParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 11:30
+ * @Description: 服务端网格聚合。一次遍历把点位分到经纬度网格中（分块并行，每块一张 CellTable，最后按块顺序合并），
+ * 再把中心点距离小于一个网格的相邻网格合并，返回聚合中心、数量和少量样本，返回体大小只与网格数量有关
+ * @Version 1.0
+ */
+public class GridCluster {
+
+    /**
+     * 默认一个网格在屏幕上的像素大小*
+     */
+    public static final int DEFAULT_CELL_PIXELS = 60;
+
+    /**
+     * 默认样本数量*
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 0;
+
+    // 瓦片像素大小
+    private static final int TILE_SIZE = 256;
+
+    // 网格编号需要落在 int 范围内
+    private static final double MIN_CELL_SIZE = 1e-6;
+
+    // 小于该数量时不拆分
+    private static final int MIN_CHUNK_SIZE = 8192;
+
+    private GridCluster() {
+    }
+
+    /**
+     * 按地图层级计算网格大小*
+     *
+     * @param zoom       地图层级 0 ~ 24
+     * @param cellPixels 一个网格在屏幕上的像素大小
+     * @return 网格大小 以度为单位
+     */
+    public static double cellSizeForZoom(int zoom, int cellPixels) {
+        if (zoom < 0 || zoom > 24) {
+            throw new RuntimeException("zoom must between 0 and 24");
+        }
+        if (cellPixels <= 0) {
+            throw new RuntimeException("cellPixels is le 0");
+        }
+        return 360.0 / TILE_SIZE / (1L << zoom) * cellPixels;
+    }
+
+    /**
+     * 按地图层级聚合点位*
+     *
+     * @param locationDTOList 点位
+     * @param zoom            地图层级
+     * @return 按数量倒序的聚合点
+     */
+    public static List<ClusterDTO<LocationDTO>> clusterPoints(List<LocationDTO> locationDTOList, int zoom) {
+        return clusterPoints(null, locationDTOList, cellSizeForZoom(zoom, DEFAULT_CELL_PIXELS), DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * 聚合点位，只统计满足 region 的点位*
+     *
+     * @param region          区域，例如 CompiledRegion，为空时不过滤
+     * @param locationDTOList 点位
+     * @param cellSize        网格大小 以度为单位
+     * @param sampleSize      每个聚合点返回的样本数量
+     * @return 按数量倒序的聚合点
+     */
+    public static List<ClusterDTO<LocationDTO>> clusterPoints(CoordinatePredicate region, List<LocationDTO> locationDTOList, double cellSize, int sampleSize) {
+        if (CollectionUtil.isEmpty(locationDTOList)) {
+            throw new RuntimeException("locationDTOList is empty");
+        }
+        int size = locationDTOList.size();
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        IntStream.range(0, size).parallel().forEach(i -> {
+            LocationDTO locationDTO = locationDTOList.get(i);
+            if (ObjectUtil.isEmpty(locationDTO) || !StrUtil.isAllNotBlank(locationDTO.getLng(), locationDTO.getLat())) {
+                lngs[i] = Double.NaN;
+                lats[i] = Double.NaN;
+                return;
+            }
+            lngs[i] = CoordinateParser.parse(locationDTO.getLng());
+            lats[i] = CoordinateParser.parse(locationDTO.getLat());
+        });
+        return cluster(size, i -> lngs[i], i -> lats[i], region, cellSize, sampleSize, true, locationDTOList::get);
+    }
+
+    /**
+     * 按地图层级聚合对象*
+     *
+     * @param objList  对象
+     * @param lngField 经度字段
+     * @param latField 纬度字段
+     * @param zoom     地图层级
+     * @return 按数量倒序的聚合点
+     */
+    public static <T> List<ClusterDTO<T>> clusterObjs(List<T> objList, String lngField, String latField, int zoom) {
+        return clusterObjs(null, objList, lngField, latField, cellSizeForZoom(zoom, DEFAULT_CELL_PIXELS), DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * 聚合对象，只统计满足 region 的对象，没有经纬度字段的对象跳过*
+     *
+     * @param region     区域，例如 CompiledRegion，为空时不过滤
+     * @param objList    对象
+     * @param lngField   经度字段
+     * @param latField   纬度字段
+     * @param cellSize   网格大小 以度为单位
+     * @param sampleSize 每个聚合点返回的样本数量
+     * @return 按数量倒序的聚合点
+     */
+    public static <T> List<ClusterDTO<T>> clusterObjs(CoordinatePredicate region, List<T> objList, String lngField, String latField, double cellSize, int sampleSize) {
+        if (CollectionUtil.isEmpty(objList)) {
+            throw new RuntimeException("objList is empty");
+        }
+        if (!StrUtil.isAllNotBlank(lngField, latField)) {
+            throw new RuntimeException("lngField or latField is empty");
+        }
+        int size = objList.size();
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        IntStream.range(0, size).parallel().forEach(i -> {
+            lngs[i] = Double.NaN;
+            lats[i] = Double.NaN;
+            try {
+                JSONObject jsonObject = JSONUtil.parseObj(objList.get(i));
+                String lng = jsonObject.getStr(lngField);
+                String lat = jsonObject.getStr(latField);
+                if (StrUtil.isAllNotBlank(lng, lat)) {
+                    lngs[i] = CoordinateParser.parse(lng);
+                    lats[i] = CoordinateParser.parse(lat);
+                }
+            } catch (Exception e) {
+                // 与 convert2LocationDTOList 一致，无法解析的对象跳过
+            }
+        });
+        return cluster(size, i -> lngs[i], i -> lats[i], region, cellSize, sampleSize, true, objList::get);
+    }
+
+    /**
+     * 聚合 PointStore 里的点位，样本为行ID*
+     *
+     * @param region     区域，为空时不过滤
+     * @param pointStore 点位存储
+     * @param cellSize   网格大小 以度为单位
+     * @param sampleSize 每个聚合点返回的样本数量
+     * @param parallel   是否并行
+     * @return 按数量倒序的聚合点
+     */
+    public static List<ClusterDTO<Long>> cluster(CoordinatePredicate region, PointStore pointStore, double cellSize, int sampleSize, boolean parallel) {
+        if (ObjectUtil.isEmpty(pointStore)) {
+            throw new RuntimeException("pointStore is null");
+        }
+        return cluster(pointStore.size(), pointStore::getLng, pointStore::getLat, region, cellSize, sampleSize, parallel, pointStore::getId);
+    }
+
+    private static <T> List<ClusterDTO<T>> cluster(int size, IntToDoubleFunction lngs, IntToDoubleFunction lats, CoordinatePredicate region,
+                                                   double cellSize, int sampleSize, boolean parallel, IntFunction<T> sampleMapper) {
+        if (cellSize < MIN_CELL_SIZE || cellSize > 360) {
+            throw new RuntimeException("cellSize must between " + MIN_CELL_SIZE + " and 360");
+        }
+        if (sampleSize < 0) {
+            throw new RuntimeException("sampleSize is lt 0");
+        }
+
+        int chunks = parallel ? Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, size / MIN_CHUNK_SIZE)) : 1;
+        int chunkSize = (size + chunks - 1) / Math.max(1, chunks);
+
+        // 分块累加，每块只写自己的表
+        CellTable[] tables = new CellTable[chunks];
+        IntStream chunkStream = IntStream.range(0, chunks);
+        (chunks > 1 ? chunkStream.parallel() : chunkStream).forEach(c -> {
+            int from = c * chunkSize;
+            int to = Math.min(size, from + chunkSize);
+            CellTable table = new CellTable(256, sampleSize);
+            for (int i = from; i < to; i++) {
+                double lng = lngs.applyAsDouble(i);
+                double lat = lats.applyAsDouble(i);
+                if (Double.isNaN(lng) || Double.isNaN(lat) || (region != null && !region.test(lng, lat))) {
+                    continue;
+                }
+                table.add(cellKey(lng, lat, cellSize), lng, lat, i);
+            }
+            tables[c] = table;
+        });
+
+        // 按块顺序合并，样本保持传入顺序靠前
+        CellTable table = tables[0];
+        for (int c = 1; c < chunks; c++) {
+            table.merge(tables[c]);
+        }
+
+        return mergeNeighbours(table, cellSize, sampleMapper);
+    }
+
+    /**
+     * 从数量最多的网格开始，吸收周围 8 个网格中中心点距离小于 cellSize 的网格*
+     */
+    private static <T> List<ClusterDTO<T>> mergeNeighbours(CellTable table, double cellSize, IntFunction<T> sampleMapper) {
+        // 数量倒序，数量相同按网格编号，结果稳定
+        long[] order = new long[table.size()];
+        int n = 0;
+        for (int i = 0; i < table.keys.length; i++) {
+            if (table.keys[i] != CellTable.EMPTY) {
+                order[n++] = ((long) (Integer.MAX_VALUE - table.counts[i]) << 32) | i;
+            }
+        }
+        Arrays.sort(order);
+
+        boolean[] absorbed = new boolean[table.keys.length];
+        int sampleSize = table.sampleSize();
+        List<ClusterDTO<T>> resList = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            int slot = (int) order[k];
+            if (absorbed[slot]) {
+                continue;
+            }
+            absorbed[slot] = true;
+
+            int count = table.counts[slot];
+            double sumLng = table.sumLngs[slot];
+            double sumLat = table.sumLats[slot];
+            List<T> samples = new ArrayList<>(Math.min(sampleSize, count));
+            addSamples(table, slot, samples, sampleSize, sampleMapper);
+
+            double centerLng = sumLng / count;
+            double centerLat = sumLat / count;
+            int cx = (int) (table.keys[slot] >> 32);
+            int cy = (int) table.keys[slot];
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    if (dx == 0 && dy == 0) {
+                        continue;
+                    }
+                    int neighbour = table.find(cellKey(cx + dx, cy + dy));
+                    if (neighbour < 0 || absorbed[neighbour]) {
+                        continue;
+                    }
+                    double lng = table.sumLngs[neighbour] / table.counts[neighbour] - centerLng;
+                    double lat = table.sumLats[neighbour] / table.counts[neighbour] - centerLat;
+                    if (lng * lng + lat * lat < cellSize * cellSize) {
+                        absorbed[neighbour] = true;
+                        count += table.counts[neighbour];
+                        sumLng += table.sumLngs[neighbour];
+                        sumLat += table.sumLats[neighbour];
+                        addSamples(table, neighbour, samples, sampleSize, sampleMapper);
+                    }
+                }
+            }
+            resList.add(new ClusterDTO<>(sumLng / count, sumLat / count, count, samples));
+        }
+        return resList;
+    }
+
+    private static <T> void addSamples(CellTable table, int slot, List<T> samples, int sampleSize, IntFunction<T> sampleMapper) {
+        int take = Math.min(table.sampleCount(slot), sampleSize - samples.size());
+        for (int j = 0; j < take; j++) {
+            samples.add(sampleMapper.apply(table.samples[slot * sampleSize + j]));
+        }
+    }
+
+    private static long cellKey(double lng, double lat, double cellSize) {
+        return cellKey((int) Math.floor((lng + 180) / cellSize), (int) Math.floor((lat + 90) / cellSize));
+    }
+
+    private static long cellKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+}
@@ -0,0 +1,53 @@
+package cn.swj.geo.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 11:00
+ * @Description: 网格聚合结果
+ * @Version 1.0
+ */
+@Data
+@ApiModel(value = "聚合点", description = "网格聚合后的中心点、数量和样本")
+public class ClusterDTO<T> {
+
+    public ClusterDTO() {
+    }
+
+    public ClusterDTO(double centerLng, double centerLat, int count, List<T> samples) {
+        this.centerLng = centerLng;
+        this.centerLat = centerLat;
+        this.count = count;
+        this.samples = samples;
+    }
+
+    /**
+     * 聚合点内所有点位的中心经度*
+     */
+    @ApiModelProperty(value = "中心经度")
+    private double centerLng;
+
+    /**
+     * 聚合点内所有点位的中心纬度*
+     */
+    @ApiModelProperty(value = "中心纬度")
+    private double centerLat;
+
+    /**
+     * 点位数量*
+     */
+    @ApiModelProperty(value = "点位数量")
+    private int count;
+
+    /**
+     * 样本点位，最多 sampleSize 个，按传入顺序取靠前的点位*
+     */
+    @ApiModelProperty(value = "样本点位")
+    private List<T> samples;
+
+}
@@ -3,12 +3,12 @@ package cn.swj.geo.dto;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
+import cn.swj.geo.util.CoordinateParser;
+import cn.swj.geo.util.GeoValidationException;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 
-import javax.persistence.Entity;
-
 /**
  * @Author swj
  * @Date 2023/6/8 11:18
@@ -24,8 +24,8 @@ public class LocationDTO {
     }
 
     public LocationDTO(String lng, String lat) {
-        Double.valueOf(lng);
-        Double.valueOf(lat);
+        CoordinateParser.parse(lng);
+        CoordinateParser.parse(lat);
         this.lng = lng;
         this.lat = lat;
     }
@@ -45,7 +45,7 @@ public class LocationDTO {
     public void check() {
         if (!StrUtil.isAllNotBlank(lng, lat)) {
             // x 经度  y 纬度
-            throw new RuntimeException("x or y is empty");
+            throw new GeoValidationException("x or y is empty");
         }
     }
 
@@ -75,7 +75,7 @@ public class LocationDTO {
         String lng = jsonObject.getStr(lngField);
         String lat = jsonObject.getStr(latField);
         if (!StrUtil.isAllNotBlank(lng, lat)) {
-            throw new RuntimeException(lngField + " or " + latField + " field is not have");
+            throw new GeoValidationException(lngField + " or " + latField + " field is not have");
         }
         return this.lng.equals(lng) && this.lat.equals(lat);
     }
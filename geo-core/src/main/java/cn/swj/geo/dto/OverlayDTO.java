@@ -0,0 +1,86 @@
+package cn.swj.geo.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * @Author swj
+ * @Date 2026/10/24 14:00
+ * @Description: 围栏与多边形（地块或另一个围栏）的叠加结果，面积均为椭球面积
+ * @Version 1.0
+ */
+@Data
+@ApiModel(value = "叠加结果", description = "围栏与多边形的相交面积和重叠比例")
+public class OverlayDTO {
+
+    /**
+     * 围栏被多边形完全覆盖，相交部分即围栏*
+     */
+    public static final String RELATION_FENCE_COVERED = "fenceCovered";
+
+    /**
+     * 多边形被围栏完全覆盖，相交部分即多边形*
+     */
+    public static final String RELATION_COVERED = "covered";
+
+    /**
+     * 部分相交，需要精确求交*
+     */
+    public static final String RELATION_INTERSECTS = "intersects";
+
+    /**
+     * 围栏ID，一个围栏对多个多边形时为空*
+     */
+    @ApiModelProperty(value = "围栏ID")
+    private String fenceId;
+
+    /**
+     * 多边形ID，一个围栏对多个多边形时为空*
+     */
+    @ApiModelProperty(value = "多边形ID")
+    private String targetId;
+
+    /**
+     * 多边形在传入集合中的下标，两组围栏叠加时为 -1*
+     */
+    @ApiModelProperty(value = "多边形下标")
+    private int targetIndex;
+
+    /**
+     * 相交关系 covered / fenceCovered / intersects*
+     */
+    @ApiModelProperty(value = "相交关系", notes = "covered / fenceCovered / intersects")
+    private String relation;
+
+    /**
+     * 相交面积 以平方米为单位*
+     */
+    @ApiModelProperty(value = "相交面积", notes = "以平方米为单位")
+    private double intersectionArea;
+
+    /**
+     * 多边形面积 以平方米为单位*
+     */
+    @ApiModelProperty(value = "多边形面积", notes = "以平方米为单位")
+    private double targetArea;
+
+    /**
+     * 围栏面积 以平方米为单位*
+     */
+    @ApiModelProperty(value = "围栏面积", notes = "以平方米为单位")
+    private double fenceArea;
+
+    /**
+     * 相交面积 / 多边形面积*
+     */
+    @ApiModelProperty(value = "多边形重叠比例")
+    private double overlapRatio;
+
+    /**
+     * 相交面积 / 围栏面积*
+     */
+    @ApiModelProperty(value = "围栏重叠比例")
+    private double fenceRatio;
+
+}
@@ -1,13 +1,12 @@
 package cn.swj.geo.dto;
 
 import cn.hutool.core.util.StrUtil;
+import cn.swj.geo.util.GeoValidationException;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 
-import javax.persistence.Entity;
-
 /**
  * @Author swj
  * @Date 2023/7/11 15:27
@@ -46,7 +45,7 @@ public class RoundnessDTO {
     public void check() {
         centerPoint.check();
         if (StrUtil.isBlank(radius)) {
-            throw new RuntimeException("radius is empty");
+            throw new GeoValidationException("radius is empty");
         }
     }
 
@@ -0,0 +1,58 @@
+package cn.swj.geo.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 13:10
+ * @Description: 点位在线路上的线性参考结果
+ * @Version 1.0
+ */
+@Data
+@ApiModel(value = "线路定位结果", description = "点位投影到线路上的位置")
+public class RouteLocationDTO {
+
+    public RouteLocationDTO() {
+    }
+
+    public RouteLocationDTO(double distanceAlongRoute, double offsetFromRoute, int segmentIndex, double projectedLng, double projectedLat) {
+        this.distanceAlongRoute = distanceAlongRoute;
+        this.offsetFromRoute = offsetFromRoute;
+        this.segmentIndex = segmentIndex;
+        this.projectedLng = projectedLng;
+        this.projectedLat = projectedLat;
+    }
+
+    /**
+     * 从线路起点沿线路到投影点的距离 以米为单位*
+     */
+    @ApiModelProperty(value = "沿线距离", notes = "以米为单位")
+    private double distanceAlongRoute;
+
+    /**
+     * 点位到投影点的距离 以米为单位*
+     */
+    @ApiModelProperty(value = "偏离距离", notes = "以米为单位")
+    private double offsetFromRoute;
+
+    /**
+     * 投影点所在线段的下标，第 i 段为第 i 个点到第 i + 1 个点*
+     */
+    @ApiModelProperty(value = "线段下标")
+    private int segmentIndex;
+
+    /**
+     * 投影点经度*
+     */
+    @ApiModelProperty(value = "投影点经度")
+    private double projectedLng;
+
+    /**
+     * 投影点纬度*
+     */
+    @ApiModelProperty(value = "投影点纬度")
+    private double projectedLat;
+
+}
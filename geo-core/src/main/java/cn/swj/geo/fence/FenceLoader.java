@@ -0,0 +1,135 @@
+package cn.swj.geo.fence;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.util.GeoUtil;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 18:10
+ * @Description: 围栏文件解析。.wkt 为一个 WKT 多边形；.geojson 为 GeoJSON 几何、Feature 或 FeatureCollection；
+ * .json 顶层为数组时按 LocationDTO 点位顺序组成区域，否则按 GeoJSON 解析。
+ * 围栏ID默认取文件名，Feature 有 id 或 properties.id 时取该值，多个 Feature 没有ID时为 文件名#下标
+ * @Version 1.0
+ */
+final class FenceLoader {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+    private FenceLoader() {
+    }
+
+    static boolean isFenceFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".wkt") || name.endsWith(".geojson") || name.endsWith(".json");
+    }
+
+    /**
+     * 解析一个文件中的全部围栏*
+     */
+    static Map<String, CompiledRegion> load(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+        String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+
+        Map<String, CompiledRegion> fenceMap = new LinkedHashMap<>();
+        if (StrUtil.isBlank(text)) {
+            return fenceMap;
+        }
+        if (fileName.toLowerCase().endsWith(".wkt")) {
+            try {
+                fenceMap.put(baseName, new CompiledRegion(new WKTReader(GEOMETRY_FACTORY).read(text)));
+            } catch (ParseException e) {
+                throw new IOException("WKT 解析失败: " + file, e);
+            }
+            return fenceMap;
+        }
+        if (text.startsWith("[")) {
+            List<LocationDTO> locationDTOList = JSONUtil.toList(JSONUtil.parseArray(text), LocationDTO.class);
+            fenceMap.put(baseName, GeoUtil.compileRegionSequence(locationDTOList));
+            return fenceMap;
+        }
+
+        JSONObject jsonObject = JSONUtil.parseObj(text);
+        String type = jsonObject.getStr("type");
+        if ("FeatureCollection".equals(type)) {
+            JSONArray features = jsonObject.getJSONArray("features");
+            for (int i = 0; i < features.size(); i++) {
+                JSONObject feature = features.getJSONObject(i);
+                String fenceId = featureId(feature);
+                fenceMap.put(fenceId != null ? fenceId : baseName + "#" + i, new CompiledRegion(readGeometry(feature.getJSONObject("geometry"))));
+            }
+        } else if ("Feature".equals(type)) {
+            String fenceId = featureId(jsonObject);
+            fenceMap.put(fenceId != null ? fenceId : baseName, new CompiledRegion(readGeometry(jsonObject.getJSONObject("geometry"))));
+        } else {
+            fenceMap.put(baseName, new CompiledRegion(readGeometry(jsonObject)));
+        }
+        return fenceMap;
+    }
+
+    private static String featureId(JSONObject feature) {
+        String fenceId = feature.getStr("id");
+        if (StrUtil.isBlank(fenceId) && feature.getJSONObject("properties") != null) {
+            fenceId = feature.getJSONObject("properties").getStr("id");
+        }
+        return StrUtil.isBlank(fenceId) ? null : fenceId;
+    }
+
+    private static Geometry readGeometry(JSONObject geometry) {
+        if (geometry == null) {
+            throw new RuntimeException("geometry is null");
+        }
+        String type = geometry.getStr("type");
+        JSONArray coordinates = geometry.getJSONArray("coordinates");
+        if ("Polygon".equals(type)) {
+            return readPolygon(coordinates);
+        }
+        if ("MultiPolygon".equals(type)) {
+            Polygon[] polygons = new Polygon[coordinates.size()];
+            for (int i = 0; i < polygons.length; i++) {
+                polygons[i] = readPolygon(coordinates.getJSONArray(i));
+            }
+            return GEOMETRY_FACTORY.createMultiPolygon(polygons);
+        }
+        throw new RuntimeException("unsupported geometry type: " + type);
+    }
+
+    private static Polygon readPolygon(JSONArray rings) {
+        LinearRing shell = readRing(rings.getJSONArray(0));
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 1; i < rings.size(); i++) {
+            holes[i - 1] = readRing(rings.getJSONArray(i));
+        }
+        return GEOMETRY_FACTORY.createPolygon(shell, holes);
+    }
+
+    private static LinearRing readRing(JSONArray ring) {
+        Coordinate[] coordinates = new Coordinate[ring.size()];
+        for (int i = 0; i < coordinates.length; i++) {
+            JSONArray position = ring.getJSONArray(i);
+            coordinates[i] = new Coordinate(position.getDouble(0), position.getDouble(1));
+        }
+        return GEOMETRY_FACTORY.createLinearRing(coordinates);
+    }
+
+}
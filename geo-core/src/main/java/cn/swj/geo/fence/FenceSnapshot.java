@@ -0,0 +1,127 @@
+package cn.swj.geo.fence;
+
+import cn.swj.geo.region.CompiledRegion;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 18:00
+ * @Description: 某一时刻的全部围栏，创建后不再修改，可在多线程间无锁共享。
+ * 版本号每次重新加载递增，可作为结果缓存的 key 的一部分，例如 GeoQueryCache.pointIsContainedRegion(fenceVersion, ...)。
+ * 创建时按围栏外包框建 STR 树，fencesContaining 只对外包框包含坐标的围栏做精确判断
+ * @Version 1.0
+ */
+public final class FenceSnapshot {
+
+    private final long version;
+
+    private final long loadedAt;
+
+    // STR 树节点容量
+    private static final int NODE_CAPACITY = 16;
+
+    private final Map<String, CompiledRegion> fenceMap;
+
+    // 与 fenceMap 的迭代顺序一致，STR 树中存放下标
+    private final String[] fenceIds;
+
+    private final CompiledRegion[] fences;
+
+    private final STRtree tree;
+
+    FenceSnapshot(long version, long loadedAt, Map<String, CompiledRegion> fenceMap) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.fenceMap = Collections.unmodifiableMap(fenceMap);
+        this.fenceIds = new String[fenceMap.size()];
+        this.fences = new CompiledRegion[fenceMap.size()];
+        this.tree = new STRtree(NODE_CAPACITY);
+        int index = 0;
+        for (Map.Entry<String, CompiledRegion> entry : fenceMap.entrySet()) {
+            fenceIds[index] = entry.getKey();
+            fences[index] = entry.getValue();
+            tree.insert(entry.getValue().getEnvelope(), index);
+            index++;
+        }
+        // 提前构建，之后的查询只读
+        tree.build();
+    }
+
+    /**
+     * 获取围栏，不存在返回 null*
+     *
+     * @param fenceId 围栏ID
+     * @return
+     */
+    public CompiledRegion getFence(String fenceId) {
+        return fenceMap.get(fenceId);
+    }
+
+    /**
+     * 判断坐标是否在指定围栏内*
+     *
+     * @param fenceId 围栏ID
+     * @param lng     经度
+     * @param lat     纬度
+     * @return
+     */
+    public boolean pointIsContainedFence(String fenceId, double lng, double lat) {
+        CompiledRegion compiledRegion = fenceMap.get(fenceId);
+        if (compiledRegion == null) {
+            throw new RuntimeException("fence not found: " + fenceId);
+        }
+        return compiledRegion.contains(lng, lat);
+    }
+
+    /**
+     * 包含该坐标的全部围栏ID，按 getFenceIds 的顺序返回*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    public List<String> fencesContaining(double lng, double lat) {
+        BitSet matched = new BitSet(fences.length);
+        tree.query(new Envelope(lng, lng, lat, lat), item -> {
+            int index = (Integer) item;
+            if (fences[index].contains(lng, lat)) {
+                matched.set(index);
+            }
+        });
+        List<String> resList = new ArrayList<>(matched.cardinality());
+        for (int index = matched.nextSetBit(0); index >= 0; index = matched.nextSetBit(index + 1)) {
+            resList.add(fenceIds[index]);
+        }
+        return resList;
+    }
+
+    public Set<String> getFenceIds() {
+        return fenceMap.keySet();
+    }
+
+    public int size() {
+        return fenceMap.size();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 加载完成的时间戳 毫秒*
+     *
+     * @return
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+}
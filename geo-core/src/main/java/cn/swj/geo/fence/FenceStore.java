@@ -0,0 +1,173 @@
+package cn.swj.geo.fence;
+
+import cn.swj.geo.region.CompiledRegion;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 18:30
+ * @Description: 可热加载的围栏存储。监听本地目录，文件变化后在后台线程重新解析、编译全部围栏，
+ * 成功后通过 AtomicReference 整体替换快照；读取只有一次 volatile 读，不加锁，进行中的查询继续使用旧快照。
+ * 加载失败时保留旧快照，错误可通过 getLastError 查看
+ * @Version 1.0
+ */
+public class FenceStore implements AutoCloseable {
+
+    // 连续的文件变化合并为一次加载
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    private final Path directory;
+
+    private final AtomicReference<FenceSnapshot> snapshotReference = new AtomicReference<>();
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private volatile Exception lastError;
+
+    private volatile WatchService watchService;
+
+    private volatile Thread watchThread;
+
+    /**
+     * 创建时同步加载一次目录中的围栏*
+     *
+     * @param directory 围栏目录
+     * @throws IOException
+     */
+    public FenceStore(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new RuntimeException("directory not exists: " + directory);
+        }
+        this.directory = directory;
+        reload();
+    }
+
+    /**
+     * 开始监听目录，文件新增、修改、删除后在后台重新加载*
+     *
+     * @throws IOException
+     */
+    public synchronized void start() throws IOException {
+        if (watchThread != null) {
+            return;
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watchThread = new Thread(this::watch, "geo-fence-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    /**
+     * 当前快照*
+     *
+     * @return
+     */
+    public FenceSnapshot snapshot() {
+        return snapshotReference.get();
+    }
+
+    /**
+     * 从当前快照获取围栏，不存在返回 null*
+     *
+     * @param fenceId 围栏ID
+     * @return
+     */
+    public CompiledRegion getFence(String fenceId) {
+        return snapshotReference.get().getFence(fenceId);
+    }
+
+    /**
+     * 立即重新加载，解析失败时抛出异常并保留旧快照*
+     *
+     * @return 新快照
+     * @throws IOException
+     */
+    public synchronized FenceSnapshot reload() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file) && FenceLoader.isFenceFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        // 按文件名顺序加载，同名围栏以后加载的为准
+        files.sort(null);
+
+        Map<String, CompiledRegion> fenceMap = new HashMap<>();
+        for (Path file : files) {
+            fenceMap.putAll(FenceLoader.load(file));
+        }
+
+        FenceSnapshot snapshot = new FenceSnapshot(versionSequence.incrementAndGet(), System.currentTimeMillis(), fenceMap);
+        snapshotReference.set(snapshot);
+        lastError = null;
+        return snapshot;
+    }
+
+    /**
+     * 最近一次后台加载的错误，成功后清空*
+     *
+     * @return
+     */
+    public Exception getLastError() {
+        return lastError;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    private void watch() {
+        WatchService service = watchService;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = service.take();
+                key.pollEvents();
+                key.reset();
+                // 等待编辑完成
+                WatchKey next;
+                while ((next = service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    next.pollEvents();
+                    next.reset();
+                }
+                try {
+                    reload();
+                } catch (Exception e) {
+                    lastError = e;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 关闭
+        }
+    }
+
+}
@@ -0,0 +1,258 @@
+package cn.swj.geo.geohash;
+
+import java.util.Arrays;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 09:00
+ * @Description: geohash 编码和解码。long 形式把 bits 位有效编码放在低位，最高有效位为经度位，与 base32 字符串逐位一致；
+ * 编码先把经纬度量化为 32 位整数再做位交织，没有逐位二分的分支，批量方法直接读写基本类型数组
+ * @Version 1.0
+ */
+public class GeoHash {
+
+    /**
+     * base32 最大精度，12 个字符即 60 位*
+     */
+    public static final int MAX_PRECISION = 12;
+
+    public static final int BITS_PER_CHAR = 5;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private static final int[] BASE32_INDEX = new int[128];
+
+    // 2^32
+    private static final double SCALE = 4294967296.0;
+
+    static {
+        Arrays.fill(BASE32_INDEX, -1);
+        for (int i = 0; i < BASE32.length; i++) {
+            BASE32_INDEX[BASE32[i]] = i;
+        }
+    }
+
+    private GeoHash() {
+    }
+
+    /**
+     * 编码为 bits 位的 long*
+     *
+     * @param lng  经度
+     * @param lat  纬度
+     * @param bits 位数 1~64
+     * @return
+     */
+    public static long encode(double lng, double lat, int bits) {
+        checkBits(bits);
+        return interleave(quantize(lng, -180, 360), quantize(lat, -90, 180)) >>> (64 - bits);
+    }
+
+    /**
+     * 批量编码*
+     *
+     * @param lngs   经度
+     * @param lats   纬度
+     * @param size   点位数
+     * @param bits   位数 1~64
+     * @param result 编码结果，长度不小于 size
+     */
+    public static void encode(double[] lngs, double[] lats, int size, int bits, long[] result) {
+        checkBits(bits);
+        int shift = 64 - bits;
+        for (int i = 0; i < size; i++) {
+            result[i] = interleave(quantize(lngs[i], -180, 360), quantize(lats[i], -90, 180)) >>> shift;
+        }
+    }
+
+    /**
+     * 编码为 base32 字符串*
+     *
+     * @param lng       经度
+     * @param lat       纬度
+     * @param precision 字符数 1~12
+     * @return
+     */
+    public static String encodeBase32(double lng, double lat, int precision) {
+        checkPrecision(precision);
+        return toBase32(encode(lng, lat, precision * BITS_PER_CHAR), precision);
+    }
+
+    /**
+     * 批量编码为 base32 字符串*
+     *
+     * @param lngs      经度
+     * @param lats      纬度
+     * @param size      点位数
+     * @param precision 字符数 1~12
+     * @param result    编码结果，长度不小于 size
+     */
+    public static void encodeBase32(double[] lngs, double[] lats, int size, int precision, String[] result) {
+        checkPrecision(precision);
+        int shift = 64 - precision * BITS_PER_CHAR;
+        char[] chars = new char[precision];
+        for (int i = 0; i < size; i++) {
+            long hash = interleave(quantize(lngs[i], -180, 360), quantize(lats[i], -90, 180)) >>> shift;
+            result[i] = new String(toChars(hash, precision, chars));
+        }
+    }
+
+    /**
+     * long 形式转 base32 字符串*
+     *
+     * @param hash      编码
+     * @param precision 字符数，hash 须为 precision * 5 位
+     * @return
+     */
+    public static String toBase32(long hash, int precision) {
+        checkPrecision(precision);
+        return new String(toChars(hash, precision, new char[precision]));
+    }
+
+    /**
+     * base32 字符串转 long 形式，位数为字符数 * 5*
+     *
+     * @param geohash base32 字符串
+     * @return
+     */
+    public static long fromBase32(CharSequence geohash) {
+        if (geohash == null || geohash.length() == 0 || geohash.length() > MAX_PRECISION) {
+            throw new RuntimeException("geohash length must be 1~" + MAX_PRECISION);
+        }
+        long hash = 0;
+        for (int i = 0; i < geohash.length(); i++) {
+            char c = geohash.charAt(i);
+            int value = c < 128 ? BASE32_INDEX[Character.toLowerCase(c)] : -1;
+            if (value < 0) {
+                throw new RuntimeException("illegal geohash character: " + c);
+            }
+            hash = (hash << BITS_PER_CHAR) | value;
+        }
+        return hash;
+    }
+
+    /**
+     * 解码为格子中心*
+     *
+     * @param hash 编码
+     * @param bits 位数
+     * @return [经度，纬度]
+     */
+    public static double[] decode(long hash, int bits) {
+        double[] bounds = bounds(hash, bits);
+        return new double[]{(bounds[0] + bounds[2]) / 2, (bounds[1] + bounds[3]) / 2};
+    }
+
+    /**
+     * 批量解码为格子中心*
+     *
+     * @param hashes 编码
+     * @param size   数量
+     * @param bits   位数
+     * @param lngs   中心经度
+     * @param lats   中心纬度
+     */
+    public static void decode(long[] hashes, int size, int bits, double[] lngs, double[] lats) {
+        checkBits(bits);
+        int lngBits = (bits + 1) / 2;
+        int latBits = bits / 2;
+        double lngWidth = 360 / Math.pow(2, lngBits);
+        double latHeight = 180 / Math.pow(2, latBits);
+        for (int i = 0; i < size; i++) {
+            long z = hashes[i] << (64 - bits);
+            lngs[i] = -180 + ((compact(z >>> 1) >>> (32 - lngBits)) + 0.5) * lngWidth;
+            lats[i] = -90 + (latBits == 0 ? 0.5 : (compact(z) >>> (32 - latBits)) + 0.5) * latHeight;
+        }
+    }
+
+    /**
+     * 格子的范围*
+     *
+     * @param hash 编码
+     * @param bits 位数
+     * @return [最小经度，最小纬度，最大经度，最大纬度]
+     */
+    public static double[] bounds(long hash, int bits) {
+        checkBits(bits);
+        int lngBits = (bits + 1) / 2;
+        int latBits = bits / 2;
+        double lngWidth = 360 / Math.pow(2, lngBits);
+        double latHeight = 180 / Math.pow(2, latBits);
+        long z = hash << (64 - bits);
+        long column = compact(z >>> 1) >>> (32 - lngBits);
+        long row = latBits == 0 ? 0 : compact(z) >>> (32 - latBits);
+        double minLng = -180 + column * lngWidth;
+        double minLat = -90 + row * latHeight;
+        return new double[]{minLng, minLat, minLng + lngWidth, minLat + latHeight};
+    }
+
+    /**
+     * 由列号和行号得到编码，列号和行号分别为 (bits + 1) / 2 位和 bits / 2 位*
+     *
+     * @param column 列号
+     * @param row    行号
+     * @param bits   位数
+     * @return
+     */
+    static long fromCell(long column, long row, int bits) {
+        int lngBits = (bits + 1) / 2;
+        int latBits = bits / 2;
+        long lng = column << (32 - lngBits);
+        long lat = latBits == 0 ? 0 : row << (32 - latBits);
+        return interleave(lng, lat) >>> (64 - bits);
+    }
+
+    // 量化为 [0, 2^32) 的整数，超出范围的夹到边界
+    private static long quantize(double value, double min, double range) {
+        long q = (long) ((value - min) / range * SCALE);
+        return q < 0 ? 0 : (q > 0xFFFFFFFFL ? 0xFFFFFFFFL : q);
+    }
+
+    // 经度占偶数位（从最高位数起），纬度占奇数位
+    private static long interleave(long lng, long lat) {
+        return (spread(lng) << 1) | spread(lat);
+    }
+
+    // 把低 32 位分散到偶数位
+    private static long spread(long v) {
+        v &= 0xFFFFFFFFL;
+        v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & 0x5555555555555555L;
+        return v;
+    }
+
+    // spread 的逆运算，取偶数位
+    private static long compact(long v) {
+        v &= 0x5555555555555555L;
+        v = (v | (v >>> 1)) & 0x3333333333333333L;
+        v = (v | (v >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v >>> 4)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v >>> 8)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v >>> 16)) & 0x00000000FFFFFFFFL;
+        return v;
+    }
+
+    private static char[] toChars(long hash, int precision, char[] chars) {
+        for (int i = precision - 1; i >= 0; i--) {
+            chars[i] = BASE32[(int) (hash & 31)];
+            hash >>>= BITS_PER_CHAR;
+        }
+        return chars;
+    }
+
+    private static void checkBits(int bits) {
+        if (bits <= 0 || bits > 64) {
+            throw new RuntimeException("bits must be 1~64");
+        }
+    }
+
+    private static void checkPrecision(int precision) {
+        if (precision <= 0 || precision > MAX_PRECISION) {
+            throw new RuntimeException("precision must be 1~" + MAX_PRECISION);
+        }
+    }
+
+}
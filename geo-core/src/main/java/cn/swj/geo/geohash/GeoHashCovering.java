@@ -0,0 +1,381 @@
+package cn.swj.geo.geohash;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.region.CompiledCircle;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.route.CompiledRoute;
+import cn.swj.geo.util.GeoUtil;
+import cn.swj.geo.util.GeodesicUtil;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 09:40
+ * @Description: 覆盖圆形、区域或线路走廊的 geohash 格子集合，用于数据库里按前缀或键范围粗筛，粗筛结果再交给 GeoUtil 精确判断。
+ * 从能用少量格子盖住外包框的精度开始，逐级把与图形部分相交的格子拆成 32 个子格，完全在图形内的格子不再拆分，
+ * 直到达到最大精度或格子数将超过上限，格子数不超过上限。判断偏保守，只会多盖不会漏盖
+ * @Version 1.0
+ */
+public class GeoHashCovering {
+
+    private static final int DISJOINT = 0;
+
+    private static final int PARTIAL = 1;
+
+    private static final int INSIDE = 2;
+
+    // 起始精度下外包框最多跨越的格子数
+    private static final int START_CELLS = 4;
+
+    // 格子数上限的最小值。精度 1 的格子为 8 列 × 4 行，大范围图形从精度 1 开始时最多跨越全部 32 个格子，
+    // 上限不小于 32 才能保证结果不超过上限
+    private static final int MIN_MAX_CELLS = 32;
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+    // 格子编码，按精度对齐后升序
+    private final long[] cells;
+
+    // 每个格子的字符数
+    private final int[] precisions;
+
+    private GeoHashCovering(long[] cells, int[] precisions) {
+        this.cells = cells;
+        this.precisions = precisions;
+    }
+
+    /**
+     * 覆盖圆形区域，与 GeoUtil.pointListIsContainedRoundRegion 同口径*
+     *
+     * @param roundnessDTO 圆心和半径
+     * @param maxPrecision 最大字符数 1~12
+     * @param maxCells     格子数上限，不小于 32
+     * @return
+     */
+    public static GeoHashCovering of(RoundnessDTO roundnessDTO, int maxPrecision, int maxCells) {
+        return of(GeoUtil.compileRoundRegion(roundnessDTO), maxPrecision, maxCells);
+    }
+
+    /**
+     * 覆盖预编译的圆形区域*
+     *
+     * @param compiledCircle 预编译圆形区域
+     * @param maxPrecision   最大字符数 1~12
+     * @param maxCells       格子数上限，不小于 32
+     * @return
+     */
+    public static GeoHashCovering of(CompiledCircle compiledCircle, int maxPrecision, int maxCells) {
+        if (ObjectUtil.isEmpty(compiledCircle)) {
+            throw new RuntimeException("compiledCircle is null");
+        }
+        double cx = compiledCircle.getCenterLng();
+        double cy = compiledCircle.getCenterLat();
+        double r = compiledCircle.getDegreeRadius();
+        double rSq = r * r;
+        Envelope envelope = new Envelope(cx - r, cx + r, cy - r, cy + r);
+        return cover(envelope, maxPrecision, maxCells, (minLng, minLat, maxLng, maxLat) -> {
+            double dx = cx - Math.max(minLng, Math.min(cx, maxLng));
+            double dy = cy - Math.max(minLat, Math.min(cy, maxLat));
+            // 圆内判断不含边界，最近点距离等于半径时也不相交
+            if (dx * dx + dy * dy >= rSq) {
+                return DISJOINT;
+            }
+            double fx = Math.max(cx - minLng, maxLng - cx);
+            double fy = Math.max(cy - minLat, maxLat - cy);
+            return fx * fx + fy * fy < rSq ? INSIDE : PARTIAL;
+        });
+    }
+
+    /**
+     * 覆盖预编译区域*
+     *
+     * @param compiledRegion 预编译区域
+     * @param maxPrecision   最大字符数 1~12
+     * @param maxCells       格子数上限，不小于 32
+     * @return
+     */
+    public static GeoHashCovering of(CompiledRegion compiledRegion, int maxPrecision, int maxCells) {
+        if (ObjectUtil.isEmpty(compiledRegion)) {
+            throw new RuntimeException("compiledRegion is null");
+        }
+        PreparedGeometry prepared = compiledRegion.getPreparedGeometry();
+        Envelope envelope = compiledRegion.getEnvelope();
+        return cover(envelope, maxPrecision, maxCells, (minLng, minLat, maxLng, maxLat) -> {
+            if (!overlaps(envelope, minLng, minLat, maxLng, maxLat)) {
+                return DISJOINT;
+            }
+            Polygon cell = rectangle(minLng, minLat, maxLng, maxLat);
+            if (prepared.covers(cell)) {
+                return INSIDE;
+            }
+            return prepared.intersects(cell) ? PARTIAL : DISJOINT;
+        });
+    }
+
+    /**
+     * 覆盖线路两侧 metres 米内的走廊，与 GeoUtil.calculateShortestDistanceFromCurve4Points 配合使用*
+     *
+     * @param compiledRoute 预编译线路
+     * @param metres        走廊半宽 以米为单位
+     * @param maxPrecision  最大字符数 1~12
+     * @param maxCells      格子数上限，不小于 32
+     * @return
+     */
+    public static GeoHashCovering ofCorridor(CompiledRoute compiledRoute, double metres, int maxPrecision, int maxCells) {
+        if (ObjectUtil.isEmpty(compiledRoute)) {
+            throw new RuntimeException("compiledRoute is null");
+        }
+        if (metres < 0) {
+            throw new RuntimeException("metres is lt 0");
+        }
+        Coordinate[] coordinates = new Coordinate[compiledRoute.getVertexCount()];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = new Coordinate(compiledRoute.getLng(i), compiledRoute.getLat(i));
+        }
+        PreparedGeometry line = PreparedGeometryFactory.prepare(GEOMETRY_FACTORY.createLineString(coordinates));
+        Envelope lineEnvelope = line.getGeometry().getEnvelopeInternal();
+        // 经度方向按线路最高纬度处换算
+        double[] span = GeodesicUtil.degreeSpan(Math.max(Math.abs(lineEnvelope.getMinY()), Math.abs(lineEnvelope.getMaxY())), metres);
+        double dLng = span[0];
+        double dLat = span[1];
+        Envelope envelope = new Envelope(lineEnvelope);
+        envelope.expandBy(dLng, dLat);
+        return cover(envelope, maxPrecision, maxCells, (minLng, minLat, maxLng, maxLat) -> {
+            if (!overlaps(lineEnvelope, minLng - dLng, minLat - dLat, maxLng + dLng, maxLat + dLat)) {
+                return DISJOINT;
+            }
+            return line.intersects(rectangle(minLng - dLng, minLat - dLat, maxLng + dLng, maxLat + dLat)) ? PARTIAL : DISJOINT;
+        });
+    }
+
+    /**
+     * 格子数量*
+     *
+     * @return
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * 第 index 个格子的编码，位数为 getPrecision(index) * 5*
+     *
+     * @param index 下标
+     * @return
+     */
+    public long getCell(int index) {
+        return cells[index];
+    }
+
+    /**
+     * 第 index 个格子的字符数*
+     *
+     * @param index 下标
+     * @return
+     */
+    public int getPrecision(int index) {
+        return precisions[index];
+    }
+
+    /**
+     * 格子的 base32 字符串，可直接用作前缀查询*
+     *
+     * @return
+     */
+    public List<String> toBase32() {
+        List<String> resList = new ArrayList<>(cells.length);
+        for (int i = 0; i < cells.length; i++) {
+            resList.add(GeoHash.toBase32(cells[i], precisions[i]));
+        }
+        return resList;
+    }
+
+    /**
+     * 转为 precision 个字符（precision * 5 位）的 long 编码上的键范围，相邻和重叠的范围已合并。
+     * 比 precision 更细的格子取其父格子*
+     *
+     * @param precision 存储的 geohash 字符数 1~12
+     * @return 依次为 [开始, 结束) 的成对数组，长度为范围数 * 2
+     */
+    public long[] toRanges(int precision) {
+        if (precision <= 0 || precision > GeoHash.MAX_PRECISION) {
+            throw new RuntimeException("precision must be 1~" + GeoHash.MAX_PRECISION);
+        }
+        long[][] ranges = new long[cells.length][];
+        for (int i = 0; i < cells.length; i++) {
+            int shift = (precision - precisions[i]) * GeoHash.BITS_PER_CHAR;
+            if (shift >= 0) {
+                ranges[i] = new long[]{cells[i] << shift, (cells[i] + 1) << shift};
+            } else {
+                long parent = cells[i] >>> -shift;
+                ranges[i] = new long[]{parent, parent + 1};
+            }
+        }
+        Arrays.sort(ranges, (a, b) -> Long.compare(a[0], b[0]));
+        long[] merged = new long[ranges.length * 2];
+        int count = 0;
+        for (long[] range : ranges) {
+            if (count > 0 && range[0] <= merged[count - 1]) {
+                merged[count - 1] = Math.max(merged[count - 1], range[1]);
+            } else {
+                merged[count++] = range[0];
+                merged[count++] = range[1];
+            }
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    /**
+     * 判断 long 编码是否落在覆盖范围内，可用于内存中的粗筛*
+     *
+     * @param hash      编码
+     * @param precision hash 的字符数，不小于覆盖中最细的格子
+     * @return
+     */
+    public boolean covers(long hash, int precision) {
+        for (int i = 0; i < cells.length; i++) {
+            int shift = (precision - precisions[i]) * GeoHash.BITS_PER_CHAR;
+            if (shift >= 0 && hash >>> shift == cells[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static GeoHashCovering cover(Envelope envelope, int maxPrecision, int maxCells, CellShape shape) {
+        if (maxPrecision <= 0 || maxPrecision > GeoHash.MAX_PRECISION) {
+            throw new RuntimeException("maxPrecision must be 1~" + GeoHash.MAX_PRECISION);
+        }
+        if (maxCells < MIN_MAX_CELLS) {
+            throw new RuntimeException("maxCells must ge " + MIN_MAX_CELLS);
+        }
+        int precision = startPrecision(envelope, maxPrecision);
+        List<long[]> result = new ArrayList<>();
+        long[] partial = startCells(envelope, precision);
+        int partialCount = 0;
+        // 起始格子先按图形分类
+        for (long cell : partial) {
+            double[] bounds = GeoHash.bounds(cell, precision * GeoHash.BITS_PER_CHAR);
+            int relation = shape.relate(bounds[0], bounds[1], bounds[2], bounds[3]);
+            if (relation == INSIDE) {
+                result.add(new long[]{cell, precision});
+            } else if (relation == PARTIAL) {
+                partial[partialCount++] = cell;
+            }
+        }
+        while (partialCount > 0) {
+            // 已到最大精度，或全部拆开后可能超过上限，部分相交的格子原样保留
+            if (precision == maxPrecision || result.size() + (long) partialCount * 32 > maxCells) {
+                for (int i = 0; i < partialCount; i++) {
+                    result.add(new long[]{partial[i], precision});
+                }
+                break;
+            }
+            precision++;
+            long[] next = new long[partialCount * 32];
+            int nextCount = 0;
+            for (int i = 0; i < partialCount; i++) {
+                for (int c = 0; c < 32; c++) {
+                    long child = (partial[i] << GeoHash.BITS_PER_CHAR) | c;
+                    double[] bounds = GeoHash.bounds(child, precision * GeoHash.BITS_PER_CHAR);
+                    int relation = shape.relate(bounds[0], bounds[1], bounds[2], bounds[3]);
+                    if (relation == INSIDE) {
+                        result.add(new long[]{child, precision});
+                    } else if (relation == PARTIAL) {
+                        next[nextCount++] = child;
+                    }
+                }
+            }
+            partial = next;
+            partialCount = nextCount;
+        }
+
+        // 按最大精度对齐后排序，相邻格子在键空间上也相邻
+        int finest = maxPrecision;
+        result.sort((a, b) -> Long.compare(a[0] << ((finest - a[1]) * GeoHash.BITS_PER_CHAR), b[0] << ((finest - b[1]) * GeoHash.BITS_PER_CHAR)));
+        long[] cells = new long[result.size()];
+        int[] precisions = new int[result.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = result.get(i)[0];
+            precisions[i] = (int) result.get(i)[1];
+        }
+        return new GeoHashCovering(cells, precisions);
+    }
+
+    // 外包框最多跨越 START_CELLS 个格子的最高精度
+    private static int startPrecision(Envelope envelope, int maxPrecision) {
+        int precision = 1;
+        for (int p = 1; p <= maxPrecision; p++) {
+            if (startCellCount(envelope, p) > START_CELLS) {
+                break;
+            }
+            precision = p;
+        }
+        return precision;
+    }
+
+    private static long startCellCount(Envelope envelope, int precision) {
+        long[] range = cellRange(envelope, precision);
+        return (range[2] - range[0] + 1) * (range[3] - range[1] + 1);
+    }
+
+    private static long[] startCells(Envelope envelope, int precision) {
+        int bits = precision * GeoHash.BITS_PER_CHAR;
+        long[] range = cellRange(envelope, precision);
+        long[] cells = new long[(int) ((range[2] - range[0] + 1) * (range[3] - range[1] + 1))];
+        int count = 0;
+        for (long row = range[1]; row <= range[3]; row++) {
+            for (long column = range[0]; column <= range[2]; column++) {
+                cells[count++] = GeoHash.fromCell(column, row, bits);
+            }
+        }
+        return cells;
+    }
+
+    // 外包框在该精度下的列号、行号范围 [minColumn, minRow, maxColumn, maxRow]
+    private static long[] cellRange(Envelope envelope, int precision) {
+        int bits = precision * GeoHash.BITS_PER_CHAR;
+        long columns = 1L << ((bits + 1) / 2);
+        long rows = 1L << (bits / 2);
+        return new long[]{
+                index(envelope.getMinX(), -180, 360, columns), index(envelope.getMinY(), -90, 180, rows),
+                index(envelope.getMaxX(), -180, 360, columns), index(envelope.getMaxY(), -90, 180, rows)
+        };
+    }
+
+    private static long index(double value, double min, double range, long count) {
+        long index = (long) Math.floor((value - min) / range * count);
+        return index < 0 ? 0 : (index >= count ? count - 1 : index);
+    }
+
+    private static boolean overlaps(Envelope envelope, double minLng, double minLat, double maxLng, double maxLat) {
+        return envelope.getMinX() <= maxLng && envelope.getMaxX() >= minLng && envelope.getMinY() <= maxLat && envelope.getMaxY() >= minLat;
+    }
+
+    private static Polygon rectangle(double minLng, double minLat, double maxLng, double maxLat) {
+        return GEOMETRY_FACTORY.createPolygon(new Coordinate[]{
+                new Coordinate(minLng, minLat), new Coordinate(maxLng, minLat), new Coordinate(maxLng, maxLat),
+                new Coordinate(minLng, maxLat), new Coordinate(minLng, minLat)
+        });
+    }
+
+    /**
+     * 格子与图形的关系*
+     */
+    private interface CellShape {
+
+        int relate(double minLng, double minLat, double maxLng, double maxLat);
+
+    }
+
+}
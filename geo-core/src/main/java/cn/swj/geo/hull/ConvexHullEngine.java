@@ -0,0 +1,132 @@
+package cn.swj.geo.hull;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.jfr.GeoEvents;
+import cn.swj.geo.util.CoordinateParser;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * @Author swj
+ * @Date 2026/10/24 10:00
+ * @Description: 大点集的凸包计算。点位分块，每块先用四个极值点组成的四边形（Akl-Toussaint）排除明显在内部的点位，
+ * 剩余点位增量加入本块的凸包，最后把各块凸包的顶点合并成一个 IncrementalHull，之后可继续增量新增点位
+ * @Version 1.0
+ */
+public class ConvexHullEngine {
+
+    // 小于该数量时不拆分
+    private static final int MIN_CHUNK_SIZE = 8192;
+
+    private ConvexHullEngine() {
+    }
+
+    /**
+     * 计算点位的凸包，空点位跳过*
+     *
+     * @param locationDTOList 点位
+     * @param parallel        是否并行
+     * @return
+     */
+    public static IncrementalHull hull(List<LocationDTO> locationDTOList, boolean parallel) {
+        if (CollectionUtil.isEmpty(locationDTOList)) {
+            throw new RuntimeException("locationDTOList is empty");
+        }
+        int size = locationDTOList.size();
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        IntStream range = IntStream.range(0, size);
+        (parallel ? range.parallel() : range).forEach(i -> {
+            LocationDTO locationDTO = locationDTOList.get(i);
+            if (ObjectUtil.isEmpty(locationDTO)) {
+                lngs[i] = Double.NaN;
+                lats[i] = Double.NaN;
+                return;
+            }
+            lngs[i] = CoordinateParser.parse(locationDTO.getLng());
+            lats[i] = CoordinateParser.parse(locationDTO.getLat());
+        });
+        return hull(lngs, lats, size, parallel);
+    }
+
+    /**
+     * 计算前 size 个点位的凸包，经度或纬度为 NaN 的跳过*
+     *
+     * @param lngs     经度
+     * @param lats     纬度
+     * @param size     数量
+     * @param parallel 是否并行
+     * @return
+     */
+    public static IncrementalHull hull(double[] lngs, double[] lats, int size, boolean parallel) {
+        Object event = GeoEvents.beginHull();
+
+        int chunks = parallel ? Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, size / MIN_CHUNK_SIZE)) : 1;
+        int chunkSize = (size + chunks - 1) / Math.max(1, chunks);
+
+        IncrementalHull[] hulls = new IncrementalHull[chunks];
+        IntStream chunkStream = IntStream.range(0, chunks);
+        (chunks > 1 ? chunkStream.parallel() : chunkStream).forEach(c -> {
+            int from = c * chunkSize;
+            hulls[c] = chunkHull(lngs, lats, from, Math.min(size, from + chunkSize));
+        });
+        IncrementalHull hull = hulls[0];
+        for (int c = 1; c < chunks; c++) {
+            hull.merge(hulls[c]);
+        }
+
+        GeoEvents.completeHull(event, size, hull.getVertexCount());
+        return hull;
+    }
+
+    private static IncrementalHull chunkHull(double[] lngs, double[] lats, int from, int to) {
+        // 最小经度、最小纬度、最大经度、最大纬度四个极值点，按此顺序为逆时针
+        int minX = -1, minY = -1, maxX = -1, maxY = -1;
+        for (int i = from; i < to; i++) {
+            if (Double.isNaN(lngs[i]) || Double.isNaN(lats[i])) {
+                continue;
+            }
+            if (minX < 0 || lngs[i] < lngs[minX]) {
+                minX = i;
+            }
+            if (maxX < 0 || lngs[i] > lngs[maxX]) {
+                maxX = i;
+            }
+            if (minY < 0 || lats[i] < lats[minY]) {
+                minY = i;
+            }
+            if (maxY < 0 || lats[i] > lats[maxY]) {
+                maxY = i;
+            }
+        }
+        IncrementalHull hull = new IncrementalHull();
+        if (minX < 0) {
+            return hull;
+        }
+        int[] corners = {minX, minY, maxX, maxY};
+        for (int i = from; i < to; i++) {
+            if (Double.isNaN(lngs[i]) || Double.isNaN(lats[i]) || strictlyInside(lngs, lats, corners, lngs[i], lats[i])) {
+                continue;
+            }
+            hull.add(lngs[i], lats[i]);
+        }
+        return hull;
+    }
+
+    // 严格在四边形内部的点位不可能是凸包顶点；四边形退化时没有点位严格在内部
+    private static boolean strictlyInside(double[] lngs, double[] lats, int[] corners, double x, double y) {
+        for (int k = 0; k < corners.length; k++) {
+            int a = corners[k];
+            int b = corners[(k + 1) % corners.length];
+            if ((lngs[b] - lngs[a]) * (y - lats[a]) - (lats[b] - lats[a]) * (x - lngs[a]) <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,221 @@
+package cn.swj.geo.hull;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @Author swj
+ * @Date 2026/10/24 09:30
+ * @Description: 可增量更新的凸包，例如由历史定位不断扩大的骑手覆盖范围。凸包拆成按经度排序的上链和下链，
+ * 新增点位时先在两条链上二分判断是否落在凸包内，在凸包外才插入并删除因此不再凸的相邻顶点，
+ * 每个顶点最多被删除一次，单次新增均摊 O(log h)，h 为凸包顶点数。共线的顶点会被去掉，与 JTS ConvexHull 一致。线程安全
+ * @Version 1.0
+ */
+public class IncrementalHull {
+
+    private final Chain upper = new Chain(1);
+
+    private final Chain lower = new Chain(-1);
+
+    /**
+     * 新增点位*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return 凸包是否发生变化
+     */
+    public synchronized boolean add(double lng, double lat) {
+        if (Double.isNaN(lng) || Double.isNaN(lat)) {
+            return false;
+        }
+        // 两条链各自独立，不能短路
+        boolean upperChanged = upper.add(lng, lat);
+        boolean lowerChanged = lower.add(lng, lat);
+        return upperChanged || lowerChanged;
+    }
+
+    /**
+     * 批量新增前 size 个点位，经度或纬度为 NaN 的跳过*
+     *
+     * @param lngs 经度
+     * @param lats 纬度
+     * @param size 数量
+     * @return 凸包是否发生变化
+     */
+    public synchronized boolean addAll(double[] lngs, double[] lats, int size) {
+        boolean changed = false;
+        for (int i = 0; i < size; i++) {
+            changed |= add(lngs[i], lats[i]);
+        }
+        return changed;
+    }
+
+    /**
+     * 合并另一个凸包，只需新增对方的顶点*
+     *
+     * @param other 另一个凸包
+     * @return 凸包是否发生变化
+     */
+    public boolean merge(IncrementalHull other) {
+        double[][] vertices = other.vertices();
+        return addAll(vertices[0], vertices[1], vertices[0].length);
+    }
+
+    /**
+     * 判断坐标是否在凸包内（含边界），复杂度 O(log h)*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    public synchronized boolean contains(double lng, double lat) {
+        return upper.isCovered(lng, lat) && lower.isCovered(lng, lat);
+    }
+
+    /**
+     * 凸包顶点，逆时针闭合，不足 3 个不共线的点位时为空数组*
+     *
+     * @return
+     */
+    public synchronized Coordinate[] getCoordinates() {
+        double[][] vertices = vertices();
+        if (vertices[0].length < 3) {
+            return new Coordinate[0];
+        }
+        Coordinate[] coordinates = new Coordinate[vertices[0].length + 1];
+        for (int i = 0; i < vertices[0].length; i++) {
+            coordinates[i] = new Coordinate(vertices[0][i], vertices[1][i]);
+        }
+        coordinates[vertices[0].length] = coordinates[0];
+        return coordinates;
+    }
+
+    /**
+     * 转为多边形*
+     *
+     * @param geometryFactory 几何工厂
+     * @return
+     */
+    public Polygon toPolygon(GeometryFactory geometryFactory) {
+        Coordinate[] coordinates = getCoordinates();
+        if (coordinates.length == 0) {
+            throw new RuntimeException("Failed to generate convex polygon");
+        }
+        return geometryFactory.createPolygon(coordinates);
+    }
+
+    /**
+     * 凸包顶点数（不含闭合点）*
+     *
+     * @return
+     */
+    public synchronized int getVertexCount() {
+        return vertices()[0].length;
+    }
+
+    // 下链从左到右，再接上链从右到左，首尾相同的端点只保留一个
+    private synchronized double[][] vertices() {
+        List<double[]> ring = new ArrayList<>(lower.size() + upper.size());
+        for (Map.Entry<Double, Double> entry : lower.entries()) {
+            ring.add(new double[]{entry.getKey(), entry.getValue()});
+        }
+        for (Map.Entry<Double, Double> entry : upper.descendingEntries()) {
+            double[] last = ring.get(ring.size() - 1);
+            double[] first = ring.get(0);
+            if ((entry.getKey() == last[0] && entry.getValue() == last[1]) || (entry.getKey() == first[0] && entry.getValue() == first[1])) {
+                continue;
+            }
+            ring.add(new double[]{entry.getKey(), entry.getValue()});
+        }
+        double[][] vertices = new double[2][ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            vertices[0][i] = ring.get(i)[0];
+            vertices[1][i] = ring.get(i)[1];
+        }
+        return vertices;
+    }
+
+    /**
+     * 单调链，按经度排序。sign 为 1 时是上链（同一经度保留最大纬度，相邻三点右转），为 -1 时是下链*
+     */
+    private static final class Chain {
+
+        private final TreeMap<Double, Double> points = new TreeMap<>();
+
+        private final int sign;
+
+        private Chain(int sign) {
+            this.sign = sign;
+        }
+
+        private boolean add(double x, double y) {
+            Double existing = points.get(x);
+            if (existing != null && sign * y <= sign * existing) {
+                return false;
+            }
+            Map.Entry<Double, Double> lo = points.lowerEntry(x);
+            Map.Entry<Double, Double> hi = points.higherEntry(x);
+            if (lo != null && hi != null && sign * cross(lo.getKey(), lo.getValue(), hi.getKey(), hi.getValue(), x, y) <= 0) {
+                return false;
+            }
+            points.put(x, y);
+            // 删除左侧不再凸的顶点
+            while (true) {
+                Map.Entry<Double, Double> l1 = points.lowerEntry(x);
+                Map.Entry<Double, Double> l2 = l1 == null ? null : points.lowerEntry(l1.getKey());
+                if (l2 == null || sign * cross(l2.getKey(), l2.getValue(), l1.getKey(), l1.getValue(), x, y) < 0) {
+                    break;
+                }
+                points.remove(l1.getKey());
+            }
+            // 删除右侧不再凸的顶点
+            while (true) {
+                Map.Entry<Double, Double> r1 = points.higherEntry(x);
+                Map.Entry<Double, Double> r2 = r1 == null ? null : points.higherEntry(r1.getKey());
+                if (r2 == null || sign * cross(x, y, r1.getKey(), r1.getValue(), r2.getKey(), r2.getValue()) < 0) {
+                    break;
+                }
+                points.remove(r1.getKey());
+            }
+            return true;
+        }
+
+        // 上链：点位在链下方或链上；下链：点位在链上方或链上
+        private boolean isCovered(double x, double y) {
+            Map.Entry<Double, Double> lo = points.floorEntry(x);
+            Map.Entry<Double, Double> hi = points.ceilingEntry(x);
+            if (lo == null || hi == null) {
+                return false;
+            }
+            if (lo.getKey() == x) {
+                return sign * y <= sign * lo.getValue();
+            }
+            return sign * cross(lo.getKey(), lo.getValue(), hi.getKey(), hi.getValue(), x, y) <= 0;
+        }
+
+        private int size() {
+            return points.size();
+        }
+
+        private Iterable<Map.Entry<Double, Double>> entries() {
+            return points.entrySet();
+        }
+
+        private Iterable<Map.Entry<Double, Double>> descendingEntries() {
+            return points.descendingMap().entrySet();
+        }
+
+        // (b - a) x (c - a)，c 在 a -> b 左侧为正
+        private static double cross(double ax, double ay, double bx, double by, double cx, double cy) {
+            return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+        }
+
+    }
+
+}
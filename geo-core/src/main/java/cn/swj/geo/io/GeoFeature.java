@@ -0,0 +1,45 @@
+package cn.swj.geo.io;
+
+import org.locationtech.jts.geom.Geometry;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 09:05
+ * @Description: 导入得到的一个要素，几何图形已是 JTS 对象，不再经过 LocationDTO
+ * @Version 1.0
+ */
+public class GeoFeature {
+
+    private final String id;
+
+    private final Geometry geometry;
+
+    private final Map<String, Object> properties;
+
+    public GeoFeature(String id, Geometry geometry, Map<String, Object> properties) {
+        this.id = id;
+        this.geometry = geometry;
+        this.properties = properties == null ? Collections.emptyMap() : properties;
+    }
+
+    /**
+     * 要素ID，没有时为 null*
+     *
+     * @return
+     */
+    public String getId() {
+        return id;
+    }
+
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+}
@@ -0,0 +1,454 @@
+package cn.swj.geo.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 09:30
+ * @Description: 基于 jackson-core 的 GeoJSON 流式导入。FeatureCollection 的 features 按 token 逐个解析，
+ * 每个要素解析完立即交给调用方，内存只与单个要素大小有关；点位导入不创建 JTS 对象，直接写入 PointSink。
+ * 按行分隔的 GeoJSON（每行一个 Feature）可以并行解析
+ * @Version 1.0
+ */
+public class GeoJsonStreamReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final GeometryFactory geometryFactory;
+
+    public GeoJsonStreamReader() {
+        this(new GeometryFactory());
+    }
+
+    public GeoJsonStreamReader(GeometryFactory geometryFactory) {
+        this.geometryFactory = geometryFactory;
+    }
+
+    /**
+     * 读取 FeatureCollection、Feature 或几何图形，逐个要素回调*
+     *
+     * @param in       输入流，由调用方关闭
+     * @param consumer 要素接收方
+     * @return 要素数量
+     * @throws IOException
+     */
+    public long readFeatures(InputStream in, Consumer<GeoFeature> consumer) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("GeoJSON must be an object");
+            }
+            return readObject(parser, consumer);
+        }
+    }
+
+    /**
+     * 读取 Point 要素写入 sink，其他类型的要素跳过*
+     *
+     * @param in         输入流，由调用方关闭
+     * @param idProperty 作为点位ID的属性名，属性不存在时取要素 id，再没有时取要素下标
+     * @param sink       点位接收方
+     * @return 点位数量
+     * @throws IOException
+     */
+    public long readPoints(InputStream in, String idProperty, PointSink sink) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("GeoJSON must be an object");
+            }
+            long count = 0;
+            long index = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("features".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        if (readPoint(parser, idProperty, index++, sink)) {
+                            count++;
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 读取按行分隔的 GeoJSON，每行一个 Feature 或几何图形*
+     *
+     * @param file     文件
+     * @param parallel 是否并行，并行时 consumer 需要线程安全
+     * @param consumer 要素接收方
+     * @return 要素数量
+     * @throws IOException
+     */
+    public long readFeatureLines(Path file, boolean parallel, Consumer<GeoFeature> consumer) throws IOException {
+        AtomicLong count = new AtomicLong();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            LineBatchProcessor.process(reader, parallel, line -> {
+                try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+                    if (parser.nextToken() != JsonToken.START_OBJECT) {
+                        throw new IOException("GeoJSON line must be an object");
+                    }
+                    count.addAndGet(readObject(parser, consumer));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return count.get();
+    }
+
+    /**
+     * 读取按行分隔的 GeoJSON 中的 Point 要素，没有ID时为 -1*
+     *
+     * @param file       文件
+     * @param idProperty 作为点位ID的属性名
+     * @param parallel   是否并行，并行时 sink 需要线程安全
+     * @param sink       点位接收方
+     * @return 点位数量
+     * @throws IOException
+     */
+    public long readPointLines(Path file, String idProperty, boolean parallel, PointSink sink) throws IOException {
+        AtomicLong count = new AtomicLong();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            LineBatchProcessor.process(reader, parallel, line -> {
+                try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+                    if (parser.nextToken() == JsonToken.START_OBJECT && readPoint(parser, idProperty, -1, sink)) {
+                        count.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return count.get();
+    }
+
+    /**
+     * 解析单个 Feature 或几何图形*
+     *
+     * @param json GeoJSON 文本
+     * @return
+     * @throws IOException
+     */
+    public GeoFeature readFeature(String json) throws IOException {
+        List<GeoFeature> resList = new ArrayList<>(1);
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("GeoJSON must be an object");
+            }
+            readObject(parser, resList::add);
+        }
+        return resList.isEmpty() ? null : resList.get(0);
+    }
+
+    // 当前 token 为 START_OBJECT，字段顺序不固定，type 可能在 coordinates 之后
+    private long readObject(JsonParser parser, Consumer<GeoFeature> consumer) throws IOException {
+        String type = null;
+        String id = null;
+        Geometry geometry = null;
+        Object coordinates = null;
+        List<Geometry> geometries = null;
+        Map<String, Object> properties = null;
+        long count = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "type":
+                    type = parser.getText();
+                    break;
+                case "id":
+                    id = token.isScalarValue() && token != JsonToken.VALUE_NULL ? parser.getText() : null;
+                    parser.skipChildren();
+                    break;
+                case "features":
+                    // 逐个要素回调，不保留
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        count += readObject(parser, consumer);
+                    }
+                    break;
+                case "geometry":
+                    geometry = token == JsonToken.START_OBJECT ? readGeometry(parser) : null;
+                    break;
+                case "geometries":
+                    geometries = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        geometries.add(readGeometry(parser));
+                    }
+                    break;
+                case "coordinates":
+                    coordinates = readCoordinates(parser);
+                    break;
+                case "properties":
+                    properties = token == JsonToken.START_OBJECT ? readMap(parser) : null;
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        if ("FeatureCollection".equals(type)) {
+            return count;
+        }
+        if (!"Feature".equals(type)) {
+            geometry = toGeometry(type, coordinates, geometries);
+        }
+        consumer.accept(new GeoFeature(id, geometry, properties));
+        return count + 1;
+    }
+
+    private Geometry readGeometry(JsonParser parser) throws IOException {
+        String type = null;
+        Object coordinates = null;
+        List<Geometry> geometries = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("type".equals(field)) {
+                type = parser.getText();
+            } else if ("coordinates".equals(field)) {
+                coordinates = readCoordinates(parser);
+            } else if ("geometries".equals(field)) {
+                geometries = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    geometries.add(readGeometry(parser));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return toGeometry(type, coordinates, geometries);
+    }
+
+    // 数字数组解析为 Coordinate，嵌套数组解析为 List，空数组 [] 解析为空 List
+    private static Object readCoordinates(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("coordinates must be an array");
+        }
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            double x = parser.getDoubleValue();
+            if (!parser.nextToken().isNumeric()) {
+                throw new IOException("position must have at least two numbers");
+            }
+            double y = parser.getDoubleValue();
+            // 忽略高程
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+            return new Coordinate(x, y);
+        }
+        List<Object> list = new ArrayList<>();
+        while (token != JsonToken.END_ARRAY) {
+            list.add(readCoordinates(parser));
+            token = parser.nextToken();
+        }
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Geometry toGeometry(String type, Object coordinates, List<Geometry> geometries) throws IOException {
+        if (type == null) {
+            throw new IOException("geometry type is missing");
+        }
+        switch (type) {
+            case "Point":
+                // "coordinates": [] 按空几何处理
+                return coordinates instanceof Coordinate ? geometryFactory.createPoint((Coordinate) coordinates) : geometryFactory.createPoint();
+            case "MultiPoint":
+                return geometryFactory.createMultiPointFromCoords(toCoordinates(coordinates));
+            case "LineString":
+                return geometryFactory.createLineString(toCoordinates(coordinates));
+            case "MultiLineString": {
+                List<Object> lines = (List<Object>) coordinates;
+                LineString[] lineStrings = new LineString[lines.size()];
+                for (int i = 0; i < lineStrings.length; i++) {
+                    lineStrings[i] = geometryFactory.createLineString(toCoordinates(lines.get(i)));
+                }
+                return geometryFactory.createMultiLineString(lineStrings);
+            }
+            case "Polygon":
+                return toPolygon(coordinates);
+            case "MultiPolygon": {
+                List<Object> polygonList = (List<Object>) coordinates;
+                Polygon[] polygons = new Polygon[polygonList.size()];
+                for (int i = 0; i < polygons.length; i++) {
+                    polygons[i] = toPolygon(polygonList.get(i));
+                }
+                return geometryFactory.createMultiPolygon(polygons);
+            }
+            case "GeometryCollection":
+                return geometryFactory.createGeometryCollection(geometries == null ? new Geometry[0] : geometries.toArray(new Geometry[0]));
+            default:
+                throw new IOException("unsupported geometry type: " + type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Polygon toPolygon(Object coordinates) {
+        List<Object> rings = (List<Object>) coordinates;
+        if (rings.isEmpty()) {
+            return geometryFactory.createPolygon();
+        }
+        LinearRing shell = geometryFactory.createLinearRing(toCoordinates(rings.get(0)));
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 1; i < rings.size(); i++) {
+            holes[i - 1] = geometryFactory.createLinearRing(toCoordinates(rings.get(i)));
+        }
+        return geometryFactory.createPolygon(shell, holes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Coordinate[] toCoordinates(Object coordinates) {
+        return ((List<Object>) coordinates).toArray(new Coordinate[0]);
+    }
+
+    // 当前 token 为 START_OBJECT
+    private static Map<String, Object> readMap(JsonParser parser) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            map.put(field, readValue(parser));
+        }
+        return map;
+    }
+
+    private static Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                return readMap(parser);
+            case START_ARRAY: {
+                List<Object> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readValue(parser));
+                }
+                return list;
+            }
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return parser.getText();
+        }
+    }
+
+    // 当前 token 为 Feature 的 START_OBJECT，不是 Point 时返回 false
+    private static boolean readPoint(JsonParser parser, String idProperty, long index, PointSink sink) throws IOException {
+        long id = index;
+        boolean hasPropertyId = false;
+        boolean point = true;
+        boolean hasCoordinates = false;
+        double lng = 0;
+        double lat = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("id".equals(field) && !hasPropertyId) {
+                id = parseId(parser, token, id);
+            } else if ("properties".equals(field) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String property = parser.getCurrentName();
+                    JsonToken valueToken = parser.nextToken();
+                    if (property.equals(idProperty)) {
+                        id = parseId(parser, valueToken, id);
+                        hasPropertyId = true;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("geometry".equals(field) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String geometryField = parser.getCurrentName();
+                    JsonToken valueToken = parser.nextToken();
+                    if ("type".equals(geometryField)) {
+                        point = "Point".equals(parser.getText());
+                    } else if ("coordinates".equals(geometryField) && valueToken == JsonToken.START_ARRAY) {
+                        JsonToken first = parser.nextToken();
+                        if (first == JsonToken.END_ARRAY) {
+                            // 空坐标 []，数组已读完，跳过该要素
+                            continue;
+                        }
+                        if (first.isNumeric()) {
+                            lng = parser.getDoubleValue();
+                            if (!parser.nextToken().isNumeric()) {
+                                throw new IOException("point coordinates must have at least two numbers");
+                            }
+                            lat = parser.getDoubleValue();
+                            hasCoordinates = true;
+                        } else {
+                            // 不是点
+                            parser.skipChildren();
+                        }
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            parser.skipChildren();
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (point && hasCoordinates) {
+            sink.accept(id, lng, lat);
+            return true;
+        }
+        return false;
+    }
+
+    private static long parseId(JsonParser parser, JsonToken token, long defaultId) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText());
+            } catch (NumberFormatException e) {
+                return defaultId;
+            }
+        }
+        parser.skipChildren();
+        return defaultId;
+    }
+
+}
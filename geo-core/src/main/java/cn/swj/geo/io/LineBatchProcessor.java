@@ -0,0 +1,92 @@
+package cn.swj.geo.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 09:10
+ * @Description: 按行处理文本，并行时由当前线程按批读取，同时在途的批次数量有上限，内存与文件大小无关
+ * @Version 1.0
+ */
+final class LineBatchProcessor {
+
+    private static final int BATCH_SIZE = 1024;
+
+    private LineBatchProcessor() {
+    }
+
+    /**
+     * 逐行处理，空行跳过。并行时 handler 需要线程安全*
+     *
+     * @return 处理的行数
+     */
+    static long process(BufferedReader reader, boolean parallel, Consumer<String> handler) throws IOException {
+        long count = 0;
+        String line;
+        if (!parallel) {
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    handler.accept(line);
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        int maxInFlight = ForkJoinPool.getCommonPoolParallelism() * 2;
+        Semaphore permits = new Semaphore(maxInFlight);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        try {
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            while (error.get() == null) {
+                line = reader.readLine();
+                if (line != null && !line.trim().isEmpty()) {
+                    batch.add(line);
+                    count++;
+                }
+                if (batch.size() == BATCH_SIZE || (line == null && !batch.isEmpty())) {
+                    List<String> lines = batch;
+                    batch = new ArrayList<>(BATCH_SIZE);
+                    permits.acquire();
+                    ForkJoinPool.commonPool().execute(() -> {
+                        try {
+                            for (String item : lines) {
+                                handler.accept(item);
+                            }
+                        } catch (Throwable t) {
+                            error.compareAndSet(null, t);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+                if (line == null) {
+                    break;
+                }
+            }
+            // 等待全部批次完成
+            permits.acquire(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while reading lines");
+        }
+
+        Throwable t = error.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return count;
+    }
+
+}
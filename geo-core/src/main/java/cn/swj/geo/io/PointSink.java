@@ -0,0 +1,21 @@
+package cn.swj.geo.io;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 09:00
+ * @Description: 点位接收方，导入时直接写入原始类型的点位缓冲，例如 PointStore::add
+ * @Version 1.0
+ */
+@FunctionalInterface
+public interface PointSink {
+
+    /**
+     * 接收一个点位*
+     *
+     * @param id  点位ID
+     * @param lng 经度
+     * @param lat 纬度
+     */
+    void accept(long id, double lng, double lat);
+
+}
@@ -0,0 +1,129 @@
+package cn.swj.geo.io;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.InStream;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 10:30
+ * @Description: WKB 流式导入。二进制输入为首尾相接的多个 WKB，逐个解析后立即回调；
+ * 文本输入为每行一个十六进制 WKB，可并行解析。二维点位可以不创建 JTS 对象直接写入 PointSink
+ * @Version 1.0
+ */
+public class WkbStreamReader {
+
+    private static final int WKB_POINT = 1;
+
+    // 字节序 1 + 类型 4 + 坐标 16
+    private static final int WKB_POINT_LENGTH = 21;
+
+    private final GeometryFactory geometryFactory;
+
+    public WkbStreamReader() {
+        this(new GeometryFactory());
+    }
+
+    public WkbStreamReader(GeometryFactory geometryFactory) {
+        this.geometryFactory = geometryFactory;
+    }
+
+    /**
+     * 读取首尾相接的二进制 WKB*
+     *
+     * @param in       输入流，由调用方关闭
+     * @param consumer 几何图形接收方
+     * @return 几何图形数量
+     * @throws IOException
+     */
+    public long read(InputStream in, Consumer<Geometry> consumer) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in);
+        DataInputStream dataInput = new DataInputStream(pushback);
+        InStream inStream = dataInput::readFully;
+        WKBReader reader = new WKBReader(geometryFactory);
+        long count = 0;
+        int b;
+        while ((b = pushback.read()) != -1) {
+            pushback.unread(b);
+            try {
+                consumer.accept(reader.read(inStream));
+            } catch (ParseException e) {
+                throw new IOException("WKB 解析失败，第 " + count + " 个几何图形", e);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 读取首尾相接的二维 WKB 点位写入 sink，点位ID为下标*
+     *
+     * @param in   输入流，由调用方关闭
+     * @param sink 点位接收方
+     * @return 点位数量
+     * @throws IOException
+     */
+    public long readPoints(InputStream in, PointSink sink) throws IOException {
+        DataInputStream dataInput = new DataInputStream(in);
+        byte[] buffer = new byte[WKB_POINT_LENGTH];
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        long count = 0;
+        while (true) {
+            int first = dataInput.read();
+            if (first == -1) {
+                return count;
+            }
+            buffer[0] = (byte) first;
+            try {
+                dataInput.readFully(buffer, 1, WKB_POINT_LENGTH - 1);
+            } catch (EOFException e) {
+                throw new IOException("WKB 点位不完整，第 " + count + " 个", e);
+            }
+            byteBuffer.order(buffer[0] == 1 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            if (byteBuffer.getInt(1) != WKB_POINT) {
+                throw new IOException("WKB 不是二维点位，第 " + count + " 个");
+            }
+            sink.accept(count, byteBuffer.getDouble(5), byteBuffer.getDouble(13));
+            count++;
+        }
+    }
+
+    /**
+     * 逐行读取十六进制 WKB 文件*
+     *
+     * @param file     文件
+     * @param parallel 是否并行，并行时 consumer 需要线程安全
+     * @param consumer 几何图形接收方
+     * @return 几何图形数量
+     * @throws IOException
+     */
+    public long readHexLines(Path file, boolean parallel, Consumer<Geometry> consumer) throws IOException {
+        // WKBReader 不是线程安全的
+        ThreadLocal<WKBReader> readerHolder = ThreadLocal.withInitial(() -> new WKBReader(geometryFactory));
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            return LineBatchProcessor.process(reader, parallel, line -> {
+                try {
+                    consumer.accept(readerHolder.get().read(WKBReader.hexToBytes(line.trim())));
+                } catch (ParseException e) {
+                    throw new RuntimeException("WKB 解析失败", e);
+                }
+            });
+        }
+    }
+
+}
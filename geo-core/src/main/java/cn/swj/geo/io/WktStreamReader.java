@@ -0,0 +1,71 @@
+package cn.swj.geo.io;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 10:20
+ * @Description: WKT 流式导入，每行一个 WKT，逐行解析后立即回调，可并行解析
+ * @Version 1.0
+ */
+public class WktStreamReader {
+
+    // WKTReader 不是线程安全的
+    private final ThreadLocal<WKTReader> readerHolder;
+
+    public WktStreamReader() {
+        this(new GeometryFactory());
+    }
+
+    public WktStreamReader(GeometryFactory geometryFactory) {
+        this.readerHolder = ThreadLocal.withInitial(() -> new WKTReader(geometryFactory));
+    }
+
+    /**
+     * 逐行读取 WKT*
+     *
+     * @param reader   输入，由调用方关闭
+     * @param consumer 几何图形接收方
+     * @return 几何图形数量
+     * @throws IOException
+     */
+    public long read(Reader reader, Consumer<Geometry> consumer) throws IOException {
+        BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        return LineBatchProcessor.process(bufferedReader, false, line -> consumer.accept(parse(line)));
+    }
+
+    /**
+     * 逐行读取 WKT 文件*
+     *
+     * @param file     文件
+     * @param parallel 是否并行，并行时 consumer 需要线程安全
+     * @param consumer 几何图形接收方
+     * @return 几何图形数量
+     * @throws IOException
+     */
+    public long readLines(Path file, boolean parallel, Consumer<Geometry> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return LineBatchProcessor.process(reader, parallel, line -> consumer.accept(parse(line)));
+        }
+    }
+
+    private Geometry parse(String line) {
+        try {
+            return readerHolder.get().read(line);
+        } catch (ParseException e) {
+            throw new RuntimeException("WKT 解析失败: " + (line.length() > 64 ? line.substring(0, 64) + "..." : line), e);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package cn.swj.geo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 14:10
+ * @Description: JFR 事件：批量判断点位是否在区域或圆内，默认关闭
+ * @Version 1.0
+ */
+@Name("cn.swj.geo.ContainmentBatch")
+@Label("Containment Batch")
+@Category({"GeoUtil"})
+@Description("批量判断点位是否在区域或圆内")
+@Enabled(false)
+public class ContainmentBatchEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Vertex Count")
+    int vertexCount;
+
+    @Label("Point Count")
+    int pointCount;
+
+    @Label("Match Count")
+    int matchCount;
+
+    /**
+     * 填写字段并提交*
+     *
+     * @param operation   判断方式，region、regionSequence、roundRegion
+     * @param vertexCount 区域顶点数
+     * @param pointCount  待判断的点位数
+     * @param matchCount  命中的点位数
+     */
+    public void complete(String operation, int vertexCount, int pointCount, int matchCount) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.vertexCount = vertexCount;
+            this.pointCount = pointCount;
+            this.matchCount = matchCount;
+            commit();
+        }
+    }
+
+}
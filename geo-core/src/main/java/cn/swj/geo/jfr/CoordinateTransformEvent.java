@@ -0,0 +1,43 @@
+package cn.swj.geo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 14:25
+ * @Description: JFR 事件：坐标系转换，默认关闭。单次转换很快，建议配合 threshold 只记录异常慢的调用
+ * @Version 1.0
+ */
+@Name("cn.swj.geo.CoordinateTransform")
+@Label("Coordinate Transform")
+@Category({"GeoUtil"})
+@Description("坐标系转换")
+@Enabled(false)
+public class CoordinateTransformEvent extends Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Target")
+    String target;
+
+    /**
+     * 填写字段并提交*
+     *
+     * @param source 源坐标系
+     * @param target 目标坐标系
+     */
+    public void complete(String source, String target) {
+        if (shouldCommit()) {
+            this.source = source;
+            this.target = target;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package cn.swj.geo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 14:15
+ * @Description: JFR 事件：批量判断点位到线或曲线的距离，默认关闭
+ * @Version 1.0
+ */
+@Name("cn.swj.geo.DistanceBatch")
+@Label("Distance Batch")
+@Category({"GeoUtil"})
+@Description("批量判断点位到线或曲线的距离")
+@Enabled(false)
+public class DistanceBatchEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Vertex Count")
+    int vertexCount;
+
+    @Label("Point Count")
+    int pointCount;
+
+    @Label("Match Count")
+    int matchCount;
+
+    @Label("Distance")
+    @Description("指定的最大距离 以米为单位")
+    double distance;
+
+    /**
+     * 填写字段并提交*
+     *
+     * @param operation   判断方式，line、curve
+     * @param vertexCount 线的顶点数
+     * @param pointCount  待判断的点位数
+     * @param matchCount  命中的点位数
+     * @param distance    指定的最大距离
+     */
+    public void complete(String operation, int vertexCount, int pointCount, int matchCount, double distance) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.vertexCount = vertexCount;
+            this.pointCount = pointCount;
+            this.matchCount = matchCount;
+            this.distance = distance;
+            commit();
+        }
+    }
+
+}
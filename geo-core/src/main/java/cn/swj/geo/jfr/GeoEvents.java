@@ -0,0 +1,140 @@
+package cn.swj.geo.jfr;
+
+/**
+ * @Author swj
+ * @Date 2026/10/24 16:00
+ * @Description: GeoUtil 等调用方记录 JFR 事件的入口，本类不引用 jdk.jfr。类加载时检查一次 jdk.jfr.Event 是否可用
+ * （JDK 8u262 以下、OpenJ9 8 等没有 JFR），不可用时所有方法什么都不做，不影响工具类本身的加载和使用。
+ * 用法：Object event = GeoEvents.beginXxx(); ... GeoEvents.completeXxx(event, ...);
+ * @Version 1.0
+ */
+public final class GeoEvents {
+
+    private static final GeoRecorder RECORDER = createRecorder();
+
+    private static final boolean AVAILABLE = !(RECORDER instanceof NoopRecorder);
+
+    private GeoEvents() {
+    }
+
+    private static GeoRecorder createRecorder() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return (GeoRecorder) Class.forName("cn.swj.geo.jfr.JfrGeoRecorder").newInstance();
+        } catch (Throwable e) {
+            // ClassNotFoundException、NoClassDefFoundError 等，统一退化为不记录
+            return new NoopRecorder();
+        }
+    }
+
+    private static final class NoopRecorder implements GeoRecorder {
+    }
+
+    /**
+     * 当前运行时是否支持 JFR 事件*
+     *
+     * @return
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    public static Object beginRegionBuild() {
+        return RECORDER.beginRegionBuild();
+    }
+
+    /**
+     * 构造区域结束*
+     *
+     * @param event       beginRegionBuild 的返回值
+     * @param inputCount  传入的点位数
+     * @param vertexCount 构造出的多边形顶点数
+     * @param convex      是否取凸包
+     */
+    public static void completeRegionBuild(Object event, int inputCount, int vertexCount, boolean convex) {
+        RECORDER.completeRegionBuild(event, inputCount, vertexCount, convex);
+    }
+
+    public static Object beginHull() {
+        return RECORDER.beginHull();
+    }
+
+    /**
+     * 凸包计算结束*
+     *
+     * @param event       beginHull 的返回值
+     * @param inputCount  参与计算的点数
+     * @param vertexCount 凸包顶点数
+     */
+    public static void completeHull(Object event, int inputCount, int vertexCount) {
+        RECORDER.completeHull(event, inputCount, vertexCount);
+    }
+
+    public static Object beginContainmentBatch() {
+        return RECORDER.beginContainmentBatch();
+    }
+
+    /**
+     * 批量区域判断结束*
+     *
+     * @param event       beginContainmentBatch 的返回值
+     * @param operation   判断方式，region、regionSequence、roundRegion
+     * @param vertexCount 区域顶点数
+     * @param pointCount  待判断的点位数
+     * @param matchCount  命中的点位数
+     */
+    public static void completeContainmentBatch(Object event, String operation, int vertexCount, int pointCount, int matchCount) {
+        RECORDER.completeContainmentBatch(event, operation, vertexCount, pointCount, matchCount);
+    }
+
+    public static Object beginDistanceBatch() {
+        return RECORDER.beginDistanceBatch();
+    }
+
+    /**
+     * 批量距离判断结束*
+     *
+     * @param event       beginDistanceBatch 的返回值
+     * @param operation   判断方式，line、curve
+     * @param vertexCount 线的顶点数
+     * @param pointCount  待判断的点位数
+     * @param matchCount  命中的点位数
+     * @param distance    指定的最大距离
+     */
+    public static void completeDistanceBatch(Object event, String operation, int vertexCount, int pointCount, int matchCount, double distance) {
+        RECORDER.completeDistanceBatch(event, operation, vertexCount, pointCount, matchCount, distance);
+    }
+
+    public static Object beginObjectMapping() {
+        return RECORDER.beginObjectMapping();
+    }
+
+    /**
+     * 对象转换结束*
+     *
+     * @param event         beginObjectMapping 的返回值
+     * @param operation     转换方式，convert、adapt
+     * @param objectCount   对象数
+     * @param locationCount 坐标数
+     * @param resultCount   结果数
+     */
+    public static void completeObjectMapping(Object event, String operation, int objectCount, int locationCount, int resultCount) {
+        RECORDER.completeObjectMapping(event, operation, objectCount, locationCount, resultCount);
+    }
+
+    public static Object beginCoordinateTransform() {
+        return RECORDER.beginCoordinateTransform();
+    }
+
+    /**
+     * 坐标系转换结束*
+     *
+     * @param event  beginCoordinateTransform 的返回值
+     * @param source 源坐标系
+     * @param target 目标坐标系
+     */
+    public static void completeCoordinateTransform(Object event, String source, String target) {
+        RECORDER.completeCoordinateTransform(event, source, target);
+    }
+
+}
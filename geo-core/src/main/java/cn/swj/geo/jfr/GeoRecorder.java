@@ -0,0 +1,54 @@
+package cn.swj.geo.jfr;
+
+/**
+ * @Author swj
+ * @Date 2026/10/24 16:00
+ * @Description: 事件记录接口，不引用 jdk.jfr。默认实现什么都不做，运行时没有 JFR 时使用；
+ * begin 返回的对象只能原样传给对应的 complete，为 null 表示不记录
+ * @Version 1.0
+ */
+interface GeoRecorder {
+
+    default Object beginRegionBuild() {
+        return null;
+    }
+
+    default void completeRegionBuild(Object event, int inputCount, int vertexCount, boolean convex) {
+    }
+
+    default Object beginHull() {
+        return null;
+    }
+
+    default void completeHull(Object event, int inputCount, int vertexCount) {
+    }
+
+    default Object beginContainmentBatch() {
+        return null;
+    }
+
+    default void completeContainmentBatch(Object event, String operation, int vertexCount, int pointCount, int matchCount) {
+    }
+
+    default Object beginDistanceBatch() {
+        return null;
+    }
+
+    default void completeDistanceBatch(Object event, String operation, int vertexCount, int pointCount, int matchCount, double distance) {
+    }
+
+    default Object beginObjectMapping() {
+        return null;
+    }
+
+    default void completeObjectMapping(Object event, String operation, int objectCount, int locationCount, int resultCount) {
+    }
+
+    default Object beginCoordinateTransform() {
+        return null;
+    }
+
+    default void completeCoordinateTransform(Object event, String source, String target) {
+    }
+
+}
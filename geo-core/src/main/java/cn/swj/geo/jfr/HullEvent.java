@@ -0,0 +1,43 @@
+package cn.swj.geo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 14:05
+ * @Description: JFR 事件：凸包计算，默认关闭
+ * @Version 1.0
+ */
+@Name("cn.swj.geo.Hull")
+@Label("Convex Hull")
+@Category({"GeoUtil"})
+@Description("计算点集的凸包")
+@Enabled(false)
+public class HullEvent extends Event {
+
+    @Label("Input Count")
+    int inputCount;
+
+    @Label("Vertex Count")
+    int vertexCount;
+
+    /**
+     * 填写字段并提交*
+     *
+     * @param inputCount  参与计算的点数
+     * @param vertexCount 凸包顶点数
+     */
+    public void complete(int inputCount, int vertexCount) {
+        if (shouldCommit()) {
+            this.inputCount = inputCount;
+            this.vertexCount = vertexCount;
+            commit();
+        }
+    }
+
+}
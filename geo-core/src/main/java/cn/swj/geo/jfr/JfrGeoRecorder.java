@@ -0,0 +1,103 @@
+package cn.swj.geo.jfr;
+
+import jdk.jfr.Event;
+
+/**
+ * @Author swj
+ * @Date 2026/10/24 16:00
+ * @Description: 基于 JFR 的事件记录，只由 GeoEvents 在确认 jdk.jfr 可用后通过反射创建。
+ * 每种事件保留一个共享实例用于判断是否开启，未开启时不创建事件对象
+ * @Version 1.0
+ */
+class JfrGeoRecorder implements GeoRecorder {
+
+    private static final Event REGION_BUILD = new RegionBuildEvent();
+
+    private static final Event HULL = new HullEvent();
+
+    private static final Event CONTAINMENT_BATCH = new ContainmentBatchEvent();
+
+    private static final Event DISTANCE_BATCH = new DistanceBatchEvent();
+
+    private static final Event OBJECT_MAPPING = new ObjectMappingEvent();
+
+    private static final Event COORDINATE_TRANSFORM = new CoordinateTransformEvent();
+
+    @Override
+    public Object beginRegionBuild() {
+        return REGION_BUILD.isEnabled() ? begin(new RegionBuildEvent()) : null;
+    }
+
+    @Override
+    public void completeRegionBuild(Object event, int inputCount, int vertexCount, boolean convex) {
+        if (event != null) {
+            ((RegionBuildEvent) event).complete(inputCount, vertexCount, convex);
+        }
+    }
+
+    @Override
+    public Object beginHull() {
+        return HULL.isEnabled() ? begin(new HullEvent()) : null;
+    }
+
+    @Override
+    public void completeHull(Object event, int inputCount, int vertexCount) {
+        if (event != null) {
+            ((HullEvent) event).complete(inputCount, vertexCount);
+        }
+    }
+
+    @Override
+    public Object beginContainmentBatch() {
+        return CONTAINMENT_BATCH.isEnabled() ? begin(new ContainmentBatchEvent()) : null;
+    }
+
+    @Override
+    public void completeContainmentBatch(Object event, String operation, int vertexCount, int pointCount, int matchCount) {
+        if (event != null) {
+            ((ContainmentBatchEvent) event).complete(operation, vertexCount, pointCount, matchCount);
+        }
+    }
+
+    @Override
+    public Object beginDistanceBatch() {
+        return DISTANCE_BATCH.isEnabled() ? begin(new DistanceBatchEvent()) : null;
+    }
+
+    @Override
+    public void completeDistanceBatch(Object event, String operation, int vertexCount, int pointCount, int matchCount, double distance) {
+        if (event != null) {
+            ((DistanceBatchEvent) event).complete(operation, vertexCount, pointCount, matchCount, distance);
+        }
+    }
+
+    @Override
+    public Object beginObjectMapping() {
+        return OBJECT_MAPPING.isEnabled() ? begin(new ObjectMappingEvent()) : null;
+    }
+
+    @Override
+    public void completeObjectMapping(Object event, String operation, int objectCount, int locationCount, int resultCount) {
+        if (event != null) {
+            ((ObjectMappingEvent) event).complete(operation, objectCount, locationCount, resultCount);
+        }
+    }
+
+    @Override
+    public Object beginCoordinateTransform() {
+        return COORDINATE_TRANSFORM.isEnabled() ? begin(new CoordinateTransformEvent()) : null;
+    }
+
+    @Override
+    public void completeCoordinateTransform(Object event, String source, String target) {
+        if (event != null) {
+            ((CoordinateTransformEvent) event).complete(source, target);
+        }
+    }
+
+    private static Event begin(Event event) {
+        event.begin();
+        return event;
+    }
+
+}
@@ -0,0 +1,53 @@
+package cn.swj.geo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 14:20
+ * @Description: JFR 事件：对象与 LocationDTO 之间的转换，默认关闭
+ * @Version 1.0
+ */
+@Name("cn.swj.geo.ObjectMapping")
+@Label("Object Mapping")
+@Category({"GeoUtil"})
+@Description("对象与 LocationDTO 之间的转换")
+@Enabled(false)
+public class ObjectMappingEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Object Count")
+    int objectCount;
+
+    @Label("Location Count")
+    int locationCount;
+
+    @Label("Result Count")
+    int resultCount;
+
+    /**
+     * 填写字段并提交*
+     *
+     * @param operation     转换方式，convert、adapt
+     * @param objectCount   对象数
+     * @param locationCount 传入的坐标数，convert 没有坐标输入时为 0
+     * @param resultCount   结果数
+     */
+    public void complete(String operation, int objectCount, int locationCount, int resultCount) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.objectCount = objectCount;
+            this.locationCount = locationCount;
+            this.resultCount = resultCount;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package cn.swj.geo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 14:00
+ * @Description: JFR 事件：由点位构造几何图形，默认关闭
+ * @Version 1.0
+ */
+@Name("cn.swj.geo.RegionBuild")
+@Label("Region Build")
+@Category({"GeoUtil"})
+@Description("由点位构造区域多边形")
+@Enabled(false)
+public class RegionBuildEvent extends Event {
+
+    @Label("Input Count")
+    int inputCount;
+
+    @Label("Vertex Count")
+    int vertexCount;
+
+    @Label("Convex Hull")
+    boolean convex;
+
+    /**
+     * 填写字段并提交，未开启时只有一次判断*
+     *
+     * @param inputCount  传入的点位数
+     * @param vertexCount 构造出的多边形顶点数
+     * @param convex      是否取凸包
+     */
+    public void complete(int inputCount, int vertexCount, boolean convex) {
+        if (shouldCommit()) {
+            this.inputCount = inputCount;
+            this.vertexCount = vertexCount;
+            this.convex = convex;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package cn.swj.geo.join;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 18:00
+ * @Description: 点位对接收方，邻近连接找到一对点位时立即回调，不在内存中累积结果
+ * @Version 1.0
+ */
+@FunctionalInterface
+public interface PairSink {
+
+    /**
+     * 接收一对点位，first 小于 second*
+     *
+     * @param first    第一个点位的下标
+     * @param second   第二个点位的下标
+     * @param distance 大地线距离 单位米
+     */
+    void accept(int first, int second, double distance);
+
+}
@@ -0,0 +1,243 @@
+package cn.swj.geo.join;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.store.PointStore;
+import cn.swj.geo.util.CoordinateParser;
+import cn.swj.geo.util.GeodesicUtil;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 18:00
+ * @Description: 邻近自连接，找出一批点位中大地线距离不超过 metres 的所有点位对，例如相距 50 米以内的骑手或车辆。
+ * 按 metres 对应的经纬度跨度划分网格，点位按格子用链表串起来，每个格子只与自身和右、右上、上、右下四个相邻格子比较，
+ * 每对点位只比较一次。按格子并行，找到的点位对立即交给 PairSink，内存只与点位数量有关
+ * @Version 1.0
+ */
+public class ProximityJoin {
+
+    // 格子编号需要落在 int 范围内
+    private static final double MIN_METRES = 0.1;
+
+    // 右、右上、上、右下，加上格子自身即覆盖全部 9 个相邻格子的点位对
+    private static final int[][] FORWARD_NEIGHBOURS = {{1, 0}, {1, 1}, {0, 1}, {1, -1}};
+
+    private ProximityJoin() {
+    }
+
+    /**
+     * 自连接点位，下标为点位在 locationDTOList 中的位置，空点位和经纬度为空的点位跳过*
+     *
+     * @param locationDTOList 点位
+     * @param metres          距离阈值 以米为单位
+     * @param parallel        是否并行，并行时 sink 会被多个线程同时调用
+     * @param sink            点位对接收方
+     * @return 点位对数量
+     */
+    public static long selfJoin(List<LocationDTO> locationDTOList, double metres, boolean parallel, PairSink sink) {
+        if (CollectionUtil.isEmpty(locationDTOList)) {
+            throw new RuntimeException("locationDTOList is empty");
+        }
+        int size = locationDTOList.size();
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        IntStream range = IntStream.range(0, size);
+        (parallel ? range.parallel() : range).forEach(i -> {
+            LocationDTO locationDTO = locationDTOList.get(i);
+            if (ObjectUtil.isEmpty(locationDTO) || !StrUtil.isAllNotBlank(locationDTO.getLng(), locationDTO.getLat())) {
+                lngs[i] = Double.NaN;
+                lats[i] = Double.NaN;
+                return;
+            }
+            lngs[i] = CoordinateParser.parse(locationDTO.getLng());
+            lats[i] = CoordinateParser.parse(locationDTO.getLat());
+        });
+        return selfJoin(lngs, lats, size, metres, parallel, sink);
+    }
+
+    /**
+     * 自连接 PointStore 里的点位，下标为行号，可用 pointStore.getId 取得点位ID*
+     *
+     * @param pointStore 点位存储
+     * @param metres     距离阈值 以米为单位
+     * @param parallel   是否并行，并行时 sink 会被多个线程同时调用
+     * @param sink       点位对接收方
+     * @return 点位对数量
+     */
+    public static long selfJoin(PointStore pointStore, double metres, boolean parallel, PairSink sink) {
+        if (ObjectUtil.isEmpty(pointStore)) {
+            throw new RuntimeException("pointStore is null");
+        }
+        int size = pointStore.size();
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        pointStore.rows(parallel).forEach(row -> {
+            lngs[row] = pointStore.getLng(row);
+            lats[row] = pointStore.getLat(row);
+        });
+        return selfJoin(lngs, lats, size, metres, parallel, sink);
+    }
+
+    /**
+     * 自连接前 size 个点位，经度或纬度为 NaN 的点位跳过*
+     *
+     * @param lngs     经度
+     * @param lats     纬度
+     * @param size     数量
+     * @param metres   距离阈值 以米为单位
+     * @param parallel 是否并行，并行时 sink 会被多个线程同时调用
+     * @param sink     点位对接收方
+     * @return 点位对数量
+     */
+    public static long selfJoin(double[] lngs, double[] lats, int size, double metres, boolean parallel, PairSink sink) {
+        if (!(metres >= MIN_METRES)) {
+            throw new RuntimeException("metres is lt " + MIN_METRES);
+        }
+        if (ObjectUtil.isEmpty(sink)) {
+            throw new RuntimeException("sink is null");
+        }
+        double minLng = Double.MAX_VALUE, minLat = Double.MAX_VALUE, maxAbsLat = 0;
+        for (int i = 0; i < size; i++) {
+            if (Double.isNaN(lngs[i]) || Double.isNaN(lats[i])) {
+                continue;
+            }
+            minLng = Math.min(minLng, lngs[i]);
+            minLat = Math.min(minLat, lats[i]);
+            maxAbsLat = Math.max(maxAbsLat, Math.abs(lats[i]));
+        }
+        if (minLng == Double.MAX_VALUE) {
+            return 0;
+        }
+
+        // 距离不超过 metres 的两个点位，经纬度差不超过 cellHeight、cellWidth，与 LivePositionStore.within 口径一致
+        double[] span = GeodesicUtil.degreeSpan(maxAbsLat, metres);
+        double cellWidth = span[0];
+        double cellHeight = span[1];
+
+        CellHash cellHash = new CellHash(size);
+        int[] next = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            if (Double.isNaN(lngs[i]) || Double.isNaN(lats[i])) {
+                continue;
+            }
+            long key = key((int) ((lngs[i] - minLng) / cellWidth), (int) ((lats[i] - minLat) / cellHeight));
+            // 倒序头插，链表内下标递增
+            next[i] = cellHash.push(key, i);
+        }
+
+        LongAdder pairs = new LongAdder();
+        IntStream cells = IntStream.range(0, cellHash.size);
+        (parallel ? cells.parallel() : cells).forEach(c -> {
+            int slot = cellHash.occupied[c];
+            long key = cellHash.keys[slot];
+            int head = cellHash.heads[slot];
+            int column = (int) (key >> 32);
+            int row = (int) key;
+            long found = 0;
+            for (int i = head; i >= 0; i = next[i]) {
+                for (int j = next[i]; j >= 0; j = next[j]) {
+                    found += compare(lngs, lats, i, j, metres, cellWidth, cellHeight, sink);
+                }
+            }
+            for (int[] neighbour : FORWARD_NEIGHBOURS) {
+                int other = cellHash.get(key(column + neighbour[0], row + neighbour[1]));
+                if (other < 0) {
+                    continue;
+                }
+                for (int i = head; i >= 0; i = next[i]) {
+                    for (int j = other; j >= 0; j = next[j]) {
+                        found += i < j ? compare(lngs, lats, i, j, metres, cellWidth, cellHeight, sink)
+                                : compare(lngs, lats, j, i, metres, cellWidth, cellHeight, sink);
+                    }
+                }
+            }
+            if (found > 0) {
+                pairs.add(found);
+            }
+        });
+        return pairs.sum();
+    }
+
+    private static int compare(double[] lngs, double[] lats, int first, int second, double metres, double cellWidth, double cellHeight, PairSink sink) {
+        // 经纬度差超出范围的不需要计算大地线距离
+        if (Math.abs(lngs[first] - lngs[second]) > cellWidth || Math.abs(lats[first] - lats[second]) > cellHeight) {
+            return 0;
+        }
+        double distance = GeodesicUtil.distance(lngs[first], lats[first], lngs[second], lats[second]);
+        if (distance > metres) {
+            return 0;
+        }
+        sink.accept(first, second, distance);
+        return 1;
+    }
+
+    private static long key(int column, int row) {
+        return ((long) column << 32) | (row & 0xffffffffL);
+    }
+
+    /**
+     * 格子到链表头的开放寻址表，只在构建时写入*
+     */
+    private static final class CellHash {
+
+        private final long[] keys;
+
+        private final int[] heads;
+
+        // 已占用的槽位，按插入顺序
+        private final int[] occupied;
+
+        private final int mask;
+
+        private int size;
+
+        private CellHash(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.heads = new int[capacity];
+            this.occupied = new int[Math.max(1, expected)];
+            this.mask = capacity - 1;
+            Arrays.fill(heads, -1);
+        }
+
+        // 返回原来的链表头，不存在时为 -1
+        private int push(long key, int index) {
+            int slot = slot(key);
+            while (heads[slot] >= 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            int previous = heads[slot];
+            if (previous < 0) {
+                keys[slot] = key;
+                occupied[size++] = slot;
+            }
+            heads[slot] = index;
+            return previous;
+        }
+
+        private int get(long key) {
+            int slot = slot(key);
+            while (heads[slot] >= 0) {
+                if (keys[slot] == key) {
+                    return heads[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+    }
+
+}
@@ -0,0 +1,240 @@
+package cn.swj.geo.overlay;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.map.MapUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.swj.geo.dto.OverlayDTO;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.util.GeodesicUtil;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * @Author swj
+ * @Date 2026/10/24 14:30
+ * @Description: 围栏与大量多边形的批量叠加，计算相交面积和重叠比例。先用多边形外包框的 STR 树筛掉不可能相交的组合，
+ * 再用预编译几何的 covers / intersects 判断完全覆盖和不相交的情况，只有部分相交的组合才做精确求交，求交按组合并行。
+ * 面积按 GeodesicUtil.area 计算，返回相交面积大于 0 的组合
+ * @Version 1.0
+ */
+public class FenceOverlay {
+
+    // STR 树节点容量
+    private static final int NODE_CAPACITY = 16;
+
+    private FenceOverlay() {
+    }
+
+    /**
+     * 一个围栏与多个多边形叠加，结果按多边形下标升序*
+     *
+     * @param fence    围栏
+     * @param polygons 多边形，例如地块，元素为 Polygon 或 MultiPolygon
+     * @param parallel 是否并行
+     * @return
+     */
+    public static List<OverlayDTO> overlay(CompiledRegion fence, List<? extends Geometry> polygons, boolean parallel) {
+        if (ObjectUtil.isEmpty(fence)) {
+            throw new RuntimeException("fence is null");
+        }
+        if (CollectionUtil.isEmpty(polygons)) {
+            throw new RuntimeException("polygons is empty");
+        }
+        STRtree tree = new STRtree(NODE_CAPACITY);
+        for (int i = 0; i < polygons.size(); i++) {
+            Geometry polygon = polygons.get(i);
+            if (!(polygon instanceof Polygonal) || polygon.isEmpty()) {
+                throw new RuntimeException("polygon is not polygonal: " + i);
+            }
+            tree.insert(polygon.getEnvelopeInternal(), i);
+        }
+        int[] candidates = candidates(tree, fence.getEnvelope());
+        double fenceArea = area(fence.getGeometry());
+
+        OverlayDTO[] results = new OverlayDTO[candidates.length];
+        IntStream range = IntStream.range(0, candidates.length);
+        (parallel ? range.parallel() : range).forEach(c -> {
+            int index = candidates[c];
+            Geometry polygon = polygons.get(index);
+            OverlayDTO overlayDTO = overlayPair(fence, fenceArea, polygon, null, area(polygon));
+            if (overlayDTO != null) {
+                overlayDTO.setTargetIndex(index);
+            }
+            results[c] = overlayDTO;
+        });
+        return collect(results);
+    }
+
+    /**
+     * 两组围栏叠加，结果按 fenceMap 的迭代顺序，同一围栏内按 targetMap 的迭代顺序*
+     *
+     * @param fenceMap  围栏ID -> 围栏
+     * @param targetMap 另一组围栏ID -> 围栏
+     * @param parallel  是否并行
+     * @return
+     */
+    public static List<OverlayDTO> overlay(Map<String, CompiledRegion> fenceMap, Map<String, CompiledRegion> targetMap, boolean parallel) {
+        if (MapUtil.isEmpty(fenceMap)) {
+            throw new RuntimeException("fenceMap is empty");
+        }
+        if (MapUtil.isEmpty(targetMap)) {
+            throw new RuntimeException("targetMap is empty");
+        }
+        String[] targetIds = targetMap.keySet().toArray(new String[0]);
+        CompiledRegion[] targets = targetMap.values().toArray(new CompiledRegion[0]);
+        STRtree tree = new STRtree(NODE_CAPACITY);
+        for (int i = 0; i < targets.length; i++) {
+            tree.insert(targets[i].getEnvelope(), i);
+        }
+        tree.build();
+        double[] targetAreas = new double[targets.length];
+        IntStream targetRange = IntStream.range(0, targets.length);
+        (parallel ? targetRange.parallel() : targetRange).forEach(i -> targetAreas[i] = area(targets[i].getGeometry()));
+
+        String[] fenceIds = fenceMap.keySet().toArray(new String[0]);
+        CompiledRegion[] fences = fenceMap.values().toArray(new CompiledRegion[0]);
+        // 先收集全部候选组合，再按组合并行，避免个别大围栏拖慢整体
+        List<int[]> pairs = new ArrayList<>();
+        for (int f = 0; f < fences.length; f++) {
+            for (int t : candidates(tree, fences[f].getEnvelope())) {
+                pairs.add(new int[]{f, t});
+            }
+        }
+        double[] fenceAreas = new double[fences.length];
+        IntStream fenceRange = IntStream.range(0, fences.length);
+        (parallel ? fenceRange.parallel() : fenceRange).forEach(f -> fenceAreas[f] = area(fences[f].getGeometry()));
+
+        OverlayDTO[] results = new OverlayDTO[pairs.size()];
+        IntStream range = IntStream.range(0, pairs.size());
+        (parallel ? range.parallel() : range).forEach(p -> {
+            int f = pairs.get(p)[0];
+            int t = pairs.get(p)[1];
+            OverlayDTO overlayDTO = overlayPair(fences[f], fenceAreas[f], targets[t].getGeometry(), targets[t].getPreparedGeometry(), targetAreas[t]);
+            if (overlayDTO != null) {
+                overlayDTO.setFenceId(fenceIds[f]);
+                overlayDTO.setTargetId(targetIds[t]);
+                overlayDTO.setTargetIndex(-1);
+            }
+            results[p] = overlayDTO;
+        });
+        return collect(results);
+    }
+
+    /**
+     * 计算面状几何的面积 以平方米为单位，非面状部分（相交结果中的线、点）不计*
+     *
+     * @param geometry 几何
+     * @return
+     */
+    public static double area(Geometry geometry) {
+        double area = 0;
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            Geometry part = geometry.getGeometryN(i);
+            if (part instanceof Polygon) {
+                Polygon polygon = (Polygon) part;
+                area += ringArea(polygon.getExteriorRing());
+                for (int j = 0; j < polygon.getNumInteriorRing(); j++) {
+                    area -= ringArea(polygon.getInteriorRingN(j));
+                }
+            } else if (part != geometry) {
+                // GeometryCollection 中可能嵌套 MultiPolygon
+                area += area(part);
+            }
+        }
+        return area;
+    }
+
+    private static OverlayDTO overlayPair(CompiledRegion fence, double fenceArea, Geometry target, PreparedGeometry preparedTarget, double targetArea) {
+        PreparedGeometry preparedFence = fence.getPreparedGeometry();
+        String relation;
+        double intersectionArea;
+        if (preparedFence.covers(target)) {
+            relation = OverlayDTO.RELATION_COVERED;
+            intersectionArea = targetArea;
+        } else if (!preparedFence.intersects(target)) {
+            return null;
+        } else if (coversFence(fence, target, preparedTarget)) {
+            relation = OverlayDTO.RELATION_FENCE_COVERED;
+            intersectionArea = fenceArea;
+        } else {
+            relation = OverlayDTO.RELATION_INTERSECTS;
+            intersectionArea = area(intersection(fence.getGeometry(), target));
+        }
+        if (!(intersectionArea > 0)) {
+            // 只有边界接触
+            return null;
+        }
+        OverlayDTO overlayDTO = new OverlayDTO();
+        overlayDTO.setRelation(relation);
+        overlayDTO.setIntersectionArea(intersectionArea);
+        overlayDTO.setTargetArea(targetArea);
+        overlayDTO.setFenceArea(fenceArea);
+        overlayDTO.setOverlapRatio(targetArea > 0 ? intersectionArea / targetArea : 0);
+        overlayDTO.setFenceRatio(fenceArea > 0 ? intersectionArea / fenceArea : 0);
+        return overlayDTO;
+    }
+
+    // 多边形外包框不包含围栏外包框时不可能覆盖围栏，不必做关系计算
+    private static boolean coversFence(CompiledRegion fence, Geometry target, PreparedGeometry preparedTarget) {
+        if (!target.getEnvelopeInternal().covers(fence.getEnvelope())) {
+            return false;
+        }
+        return preparedTarget != null ? preparedTarget.covers(fence.getGeometry()) : target.covers(fence.getGeometry());
+    }
+
+    // 自相交等无效多边形求交失败时，按 buffer(0) 修复后重试
+    private static Geometry intersection(Geometry fence, Geometry target) {
+        try {
+            return fence.intersection(target);
+        } catch (TopologyException e) {
+            return fence.buffer(0).intersection(target.buffer(0));
+        }
+    }
+
+    private static double ringArea(LineString ring) {
+        int size = ring.getNumPoints();
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        for (int i = 0; i < size; i++) {
+            Coordinate coordinate = ring.getCoordinateN(i);
+            lngs[i] = coordinate.x;
+            lats[i] = coordinate.y;
+        }
+        return GeodesicUtil.area(lngs, lats, 0, size);
+    }
+
+    private static int[] candidates(STRtree tree, Envelope envelope) {
+        List<Integer> items = new ArrayList<>();
+        tree.query(envelope, item -> items.add((Integer) item));
+        int[] candidates = new int[items.size()];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = items.get(i);
+        }
+        Arrays.sort(candidates);
+        return candidates;
+    }
+
+    private static List<OverlayDTO> collect(OverlayDTO[] results) {
+        List<OverlayDTO> resList = new ArrayList<>();
+        for (OverlayDTO overlayDTO : results) {
+            if (overlayDTO != null) {
+                resList.add(overlayDTO);
+            }
+        }
+        return resList;
+    }
+
+}
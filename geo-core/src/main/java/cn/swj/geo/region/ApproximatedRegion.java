@@ -0,0 +1,249 @@
+package cn.swj.geo.region;
+
+import cn.hutool.core.util.ObjectUtil;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.operation.buffer.BufferOp;
+import org.locationtech.jts.operation.buffer.BufferParameters;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 14:00
+ * @Description: 超大区域（十万级顶点）的两级判断。先把原区域按 tolerance 保持拓扑地简化（窄条、小岛不会被丢掉），
+ * 再分别向内、向外缓冲得到内多边形和外多边形。构建时校验内多边形被原区域覆盖、外多边形覆盖原区域，校验失败时加大缓冲距离重试，
+ * 外多边形仍失败则退化为原区域的凸包，内多边形仍失败则放弃。
+ * 判断时外多边形外的直接为 false，内多边形内的直接为 true，只有两者之间窄带上的点位才交给原区域精确判断
+ * @Version 1.0
+ */
+public class ApproximatedRegion implements CoordinatePredicate {
+
+    // 默认容差为外包框对角线的 0.2%
+    private static final double DEFAULT_TOLERANCE_RATIO = 0.002;
+
+    // 缓冲距离每次校验失败后翻倍，最多尝试次数
+    private static final int MAX_ATTEMPTS = 3;
+
+    // 缓冲时每 1/4 圆的分段数，分段少顶点少，圆角误差由校验兜底
+    private static final int QUADRANT_SEGMENTS = 2;
+
+    private final CompiledRegion exact;
+
+    // 内多边形，原区域太窄缓冲后为空或校验失败时为 null
+    private final CompiledRegion inner;
+
+    // 外多边形，缓冲校验失败时为原区域的凸包，只有原区域退化为线或点时为 null
+    private final CompiledRegion outer;
+
+    private final double tolerance;
+
+    private final LongAdder testCount = new LongAdder();
+
+    private final LongAdder exactTestCount = new LongAdder();
+
+    private ApproximatedRegion(CompiledRegion exact, CompiledRegion inner, CompiledRegion outer, double tolerance) {
+        this.exact = exact;
+        this.inner = inner;
+        this.outer = outer;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * 按默认容差构建*
+     *
+     * @param exact 原区域
+     * @return
+     */
+    public static ApproximatedRegion of(CompiledRegion exact) {
+        if (ObjectUtil.isEmpty(exact)) {
+            throw new RuntimeException("exact is null");
+        }
+        Envelope envelope = exact.getEnvelope();
+        double diagonal = Math.hypot(envelope.getWidth(), envelope.getHeight());
+        return of(exact, diagonal * DEFAULT_TOLERANCE_RATIO);
+    }
+
+    /**
+     * 构建*
+     *
+     * @param exact     原区域
+     * @param tolerance 简化容差 度，越大近似多边形顶点越少、窄带越宽
+     * @return
+     */
+    public static ApproximatedRegion of(CompiledRegion exact, double tolerance) {
+        if (ObjectUtil.isEmpty(exact)) {
+            throw new RuntimeException("exact is null");
+        }
+        if (!(tolerance > 0)) {
+            throw new RuntimeException("tolerance is le 0");
+        }
+        Geometry original = exact.getGeometry();
+        // DouglasPeuckerSimplifier 会把比 tolerance 窄的部分和小岛整个丢掉，外多边形因此覆盖不了原区域
+        Geometry simplified = TopologyPreservingSimplifier.simplify(original, tolerance);
+        PreparedGeometry preparedOriginal = exact.getPreparedGeometry();
+
+        CompiledRegion outer = null;
+        for (int attempt = 0, factor = 1; attempt < MAX_ATTEMPTS && outer == null; attempt++, factor *= 2) {
+            Geometry candidate = BufferOp.bufferOp(simplified, tolerance * factor, new BufferParameters(QUADRANT_SEGMENTS));
+            if (candidate instanceof Polygonal && !candidate.isEmpty() && PreparedGeometryFactory.prepare(candidate).covers(original)) {
+                outer = new CompiledRegion(candidate);
+            }
+        }
+        if (outer == null) {
+            // 凸包一定覆盖原区域
+            Geometry hull = original.convexHull();
+            if (hull instanceof Polygonal) {
+                outer = new CompiledRegion(hull);
+            }
+        }
+        CompiledRegion inner = null;
+        for (int attempt = 0, factor = 1; attempt < MAX_ATTEMPTS && inner == null; attempt++, factor *= 2) {
+            Geometry candidate = BufferOp.bufferOp(simplified, -tolerance * factor, new BufferParameters(QUADRANT_SEGMENTS));
+            if (candidate.isEmpty() || !(candidate instanceof Polygonal)) {
+                break;
+            }
+            if (preparedOriginal.covers(candidate)) {
+                inner = new CompiledRegion(candidate);
+            }
+        }
+        return new ApproximatedRegion(exact, inner, outer, tolerance);
+    }
+
+    /**
+     * 判断坐标是否在区域内，结果与原区域 contains 一致*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    public boolean contains(double lng, double lat) {
+        testCount.increment();
+        if (outer != null && !outer.contains(lng, lat)) {
+            return false;
+        }
+        if (inner != null && inner.contains(lng, lat)) {
+            return true;
+        }
+        exactTestCount.increment();
+        return exact.contains(lng, lat);
+    }
+
+    @Override
+    public boolean test(double lng, double lat) {
+        return contains(lng, lat);
+    }
+
+    /**
+     * 批量判断：外、内多边形各判断一遍整批，窄带上的点位收集后再交给原区域*
+     */
+    @Override
+    public void testBatch(double[] lngs, double[] lats, int size, boolean[] result) {
+        testCount.add(size);
+        boolean[] outside = new boolean[size];
+        if (outer != null) {
+            outer.testBatch(lngs, lats, size, outside);
+            for (int i = 0; i < size; i++) {
+                outside[i] = !outside[i];
+            }
+        }
+        boolean[] inside = new boolean[size];
+        if (inner != null) {
+            inner.testBatch(lngs, lats, size, inside);
+        }
+        int band = 0;
+        for (int i = 0; i < size; i++) {
+            if (!outside[i] && !inside[i]) {
+                band++;
+            }
+        }
+        double[] bandLngs = new double[band];
+        double[] bandLats = new double[band];
+        int[] bandIndexes = new int[band];
+        band = 0;
+        for (int i = 0; i < size; i++) {
+            result[i] = inside[i];
+            if (!outside[i] && !inside[i]) {
+                bandLngs[band] = lngs[i];
+                bandLats[band] = lats[i];
+                bandIndexes[band++] = i;
+            }
+        }
+        if (band == 0) {
+            return;
+        }
+        exactTestCount.add(band);
+        boolean[] bandResult = new boolean[band];
+        exact.testBatch(bandLngs, bandLats, band, bandResult);
+        for (int i = 0; i < band; i++) {
+            result[bandIndexes[i]] = bandResult[i];
+        }
+    }
+
+    public CompiledRegion getExact() {
+        return exact;
+    }
+
+    public CompiledRegion getInner() {
+        return inner;
+    }
+
+    public CompiledRegion getOuter() {
+        return outer;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * 内多边形顶点数 / 原区域顶点数，没有内多边形时为 0*
+     *
+     * @return
+     */
+    public double getInnerSimplificationRatio() {
+        return inner == null ? 0 : (double) inner.getVertexCount() / exact.getVertexCount();
+    }
+
+    /**
+     * 外多边形顶点数 / 原区域顶点数，没有外多边形时为 0*
+     *
+     * @return
+     */
+    public double getOuterSimplificationRatio() {
+        return outer == null ? 0 : (double) outer.getVertexCount() / exact.getVertexCount();
+    }
+
+    /**
+     * 到达精确判断的点位比例*
+     *
+     * @return
+     */
+    public double getExactTestFraction() {
+        long tests = testCount.sum();
+        return tests == 0 ? 0 : (double) exactTestCount.sum() / tests;
+    }
+
+    public long getTestCount() {
+        return testCount.sum();
+    }
+
+    public long getExactTestCount() {
+        return exactTestCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ApproximatedRegion{exactVertices=" + exact.getVertexCount()
+                + ", innerVertices=" + (inner == null ? 0 : inner.getVertexCount())
+                + ", outerVertices=" + (outer == null ? 0 : outer.getVertexCount())
+                + ", tolerance=" + tolerance
+                + ", tests=" + testCount.sum()
+                + ", exactTestFraction=" + getExactTestFraction() + "}";
+    }
+
+}
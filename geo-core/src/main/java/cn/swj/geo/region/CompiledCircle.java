@@ -0,0 +1,81 @@
+package cn.swj.geo.region;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 10:02
+ * @Description: 预编译的圆形区域，半径与 GeoUtil.pointIsContainedRoundRegion 同口径：
+ * 以圆心正北方向 radius 米处的经纬度偏移作为经纬度平面上的半径。
+ * 区别在于这里按精确的圆判断，而 GeoUtil 用 JTS buffer 生成的内接 32 边形判断，
+ * 两者只在距圆周 degreeRadius * (1 - cos(π/32))（约半径的 0.48%）以内的窄带上可能不同：
+ * 多边形内的点一定在圆内，窄带上的点这里判为在圆内，GeoUtil 可能判为不在
+ * @Version 1.0
+ */
+public class CompiledCircle implements CoordinatePredicate {
+
+    private final double centerLng;
+
+    private final double centerLat;
+
+    // 半径 以米为单位
+    private final double radius;
+
+    // 经纬度平面上的半径
+    private final double degreeRadius;
+
+    private final double degreeRadiusSq;
+
+    public CompiledCircle(double centerLng, double centerLat, double radius, double degreeRadius) {
+        if (radius <= 0 || degreeRadius <= 0) {
+            throw new RuntimeException("radius is le 0");
+        }
+        this.centerLng = centerLng;
+        this.centerLat = centerLat;
+        this.radius = radius;
+        this.degreeRadius = degreeRadius;
+        this.degreeRadiusSq = degreeRadius * degreeRadius;
+    }
+
+    /**
+     * 判断坐标是否在圆内，边界上的点不算*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    public boolean contains(double lng, double lat) {
+        double dx = lng - centerLng;
+        double dy = lat - centerLat;
+        return dx * dx + dy * dy < degreeRadiusSq;
+    }
+
+    @Override
+    public boolean test(double lng, double lat) {
+        return contains(lng, lat);
+    }
+
+    @Override
+    public void testBatch(double[] lngs, double[] lats, int size, boolean[] result) {
+        for (int i = 0; i < size; i++) {
+            double dx = lngs[i] - centerLng;
+            double dy = lats[i] - centerLat;
+            result[i] = dx * dx + dy * dy < degreeRadiusSq;
+        }
+    }
+
+    public double getCenterLng() {
+        return centerLng;
+    }
+
+    public double getCenterLat() {
+        return centerLat;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public double getDegreeRadius() {
+        return degreeRadius;
+    }
+
+}
@@ -0,0 +1,221 @@
+package cn.swj.geo.region;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+import java.util.Arrays;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 09:55
+ * @Description: 预编译的多边形区域，顶点以扁平数组保存，点位判断不再创建 Point 对象，可在多线程间共享。
+ * 顶点数达到 EdgeIndexLocator.VERTEX_THRESHOLD 时额外构建按纬度分条的边索引，每次判断只检查点位所在横条的边
+ * @Version 1.0
+ */
+public class CompiledRegion implements CoordinatePredicate {
+
+    private final Geometry geometry;
+
+    private final PreparedGeometry preparedGeometry;
+
+    // 所有环的顶点首尾相接存放，第 i 个环为 [ringOffsets[i], ringOffsets[i + 1])
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] ringOffsets;
+
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    // 由顶点坐标计算的指纹，顶点相同的区域指纹相同
+    private final long fingerprint;
+
+    // 顶点数未达到阈值时为 null
+    private final EdgeIndexLocator edgeIndexLocator;
+
+    public CompiledRegion(Geometry geometry) {
+        if (geometry == null || geometry.isEmpty()) {
+            throw new RuntimeException("geometry is empty");
+        }
+        if (!(geometry instanceof Polygonal)) {
+            throw new RuntimeException("geometry is not polygonal");
+        }
+        this.geometry = geometry;
+        this.preparedGeometry = PreparedGeometryFactory.prepare(geometry);
+
+        int ringCount = 0;
+        int vertexCount = 0;
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            Polygon polygon = (Polygon) geometry.getGeometryN(i);
+            ringCount += 1 + polygon.getNumInteriorRing();
+            vertexCount += polygon.getNumPoints();
+        }
+
+        this.xs = new double[vertexCount];
+        this.ys = new double[vertexCount];
+        this.ringOffsets = new int[ringCount + 1];
+
+        int ring = 0;
+        int offset = 0;
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            Polygon polygon = (Polygon) geometry.getGeometryN(i);
+            offset = appendRing(polygon.getExteriorRing(), offset);
+            ringOffsets[++ring] = offset;
+            for (int j = 0; j < polygon.getNumInteriorRing(); j++) {
+                offset = appendRing(polygon.getInteriorRingN(j), offset);
+                ringOffsets[++ring] = offset;
+            }
+        }
+
+        Envelope envelope = geometry.getEnvelopeInternal();
+        this.minX = envelope.getMinX();
+        this.minY = envelope.getMinY();
+        this.maxX = envelope.getMaxX();
+        this.maxY = envelope.getMaxY();
+        this.fingerprint = computeFingerprint();
+        this.edgeIndexLocator = vertexCount >= EdgeIndexLocator.VERTEX_THRESHOLD ? new EdgeIndexLocator(xs, ys, ringOffsets) : null;
+    }
+
+    // FNV-1a 64 位
+    private long computeFingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        for (int offset : ringOffsets) {
+            hash = (hash ^ offset) * 0x100000001b3L;
+        }
+        for (int i = 0; i < xs.length; i++) {
+            hash = (hash ^ Double.doubleToLongBits(xs[i])) * 0x100000001b3L;
+            hash = (hash ^ Double.doubleToLongBits(ys[i])) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private int appendRing(LineString ring, int offset) {
+        for (Coordinate coordinate : ring.getCoordinates()) {
+            xs[offset] = coordinate.x;
+            ys[offset] = coordinate.y;
+            offset++;
+        }
+        return offset;
+    }
+
+    /**
+     * 判断坐标是否在区域内（奇偶规则射线法），落在边界上的点不保证与 JTS contains 一致；
+     * 有边索引时只检查所在横条的边，边界上的点返回 false*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    public boolean contains(double lng, double lat) {
+        if (lng < minX || lng > maxX || lat < minY || lat > maxY) {
+            return false;
+        }
+        if (edgeIndexLocator != null) {
+            return edgeIndexLocator.contains(lng, lat);
+        }
+
+        boolean inside = false;
+        for (int r = 0; r < ringOffsets.length - 1; r++) {
+            int end = ringOffsets[r + 1] - 1;
+            // 环是闭合的，最后一个点等于第一个点
+            for (int i = ringOffsets[r]; i < end; i++) {
+                double y1 = ys[i];
+                double y2 = ys[i + 1];
+                if ((y1 > lat) != (y2 > lat)) {
+                    double x = xs[i] + (lat - y1) * (xs[i + 1] - xs[i]) / (y2 - y1);
+                    if (lng < x) {
+                        inside = !inside;
+                    }
+                }
+            }
+        }
+        return inside;
+    }
+
+    @Override
+    public boolean test(double lng, double lat) {
+        return contains(lng, lat);
+    }
+
+    /**
+     * 批量判断，与 contains 结果一致。按边在外、点在内的顺序遍历，内层循环只有数组访问和比较，
+     * 便于 JIT 展开和向量化，一批点位共享每条边的读取；有边索引时逐个点位查索引*
+     *
+     * @param lngs   经度
+     * @param lats   纬度
+     * @param size   数量
+     * @param result 判断结果
+     */
+    @Override
+    public void testBatch(double[] lngs, double[] lats, int size, boolean[] result) {
+        if (edgeIndexLocator != null) {
+            for (int p = 0; p < size; p++) {
+                result[p] = contains(lngs[p], lats[p]);
+            }
+            return;
+        }
+        Arrays.fill(result, 0, size, false);
+        for (int r = 0; r < ringOffsets.length - 1; r++) {
+            int end = ringOffsets[r + 1] - 1;
+            for (int i = ringOffsets[r]; i < end; i++) {
+                double x1 = xs[i];
+                double y1 = ys[i];
+                double y2 = ys[i + 1];
+                double dx = xs[i + 1] - x1;
+                double dy = y2 - y1;
+                for (int p = 0; p < size; p++) {
+                    double lat = lats[p];
+                    if ((y1 > lat) != (y2 > lat) && lngs[p] < x1 + (lat - y1) * dx / dy) {
+                        result[p] = !result[p];
+                    }
+                }
+            }
+        }
+    }
+
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    public PreparedGeometry getPreparedGeometry() {
+        return preparedGeometry;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 顶点和环的划分是否完全相同，指纹相同不代表顶点相同*
+     *
+     * @param other 另一个预编译区域
+     * @return
+     */
+    public boolean hasSameVertices(CompiledRegion other) {
+        if (this == other) {
+            return true;
+        }
+        return other != null && fingerprint == other.fingerprint && Arrays.equals(ringOffsets, other.ringOffsets)
+                && Arrays.equals(xs, other.xs) && Arrays.equals(ys, other.ys);
+    }
+
+    public EdgeIndexLocator getEdgeIndexLocator() {
+        return edgeIndexLocator;
+    }
+
+    public int getVertexCount() {
+        return xs.length;
+    }
+
+    public Envelope getEnvelope() {
+        return new Envelope(minX, maxX, minY, maxY);
+    }
+
+}
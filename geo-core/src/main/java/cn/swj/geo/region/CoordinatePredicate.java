@@ -0,0 +1,35 @@
+package cn.swj.geo.region;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 09:52
+ * @Description: 基于原始经纬度的点位判断，扫描时不需要为每个点创建对象
+ * @Version 1.0
+ */
+@FunctionalInterface
+public interface CoordinatePredicate {
+
+    /**
+     * 判断坐标是否满足条件*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    boolean test(double lng, double lat);
+
+    /**
+     * 批量判断，结果写入 result 的前 size 个位置*
+     *
+     * @param lngs   经度
+     * @param lats   纬度
+     * @param size   数量
+     * @param result 判断结果
+     */
+    default void testBatch(double[] lngs, double[] lats, int size, boolean[] result) {
+        for (int i = 0; i < size; i++) {
+            result[i] = test(lngs[i], lats[i]);
+        }
+    }
+
+}
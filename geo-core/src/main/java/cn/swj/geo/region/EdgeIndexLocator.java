@@ -0,0 +1,288 @@
+package cn.swj.geo.region;
+
+import org.locationtech.jts.algorithm.CGAlgorithmsDD;
+import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.Polygonal;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 16:00
+ * @Description: 顶点很多的区域的点位定位。按纬度把外包框切成若干横条，每个横条记录纬度范围与之相交的边，
+ * 射线法只需检查点位所在横条里的边，思路同 JTS IndexedPointInAreaLocator，但边和横条都存放在扁平数组中。
+ * 穿越计数与 JTS RayCrossingCounter 一致（含边界判断和稳健的方向判断），构建后只读，可在多线程间共享
+ * @Version 1.0
+ */
+public class EdgeIndexLocator implements PointOnGeometryLocator {
+
+    // 顶点数达到该值时 CompiledRegion 和 GeoUtil 的区域判断改用本索引
+    public static final int VERTEX_THRESHOLD = 256;
+
+    // 平均每个横条的边数，即单个点位平均判断的边数
+    public static final int EDGES_PER_SLAB = 4;
+
+    // 横条中边的总条目数不超过边数的该倍数，超过时减少横条数，避免很长的边占用过多空间
+    private static final int MAX_ENTRY_FACTOR = 8;
+
+    // 与 JTS CGAlgorithmsDD 的浮点过滤误差界一致
+    private static final double DP_SAFE_EPSILON = 1e-15;
+
+    // 所有环的顶点首尾相接存放，第 i 个环为 [ringOffsets[i], ringOffsets[i + 1])
+    private final double[] xs;
+    private final double[] ys;
+
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    private final int slabCount;
+    private final double slabHeight;
+
+    // 第 s 个横条的边为 slabEdges[slabStarts[s]..slabStarts[s + 1])，值为边起点在 xs/ys 中的下标
+    private final int[] slabStarts;
+    private final int[] slabEdges;
+
+    EdgeIndexLocator(double[] xs, double[] ys, int[] ringOffsets) {
+        this.xs = xs;
+        this.ys = ys;
+
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < xs.length; i++) {
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+
+        // 边起点下标，跳过每个环的闭合点
+        int edgeCount = xs.length - (ringOffsets.length - 1);
+        int[] edges = new int[Math.max(edgeCount, 0)];
+        int e = 0;
+        for (int r = 0; r < ringOffsets.length - 1; r++) {
+            for (int i = ringOffsets[r]; i < ringOffsets[r + 1] - 1; i++) {
+                edges[e++] = i;
+            }
+        }
+
+        int slabs = Math.max(1, e / EDGES_PER_SLAB);
+        long entries = countEntries(edges, e, slabs, minY, slabHeight(minY, maxY, slabs));
+        while (slabs > 1 && entries > (long) MAX_ENTRY_FACTOR * e) {
+            slabs /= 2;
+            entries = countEntries(edges, e, slabs, minY, slabHeight(minY, maxY, slabs));
+        }
+        this.slabCount = slabs;
+        this.slabHeight = slabHeight(minY, maxY, slabs);
+
+        // 计数排序：先统计每个横条的条目数，再按前缀和填充
+        this.slabStarts = new int[slabs + 1];
+        for (int k = 0; k < e; k++) {
+            int i = edges[k];
+            int to = slab(Math.max(ys[i], ys[i + 1]));
+            for (int s = slab(Math.min(ys[i], ys[i + 1])); s <= to; s++) {
+                slabStarts[s + 1]++;
+            }
+        }
+        for (int s = 0; s < slabs; s++) {
+            slabStarts[s + 1] += slabStarts[s];
+        }
+        this.slabEdges = new int[slabStarts[slabs]];
+        int[] next = new int[slabs];
+        System.arraycopy(slabStarts, 0, next, 0, slabs);
+        for (int k = 0; k < e; k++) {
+            int i = edges[k];
+            int to = slab(Math.max(ys[i], ys[i + 1]));
+            for (int s = slab(Math.min(ys[i], ys[i + 1])); s <= to; s++) {
+                slabEdges[next[s]++] = i;
+            }
+        }
+    }
+
+    /**
+     * 为面状几何构建索引*
+     *
+     * @param geometry Polygon 或 MultiPolygon
+     * @return
+     */
+    public static EdgeIndexLocator of(Geometry geometry) {
+        if (geometry == null || geometry.isEmpty()) {
+            throw new RuntimeException("geometry is empty");
+        }
+        if (!(geometry instanceof Polygonal)) {
+            throw new RuntimeException("geometry is not polygonal");
+        }
+        int ringCount = 0;
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            ringCount += 1 + ((Polygon) geometry.getGeometryN(i)).getNumInteriorRing();
+        }
+        double[] xs = new double[geometry.getNumPoints()];
+        double[] ys = new double[xs.length];
+        int[] ringOffsets = new int[ringCount + 1];
+        int ring = 0;
+        int offset = 0;
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            Polygon polygon = (Polygon) geometry.getGeometryN(i);
+            offset = appendRing(polygon.getExteriorRing(), xs, ys, offset);
+            ringOffsets[++ring] = offset;
+            for (int j = 0; j < polygon.getNumInteriorRing(); j++) {
+                offset = appendRing(polygon.getInteriorRingN(j), xs, ys, offset);
+                ringOffsets[++ring] = offset;
+            }
+        }
+        return new EdgeIndexLocator(xs, ys, ringOffsets);
+    }
+
+    private static int appendRing(LineString ring, double[] xs, double[] ys, int offset) {
+        for (int i = 0; i < ring.getNumPoints(); i++) {
+            Coordinate coordinate = ring.getCoordinateN(i);
+            xs[offset] = coordinate.x;
+            ys[offset] = coordinate.y;
+            offset++;
+        }
+        return offset;
+    }
+
+    /**
+     * 判断坐标相对区域的位置*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return Location.INTERIOR / Location.BOUNDARY / Location.EXTERIOR
+     */
+    public int locate(double lng, double lat) {
+        if (lng < minX || lng > maxX || lat < minY || lat > maxY) {
+            return Location.EXTERIOR;
+        }
+        int crossings = 0;
+        int end = slabStarts[slab(lat) + 1];
+        for (int k = slabStarts[slab(lat)]; k < end; k++) {
+            int i = slabEdges[k];
+            double x1 = xs[i];
+            double y1 = ys[i];
+            double x2 = xs[i + 1];
+            double y2 = ys[i + 1];
+            // 以下与 RayCrossingCounter.countSegment 相同
+            if (x1 < lng && x2 < lng) {
+                continue;
+            }
+            if ((lng == x1 && lat == y1) || (lng == x2 && lat == y2)) {
+                return Location.BOUNDARY;
+            }
+            if (y1 == lat && y2 == lat) {
+                if (lng >= Math.min(x1, x2) && lng <= Math.max(x1, x2)) {
+                    return Location.BOUNDARY;
+                }
+                continue;
+            }
+            if ((y1 > lat && y2 <= lat) || (y2 > lat && y1 <= lat)) {
+                int orientation = orientationIndex(x1, y1, x2, y2, lng, lat);
+                if (orientation == 0) {
+                    return Location.BOUNDARY;
+                }
+                if (y2 < y1) {
+                    orientation = -orientation;
+                }
+                if (orientation > 0) {
+                    crossings++;
+                }
+            }
+        }
+        return (crossings & 1) == 1 ? Location.INTERIOR : Location.EXTERIOR;
+    }
+
+    @Override
+    public int locate(Coordinate coordinate) {
+        return locate(coordinate.x, coordinate.y);
+    }
+
+    /**
+     * 坐标是否在区域内部，边界上的点返回 false，与 JTS Polygon.contains 一致*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    public boolean contains(double lng, double lat) {
+        return locate(lng, lat) == Location.INTERIOR;
+    }
+
+    public int getSlabCount() {
+        return slabCount;
+    }
+
+    /**
+     * 横条中边的总条目数，长边会在多个横条中重复出现*
+     *
+     * @return
+     */
+    public int getEntryCount() {
+        return slabEdges.length;
+    }
+
+    private int slab(double y) {
+        int s = (int) ((y - minY) / slabHeight);
+        return s < 0 ? 0 : (s >= slabCount ? slabCount - 1 : s);
+    }
+
+    private long countEntries(int[] edges, int edgeCount, int slabs, double minY, double slabHeight) {
+        long entries = 0;
+        for (int k = 0; k < edgeCount; k++) {
+            int i = edges[k];
+            int from = clamp((int) ((Math.min(ys[i], ys[i + 1]) - minY) / slabHeight), slabs);
+            int to = clamp((int) ((Math.max(ys[i], ys[i + 1]) - minY) / slabHeight), slabs);
+            entries += to - from + 1;
+        }
+        return entries;
+    }
+
+    private static int clamp(int index, int size) {
+        return index < 0 ? 0 : (index >= size ? size - 1 : index);
+    }
+
+    // 范围为 0 时取 1，避免除 0
+    private static double slabHeight(double minY, double maxY, int slabs) {
+        return maxY > minY ? (maxY - minY) / slabs : 1;
+    }
+
+    /**
+     * 点 (qx, qy) 相对有向线段 (p1 -> p2) 的方向：1 左侧，-1 右侧，0 共线。
+     * 先用浮点过滤，无法确定时交给 CGAlgorithmsDD 的双倍精度计算，与 JTS Orientation.index 结果一致*
+     */
+    private static int orientationIndex(double p1x, double p1y, double p2x, double p2y, double qx, double qy) {
+        double detLeft = (p1x - qx) * (p2y - qy);
+        double detRight = (p1y - qy) * (p2x - qx);
+        double det = detLeft - detRight;
+        double detSum;
+        if (detLeft > 0.0) {
+            if (detRight <= 0.0) {
+                return signum(det);
+            }
+            detSum = detLeft + detRight;
+        } else if (detLeft < 0.0) {
+            if (detRight >= 0.0) {
+                return signum(det);
+            }
+            detSum = -detLeft - detRight;
+        } else {
+            return signum(det);
+        }
+        double errorBound = DP_SAFE_EPSILON * detSum;
+        if (det >= errorBound || -det >= errorBound) {
+            return signum(det);
+        }
+        return CGAlgorithmsDD.orientationIndex(new Coordinate(p1x, p1y), new Coordinate(p2x, p2y), new Coordinate(qx, qy));
+    }
+
+    private static int signum(double value) {
+        return value > 0 ? 1 : (value < 0 ? -1 : 0);
+    }
+
+}
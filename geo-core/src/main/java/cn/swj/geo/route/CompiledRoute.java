@@ -0,0 +1,166 @@
+package cn.swj.geo.route;
+
+import cn.swj.geo.dto.RouteLocationDTO;
+import cn.swj.geo.util.GeodesicUtil;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 13:20
+ * @Description: 预编译的线路，保存顶点和每个顶点处的累计大地线长度，用于线性参考（沿线距离、偏离距离、投影点）。
+ * 线段内的投影在以点位为中心的局部等距平面上计算，距离用大地线计算。不可变，可在多线程间共享
+ * @Version 1.0
+ */
+public class CompiledRoute {
+
+    private final double[] xs;
+
+    private final double[] ys;
+
+    // cumulativeLengths[i] 为起点到第 i 个顶点的沿线距离
+    private final double[] cumulativeLengths;
+
+    public CompiledRoute(double[] lngs, double[] lats) {
+        if (lngs == null || lats == null || lngs.length != lats.length) {
+            throw new RuntimeException("lngs and lats size is not equal");
+        }
+        if (lngs.length < 2) {
+            throw new RuntimeException("route size must ge 2");
+        }
+        this.xs = lngs.clone();
+        this.ys = lats.clone();
+        this.cumulativeLengths = new double[xs.length];
+        for (int i = 1; i < xs.length; i++) {
+            cumulativeLengths[i] = cumulativeLengths[i - 1] + GeodesicUtil.distance(xs[i - 1], ys[i - 1], xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * 在整条线路上定位，复杂度 O(顶点数)*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    public RouteLocationDTO locate(double lng, double lat) {
+        int segment = nearestSegment(lng, lat, 0, getSegmentCount());
+        return toLocation(segment, lng, lat);
+    }
+
+    /**
+     * 创建按时间顺序定位的游标，游标有状态，不能在多线程间共享*
+     *
+     * @return
+     */
+    public RouteCursor cursor() {
+        return new RouteCursor(this);
+    }
+
+    /**
+     * 创建按时间顺序定位的游标*
+     *
+     * @param lookahead     每次越过当前最近线段继续往前搜索的最大沿线距离 以米为单位
+     * @param lostThreshold 偏离距离超过该值时认为已脱离当前位置，回退到全线搜索 以米为单位
+     * @return
+     */
+    public RouteCursor cursor(double lookahead, double lostThreshold) {
+        return new RouteCursor(this, lookahead, lostThreshold);
+    }
+
+    /**
+     * 在 [fromSegment, toSegment) 线段中找到离点位最近的线段*
+     */
+    int nearestSegment(double lng, double lat, int fromSegment, int toSegment) {
+        double kx = Math.cos(Math.toRadians(lat));
+        int best = fromSegment;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = fromSegment; i < toSegment; i++) {
+            double temp = planarDistanceSq(i, lng, lat, kx);
+            if (temp < bestDistance) {
+                bestDistance = temp;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 点位到第 segment 段的距离平方，在局部等距平面上以度为单位，只用于比较远近*
+     *
+     * @param kx cos(纬度)
+     */
+    double planarDistanceSq(int segment, double lng, double lat, double kx) {
+        double t = projectionFactor(segment, lng, lat, kx);
+        double dx = (xs[segment] + t * (xs[segment + 1] - xs[segment]) - lng) * kx;
+        double dy = ys[segment] + t * (ys[segment + 1] - ys[segment]) - lat;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * 点位投影到第 segment 段上的位置，0 为线段起点，1 为线段终点*
+     */
+    private double projectionFactor(int segment, double lng, double lat, double kx) {
+        double ax = xs[segment], ay = ys[segment];
+        double dx = (xs[segment + 1] - ax) * kx;
+        double dy = ys[segment + 1] - ay;
+        double lengthSq = dx * dx + dy * dy;
+        if (lengthSq == 0) {
+            return 0;
+        }
+        double t = ((lng - ax) * kx * dx + (lat - ay) * dy) / lengthSq;
+        return t < 0 ? 0 : (t > 1 ? 1 : t);
+    }
+
+    /**
+     * 点位到第 segment 段的距离 以米为单位，投影口径与 locate 一致*
+     */
+    double segmentDistance(int segment, double lng, double lat) {
+        double t = projectionFactor(segment, lng, lat, Math.cos(Math.toRadians(lat)));
+        return GeodesicUtil.distance(lng, lat, xs[segment] + t * (xs[segment + 1] - xs[segment]), ys[segment] + t * (ys[segment + 1] - ys[segment]));
+    }
+
+    RouteLocationDTO toLocation(int segment, double lng, double lat) {
+        double t = projectionFactor(segment, lng, lat, Math.cos(Math.toRadians(lat)));
+        double projectedLng = xs[segment] + t * (xs[segment + 1] - xs[segment]);
+        double projectedLat = ys[segment] + t * (ys[segment + 1] - ys[segment]);
+        double segmentLength = cumulativeLengths[segment + 1] - cumulativeLengths[segment];
+        double distanceAlongRoute = cumulativeLengths[segment] + t * segmentLength;
+        double offsetFromRoute = GeodesicUtil.distance(lng, lat, projectedLng, projectedLat);
+        return new RouteLocationDTO(distanceAlongRoute, offsetFromRoute, segment, projectedLng, projectedLat);
+    }
+
+    /**
+     * 线路总长度 以米为单位*
+     *
+     * @return
+     */
+    public double getLength() {
+        return cumulativeLengths[cumulativeLengths.length - 1];
+    }
+
+    /**
+     * 起点到第 vertex 个顶点的沿线距离 以米为单位*
+     *
+     * @param vertex 顶点下标
+     * @return
+     */
+    public double getCumulativeLength(int vertex) {
+        return cumulativeLengths[vertex];
+    }
+
+    public int getVertexCount() {
+        return xs.length;
+    }
+
+    public int getSegmentCount() {
+        return xs.length - 1;
+    }
+
+    public double getLng(int vertex) {
+        return xs[vertex];
+    }
+
+    public double getLat(int vertex) {
+        return ys[vertex];
+    }
+
+}
@@ -0,0 +1,128 @@
+package cn.swj.geo.route;
+
+import cn.swj.geo.dto.RouteLocationDTO;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 13:45
+ * @Description: 按时间顺序定位 GPS 点位的游标，每次从上一个线段开始往前贪心推进：越过当前最近线段后
+ * 最多再检查 ESCAPE_SEGMENTS 段且不超过 lookahead 米，找到更近的线段就继续推进，否则停下。
+ * 每次更新的检查次数为推进的段数加一个有界的窗口，点位按时间顺序传入时均摊 O(1)。
+ * 偏离超过 lostThreshold 时回退到全线搜索重新捕获，持续偏离时每 RESCAN_INTERVAL 次更新最多全线搜索一次
+ * @Version 1.0
+ */
+public class RouteCursor {
+
+    // 默认往前搜索 2 公里
+    private static final double DEFAULT_LOOKAHEAD = 2000;
+
+    // 默认偏离 500 米认为跟丢
+    private static final double DEFAULT_LOST_THRESHOLD = 500;
+
+    // 越过当前最近线段后最多再检查的线段数，用于跳过拐角等局部更远的线段
+    private static final int ESCAPE_SEGMENTS = 16;
+
+    // 持续跟丢时两次全线搜索之间至少间隔的更新次数
+    private static final int RESCAN_INTERVAL = 32;
+
+    private final CompiledRoute route;
+
+    private final double lookahead;
+
+    private final double lostThreshold;
+
+    // 上一次定位所在的线段，-1 表示还没有定位过
+    private int segment = -1;
+
+    // 距上一次全线搜索的更新次数，在线路上时置为 RESCAN_INTERVAL，跟丢后第一次更新立即全线搜索
+    private int updatesSinceRescan = RESCAN_INTERVAL;
+
+    private int rescanCount;
+
+    RouteCursor(CompiledRoute route) {
+        this(route, DEFAULT_LOOKAHEAD, DEFAULT_LOST_THRESHOLD);
+    }
+
+    RouteCursor(CompiledRoute route, double lookahead, double lostThreshold) {
+        if (lookahead <= 0) {
+            throw new RuntimeException("lookahead is le 0");
+        }
+        if (lostThreshold <= 0) {
+            throw new RuntimeException("lostThreshold is le 0");
+        }
+        this.route = route;
+        this.lookahead = lookahead;
+        this.lostThreshold = lostThreshold;
+    }
+
+    /**
+     * 定位下一个点位，点位需按时间顺序传入*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    public RouteLocationDTO update(double lng, double lat) {
+        int segmentCount = route.getSegmentCount();
+        if (segment < 0) {
+            segment = route.nearestSegment(lng, lat, 0, segmentCount);
+            return route.toLocation(segment, lng, lat);
+        }
+
+        double kx = Math.cos(Math.toRadians(lat));
+        int candidate = segment;
+        double candidateDistance = route.planarDistanceSq(segment, lng, lat, kx);
+        int i = segment + 1;
+        while (i < segmentCount && i - candidate <= ESCAPE_SEGMENTS
+                && route.getCumulativeLength(i) <= route.getCumulativeLength(candidate + 1) + lookahead) {
+            double distance = route.planarDistanceSq(i, lng, lat, kx);
+            if (distance < candidateDistance) {
+                candidate = i;
+                candidateDistance = distance;
+            }
+            i++;
+        }
+        RouteLocationDTO location = route.toLocation(candidate, lng, lat);
+
+        if (location.getOffsetFromRoute() <= lostThreshold) {
+            updatesSinceRescan = RESCAN_INTERVAL;
+        } else if (++updatesSinceRescan >= RESCAN_INTERVAL) {
+            updatesSinceRescan = 0;
+            rescanCount++;
+            int best = route.nearestSegment(lng, lat, 0, segmentCount);
+            if (best != candidate) {
+                candidate = best;
+                location = route.toLocation(candidate, lng, lat);
+            }
+        }
+        segment = candidate;
+        return location;
+    }
+
+    /**
+     * 重置游标，下一次定位在整条线路上搜索*
+     */
+    public void reset() {
+        segment = -1;
+        updatesSinceRescan = RESCAN_INTERVAL;
+    }
+
+    /**
+     * 上一次定位所在的线段，-1 表示还没有定位过*
+     *
+     * @return
+     */
+    public int getSegmentIndex() {
+        return segment;
+    }
+
+    /**
+     * 因跟丢而全线搜索的次数*
+     *
+     * @return
+     */
+    public int getRescanCount() {
+        return rescanCount;
+    }
+
+}
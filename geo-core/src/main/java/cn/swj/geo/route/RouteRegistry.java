@@ -0,0 +1,215 @@
+package cn.swj.geo.route;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.map.MapUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.util.CoordinateParser;
+import cn.swj.geo.util.GeodesicUtil;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 20:00
+ * @Description: 线路注册表，回答“哪些线路经过点位 metres 米以内”，例如为新订单找出附近经过的公交、配送线路。
+ * 所有线路的线段按每 RUN_SIZE 段一组放进同一棵 STR 树，每组记录所属线路；查询时把点位外包框按 metres 扩大后粗筛，
+ * 再对候选线段计算与 CompiledRoute.locate 口径一致的距离。构建后不再修改，可在多线程间无锁共享
+ * @Version 1.0
+ */
+public class RouteRegistry {
+
+    // 每组线段数，组越大树越小，粗筛越粗
+    private static final int RUN_SIZE = 8;
+
+    // STR 树节点容量
+    private static final int NODE_CAPACITY = 16;
+
+    private final Map<String, CompiledRoute> routeMap;
+
+    private final String[] routeIds;
+
+    private final CompiledRoute[] routes;
+
+    private final STRtree tree;
+
+    private final int segmentCount;
+
+    /**
+     * 构建注册表，查询结果按 routeMap 的迭代顺序返回*
+     *
+     * @param routeMap 线路ID -> 预编译线路
+     */
+    public RouteRegistry(Map<String, CompiledRoute> routeMap) {
+        if (MapUtil.isEmpty(routeMap)) {
+            throw new RuntimeException("routeMap is empty");
+        }
+        this.routeMap = Collections.unmodifiableMap(new LinkedHashMap<>(routeMap));
+        this.routeIds = new String[routeMap.size()];
+        this.routes = new CompiledRoute[routeMap.size()];
+        this.tree = new STRtree(NODE_CAPACITY);
+        int index = 0;
+        int segments = 0;
+        for (Map.Entry<String, CompiledRoute> entry : routeMap.entrySet()) {
+            CompiledRoute route = entry.getValue();
+            if (ObjectUtil.isEmpty(route)) {
+                throw new RuntimeException("route is null: " + entry.getKey());
+            }
+            routeIds[index] = entry.getKey();
+            routes[index] = route;
+            for (int from = 0; from < route.getSegmentCount(); from += RUN_SIZE) {
+                int to = Math.min(route.getSegmentCount(), from + RUN_SIZE);
+                Envelope envelope = new Envelope();
+                for (int vertex = from; vertex <= to; vertex++) {
+                    envelope.expandToInclude(route.getLng(vertex), route.getLat(vertex));
+                }
+                tree.insert(envelope, new SegmentRun(index, from, to));
+            }
+            segments += route.getSegmentCount();
+            index++;
+        }
+        // 提前构建，之后的查询只读
+        tree.build();
+        this.segmentCount = segments;
+    }
+
+    /**
+     * 经过点位 metres 米以内的线路ID*
+     *
+     * @param lng    经度
+     * @param lat    纬度
+     * @param metres 距离 以米为单位
+     * @return
+     */
+    public List<String> routesWithin(double lng, double lat, double metres) {
+        if (!(metres > 0)) {
+            throw new RuntimeException("metres is le 0");
+        }
+        double[] span = GeodesicUtil.degreeSpan(lat, metres);
+        Envelope search = new Envelope(lng - span[0], lng + span[0], lat - span[1], lat + span[1]);
+
+        BitSet matched = new BitSet();
+        tree.query(search, item -> {
+            SegmentRun run = (SegmentRun) item;
+            if (matched.get(run.route)) {
+                return;
+            }
+            CompiledRoute route = routes[run.route];
+            for (int segment = run.from; segment < run.to; segment++) {
+                if (!segmentIntersects(route, segment, search)) {
+                    continue;
+                }
+                if (route.segmentDistance(segment, lng, lat) <= metres) {
+                    matched.set(run.route);
+                    return;
+                }
+            }
+        });
+        if (matched.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> resList = new ArrayList<>(matched.cardinality());
+        for (int route = matched.nextSetBit(0); route >= 0; route = matched.nextSetBit(route + 1)) {
+            resList.add(routeIds[route]);
+        }
+        return resList;
+    }
+
+    /**
+     * 批量查询，第 i 个结果对应第 i 个点位*
+     *
+     * @param lngs     经度
+     * @param lats     纬度
+     * @param size     数量
+     * @param metres   距离 以米为单位
+     * @param parallel 是否并行
+     * @return
+     */
+    public List<List<String>> routesWithin(double[] lngs, double[] lats, int size, double metres, boolean parallel) {
+        List<String>[] results = newResults(size);
+        IntStream range = IntStream.range(0, size);
+        (parallel ? range.parallel() : range).forEach(i -> results[i] = routesWithin(lngs[i], lats[i], metres));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 批量查询，第 i 个结果对应第 i 个点位，空点位返回空集合*
+     *
+     * @param locationDTOList 点位
+     * @param metres          距离 以米为单位
+     * @param parallel        是否并行
+     * @return
+     */
+    public List<List<String>> routesWithin(List<LocationDTO> locationDTOList, double metres, boolean parallel) {
+        if (CollectionUtil.isEmpty(locationDTOList)) {
+            throw new RuntimeException("locationDTOList is empty");
+        }
+        List<String>[] results = newResults(locationDTOList.size());
+        IntStream range = IntStream.range(0, locationDTOList.size());
+        (parallel ? range.parallel() : range).forEach(i -> {
+            LocationDTO locationDTO = locationDTOList.get(i);
+            results[i] = ObjectUtil.isEmpty(locationDTO) ? Collections.emptyList()
+                    : routesWithin(CoordinateParser.parse(locationDTO.getLng()), CoordinateParser.parse(locationDTO.getLat()), metres);
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 获取线路，不存在返回 null*
+     *
+     * @param routeId 线路ID
+     * @return
+     */
+    public CompiledRoute getRoute(String routeId) {
+        return routeMap.get(routeId);
+    }
+
+    public int size() {
+        return routes.length;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    private static boolean segmentIntersects(CompiledRoute route, int segment, Envelope search) {
+        double x1 = route.getLng(segment), x2 = route.getLng(segment + 1);
+        double y1 = route.getLat(segment), y2 = route.getLat(segment + 1);
+        return Math.max(x1, x2) >= search.getMinX() && Math.min(x1, x2) <= search.getMaxX()
+                && Math.max(y1, y2) >= search.getMinY() && Math.min(y1, y2) <= search.getMaxY();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] newResults(int size) {
+        return new List[size];
+    }
+
+    /**
+     * 同一条线路上连续的一组线段 [from, to)*
+     */
+    private static final class SegmentRun {
+
+        private final int route;
+
+        private final int from;
+
+        private final int to;
+
+        private SegmentRun(int route, int from, int to) {
+            this.route = route;
+            this.from = from;
+            this.to = to;
+        }
+
+    }
+
+}
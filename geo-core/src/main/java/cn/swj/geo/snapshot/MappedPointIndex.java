@@ -0,0 +1,265 @@
+package cn.swj.geo.snapshot;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.swj.geo.io.PointSink;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.region.CoordinatePredicate;
+import cn.swj.geo.store.PointStore;
+import org.locationtech.jts.geom.Envelope;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 14:30
+ * @Description: 内存映射的点位网格索引快照。点位按网格排序后写入经度、纬度、ID 三列，
+ * 网格表记录每个格子在列中的起始行，打开后直接按外包框读取相关格子，不反序列化到堆上
+ * @Version 1.0
+ */
+public class MappedPointIndex {
+
+    // 数据区头部：count(4) + columns(4) + rows(4) + 保留(4) + minLng/minLat/maxLng/maxLat(32) + 保留(16)
+    private static final int META_SIZE = 64;
+
+    private final long version;
+
+    private final int count;
+
+    private final int columns;
+
+    private final int rows;
+
+    private final double minLng;
+
+    private final double minLat;
+
+    private final double cellWidth;
+
+    private final double cellHeight;
+
+    private final IntBuffer cellStarts;
+
+    private final DoubleBuffer lngs;
+
+    private final DoubleBuffer lats;
+
+    private final LongBuffer ids;
+
+    private MappedPointIndex(ByteBuffer buffer) {
+        this.version = SnapshotFormat.version(buffer);
+        ByteBuffer payload = SnapshotFormat.payload(buffer);
+        this.count = payload.getInt(0);
+        this.columns = payload.getInt(4);
+        this.rows = payload.getInt(8);
+        this.minLng = payload.getDouble(16);
+        this.minLat = payload.getDouble(24);
+        this.cellWidth = cellSize(minLng, payload.getDouble(32), columns);
+        this.cellHeight = cellSize(minLat, payload.getDouble(40), rows);
+
+        Layout layout = new Layout(count, columns * rows);
+        this.cellStarts = section(payload, layout.cellStarts, (columns * rows + 1) * Integer.BYTES).asIntBuffer();
+        this.lngs = section(payload, layout.lngs, count * Double.BYTES).asDoubleBuffer();
+        this.lats = section(payload, layout.lats, count * Double.BYTES).asDoubleBuffer();
+        this.ids = section(payload, layout.ids, count * Long.BYTES).asLongBuffer();
+    }
+
+    /**
+     * 打开快照*
+     *
+     * @param file           快照文件
+     * @param verifyChecksum 是否校验数据区，校验会完整读取一遍文件
+     * @return
+     * @throws IOException
+     */
+    public static MappedPointIndex open(Path file, boolean verifyChecksum) throws IOException {
+        return new MappedPointIndex(SnapshotFormat.map(file, SnapshotFormat.KIND_POINT, verifyChecksum));
+    }
+
+    /**
+     * 把 PointStore 按网格排序后写成快照*
+     *
+     * @param file       快照文件，已存在时原子替换
+     * @param version    快照版本号
+     * @param pointStore 点位存储
+     * @param columns    网格列数
+     * @param rows       网格行数
+     * @throws IOException
+     */
+    public static void write(Path file, long version, PointStore pointStore, int columns, int rows) throws IOException {
+        if (ObjectUtil.isEmpty(pointStore)) {
+            throw new RuntimeException("pointStore is null");
+        }
+        if (columns <= 0 || rows <= 0 || (long) columns * rows > Integer.MAX_VALUE / Integer.BYTES - 1) {
+            throw new RuntimeException("columns or rows is out of range");
+        }
+        int count = pointStore.size();
+        double minLng = Double.MAX_VALUE, minLat = Double.MAX_VALUE, maxLng = -Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        for (int row = 0; row < count; row++) {
+            minLng = Math.min(minLng, pointStore.getLng(row));
+            maxLng = Math.max(maxLng, pointStore.getLng(row));
+            minLat = Math.min(minLat, pointStore.getLat(row));
+            maxLat = Math.max(maxLat, pointStore.getLat(row));
+        }
+        if (count == 0) {
+            minLng = minLat = maxLng = maxLat = 0;
+        }
+        double cellWidth = cellSize(minLng, maxLng, columns);
+        double cellHeight = cellSize(minLat, maxLat, rows);
+
+        // 计数排序，格子内保持行号顺序
+        int cells = columns * rows;
+        int[] cellOf = new int[count];
+        int[] cellStarts = new int[cells + 1];
+        for (int row = 0; row < count; row++) {
+            cellOf[row] = cell(pointStore.getLng(row), pointStore.getLat(row), minLng, minLat, cellWidth, cellHeight, columns, rows);
+            cellStarts[cellOf[row] + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStarts[c + 1] += cellStarts[c];
+        }
+
+        Layout layout = new Layout(count, cells);
+        double[] extent = {minLng, minLat, maxLng, maxLat};
+        SnapshotFormat.write(file, SnapshotFormat.KIND_POINT, version, layout.size, payload -> {
+            payload.putInt(0, count);
+            payload.putInt(4, columns);
+            payload.putInt(8, rows);
+            for (int i = 0; i < extent.length; i++) {
+                payload.putDouble(16 + i * Double.BYTES, extent[i]);
+            }
+            for (int c = 0; c <= cells; c++) {
+                payload.putInt(layout.cellStarts + c * Integer.BYTES, cellStarts[c]);
+            }
+            int[] next = new int[cells];
+            System.arraycopy(cellStarts, 0, next, 0, cells);
+            for (int row = 0; row < count; row++) {
+                int target = next[cellOf[row]]++;
+                payload.putDouble(layout.lngs + target * Double.BYTES, pointStore.getLng(row));
+                payload.putDouble(layout.lats + target * Double.BYTES, pointStore.getLat(row));
+                payload.putLong(layout.ids + target * Long.BYTES, pointStore.getId(row));
+            }
+        });
+    }
+
+    /**
+     * 查询外包框内且满足 predicate 的点位*
+     *
+     * @param minLng    最小经度
+     * @param minLat    最小纬度
+     * @param maxLng    最大经度
+     * @param maxLat    最大纬度
+     * @param predicate 判断条件，为空时只按外包框
+     * @param sink      点位接收方
+     * @return 命中数量
+     */
+    public int query(double minLng, double minLat, double maxLng, double maxLat, CoordinatePredicate predicate, PointSink sink) {
+        if (count == 0) {
+            return 0;
+        }
+        int fromColumn = clamp((int) Math.floor((minLng - this.minLng) / cellWidth), columns);
+        int toColumn = clamp((int) Math.floor((maxLng - this.minLng) / cellWidth), columns);
+        int fromRow = clamp((int) Math.floor((minLat - this.minLat) / cellHeight), rows);
+        int toRow = clamp((int) Math.floor((maxLat - this.minLat) / cellHeight), rows);
+
+        int hits = 0;
+        for (int row = fromRow; row <= toRow; row++) {
+            // 同一行内相邻格子在列中是连续的
+            int start = cellStarts.get(row * columns + fromColumn);
+            int end = cellStarts.get(row * columns + toColumn + 1);
+            for (int i = start; i < end; i++) {
+                double lng = lngs.get(i);
+                double lat = lats.get(i);
+                if (lng < minLng || lng > maxLng || lat < minLat || lat > maxLat) {
+                    continue;
+                }
+                if (predicate == null || predicate.test(lng, lat)) {
+                    sink.accept(ids.get(i), lng, lat);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 查询区域内的点位*
+     *
+     * @param compiledRegion 预编译区域
+     * @param sink           点位接收方
+     * @return 命中数量
+     */
+    public int query(CompiledRegion compiledRegion, PointSink sink) {
+        Envelope envelope = compiledRegion.getEnvelope();
+        return query(envelope.getMinX(), envelope.getMinY(), envelope.getMaxX(), envelope.getMaxY(), compiledRegion, sink);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    private static int cell(double lng, double lat, double minLng, double minLat, double cellWidth, double cellHeight, int columns, int rows) {
+        int column = clamp((int) ((lng - minLng) / cellWidth), columns);
+        int row = clamp((int) ((lat - minLat) / cellHeight), rows);
+        return row * columns + column;
+    }
+
+    private static int clamp(int index, int size) {
+        return index < 0 ? 0 : (index >= size ? size - 1 : index);
+    }
+
+    // 范围为 0 时（例如只有一个点）取 1，避免除 0
+    private static double cellSize(double min, double max, int count) {
+        return max > min ? (max - min) / count : 1;
+    }
+
+    private static ByteBuffer section(ByteBuffer payload, int offset, int length) {
+        ByteBuffer duplicate = payload.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + length);
+        return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 各段在数据区中的偏移，全部 8 字节对齐*
+     */
+    private static final class Layout {
+
+        private final int cellStarts;
+
+        private final int lngs;
+
+        private final int lats;
+
+        private final int ids;
+
+        private final int size;
+
+        private Layout(int count, int cells) {
+            long offset = META_SIZE;
+            cellStarts = (int) offset;
+            offset = (offset + (long) (cells + 1) * Integer.BYTES + 7) & ~7L;
+            lngs = (int) offset;
+            offset += (long) count * Double.BYTES;
+            lats = (int) offset;
+            offset += (long) count * Double.BYTES;
+            ids = (int) offset;
+            offset += (long) count * Long.BYTES;
+            if (offset > Integer.MAX_VALUE - SnapshotFormat.HEADER_SIZE) {
+                throw new RuntimeException("snapshot is too large: " + offset);
+            }
+            size = (int) offset;
+        }
+
+    }
+
+}
@@ -0,0 +1,482 @@
+package cn.swj.geo.snapshot;
+
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.region.CoordinatePredicate;
+import cn.swj.geo.util.SpatialSortUtil;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 13:30
+ * @Description: 内存映射的围栏索引快照。围栏按外包框中心的 Hilbert 顺序排列，顶点、环偏移、围栏表、
+ * 打包 R 树节点、ID 都以扁平数组写入文件，打开时只做 mmap 和文件头校验，查询直接读取映射内存，不反序列化到堆上。
+ * 判断口径与 CompiledRegion.contains 一致
+ * @Version 1.0
+ */
+public class MappedRegionIndex {
+
+    // 每个 R 树节点的子节点数量
+    private static final int NODE_CAPACITY = 16;
+
+    // 数据区头部：fenceCount(4) + ringCount(4) + vertexCount(4) + nodeCount(4) + rootNode(4) + idBytesLength(4) + 保留(8)
+    private static final int META_SIZE = 32;
+
+    // 围栏表：ringStart(4) + ringEnd(4) + minX/minY/maxX/maxY(32) + idOffset(4) + idLength(4)
+    private static final int FENCE_SIZE = 48;
+
+    // R 树节点：minX/minY/maxX/maxY(32) + first(4) + count(4) + leaf(4) + 保留(4)
+    private static final int NODE_SIZE = 48;
+
+    private final long version;
+
+    private final long createdAt;
+
+    private final int fenceCount;
+
+    private final int rootNode;
+
+    private final ByteBuffer fences;
+
+    private final IntBuffer ringOffsets;
+
+    private final DoubleBuffer xs;
+
+    private final DoubleBuffer ys;
+
+    private final ByteBuffer nodes;
+
+    private final IntBuffer idOrder;
+
+    private final ByteBuffer idBytes;
+
+    private MappedRegionIndex(ByteBuffer buffer) {
+        this.version = SnapshotFormat.version(buffer);
+        this.createdAt = SnapshotFormat.createdAt(buffer);
+        ByteBuffer payload = SnapshotFormat.payload(buffer);
+
+        this.fenceCount = payload.getInt(0);
+        int ringCount = payload.getInt(4);
+        int vertexCount = payload.getInt(8);
+        int nodeCount = payload.getInt(12);
+        this.rootNode = payload.getInt(16);
+        int idBytesLength = payload.getInt(20);
+
+        Layout layout = new Layout(fenceCount, ringCount, vertexCount, nodeCount, idBytesLength);
+        this.fences = section(payload, layout.fences, fenceCount * FENCE_SIZE);
+        this.ringOffsets = section(payload, layout.ringOffsets, (ringCount + 1) * Integer.BYTES).asIntBuffer();
+        this.xs = section(payload, layout.xs, vertexCount * Double.BYTES).asDoubleBuffer();
+        this.ys = section(payload, layout.ys, vertexCount * Double.BYTES).asDoubleBuffer();
+        this.nodes = section(payload, layout.nodes, nodeCount * NODE_SIZE);
+        this.idOrder = section(payload, layout.idOrder, fenceCount * Integer.BYTES).asIntBuffer();
+        this.idBytes = section(payload, layout.idBytes, idBytesLength);
+    }
+
+    /**
+     * 打开快照*
+     *
+     * @param file           快照文件
+     * @param verifyChecksum 是否校验数据区，校验会完整读取一遍文件
+     * @return
+     * @throws IOException
+     */
+    public static MappedRegionIndex open(Path file, boolean verifyChecksum) throws IOException {
+        return new MappedRegionIndex(SnapshotFormat.map(file, SnapshotFormat.KIND_REGION, verifyChecksum));
+    }
+
+    /**
+     * 把预编译围栏写成快照，例如 FenceSnapshot 的全部围栏*
+     *
+     * @param file     快照文件，已存在时原子替换
+     * @param version  快照版本号
+     * @param fenceMap 围栏ID到预编译区域
+     * @throws IOException
+     */
+    public static void write(Path file, long version, Map<String, CompiledRegion> fenceMap) throws IOException {
+        int fenceCount = fenceMap.size();
+        String[] ids = fenceMap.keySet().toArray(new String[0]);
+        CompiledRegion[] regions = new CompiledRegion[fenceCount];
+
+        // 按外包框中心的 Hilbert 顺序排列，相邻围栏落在同一个叶子节点
+        double[] centerXs = new double[fenceCount];
+        double[] centerYs = new double[fenceCount];
+        for (int i = 0; i < fenceCount; i++) {
+            Envelope envelope = fenceMap.get(ids[i]).getEnvelope();
+            centerXs[i] = (envelope.getMinX() + envelope.getMaxX()) / 2;
+            centerYs[i] = (envelope.getMinY() + envelope.getMaxY()) / 2;
+        }
+        int[] order = SpatialSortUtil.sortHilbert(centerXs, centerYs, fenceCount);
+        String[] sortedIds = new String[fenceCount];
+        for (int i = 0; i < fenceCount; i++) {
+            sortedIds[i] = ids[order[i]];
+            regions[i] = fenceMap.get(sortedIds[i]);
+        }
+
+        int ringCount = 0;
+        int vertexCount = 0;
+        for (CompiledRegion region : regions) {
+            Geometry geometry = region.getGeometry();
+            for (int j = 0; j < geometry.getNumGeometries(); j++) {
+                Polygon polygon = (Polygon) geometry.getGeometryN(j);
+                ringCount += 1 + polygon.getNumInteriorRing();
+                vertexCount += polygon.getNumPoints();
+            }
+        }
+        byte[][] idUtf8 = new byte[fenceCount][];
+        int idBytesLength = 0;
+        for (int i = 0; i < fenceCount; i++) {
+            idUtf8[i] = sortedIds[i].getBytes(StandardCharsets.UTF_8);
+            idBytesLength += idUtf8[i].length;
+        }
+        int nodeCount = nodeCount(fenceCount);
+
+        Layout layout = new Layout(fenceCount, ringCount, vertexCount, nodeCount, idBytesLength);
+        int finalRingCount = ringCount;
+        int finalVertexCount = vertexCount;
+        int finalIdBytesLength = idBytesLength;
+        SnapshotFormat.write(file, SnapshotFormat.KIND_REGION, version, layout.size, payload -> {
+            payload.putInt(0, fenceCount);
+            payload.putInt(4, finalRingCount);
+            payload.putInt(8, finalVertexCount);
+            payload.putInt(12, nodeCount);
+            payload.putInt(20, finalIdBytesLength);
+
+            // 顶点、环偏移、围栏表
+            int ring = 0;
+            int vertex = 0;
+            int idOffset = 0;
+            payload.putInt(layout.ringOffsets, 0);
+            for (int i = 0; i < fenceCount; i++) {
+                int ringStart = ring;
+                Geometry geometry = regions[i].getGeometry();
+                for (int j = 0; j < geometry.getNumGeometries(); j++) {
+                    Polygon polygon = (Polygon) geometry.getGeometryN(j);
+                    vertex = putRing(payload, layout, polygon.getExteriorRing(), vertex);
+                    payload.putInt(layout.ringOffsets + (++ring) * Integer.BYTES, vertex);
+                    for (int k = 0; k < polygon.getNumInteriorRing(); k++) {
+                        vertex = putRing(payload, layout, polygon.getInteriorRingN(k), vertex);
+                        payload.putInt(layout.ringOffsets + (++ring) * Integer.BYTES, vertex);
+                    }
+                }
+                Envelope envelope = regions[i].getEnvelope();
+                int offset = layout.fences + i * FENCE_SIZE;
+                payload.putInt(offset, ringStart);
+                payload.putInt(offset + 4, ring);
+                payload.putDouble(offset + 8, envelope.getMinX());
+                payload.putDouble(offset + 16, envelope.getMinY());
+                payload.putDouble(offset + 24, envelope.getMaxX());
+                payload.putDouble(offset + 32, envelope.getMaxY());
+                payload.putInt(offset + 40, idOffset);
+                payload.putInt(offset + 44, idUtf8[i].length);
+                for (int b = 0; b < idUtf8[i].length; b++) {
+                    payload.put(layout.idBytes + idOffset + b, idUtf8[i][b]);
+                }
+                idOffset += idUtf8[i].length;
+            }
+
+            // ID 排序，用于按ID二分查找
+            Integer[] idOrder = new Integer[fenceCount];
+            for (int i = 0; i < fenceCount; i++) {
+                idOrder[i] = i;
+            }
+            Arrays.sort(idOrder, Comparator.comparing(i -> sortedIds[i]));
+            for (int i = 0; i < fenceCount; i++) {
+                payload.putInt(layout.idOrder + i * Integer.BYTES, idOrder[i]);
+            }
+
+            payload.putInt(16, buildTree(payload, layout, fenceCount));
+        });
+    }
+
+    /**
+     * 判断坐标是否在第 fence 个围栏内*
+     *
+     * @param fence 围栏下标
+     * @param lng   经度
+     * @param lat   纬度
+     * @return
+     */
+    public boolean contains(int fence, double lng, double lat) {
+        int offset = fence * FENCE_SIZE;
+        if (lng < fences.getDouble(offset + 8) || lat < fences.getDouble(offset + 16)
+                || lng > fences.getDouble(offset + 24) || lat > fences.getDouble(offset + 32)) {
+            return false;
+        }
+        boolean inside = false;
+        int ringEnd = fences.getInt(offset + 4);
+        for (int r = fences.getInt(offset); r < ringEnd; r++) {
+            int end = ringOffsets.get(r + 1) - 1;
+            for (int i = ringOffsets.get(r); i < end; i++) {
+                double y1 = ys.get(i);
+                double y2 = ys.get(i + 1);
+                if ((y1 > lat) != (y2 > lat)) {
+                    double x1 = xs.get(i);
+                    double x = x1 + (lat - y1) * (xs.get(i + 1) - x1) / (y2 - y1);
+                    if (lng < x) {
+                        inside = !inside;
+                    }
+                }
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * 判断坐标是否在指定围栏内*
+     *
+     * @param fenceId 围栏ID
+     * @param lng     经度
+     * @param lat     纬度
+     * @return
+     */
+    public boolean pointIsContainedFence(String fenceId, double lng, double lat) {
+        int fence = indexOf(fenceId);
+        if (fence < 0) {
+            throw new RuntimeException("fence not found: " + fenceId);
+        }
+        return contains(fence, lng, lat);
+    }
+
+    /**
+     * 第 fence 个围栏的判断条件，可用于 PointStoreScanner.scan*
+     *
+     * @param fence 围栏下标
+     * @return
+     */
+    public CoordinatePredicate predicate(int fence) {
+        if (fence < 0 || fence >= fenceCount) {
+            throw new RuntimeException("fence index out of range: " + fence);
+        }
+        return (lng, lat) -> contains(fence, lng, lat);
+    }
+
+    /**
+     * 通过 R 树找出包含该坐标的围栏下标*
+     *
+     * @param lng      经度
+     * @param lat      纬度
+     * @param consumer 围栏下标接收方
+     */
+    public void forEachContaining(double lng, double lat, IntConsumer consumer) {
+        if (rootNode >= 0) {
+            search(rootNode, lng, lat, consumer);
+        }
+    }
+
+    /**
+     * 包含该坐标的全部围栏ID*
+     *
+     * @param lng 经度
+     * @param lat 纬度
+     * @return
+     */
+    public List<String> fencesContaining(double lng, double lat) {
+        List<String> resList = new ArrayList<>();
+        forEachContaining(lng, lat, fence -> resList.add(getFenceId(fence)));
+        return resList;
+    }
+
+    /**
+     * 按ID查找围栏下标，不存在返回 -1*
+     *
+     * @param fenceId 围栏ID
+     * @return
+     */
+    public int indexOf(String fenceId) {
+        int low = 0;
+        int high = fenceCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int fence = idOrder.get(mid);
+            int compare = getFenceId(fence).compareTo(fenceId);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return fence;
+            }
+        }
+        return -1;
+    }
+
+    public String getFenceId(int fence) {
+        int offset = fence * FENCE_SIZE;
+        byte[] bytes = new byte[fences.getInt(offset + 44)];
+        int idOffset = fences.getInt(offset + 40);
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = idBytes.get(idOffset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int size() {
+        return fenceCount;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    private void search(int node, double lng, double lat, IntConsumer consumer) {
+        int offset = node * NODE_SIZE;
+        if (lng < nodes.getDouble(offset) || lat < nodes.getDouble(offset + 8)
+                || lng > nodes.getDouble(offset + 16) || lat > nodes.getDouble(offset + 24)) {
+            return;
+        }
+        int first = nodes.getInt(offset + 32);
+        int end = first + nodes.getInt(offset + 36);
+        if (nodes.getInt(offset + 40) == 1) {
+            for (int fence = first; fence < end; fence++) {
+                if (contains(fence, lng, lat)) {
+                    consumer.accept(fence);
+                }
+            }
+        } else {
+            for (int child = first; child < end; child++) {
+                search(child, lng, lat, consumer);
+            }
+        }
+    }
+
+    private static int putRing(ByteBuffer payload, Layout layout, LineString ring, int vertex) {
+        for (Coordinate coordinate : ring.getCoordinates()) {
+            payload.putDouble(layout.xs + vertex * Double.BYTES, coordinate.x);
+            payload.putDouble(layout.ys + vertex * Double.BYTES, coordinate.y);
+            vertex++;
+        }
+        return vertex;
+    }
+
+    private static int nodeCount(int fenceCount) {
+        int total = 0;
+        int level = fenceCount;
+        while (level > 0) {
+            level = (level + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            total += level;
+            if (level == 1) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // 自底向上打包，叶子节点覆盖连续的围栏，上层节点覆盖连续的下层节点，根节点在最后，返回根节点下标
+    private static int buildTree(ByteBuffer payload, Layout layout, int fenceCount) {
+        if (fenceCount == 0) {
+            return -1;
+        }
+        int node = 0;
+        int childStart = 0;
+        int childCount = fenceCount;
+        boolean leaf = true;
+        while (true) {
+            int levelStart = node;
+            for (int first = 0; first < childCount; first += NODE_CAPACITY) {
+                int count = Math.min(NODE_CAPACITY, childCount - first);
+                double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+                for (int c = childStart + first; c < childStart + first + count; c++) {
+                    // 围栏表和节点表的外包框位置不同
+                    int offset = leaf ? layout.fences + c * FENCE_SIZE + 8 : layout.nodes + c * NODE_SIZE;
+                    minX = Math.min(minX, payload.getDouble(offset));
+                    minY = Math.min(minY, payload.getDouble(offset + 8));
+                    maxX = Math.max(maxX, payload.getDouble(offset + 16));
+                    maxY = Math.max(maxY, payload.getDouble(offset + 24));
+                }
+                int offset = layout.nodes + node * NODE_SIZE;
+                payload.putDouble(offset, minX);
+                payload.putDouble(offset + 8, minY);
+                payload.putDouble(offset + 16, maxX);
+                payload.putDouble(offset + 24, maxY);
+                payload.putInt(offset + 32, childStart + first);
+                payload.putInt(offset + 36, count);
+                payload.putInt(offset + 40, leaf ? 1 : 0);
+                node++;
+            }
+            if (node - levelStart == 1) {
+                return node - 1;
+            }
+            childStart = levelStart;
+            childCount = node - levelStart;
+            leaf = false;
+        }
+    }
+
+    private static ByteBuffer section(ByteBuffer payload, int offset, int length) {
+        ByteBuffer duplicate = payload.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + length);
+        return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 各段在数据区中的偏移，全部 8 字节对齐*
+     */
+    private static final class Layout {
+
+        private final int fences;
+
+        private final int ringOffsets;
+
+        private final int xs;
+
+        private final int ys;
+
+        private final int nodes;
+
+        private final int idOrder;
+
+        private final int idBytes;
+
+        private final int size;
+
+        private Layout(int fenceCount, int ringCount, int vertexCount, int nodeCount, int idBytesLength) {
+            long offset = META_SIZE;
+            fences = (int) offset;
+            offset += (long) fenceCount * FENCE_SIZE;
+            ringOffsets = (int) offset;
+            offset = align8(offset + (long) (ringCount + 1) * Integer.BYTES);
+            xs = (int) offset;
+            offset += (long) vertexCount * Double.BYTES;
+            ys = (int) offset;
+            offset += (long) vertexCount * Double.BYTES;
+            nodes = (int) offset;
+            offset += (long) nodeCount * NODE_SIZE;
+            idOrder = (int) offset;
+            offset = align8(offset + (long) fenceCount * Integer.BYTES);
+            idBytes = (int) offset;
+            offset = align8(offset + idBytesLength);
+            if (offset > Integer.MAX_VALUE - SnapshotFormat.HEADER_SIZE) {
+                throw new RuntimeException("snapshot is too large: " + offset);
+            }
+            size = (int) offset;
+        }
+
+        private static long align8(long offset) {
+            return (offset + 7) & ~7L;
+        }
+
+    }
+
+}
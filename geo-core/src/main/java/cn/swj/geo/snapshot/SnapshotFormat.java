@@ -0,0 +1,129 @@
+package cn.swj.geo.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 13:00
+ * @Description: 快照文件的公共格式。文件头 64 字节：magic(4) + formatVersion(4) + kind(4) + 保留(4)
+ * + payloadLength(8) + crc32(8) + version(8) + createdAt(8) + 保留，之后为 8 字节对齐的小端数据区。
+ * 写入时先写临时文件再原子替换，读取方不会看到写了一半的文件
+ * @Version 1.0
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x50414E53;
+
+    static final int FORMAT_VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+
+    static final int KIND_REGION = 1;
+
+    static final int KIND_POINT = 2;
+
+    private SnapshotFormat() {
+    }
+
+    /**
+     * 写入快照，writer 负责填充数据区（position 0 为数据区起点）*
+     */
+    static void write(Path file, int kind, long version, long payloadLength, Consumer<ByteBuffer> writer) throws IOException {
+        if (HEADER_SIZE + payloadLength > Integer.MAX_VALUE) {
+            throw new RuntimeException("snapshot is too large: " + payloadLength);
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + payloadLength);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+                buffer.position(HEADER_SIZE);
+                ByteBuffer payload = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+                writer.accept(payload);
+
+                CRC32 crc32 = new CRC32();
+                payload.clear();
+                crc32.update(payload);
+
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, FORMAT_VERSION);
+                buffer.putInt(8, kind);
+                buffer.putLong(16, payloadLength);
+                buffer.putLong(24, crc32.getValue());
+                buffer.putLong(32, version);
+                buffer.putLong(40, System.currentTimeMillis());
+                buffer.force();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 以只读方式映射快照并校验文件头，verify 为 true 时计算数据区校验和（会读取整个文件）*
+     *
+     * @return 整个文件的映射，小端
+     */
+    static ByteBuffer map(Path file, int kind, boolean verify) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("not a snapshot file: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("not a snapshot file: " + file);
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("unsupported snapshot format version " + buffer.getInt(4) + ": " + file);
+            }
+            if (buffer.getInt(8) != kind) {
+                throw new IOException("snapshot kind mismatch: " + file);
+            }
+            if (buffer.getLong(16) != fileSize - HEADER_SIZE) {
+                throw new IOException("snapshot is truncated: " + file);
+            }
+            if (verify) {
+                ByteBuffer payload = buffer.duplicate();
+                payload.position(HEADER_SIZE);
+                CRC32 crc32 = new CRC32();
+                crc32.update(payload);
+                if (crc32.getValue() != buffer.getLong(24)) {
+                    throw new IOException("snapshot checksum mismatch: " + file);
+                }
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * 数据区视图，position 0 为数据区起点*
+     */
+    static ByteBuffer payload(ByteBuffer buffer) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(HEADER_SIZE);
+        return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static long version(ByteBuffer buffer) {
+        return buffer.getLong(32);
+    }
+
+    static long createdAt(ByteBuffer buffer) {
+        return buffer.getLong(40);
+    }
+
+}
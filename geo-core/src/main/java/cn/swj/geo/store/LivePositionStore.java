@@ -0,0 +1,462 @@
+package cn.swj.geo.store;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.swj.geo.io.PointSink;
+import cn.swj.geo.region.CompiledCircle;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.region.CoordinatePredicate;
+import cn.swj.geo.util.GeodesicUtil;
+import org.locationtech.jts.geom.Envelope;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 11:30
+ * @Description: 实时位置存储，保存每个对象的最新位置，支持高频并发更新和区域、圆形、最近邻查询。
+ * 范围内按固定网格分格，每个格子用 long / double 数组存放其中的对象，更新只锁对象所在的 ID 分段和涉及的格子；
+ * 查询逐格加锁读取，不复制全量数据。查询结果是“足够一致”的：每个格子内部是一致的，
+ * 但查询期间跨格移动的对象可能在这一次查询中缺失。范围外的坐标归入边缘格子
+ * @Version 1.0
+ */
+public class LivePositionStore {
+
+    // ID 分段数，分段内用一张哈希表记录对象所在的格子
+    private static final int STRIPES = 256;
+
+    private final double minLng;
+
+    private final double minLat;
+
+    private final double maxLng;
+
+    private final double maxLat;
+
+    private final double cellSize;
+
+    private final int columns;
+
+    private final int rows;
+
+    private final AtomicReferenceArray<Cell> cells;
+
+    private final LongIntMap[] stripes = new LongIntMap[STRIPES];
+
+    // 一个格子的宽、高对应的最短米数
+    private final double cellMetres;
+
+    /**
+     * @param minLng   最小经度
+     * @param minLat   最小纬度
+     * @param maxLng   最大经度
+     * @param maxLat   最大纬度
+     * @param cellSize 格子边长 度，例如 0.05 约 5 公里
+     */
+    public LivePositionStore(double minLng, double minLat, double maxLng, double maxLat, double cellSize) {
+        if (!(maxLng > minLng) || !(maxLat > minLat)) {
+            throw new RuntimeException("extent is empty");
+        }
+        if (!(cellSize > 0)) {
+            throw new RuntimeException("cellSize is le 0");
+        }
+        long columns = (long) Math.ceil((maxLng - minLng) / cellSize);
+        long rows = (long) Math.ceil((maxLat - minLat) / cellSize);
+        if (columns * rows > 1 << 26) {
+            throw new RuntimeException("too many cells: " + columns * rows + ", use a larger cellSize");
+        }
+        this.minLng = minLng;
+        this.minLat = minLat;
+        this.maxLng = maxLng;
+        this.maxLat = maxLat;
+        this.cellSize = cellSize;
+        this.columns = (int) columns;
+        this.rows = (int) rows;
+        this.cells = new AtomicReferenceArray<>(this.columns * this.rows);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LongIntMap(1024);
+        }
+        this.cellMetres = cellSize * GeodesicUtil.minMetresPerDegree(Math.max(Math.abs(minLat), Math.abs(maxLat))) * 0.99;
+    }
+
+    /**
+     * 更新对象的位置，不存在时新增*
+     *
+     * @param id  对象 ID
+     * @param lng 经度
+     * @param lat 纬度
+     */
+    public void update(long id, double lng, double lat) {
+        if (Double.isNaN(lng) || Double.isNaN(lat)) {
+            throw new RuntimeException("lng or lat is NaN");
+        }
+        int target = cellIndex(lng, lat);
+        LongIntMap stripe = stripe(id);
+        synchronized (stripe) {
+            int current = stripe.get(id);
+            if (current == target) {
+                Cell cell = cells.get(target);
+                synchronized (cell) {
+                    cell.set(cell.indexOf(id), lng, lat);
+                }
+                return;
+            }
+            // 先移出旧格子再放入新格子，同一时刻对象最多在一个格子里
+            if (current != LongIntMap.MISSING) {
+                Cell cell = cells.get(current);
+                synchronized (cell) {
+                    cell.remove(cell.indexOf(id));
+                }
+            }
+            Cell cell = cell(target);
+            synchronized (cell) {
+                cell.add(id, lng, lat);
+            }
+            stripe.put(id, target);
+        }
+    }
+
+    /**
+     * 删除对象*
+     *
+     * @param id 对象 ID
+     * @return 是否存在
+     */
+    public boolean remove(long id) {
+        LongIntMap stripe = stripe(id);
+        synchronized (stripe) {
+            int current = stripe.remove(id);
+            if (current == LongIntMap.MISSING) {
+                return false;
+            }
+            Cell cell = cells.get(current);
+            synchronized (cell) {
+                cell.remove(cell.indexOf(id));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 对象的当前位置*
+     *
+     * @param id 对象 ID
+     * @return [经度，纬度]，不存在时为 null
+     */
+    public double[] getPosition(long id) {
+        LongIntMap stripe = stripe(id);
+        synchronized (stripe) {
+            int current = stripe.get(id);
+            if (current == LongIntMap.MISSING) {
+                return null;
+            }
+            Cell cell = cells.get(current);
+            synchronized (cell) {
+                int index = cell.indexOf(id);
+                return new double[]{cell.lngs[index], cell.lats[index]};
+            }
+        }
+    }
+
+    /**
+     * 对象总数*
+     *
+     * @return
+     */
+    public int size() {
+        int size = 0;
+        for (LongIntMap stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 查询外包框内且满足 predicate 的对象*
+     *
+     * @param minLng    最小经度
+     * @param minLat    最小纬度
+     * @param maxLng    最大经度
+     * @param maxLat    最大纬度
+     * @param predicate 判断条件，为空时只按外包框
+     * @param sink      对象接收方，在格子锁内回调，不要在回调中更新本存储
+     * @return 命中数量
+     */
+    public int query(double minLng, double minLat, double maxLng, double maxLat, CoordinatePredicate predicate, PointSink sink) {
+        int fromColumn = column(minLng), toColumn = column(maxLng);
+        int fromRow = row(minLat), toRow = row(maxLat);
+        int hits = 0;
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                Cell cell = cells.get(row * columns + column);
+                if (cell == null) {
+                    continue;
+                }
+                // 完全在外包框内部的格子不用逐点比较外包框（边缘格子收纳了范围外的坐标，不算）
+                boolean interior = column > 0 && column < columns - 1 && row > 0 && row < rows - 1
+                        && this.minLng + column * cellSize >= minLng && this.minLng + (column + 1) * cellSize <= maxLng
+                        && this.minLat + row * cellSize >= minLat && this.minLat + (row + 1) * cellSize <= maxLat;
+                synchronized (cell) {
+                    for (int i = 0; i < cell.size; i++) {
+                        double lng = cell.lngs[i];
+                        double lat = cell.lats[i];
+                        if (!interior && (lng < minLng || lng > maxLng || lat < minLat || lat > maxLat)) {
+                            continue;
+                        }
+                        if (predicate == null || predicate.test(lng, lat)) {
+                            sink.accept(cell.ids[i], lng, lat);
+                            hits++;
+                        }
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 查询区域内的对象，与 GeoUtil.pointListIsContainedRegion 同口径*
+     *
+     * @param compiledRegion 预编译区域
+     * @param sink           对象接收方
+     * @return 命中数量
+     */
+    public int query(CompiledRegion compiledRegion, PointSink sink) {
+        if (ObjectUtil.isEmpty(compiledRegion)) {
+            throw new RuntimeException("compiledRegion is null");
+        }
+        Envelope envelope = compiledRegion.getEnvelope();
+        return query(envelope.getMinX(), envelope.getMinY(), envelope.getMaxX(), envelope.getMaxY(), compiledRegion, sink);
+    }
+
+    /**
+     * 查询圆内的对象，与 GeoUtil.pointListIsContainedRoundRegion 同口径*
+     *
+     * @param compiledCircle 预编译圆形区域
+     * @param sink           对象接收方
+     * @return 命中数量
+     */
+    public int query(CompiledCircle compiledCircle, PointSink sink) {
+        if (ObjectUtil.isEmpty(compiledCircle)) {
+            throw new RuntimeException("compiledCircle is null");
+        }
+        double r = compiledCircle.getDegreeRadius();
+        double lng = compiledCircle.getCenterLng();
+        double lat = compiledCircle.getCenterLat();
+        return query(lng - r, lat - r, lng + r, lat + r, compiledCircle, sink);
+    }
+
+    /**
+     * 查询到 (lng, lat) 大地线距离不超过 metres 的对象*
+     *
+     * @param lng    经度
+     * @param lat    纬度
+     * @param metres 距离 以米为单位
+     * @param sink   对象接收方
+     * @return 命中数量
+     */
+    public int within(double lng, double lat, double metres, PointSink sink) {
+        double[] span = GeodesicUtil.degreeSpan(lat, metres);
+        return query(lng - span[0], lat - span[1], lng + span[0], lat + span[1],
+                (x, y) -> GeodesicUtil.distance(lng, lat, x, y) <= metres, sink);
+    }
+
+    /**
+     * 最近的 k 个对象，按大地线距离升序*
+     *
+     * @param lng       经度
+     * @param lat       纬度
+     * @param k         数量
+     * @param maxMetres 最大距离 以米为单位，不限制时传 Double.POSITIVE_INFINITY
+     * @param ids       输出对象 ID，长度不小于 k
+     * @param distances 输出距离 以米为单位，可为 null
+     * @return 实际找到的数量
+     */
+    public int nearest(double lng, double lat, int k, double maxMetres, long[] ids, double[] distances) {
+        if (k <= 0) {
+            return 0;
+        }
+        // 按距离的最大堆，堆顶为当前第 k 近
+        long[] heapIds = new long[k];
+        double[] heapDistances = new double[k];
+        int count = 0;
+        int centerColumn = column(lng);
+        int centerRow = row(lat);
+        int maxRing = Math.max(Math.max(centerColumn, columns - 1 - centerColumn), Math.max(centerRow, rows - 1 - centerRow));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // 第 ring 圈的格子离中心格至少 ring - 1 个格子
+            double ringMetres = (ring - 1) * cellMetres;
+            double bound = count == k ? Math.min(maxMetres, heapDistances[0]) : maxMetres;
+            if (ring > 1 && ringMetres > bound) {
+                break;
+            }
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                if (row < 0 || row >= rows) {
+                    continue;
+                }
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column += Math.max(1, step)) {
+                    if (column < 0 || column >= columns) {
+                        continue;
+                    }
+                    Cell cell = cells.get(row * columns + column);
+                    if (cell == null) {
+                        continue;
+                    }
+                    synchronized (cell) {
+                        for (int i = 0; i < cell.size; i++) {
+                            double distance = GeodesicUtil.distance(lng, lat, cell.lngs[i], cell.lats[i]);
+                            if (distance > maxMetres) {
+                                continue;
+                            }
+                            if (count < k) {
+                                heapIds[count] = cell.ids[i];
+                                heapDistances[count] = distance;
+                                siftUp(heapIds, heapDistances, count++);
+                            } else if (distance < heapDistances[0]) {
+                                heapIds[0] = cell.ids[i];
+                                heapDistances[0] = distance;
+                                siftDown(heapIds, heapDistances, k);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        // 依次弹出堆顶，从远到近填入
+        for (int n = count; n > 0; n--) {
+            ids[n - 1] = heapIds[0];
+            if (distances != null) {
+                distances[n - 1] = heapDistances[0];
+            }
+            heapIds[0] = heapIds[n - 1];
+            heapDistances[0] = heapDistances[n - 1];
+            siftDown(heapIds, heapDistances, n - 1);
+        }
+        return count;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    private Cell cell(int index) {
+        Cell cell = cells.get(index);
+        if (cell == null) {
+            cells.compareAndSet(index, null, new Cell());
+            cell = cells.get(index);
+        }
+        return cell;
+    }
+
+    private LongIntMap stripe(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 56) & (STRIPES - 1)];
+    }
+
+    private int cellIndex(double lng, double lat) {
+        return row(lat) * columns + column(lng);
+    }
+
+    private int column(double lng) {
+        int column = (int) Math.floor((lng - minLng) / cellSize);
+        return column < 0 ? 0 : (column >= columns ? columns - 1 : column);
+    }
+
+    private int row(double lat) {
+        int row = (int) Math.floor((lat - minLat) / cellSize);
+        return row < 0 ? 0 : (row >= rows ? rows - 1 : row);
+    }
+
+    private static void siftUp(long[] ids, double[] distances, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (distances[parent] >= distances[index]) {
+                break;
+            }
+            swap(ids, distances, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] ids, double[] distances, int size) {
+        int index = 0;
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && distances[left] > distances[largest]) {
+                largest = left;
+            }
+            if (right < size && distances[right] > distances[largest]) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(ids, distances, largest, index);
+            index = largest;
+        }
+    }
+
+    private static void swap(long[] ids, double[] distances, int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double distance = distances[a];
+        distances[a] = distances[b];
+        distances[b] = distance;
+    }
+
+    /**
+     * 一个格子内的对象，删除时用最后一个填补空位*
+     */
+    private static final class Cell {
+
+        private long[] ids = new long[8];
+
+        private double[] lngs = new double[8];
+
+        private double[] lats = new double[8];
+
+        private int size;
+
+        private int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("id " + id + " is not in cell");
+        }
+
+        private void add(long id, double lng, double lat) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                lngs = Arrays.copyOf(lngs, size * 2);
+                lats = Arrays.copyOf(lats, size * 2);
+            }
+            ids[size] = id;
+            lngs[size] = lng;
+            lats[size] = lat;
+            size++;
+        }
+
+        private void set(int index, double lng, double lat) {
+            lngs[index] = lng;
+            lats[index] = lat;
+        }
+
+        private void remove(int index) {
+            size--;
+            ids[index] = ids[size];
+            lngs[index] = lngs[size];
+            lats[index] = lats[size];
+        }
+
+    }
+
+}
@@ -0,0 +1,127 @@
+package cn.swj.geo.store;
+
+import java.util.Arrays;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 11:00
+ * @Description: long 到 int 的开放寻址哈希表，线性探测、删除时向前回移，不装箱。非线程安全，由调用方加锁
+ * @Version 1.0
+ */
+final class LongIntMap {
+
+    static final int MISSING = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private boolean[] used;
+
+    private int mask;
+
+    private int size;
+
+    LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) Math.min(1 << 30, (long) (expectedSize / LOAD_FACTOR) + 1)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int get(long key) {
+        for (int slot = hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * 写入，返回旧值*
+     */
+    int put(long key, int value) {
+        int slot = hash(key) & mask;
+        for (; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+        return MISSING;
+    }
+
+    /**
+     * 删除，返回旧值*
+     */
+    int remove(long key) {
+        int slot = hash(key) & mask;
+        for (; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+        }
+        return MISSING;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // 把后面探测链上的元素前移，填补删除留下的空位
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (!used[slot]) {
+                break;
+            }
+            int home = hash(keys[slot]) & mask;
+            // home 不在 (gap, slot] 区间内时可以移到 gap
+            if (gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        used[gap] = false;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length << 1);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
@@ -0,0 +1,276 @@
+package cn.swj.geo.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 10:20
+ * @Description: 堆外列式点位存储，经度、纬度、行ID 分列存放在 direct 或 mmap 的 ByteBuffer 中，
+ * 千万级点位不占用堆内存。写入为单线程追加，写完后可多线程并发读取
+ * @Version 1.0
+ */
+public class PointStore {
+
+    // 文件头：magic(4) + version(4) + fixedPoint(4) + capacity(4) + size(4) + 保留
+    private static final int MAGIC = 0x47505354;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int SIZE_OFFSET = 16;
+
+    // 定点数精度 1e-7 度，int32 可覆盖 ±214 度
+    private static final double FIXED_SCALE = 1e7;
+
+    private final boolean fixedPoint;
+
+    private final int capacity;
+
+    // 每个坐标占用的字节数
+    private final int coordinateBytes;
+
+    private final ByteBuffer lngBuffer;
+
+    private final ByteBuffer latBuffer;
+
+    private final ByteBuffer idBuffer;
+
+    // mmap 模式下的文件头，direct 模式为 null
+    private final ByteBuffer headerBuffer;
+
+    private volatile int size;
+
+    private PointStore(boolean fixedPoint, int capacity, ByteBuffer lngBuffer, ByteBuffer latBuffer, ByteBuffer idBuffer, ByteBuffer headerBuffer, int size) {
+        this.fixedPoint = fixedPoint;
+        this.capacity = capacity;
+        this.coordinateBytes = fixedPoint ? Integer.BYTES : Double.BYTES;
+        this.lngBuffer = lngBuffer;
+        this.latBuffer = latBuffer;
+        this.idBuffer = idBuffer;
+        this.headerBuffer = headerBuffer;
+        this.size = size;
+    }
+
+    /**
+     * 在堆外内存中创建点位存储*
+     *
+     * @param capacity   最大点位数
+     * @param fixedPoint 是否以 int32 定点数（1e-7 度）存储坐标，可节省一半内存
+     * @return
+     */
+    public static PointStore allocateDirect(int capacity, boolean fixedPoint) {
+        checkCapacity(capacity);
+        int coordinateBytes = fixedPoint ? Integer.BYTES : Double.BYTES;
+        ByteBuffer lngBuffer = ByteBuffer.allocateDirect(capacity * coordinateBytes).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer latBuffer = ByteBuffer.allocateDirect(capacity * coordinateBytes).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer idBuffer = ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        return new PointStore(fixedPoint, capacity, lngBuffer, latBuffer, idBuffer, null, 0);
+    }
+
+    /**
+     * 以内存映射文件创建或打开点位存储，文件已存在时按文件头恢复*
+     *
+     * @param file       映射文件
+     * @param capacity   最大点位数，打开已有文件时必须与文件一致
+     * @param fixedPoint 是否以 int32 定点数存储坐标，打开已有文件时必须与文件一致
+     * @return
+     */
+    public static PointStore map(Path file, int capacity, boolean fixedPoint) throws IOException {
+        checkCapacity(capacity);
+        int coordinateBytes = fixedPoint ? Integer.BYTES : Double.BYTES;
+        long columnBytes = (long) capacity * coordinateBytes;
+        long idBytes = (long) capacity * Long.BYTES;
+        boolean exists = Files.exists(file) && Files.size(file) > 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer headerBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            headerBuffer.order(ByteOrder.LITTLE_ENDIAN);
+            int size = 0;
+            if (exists) {
+                if (headerBuffer.getInt(0) != MAGIC || headerBuffer.getInt(4) != VERSION) {
+                    throw new RuntimeException("file is not a point store: " + file);
+                }
+                if (headerBuffer.getInt(8) != (fixedPoint ? 1 : 0) || headerBuffer.getInt(12) != capacity) {
+                    throw new RuntimeException("point store layout mismatch: " + file);
+                }
+                size = headerBuffer.getInt(SIZE_OFFSET);
+            } else {
+                headerBuffer.putInt(0, MAGIC);
+                headerBuffer.putInt(4, VERSION);
+                headerBuffer.putInt(8, fixedPoint ? 1 : 0);
+                headerBuffer.putInt(12, capacity);
+                headerBuffer.putInt(SIZE_OFFSET, 0);
+            }
+            ByteBuffer lngBuffer = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, columnBytes).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer latBuffer = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + columnBytes, columnBytes).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer idBuffer = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + 2 * columnBytes, idBytes).order(ByteOrder.LITTLE_ENDIAN);
+            return new PointStore(fixedPoint, capacity, lngBuffer, latBuffer, idBuffer, headerBuffer, size);
+        }
+    }
+
+    //check params
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new RuntimeException("capacity is le 0");
+        }
+        // 单个 ByteBuffer 最大 2G
+        if ((long) capacity * Long.BYTES > Integer.MAX_VALUE) {
+            throw new RuntimeException("capacity is too large, max " + (Integer.MAX_VALUE / Long.BYTES));
+        }
+    }
+
+    /**
+     * 追加一个点位*
+     *
+     * @param id  行ID
+     * @param lng 经度
+     * @param lat 纬度
+     * @return 行号
+     */
+    public int add(long id, double lng, double lat) {
+        int row = size;
+        if (row >= capacity) {
+            throw new RuntimeException("point store is full, capacity " + capacity);
+        }
+        int offset = row * coordinateBytes;
+        if (fixedPoint) {
+            lngBuffer.putInt(offset, (int) Math.round(lng * FIXED_SCALE));
+            latBuffer.putInt(offset, (int) Math.round(lat * FIXED_SCALE));
+        } else {
+            lngBuffer.putDouble(offset, lng);
+            latBuffer.putDouble(offset, lat);
+        }
+        idBuffer.putLong(row * Long.BYTES, id);
+
+        size = row + 1;
+        if (headerBuffer != null) {
+            headerBuffer.putInt(SIZE_OFFSET, row + 1);
+        }
+        return row;
+    }
+
+    public double getLng(int row) {
+        int offset = row * coordinateBytes;
+        return fixedPoint ? lngBuffer.getInt(offset) / FIXED_SCALE : lngBuffer.getDouble(offset);
+    }
+
+    public double getLat(int row) {
+        int offset = row * coordinateBytes;
+        return fixedPoint ? latBuffer.getInt(offset) / FIXED_SCALE : latBuffer.getDouble(offset);
+    }
+
+    public long getId(int row) {
+        return idBuffer.getLong(row * Long.BYTES);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isFixedPoint() {
+        return fixedPoint;
+    }
+
+    /**
+     * 将 mmap 模式下的修改刷到磁盘，direct 模式下不做处理*
+     */
+    public void force() {
+        if (headerBuffer == null) {
+            return;
+        }
+        ((MappedByteBuffer) headerBuffer).force();
+        ((MappedByteBuffer) lngBuffer).force();
+        ((MappedByteBuffer) latBuffer).force();
+        ((MappedByteBuffer) idBuffer).force();
+    }
+
+    /**
+     * 当前已写入行号的可拆分迭代器，只产生 int 行号*
+     *
+     * @return
+     */
+    public Spliterator.OfInt spliterator() {
+        return new RowSpliterator(0, size);
+    }
+
+    /**
+     * 行号流*
+     *
+     * @param parallel 是否并行
+     * @return
+     */
+    public IntStream rows(boolean parallel) {
+        return StreamSupport.intStream(spliterator(), parallel);
+    }
+
+    /**
+     * 按行号区间拆分，拆分粒度不低于 MIN_SPLIT_SIZE*
+     */
+    private static final class RowSpliterator implements Spliterator.OfInt {
+
+        private static final int MIN_SPLIT_SIZE = 4096;
+
+        private int index;
+
+        private final int fence;
+
+        RowSpliterator(int index, int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (mid - lo < MIN_SPLIT_SIZE) {
+                return null;
+            }
+            index = mid;
+            return new RowSpliterator(lo, mid);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index < fence) {
+                action.accept(index++);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            int i = index;
+            int hi = fence;
+            index = hi;
+            for (; i < hi; i++) {
+                action.accept(i);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+        }
+    }
+
+}
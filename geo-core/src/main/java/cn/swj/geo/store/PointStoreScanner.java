@@ -0,0 +1,180 @@
+package cn.swj.geo.store;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.region.CompiledCircle;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.region.CoordinatePredicate;
+import cn.swj.geo.util.CoordinateParser;
+import cn.swj.geo.util.GeoUtil;
+import cn.swj.geo.util.GeodesicUtil;
+
+import java.util.List;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 10:48
+ * @Description: PointStore 上的扫描算子，对应 GeoUtil 中的区域、圆形、距离判断，
+ * 通过行号 Spliterator 并行扫描，过程中不为每个点位创建对象，返回命中点位的行ID
+ * @Version 1.0
+ */
+public class PointStoreScanner {
+
+    private PointStoreScanner() {
+    }
+
+    /**
+     * 扫描满足条件的点位*
+     *
+     * @param pointStore 点位存储
+     * @param predicate  判断条件
+     * @param parallel   是否并行
+     * @return 命中点位的行ID，按行号顺序
+     */
+    public static long[] scan(PointStore pointStore, CoordinatePredicate predicate, boolean parallel) {
+        if (ObjectUtil.isEmpty(pointStore)) {
+            throw new RuntimeException("pointStore is null");
+        }
+        if (ObjectUtil.isEmpty(predicate)) {
+            throw new RuntimeException("predicate is null");
+        }
+
+        return pointStore.rows(parallel)
+                .filter(row -> predicate.test(pointStore.getLng(row), pointStore.getLat(row)))
+                .mapToLong(pointStore::getId)
+                .toArray();
+    }
+
+    /**
+     * 判断 pointStore 里面的点 是否在 regionLocationDTOList 这个区域中，自动取最大几何图形*
+     *
+     * @param pointStore            点位存储
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @param parallel              是否并行
+     * @return 命中点位的行ID
+     */
+    public static long[] scanContainedRegion(PointStore pointStore, List<LocationDTO> regionLocationDTOList, boolean parallel) {
+        CompiledRegion compiledRegion = GeoUtil.compileRegion(regionLocationDTOList);
+        return scan(pointStore, compiledRegion, parallel);
+    }
+
+    /**
+     * 按照 regionLocationDTOList 的点位顺序组成区域,并判断 pointStore 里的点位是否在这区域里面*
+     *
+     * @param pointStore            点位存储
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @param parallel              是否并行
+     * @return 命中点位的行ID
+     */
+    public static long[] scanContainedRegionSequence(PointStore pointStore, List<LocationDTO> regionLocationDTOList, boolean parallel) {
+        CompiledRegion compiledRegion = GeoUtil.compileRegionSequence(regionLocationDTOList);
+        return scan(pointStore, compiledRegion, parallel);
+    }
+
+    /**
+     * 判断 pointStore 里面的点 是否在 roundnessDTO 这个圆中*
+     *
+     * @param pointStore   点位存储
+     * @param roundnessDTO 圆心和半径
+     * @param parallel     是否并行
+     * @return 命中点位的行ID
+     */
+    public static long[] scanContainedRoundRegion(PointStore pointStore, RoundnessDTO roundnessDTO, boolean parallel) {
+        CompiledCircle compiledCircle = GeoUtil.compileRoundRegion(roundnessDTO);
+        return scan(pointStore, compiledCircle, parallel);
+    }
+
+    /**
+     * 判断 pointStore 里面的点到 centerLocation 的距离是否小于 distance*
+     *
+     * @param pointStore     点位存储
+     * @param centerLocation 中心点
+     * @param distance       指定最大距离 单位米
+     * @param parallel       是否并行
+     * @return 命中点位的行ID
+     */
+    public static long[] scanWithinDistance(PointStore pointStore, LocationDTO centerLocation, double distance, boolean parallel) {
+        if (ObjectUtil.isEmpty(centerLocation)) {
+            throw new RuntimeException("centerLocation is null");
+        }
+        centerLocation.check();
+        if (distance <= 0) {
+            throw new RuntimeException("distance is le 0");
+        }
+
+        double centerLng = CoordinateParser.parse(centerLocation.getLng());
+        double centerLat = CoordinateParser.parse(centerLocation.getLat());
+        return scan(pointStore, (lng, lat) -> GeodesicUtil.distance(centerLng, centerLat, lng, lat) < distance, parallel);
+    }
+
+    /**
+     * 判断 pointStore 里面的点到 curveLocationDTOList 组成的曲线的最短距离是否不大于 distance，
+     * 与 GeoUtil.calculateShortestDistanceFromCurve4Points 同口径，取曲线上最近的顶点计算距离*
+     *
+     * @param pointStore           点位存储
+     * @param curveLocationDTOList 曲线的点
+     * @param distance             指定最大距离 单位米
+     * @param parallel             是否并行
+     * @return 命中点位的行ID
+     */
+    public static long[] scanShortestDistanceFromCurve(PointStore pointStore, List<LocationDTO> curveLocationDTOList, double distance, boolean parallel) {
+        if (CollectionUtil.isEmpty(curveLocationDTOList)) {
+            throw new RuntimeException("curveLocationDTOList is empty");
+        }
+        curveLocationDTOList.forEach(item -> item.check());
+        if (distance <= 0) {
+            throw new RuntimeException("distance is le 0");
+        }
+
+        int n = curveLocationDTOList.size();
+        double[] curveLngs = new double[n];
+        double[] curveLats = new double[n];
+        for (int i = 0; i < n; i++) {
+            curveLngs[i] = CoordinateParser.parse(curveLocationDTOList.get(i).getLng());
+            curveLats[i] = CoordinateParser.parse(curveLocationDTOList.get(i).getLat());
+        }
+
+        return scan(pointStore, (lng, lat) -> {
+            // 经纬度平面上最近的顶点
+            int closest = 0;
+            double minDistance = Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                double dx = curveLngs[i] - lng;
+                double dy = curveLats[i] - lat;
+                double temp = dx * dx + dy * dy;
+                if (temp < minDistance) {
+                    minDistance = temp;
+                    closest = i;
+                }
+            }
+            return GeodesicUtil.distance(lng, lat, curveLngs[closest], curveLats[closest]) <= distance;
+        }, parallel);
+    }
+
+    /**
+     * 计算 pointStore 里每个点位到 startLocation 的距离*
+     *
+     * @param pointStore    点位存储
+     * @param startLocation 开始坐标
+     * @param parallel      是否并行
+     * @return 按行号排列的距离 单位米
+     */
+    public static double[] calculateDistance(PointStore pointStore, LocationDTO startLocation, boolean parallel) {
+        if (ObjectUtil.isEmpty(pointStore)) {
+            throw new RuntimeException("pointStore is null");
+        }
+        if (ObjectUtil.isEmpty(startLocation)) {
+            throw new RuntimeException("startLocation is null");
+        }
+        startLocation.check();
+
+        double startLng = CoordinateParser.parse(startLocation.getLng());
+        double startLat = CoordinateParser.parse(startLocation.getLat());
+        double[] distances = new double[pointStore.size()];
+        pointStore.rows(parallel).forEach(row -> distances[row] = GeodesicUtil.distance(startLng, startLat, pointStore.getLng(row), pointStore.getLat(row)));
+        return distances;
+    }
+
+}
@@ -0,0 +1,145 @@
+package cn.swj.geo.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 16:00
+ * @Description: 经纬度字符串快速解析，直接读取 CharSequence 或 byte[] 区间，不创建中间字符串。
+ * 经纬度都是有效数字不超过 15 位的定点小数，此时尾数和 10 的幂都能被 double 精确表示，
+ * 一次 IEEE 除法即是正确舍入的结果，与 Double.parseDouble 完全一致；
+ * 其他形式（科学计数法、前后空格、超长小数等）回退到 Double.parseDouble，非法输入同样抛出 NumberFormatException
+ * @Version 1.0
+ */
+public class CoordinateParser {
+
+    // 有效数字不超过 15 位时尾数小于 2^53
+    private static final int MAX_FAST_DIGITS = 15;
+
+    // 10^22 以内的 10 的幂可被 double 精确表示
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private CoordinateParser() {
+    }
+
+    /**
+     * 解析字符串*
+     *
+     * @param value 数字字符串
+     * @return
+     */
+    public static double parse(CharSequence value) {
+        if (value == null) {
+            throw new NullPointerException("value is null");
+        }
+        return parse(value, 0, value.length());
+    }
+
+    /**
+     * 解析字符序列的 [from, to) 区间*
+     *
+     * @param value 字符序列
+     * @param from  开始下标（包含）
+     * @param to    结束下标（不包含）
+     * @return
+     */
+    public static double parse(CharSequence value, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to) {
+            char c = value.charAt(i);
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                i++;
+            }
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean anyDigit = false;
+        boolean point = false;
+        for (; i < to; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    // 前导 0 不计入有效数字
+                    if (point) {
+                        fractionDigits++;
+                    }
+                    continue;
+                }
+                if (++digits > MAX_FAST_DIGITS) {
+                    break;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (point) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (i == to && anyDigit && fractionDigits < POWERS_OF_TEN.length) {
+            double result = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -result : result;
+        }
+        return Double.parseDouble(value.subSequence(from, to).toString());
+    }
+
+    /**
+     * 解析 ASCII 字节数组的 [from, to) 区间，例如请求体中的一段*
+     *
+     * @param bytes 字节数组
+     * @param from  开始下标（包含）
+     * @param to    结束下标（不包含）
+     * @return
+     */
+    public static double parse(byte[] bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean anyDigit = false;
+        boolean point = false;
+        for (; i < to; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                anyDigit = true;
+                if (mantissa == 0 && b == '0') {
+                    if (point) {
+                        fractionDigits++;
+                    }
+                    continue;
+                }
+                if (++digits > MAX_FAST_DIGITS) {
+                    break;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (point) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (i == to && anyDigit && fractionDigits < POWERS_OF_TEN.length) {
+            double result = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -result : result;
+        }
+        return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.US_ASCII));
+    }
+
+}
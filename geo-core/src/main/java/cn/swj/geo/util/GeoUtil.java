@@ -6,26 +6,22 @@ import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
+import cn.swj.geo.admission.Deadline;
 import cn.swj.geo.dto.LocationDTO;
 import cn.swj.geo.dto.RoundnessDTO;
-import org.geotools.geometry.DirectPosition2D;
-import org.geotools.geometry.jts.JTS;
-import org.geotools.geometry.jts.JTSFactoryFinder;
-import org.geotools.referencing.CRS;
-import org.geotools.referencing.GeodeticCalculator;
-import org.geotools.referencing.ReferencingFactoryFinder;
-import org.geotools.referencing.crs.DefaultGeographicCRS;
-import org.locationtech.jts.algorithm.ConvexHull;
+import cn.swj.geo.jfr.GeoEvents;
+import cn.swj.geo.hull.ConvexHullEngine;
+import cn.swj.geo.hull.IncrementalHull;
+import cn.swj.geo.region.ApproximatedRegion;
+import cn.swj.geo.region.CompiledCircle;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.region.EdgeIndexLocator;
+import cn.swj.geo.route.CompiledRoute;
 import org.locationtech.jts.geom.*;
-import org.opengis.geometry.DirectPosition;
-import org.opengis.referencing.FactoryException;
-import org.opengis.referencing.crs.CRSFactory;
-import org.opengis.referencing.crs.CoordinateReferenceSystem;
-import org.opengis.referencing.operation.MathTransform;
-import org.opengis.referencing.operation.TransformException;
 
 import java.util.*;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -36,15 +32,23 @@ import java.util.stream.Collectors;
  */
 public class GeoUtil {
 
-    // 创建GeometryFactory
-    private static GeometryFactory geometryFactory;
+    // GeometryFactory 延迟到第一次使用时创建
+    private static class GeometryFactoryHolder {
+        private static final GeometryFactory INSTANCE = new GeometryFactory();
+    }
 
-    static {
-        geometryFactory = JTSFactoryFinder.getGeometryFactory();
+    private static GeometryFactory geometryFactory() {
+        return GeometryFactoryHolder.INSTANCE;
     }
 
-    private static final String MARS02_EPSG_CODE = "EPSG:4490";
-    private static final String WGS84_EPSG_CODE = "EPSG:4326";
+    // 批量点位数量达到该值时，先按 Hilbert 曲线排序再判断，默认不排序。启动时由系统属性 geo.spatialSortThreshold 指定，
+    // 运行中不再改变；单次调用可用带 spatialSortThreshold 参数的重载
+    private static final int SPATIAL_SORT_THRESHOLD = spatialSortThreshold(Integer.getInteger("geo.spatialSortThreshold", Integer.MAX_VALUE));
+
+    // 系统属性不大于 0 时按不排序处理
+    private static int spatialSortThreshold(int threshold) {
+        return threshold <= 0 ? Integer.MAX_VALUE : threshold;
+    }
 
     /**
      * createCircle*
@@ -58,36 +62,40 @@ public class GeoUtil {
         String centerLat = roundnessDTO.getCenterPoint().getLat(); // 圆心纬度
 
         // 圆的半径（以米为单位）
-        double radius = Double.valueOf(roundnessDTO.getRadius());
+        double radius = CoordinateParser.parse(roundnessDTO.getRadius());
 
 
         // 创建圆心点
         Coordinate centerCoordinate = createCoordinate(centerLon, centerLat);
-        Point centerPoint = geometryFactory.createPoint(centerCoordinate);
+        Point centerPoint = geometryFactory().createPoint(centerCoordinate);
 
         // 创建圆形区域
-        CoordinateReferenceSystem crs = DefaultGeographicCRS.WGS84;
-        GeodeticCalculator calculator = new GeodeticCalculator(crs);
-        calculator.setStartingGeographicPoint(Double.valueOf(centerLon), Double.valueOf(centerLat));
-        calculator.setDirection(0.0, radius);
-        DirectPosition edgePos = null;
-        try {
-            edgePos = calculator.getDestinationPosition();
-        } catch (TransformException e) {
-            throw new RuntimeException("计算地图中真正对应的半径失败");
-        }
-        Coordinate edgeCoordinate = new Coordinate(edgePos.getOrdinate(0), edgePos.getOrdinate(1));
-        Point edgePoint = geometryFactory.createPoint(edgeCoordinate);
-        double edgeDistance = centerPoint.distance(edgePoint);
+        double edgeDistance = calculateDegreeRadius(centerCoordinate, radius);
         Geometry circle = centerPoint.buffer(edgeDistance);
 
         if (circle.isEmpty()) {
-            throw new RuntimeException("Circle is empty");
+            throw new GeoValidationException("Circle is empty");
         }
 
         return circle;
     }
 
+    /**
+     * 计算地图中真正对应的半径，即圆心正北方向 radius 米处的点到圆心的经纬度距离*
+     *
+     * @param centerCoordinate 圆心
+     * @param radius           半径 以米为单位
+     * @return
+     */
+    private static double calculateDegreeRadius(Coordinate centerCoordinate, double radius) {
+        double[] edgePos = GeodesicUtil.destination(centerCoordinate.getX(), centerCoordinate.getY(), 0.0, radius);
+        if (Double.isNaN(edgePos[0]) || Double.isNaN(edgePos[1])) {
+            throw new RuntimeException("计算地图中真正对应的半径失败");
+        }
+        Coordinate edgeCoordinate = new Coordinate(edgePos[0], edgePos[1]);
+        return centerCoordinate.distance(edgeCoordinate);
+    }
+
     /**
      * 构造几何图形*
      *
@@ -96,13 +104,20 @@ public class GeoUtil {
      * @return
      */
     private static Polygon getPolygon(List<LocationDTO> locationDTOList, boolean izUseAlg) {
-        List<Coordinate> coordinateList = new ArrayList<>();
+        Object event = GeoEvents.beginRegionBuild();
+
+        if (izUseAlg) {
+            // 凸包直接在原始经纬度上计算，点位多时分块并行
+            Polygon polygon = ConvexHullEngine.hull(locationDTOList, true).toPolygon(geometryFactory());
+            GeoEvents.completeRegionBuild(event, locationDTOList.size(), polygon.getNumPoints(), true);
+            return polygon;
+        }
 
-        Polygon polygon = null;
+        List<Coordinate> coordinateList = new ArrayList<>();
 
         for (LocationDTO locationDTO : locationDTOList) {
-            double longitude = Double.parseDouble(locationDTO.getLng());
-            double latitude = Double.parseDouble(locationDTO.getLat());
+            double longitude = CoordinateParser.parse(locationDTO.getLng());
+            double latitude = CoordinateParser.parse(locationDTO.getLat());
             Coordinate coordinate = new Coordinate(longitude, latitude);
             coordinateList.add(coordinate);
         }
@@ -112,25 +127,12 @@ public class GeoUtil {
 
         Coordinate[] pointCoordinates = coordinateList.toArray(new Coordinate[0]);
 
-        if (izUseAlg) {
-            // 创建Polygon对象
-            ConvexHull convexHull = new ConvexHull(pointCoordinates, geometryFactory);
-            Geometry convexPolygon = convexHull.getConvexHull();
-
-            // 确保生成的是多边形
-            if (convexPolygon instanceof Polygon) {
-                polygon = (Polygon) convexPolygon;
-            } else {
-                throw new RuntimeException("Failed to generate convex polygon");
-            }
-
-        } else {
-            polygon = geometryFactory.createPolygon(pointCoordinates);
-        }
+        Polygon polygon = geometryFactory().createPolygon(pointCoordinates);
         if (ObjectUtil.isEmpty(polygon)) {
-            throw new RuntimeException("polygon is empty");
+            throw new GeoValidationException("polygon is empty");
         }
 
+        GeoEvents.completeRegionBuild(event, locationDTOList.size(), polygon.getNumPoints(), false);
         return polygon;
     }
 
@@ -144,7 +146,7 @@ public class GeoUtil {
 
 
         // 创建 LineString 对象
-        return geometryFactory.createLineString(coordinates);
+        return geometryFactory().createLineString(coordinates);
     }
 
     /**
@@ -161,7 +163,7 @@ public class GeoUtil {
 
         // 遍历曲线上的所有坐标点，找到最近的坐标点
         for (Coordinate curveCoordinate : lineString.getCoordinates()) {
-            Point curvePoint = geometryFactory.createPoint(curveCoordinate);
+            Point curvePoint = geometryFactory().createPoint(curveCoordinate);
             double temp = curvePoint.distance(targetPoint);
             if (temp < minDistance) {
                 minDistance = temp;
@@ -193,38 +195,38 @@ public class GeoUtil {
 
     //creat point
     private static Point createPoint(String lng, String lat) {
-        return geometryFactory.createPoint(new Coordinate(Double.valueOf(lng), Double.valueOf(lat)));
+        return geometryFactory().createPoint(new Coordinate(CoordinateParser.parse(lng), CoordinateParser.parse(lat)));
     }
 
     //createCoordinate
     private static Coordinate createCoordinate(String lng, String lat) {
-        return new Coordinate(Double.valueOf(lng), Double.valueOf(lat));
+        return new Coordinate(CoordinateParser.parse(lng), CoordinateParser.parse(lat));
     }
 
     //check params
     private static void pointIsContainedRegionCheck(List<LocationDTO> locationDTOList, String x, String y) {
         if (CollectionUtil.isEmpty(locationDTOList)) {
-            throw new RuntimeException("locationDTOList is null");
+            throw new GeoValidationException("locationDTOList is null");
         }
 
         //不允许点位中 存在有空值
         locationDTOList.stream().forEach(item -> item.check());
 
         if (!StrUtil.isAllNotBlank(x, y)) {
-            throw new RuntimeException("x or y is empty");
+            throw new GeoValidationException("x or y is empty");
         }
     }
 
     //check params
     private static void pointListIsContainedRegionCheck(List<LocationDTO> regionLocationDTOList, List<LocationDTO> locationDTOList) {
         if (CollectionUtil.isEmpty(regionLocationDTOList)) {
-            throw new RuntimeException("regionLocationDTOList is empty");
+            throw new GeoValidationException("regionLocationDTOList is empty");
         }
 
         regionLocationDTOList.parallelStream().forEach(item -> item.check());
 
         if (CollectionUtil.isEmpty(locationDTOList)) {
-            throw new RuntimeException("locationDTOList is empty");
+            throw new GeoValidationException("locationDTOList is empty");
         }
 
         locationDTOList.parallelStream().forEach(item -> item.check());
@@ -234,13 +236,13 @@ public class GeoUtil {
     private static void pointIsContainedRoundRegionCheck(RoundnessDTO roundnessDTO, String x, String y) {
 
         if (ObjectUtil.isEmpty(roundnessDTO)) {
-            throw new RuntimeException("roundnessDTO is null");
+            throw new GeoValidationException("roundnessDTO is null");
         }
 
         roundnessDTO.check();
 
         if (!StrUtil.isAllNotBlank(x, y)) {
-            throw new RuntimeException("x or y is empty");
+            throw new GeoValidationException("x or y is empty");
         }
 
     }
@@ -249,13 +251,13 @@ public class GeoUtil {
     private static void pointListIsContainedRoundRegionCheck(RoundnessDTO roundnessDTO, List<LocationDTO> locationDTOList) {
 
         if (ObjectUtil.isEmpty(roundnessDTO)) {
-            throw new RuntimeException("roundnessDTO is null");
+            throw new GeoValidationException("roundnessDTO is null");
         }
 
         roundnessDTO.check();
 
         if (CollectionUtil.isEmpty(locationDTOList)) {
-            throw new RuntimeException("locationDTOList is empty");
+            throw new GeoValidationException("locationDTOList is empty");
         }
 
         locationDTOList.stream().forEach(item -> item.check());
@@ -264,15 +266,15 @@ public class GeoUtil {
     //check params
     private static void calculateShortestDistanceFromLineCheck(List<LocationDTO> locationDTOList, String x, String y) {
         if (CollectionUtil.isEmpty(locationDTOList)) {
-            throw new RuntimeException("locationDTOList is empty");
+            throw new GeoValidationException("locationDTOList is empty");
         }
 
         if (!StrUtil.isAllNotBlank(x, y)) {
-            throw new RuntimeException("x or y is empty");
+            throw new GeoValidationException("x or y is empty");
         }
 
         if (locationDTOList.size() != 2) {
-            throw new RuntimeException("locationDTOList size is not two");
+            throw new GeoValidationException("locationDTOList size is not two");
         }
 
         locationDTOList.forEach(item -> item.check());
@@ -283,11 +285,11 @@ public class GeoUtil {
         calculateShortestDistanceFromLineCheck(locationDTOList, x, y);
 
         if (StrUtil.isBlank(distance)) {
-            throw new RuntimeException("distance is empty");
+            throw new GeoValidationException("distance is empty");
         }
 
         if (!StrUtil.isAllNotBlank(x, y)) {
-            throw new RuntimeException("x or y is empty");
+            throw new GeoValidationException("x or y is empty");
         }
     }
 
@@ -295,13 +297,13 @@ public class GeoUtil {
     //check params
     private static void calculateShortestDistanceFromLine4PointsCheck(List<LocationDTO> lineLocationDTOList, List<LocationDTO> locationDTOList, String distance) {
         if (CollectionUtil.isEmpty(lineLocationDTOList)) {
-            throw new RuntimeException("lineLocationDTOList is empty");
+            throw new GeoValidationException("lineLocationDTOList is empty");
         }
 
         lineLocationDTOList.forEach(item -> item.check());
 
         if (CollectionUtil.isEmpty(locationDTOList)) {
-            throw new RuntimeException("locationDTOList is empty");
+            throw new GeoValidationException("locationDTOList is empty");
         }
 
         locationDTOList.forEach(item -> item.check());
@@ -310,15 +312,15 @@ public class GeoUtil {
     //check params
     private static void calculateShortestDistanceFromCurveCheck(List<LocationDTO> curveLocationDTOList, String x, String y) {
         if (CollectionUtil.isEmpty(curveLocationDTOList)) {
-            throw new RuntimeException("curveLocationDTOList is empty");
+            throw new GeoValidationException("curveLocationDTOList is empty");
         }
 
         if (curveLocationDTOList.size() <= 2) {
-            throw new RuntimeException("curveLocationDTOList size must ge 3");
+            throw new GeoValidationException("curveLocationDTOList size must ge 3");
         }
 
         if (!StrUtil.isAllNotBlank(x, y)) {
-            throw new RuntimeException("x or y is empty");
+            throw new GeoValidationException("x or y is empty");
         }
     }
 
@@ -326,34 +328,34 @@ public class GeoUtil {
     private static void calculateShortestDistanceFromCurveCheck(List<LocationDTO> curveLocationDTOList, String x, String y, String distance) {
         calculateShortestDistanceFromCurveCheck(curveLocationDTOList, x, y);
         if (StrUtil.isBlank(distance)) {
-            throw new RuntimeException("distance is empty");
+            throw new GeoValidationException("distance is empty");
         }
 
-        if (Double.valueOf(distance) <= 0) {
-            throw new RuntimeException("distance is le 0");
+        if (CoordinateParser.parse(distance) <= 0) {
+            throw new GeoValidationException("distance is le 0");
         }
     }
 
     //checkParams
     private static void calculateShortestDistanceFromCurve4PointsCheck(List<LocationDTO> curveLocationDTOList, List<LocationDTO> locationDTOList, String distance) {
         if (CollectionUtil.isEmpty(curveLocationDTOList)) {
-            throw new RuntimeException("curveLocationDTOList is empty");
+            throw new GeoValidationException("curveLocationDTOList is empty");
         }
 
         curveLocationDTOList.forEach(item -> item.check());
 
         if (curveLocationDTOList.size() <= 2) {
-            throw new RuntimeException("curveLocationDTOList size must ge 3");
+            throw new GeoValidationException("curveLocationDTOList size must ge 3");
         }
 
         if (CollectionUtil.isEmpty(locationDTOList)) {
-            throw new RuntimeException("locationDTOList is empty");
+            throw new GeoValidationException("locationDTOList is empty");
         }
 
         locationDTOList.forEach(item -> item.check());
 
-        if (Double.valueOf(distance) <= 0) {
-            throw new RuntimeException("distance is le 0");
+        if (CoordinateParser.parse(distance) <= 0) {
+            throw new GeoValidationException("distance is le 0");
         }
     }
 
@@ -364,7 +366,7 @@ public class GeoUtil {
      */
     private static void checkObjectListIzContainField(List<?> objectList, String lngField, String latField) {
         if (CollectionUtil.isEmpty(objectList)) {
-            throw new RuntimeException("objectList is empty");
+            throw new GeoValidationException("objectList is empty");
         }
 
         objectList.stream().forEach(item -> {
@@ -372,7 +374,7 @@ public class GeoUtil {
             String lng = jsonObject.getStr(lngField);
             String lat = jsonObject.getStr(latField);
             if (!StrUtil.isAllNotBlank(lng, lat)) {
-                throw new RuntimeException("There are objects in the collection without one of the fields (" + lngField + "," + latField + ")");
+                throw new GeoValidationException("There are objects in the collection without one of the fields (" + lngField + "," + latField + ")");
             }
         });
     }
@@ -380,7 +382,7 @@ public class GeoUtil {
     //checkParam
     private static void adaptLocationToObjectsCheck(List<LocationDTO> locationDTOList, List<?> objectList, String lngField, String latField) {
         if (CollectionUtil.isEmpty(locationDTOList)) {
-            throw new RuntimeException("locationDTOList is empty");
+            throw new GeoValidationException("locationDTOList is empty");
         }
         locationDTOList.parallelStream().forEach(item -> item.check());
 
@@ -395,21 +397,71 @@ public class GeoUtil {
      * @param polygon
      * @return
      */
-    private static List<LocationDTO> getLocationDTOS(List<LocationDTO> locationDTOList, Polygon polygon) {
+    private static List<LocationDTO> getLocationDTOS(List<LocationDTO> locationDTOList, Polygon polygon, int spatialSortThreshold) {
+        if (polygon.getNumPoints() >= EdgeIndexLocator.VERTEX_THRESHOLD) {
+            // 顶点多时改用边索引，边界上的点同样不算在区域内
+            EdgeIndexLocator edgeIndexLocator = EdgeIndexLocator.of(polygon);
+            // 每个点位只判断所在条带的少量边
+            return filterLocationDTOS(locationDTOList, spatialSortThreshold, EdgeIndexLocator.EDGES_PER_SLAB, locationDTO ->
+                    edgeIndexLocator.contains(CoordinateParser.parse(locationDTO.getLng()), CoordinateParser.parse(locationDTO.getLat())));
+        }
+        return filterLocationDTOS(locationDTOList, spatialSortThreshold, polygon.getNumPoints(), locationDTO -> {
+            Point point = geometryFactory().createPoint(new Coordinate(CoordinateParser.parse(locationDTO.getLng()), CoordinateParser.parse(locationDTO.getLat())));
+            return polygon.contains(point);
+        });
+    }
+
+    /**
+     * 过滤点位，数量达到 spatialSortThreshold 时按 Hilbert 曲线顺序判断，结果保持传入顺序。
+     * 检查当前线程截止时间的间隔按 vertexCount 缩放，见 Deadline.checkInterval*
+     *
+     * @param locationDTOList      待判断的点位
+     * @param spatialSortThreshold 按 Hilbert 曲线排序的点位数量阈值
+     * @param vertexCount          单个点位判断时涉及的顶点数
+     * @param predicate            判断条件
+     * @return
+     */
+    private static List<LocationDTO> filterLocationDTOS(List<LocationDTO> locationDTOList, int spatialSortThreshold, int vertexCount, Predicate<LocationDTO> predicate) {
         //return List
         List<LocationDTO> resList = new ArrayList<>();
+        long deadline = Deadline.current();
+        int checkInterval = Deadline.checkInterval(vertexCount);
+        int checked = 0;
+
+        if (locationDTOList.size() < spatialSortThreshold) {
+            for (LocationDTO locationDTO : locationDTOList) {
+                if (++checked % checkInterval == 0) {
+                    Deadline.check(deadline);
+                }
+                if (ObjectUtil.isEmpty(locationDTO)) {
+                    continue;
+                }
+                if (predicate.test(locationDTO)) {
+                    resList.add(locationDTO);
+                }
+            }
+            return resList;
+        }
 
-        for (LocationDTO locationDTO : locationDTOList) {
+        int[] permutation = SpatialSortUtil.sortHilbert(locationDTOList);
+        boolean[] matched = new boolean[locationDTOList.size()];
+        for (int index : permutation) {
+            if (++checked % checkInterval == 0) {
+                Deadline.check(deadline);
+            }
+            LocationDTO locationDTO = locationDTOList.get(index);
             if (ObjectUtil.isEmpty(locationDTO)) {
                 continue;
             }
-            Point point = geometryFactory.createPoint(new Coordinate(Double.valueOf(locationDTO.getLng()), Double.valueOf(locationDTO.getLat())));
+            matched[index] = predicate.test(locationDTO);
+        }
 
-            if (polygon.contains(point)) {
-                resList.add(locationDTO);
+        // 还原传入顺序
+        for (int i = 0; i < matched.length; i++) {
+            if (matched[i]) {
+                resList.add(locationDTOList.get(i));
             }
         }
-
         return resList;
     }
 
@@ -432,7 +484,7 @@ public class GeoUtil {
         Polygon polygon = getPolygon(regionLocationList, false);
 
         //create point
-        Point point = geometryFactory.createPoint(new Coordinate(Double.valueOf(x), Double.valueOf(y)));
+        Point point = geometryFactory().createPoint(new Coordinate(CoordinateParser.parse(x), CoordinateParser.parse(y)));
 
         if (polygon.contains(point)) {
             return true;
@@ -458,7 +510,7 @@ public class GeoUtil {
         Polygon polygon = getPolygon(regionLocationList, true);
 
         //create point
-        Point point = geometryFactory.createPoint(new Coordinate(Double.valueOf(x), Double.valueOf(y)));
+        Point point = geometryFactory().createPoint(new Coordinate(CoordinateParser.parse(x), CoordinateParser.parse(y)));
 
         return polygon.contains(point);
     }
@@ -475,7 +527,7 @@ public class GeoUtil {
     public static boolean pointIsContainedRegion(List<LocationDTO> regionLocationList, Point point) {
 
         if (CollectionUtil.isEmpty(regionLocationList)) {
-            throw new RuntimeException("list is null");
+            throw new GeoValidationException("list is null");
         }
 
         Polygon polygon = getPolygon(regionLocationList, true);
@@ -492,15 +544,34 @@ public class GeoUtil {
      * @return 有在里面的点位信息
      */
     public static List<LocationDTO> pointListIsContainedRegion(List<LocationDTO> regionLocationDTOList, List<LocationDTO> locationDTOList) {
+        return pointListIsContainedRegion(regionLocationDTOList, locationDTOList, SPATIAL_SORT_THRESHOLD);
+    }
+
+    /**
+     * 判断 locationDTOList 里面的点 是否在 locationVOList这个区域中，自动取最大几何图形。
+     * 点位数量达到 spatialSortThreshold 时先按 Hilbert 曲线排序再判断，结果仍按传入顺序返回*
+     *
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @param locationDTOList       待比较的点
+     * @param spatialSortThreshold  排序阈值，Integer.MAX_VALUE 表示不排序
+     * @return 有在里面的点位信息
+     */
+    public static List<LocationDTO> pointListIsContainedRegion(List<LocationDTO> regionLocationDTOList, List<LocationDTO> locationDTOList, int spatialSortThreshold) {
 
         pointListIsContainedRegionCheck(regionLocationDTOList, locationDTOList);
+        if (spatialSortThreshold <= 0) {
+            throw new GeoValidationException("spatialSortThreshold is le 0");
+        }
+
+        Object event = GeoEvents.beginContainmentBatch();
 
         //几何图形
         Polygon polygon = getPolygon(regionLocationDTOList, true);
 
         //return List
-        List<LocationDTO> resList = getLocationDTOS(locationDTOList, polygon);
+        List<LocationDTO> resList = getLocationDTOS(locationDTOList, polygon, spatialSortThreshold);
 
+        GeoEvents.completeContainmentBatch(event, "region", polygon.getNumPoints(), locationDTOList.size(), resList.size());
         return resList;
     }
 
@@ -548,14 +619,33 @@ public class GeoUtil {
      * @return
      */
     public static List<LocationDTO> pointListIsContainedRegionSequence(List<LocationDTO> regionLocationDTOList, List<LocationDTO> locationDTOList) {
+        return pointListIsContainedRegionSequence(regionLocationDTOList, locationDTOList, SPATIAL_SORT_THRESHOLD);
+    }
+
+    /**
+     * 按照 regionLocationDTOList 的点位顺序组成区域,并判断 locationDTOList 里的点位是否在这区域里面。
+     * 点位数量达到 spatialSortThreshold 时先按 Hilbert 曲线排序再判断，结果仍按传入顺序返回*
+     *
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @param locationDTOList       待判断的点位
+     * @param spatialSortThreshold  排序阈值，Integer.MAX_VALUE 表示不排序
+     * @return
+     */
+    public static List<LocationDTO> pointListIsContainedRegionSequence(List<LocationDTO> regionLocationDTOList, List<LocationDTO> locationDTOList, int spatialSortThreshold) {
 
         pointListIsContainedRegionCheck(regionLocationDTOList, locationDTOList);
+        if (spatialSortThreshold <= 0) {
+            throw new GeoValidationException("spatialSortThreshold is le 0");
+        }
+
+        Object event = GeoEvents.beginContainmentBatch();
 
         //几何图形
         Polygon polygon = getPolygon(regionLocationDTOList, false);
 
-        List<LocationDTO> resList = getLocationDTOS(locationDTOList, polygon);
+        List<LocationDTO> resList = getLocationDTOS(locationDTOList, polygon, spatialSortThreshold);
 
+        GeoEvents.completeContainmentBatch(event, "regionSequence", polygon.getNumPoints(), locationDTOList.size(), resList.size());
         return resList;
     }
 
@@ -610,7 +700,7 @@ public class GeoUtil {
         Geometry circle = createCircle(roundnessDTO);
 
         // 地址点位坐标
-        Point point = geometryFactory.createPoint(new Coordinate(Double.valueOf(x), Double.valueOf(y)));
+        Point point = geometryFactory().createPoint(new Coordinate(CoordinateParser.parse(x), CoordinateParser.parse(y)));
 
         // 判断地址点位是否在圆形区域内
         return circle.contains(point);
@@ -628,20 +718,16 @@ public class GeoUtil {
 
         pointListIsContainedRoundRegionCheck(roundnessDTO, locationDTOList);
 
-        Geometry circle = createCircle(roundnessDTO);
+        Object event = GeoEvents.beginContainmentBatch();
 
-        List<LocationDTO> resList = new ArrayList<>();
+        Geometry circle = createCircle(roundnessDTO);
 
-        for (LocationDTO locationDTO : locationDTOList) {
-            if (ObjectUtil.isEmpty(locationDTO)) {
-                continue;
-            }
-            Point point = geometryFactory.createPoint(new Coordinate(Double.valueOf(locationDTO.getLng()), Double.valueOf(locationDTO.getLat())));
-            if (circle.contains(point)) {
-                resList.add(locationDTO);
-            }
-        }
+        List<LocationDTO> resList = filterLocationDTOS(locationDTOList, SPATIAL_SORT_THRESHOLD, circle.getNumPoints(), locationDTO -> {
+            Point point = geometryFactory().createPoint(new Coordinate(CoordinateParser.parse(locationDTO.getLng()), CoordinateParser.parse(locationDTO.getLat())));
+            return circle.contains(point);
+        });
 
+        GeoEvents.completeContainmentBatch(event, "roundRegion", circle.getNumPoints(), locationDTOList.size(), resList.size());
         return resList;
     }
 
@@ -691,20 +777,9 @@ public class GeoUtil {
         startLocation.check();
         endLocation.check();
 
-        // 定义坐标参考系统（这里使用默认的 WGS84 坐标系）
-        CoordinateReferenceSystem crs = DefaultGeographicCRS.WGS84;
-
-        // 创建地理计算器
-        GeodeticCalculator calculator = new GeodeticCalculator(crs);
-
-        // 设置起始点坐标
-        calculator.setStartingGeographicPoint(Double.valueOf(startLocation.getLng()), Double.valueOf(startLocation.getLat()));
-
-        // 设置目标点坐标
-        calculator.setDestinationGeographicPoint(Double.valueOf(endLocation.getLng()), Double.valueOf(endLocation.getLat()));
-
-        // 计算直线距离
-        double distance = calculator.getOrthodromicDistance();
+        // 在 WGS84 椭球上计算大地线距离
+        double distance = GeodesicUtil.distance(CoordinateParser.parse(startLocation.getLng()), CoordinateParser.parse(startLocation.getLat()),
+                CoordinateParser.parse(endLocation.getLng()), CoordinateParser.parse(endLocation.getLat()));
 
         return String.valueOf(distance);
     }
@@ -762,7 +837,7 @@ public class GeoUtil {
 
         String shortestDistance = calculateShortestDistanceFromLine(lineLocationList, x, y);
 
-        return Double.valueOf(shortestDistance) < Double.valueOf(distance);
+        return CoordinateParser.parse(shortestDistance) < CoordinateParser.parse(distance);
     }
 
     /**
@@ -777,17 +852,13 @@ public class GeoUtil {
 
         calculateShortestDistanceFromLine4PointsCheck(lineLocationDTOList, locationDTOList, distance);
 
-        //在指定范围内的经纬度
-        List<LocationDTO> resLocationList = new ArrayList<>();
+        Object event = GeoEvents.beginDistanceBatch();
 
         LineString lineString = createLineString(lineLocationDTOList);
 
-        // 创建线段
-
-
-        for (LocationDTO locationDTO : locationDTOList) {
+        // 在指定范围内的经纬度
+        List<LocationDTO> resLocationList = filterLocationDTOS(locationDTOList, SPATIAL_SORT_THRESHOLD, lineString.getNumPoints(), locationDTO -> {
             // 将点投影到线上
-
             Point point = createPoint(locationDTO.getLng(), locationDTO.getLat());
 
             LocationDTO minDistanceLocationDTO = getMinDistanceLocationDTO(lineString, point);
@@ -795,11 +866,10 @@ public class GeoUtil {
             // 计算点到线的最短距离
             String minDistace = calculateDistance(locationDTO, minDistanceLocationDTO);
 
-            if (Double.valueOf(minDistace) < Double.valueOf(distance)) {
-                resLocationList.add(locationDTO);
-            }
-        }
+            return CoordinateParser.parse(minDistace) < CoordinateParser.parse(distance);
+        });
 
+        GeoEvents.completeDistanceBatch(event, "line", lineString.getNumPoints(), locationDTOList.size(), resLocationList.size(), CoordinateParser.parse(distance));
         return resLocationList;
     }
 
@@ -858,7 +928,7 @@ public class GeoUtil {
         LineString lineString = createLineString(curveLocationDTOList);
 
         // 创建 Point 对象
-        Point point = geometryFactory.createPoint(createCoordinate(x, y));
+        Point point = geometryFactory().createPoint(createCoordinate(x, y));
 
         LocationDTO minDistanceLocationDTO = getMinDistanceLocationDTO(lineString, point);
 
@@ -882,7 +952,7 @@ public class GeoUtil {
 
         String oDistance = calculateShortestDistanceFromCurve(locationDTOList, x, y);
 
-        return Double.valueOf(oDistance) < Double.valueOf(distance);
+        return CoordinateParser.parse(oDistance) < CoordinateParser.parse(distance);
     }
 
     /**
@@ -897,13 +967,13 @@ public class GeoUtil {
 
         calculateShortestDistanceFromCurve4PointsCheck(curveLocationDTOList, locationDTOList, distance);
 
-        //在指定范围内的经纬度
-        List<LocationDTO> resLocationList = new ArrayList<>();
+        Object event = GeoEvents.beginDistanceBatch();
 
         // 创建 Coordinate 数组并添加经纬度点坐标
         LineString lineString = createLineString(curveLocationDTOList);
 
-        for (LocationDTO locationDTO : locationDTOList) {
+        //在指定范围内的经纬度
+        List<LocationDTO> resLocationList = filterLocationDTOS(locationDTOList, SPATIAL_SORT_THRESHOLD, lineString.getNumPoints(), locationDTO -> {
 
             Point targetPoint = createPoint(locationDTO.getLng(), locationDTO.getLat());
 
@@ -911,11 +981,10 @@ public class GeoUtil {
 
             String distanceInMeters = calculateDistance(locationDTO, minDistanceLocationDTO);
 
-            if (Double.valueOf(distanceInMeters) <= Double.valueOf(distance)) {
-                resLocationList.add(locationDTO);
-            }
-        }
+            return CoordinateParser.parse(distanceInMeters) <= CoordinateParser.parse(distance);
+        });
 
+        GeoEvents.completeDistanceBatch(event, "curve", lineString.getNumPoints(), locationDTOList.size(), resLocationList.size(), CoordinateParser.parse(distance));
         return resLocationList;
     }
 
@@ -988,9 +1057,13 @@ public class GeoUtil {
             return Collections.emptyList();
         }
         if (CollectionUtil.isEmpty(objectList)) {
-            throw new RuntimeException("objectList is empty");
+            throw new GeoValidationException("objectList is empty");
         }
+        Object event = GeoEvents.beginObjectMapping();
+        // 并行流的工作线程看不到调用线程的截止时间
+        long deadline = Deadline.current();
         List<LocationDTO> locationDTOList = objectList.parallelStream().map(item -> {
+            Deadline.check(deadline);
             try {
                 JSONObject jsonObject = JSONUtil.parseObj(item);
                 String lng = jsonObject.getStr(lngField);
@@ -1004,6 +1077,7 @@ public class GeoUtil {
             }
 
         }).filter(item -> item instanceof LocationDTO).collect(Collectors.toList());
+        GeoEvents.completeObjectMapping(event, "convert", objectList.size(), 0, locationDTOList.size());
         return locationDTOList;
     }
 
@@ -1033,10 +1107,14 @@ public class GeoUtil {
 
         adaptLocationToObjectsCheck(locationDTOList, objectList, lngField, latField);
 
+        Object event = GeoEvents.beginObjectMapping();
+
         //转成hash
         Map<String, T> map = new HashMap<>();
+        long deadline = Deadline.current();
 
         objectList.parallelStream().forEach(item -> {
+            Deadline.check(deadline);
             JSONObject jsonObject = JSONUtil.parseObj(item);
             map.put(jsonObject.getStr(lngField) + "_" + jsonObject.getStr(latField), item);
         });
@@ -1051,9 +1129,111 @@ public class GeoUtil {
             return null;
         }).filter(item -> item != null).collect(Collectors.toList());
 
+        GeoEvents.completeObjectMapping(event, "adapt", objectList.size(), locationDTOList.size(), resList.size());
         return resList;
     }
 
+    //============================== 预编译区域 =========================================
+
+    /**
+     * 将 regionLocationList 预编译为区域，自动取最大几何图形，可反复用于大批量点位判断*
+     *
+     * @param regionLocationList 几何图形组成的点位
+     * @return
+     */
+    public static CompiledRegion compileRegion(List<LocationDTO> regionLocationList) {
+        if (CollectionUtil.isEmpty(regionLocationList)) {
+            throw new GeoValidationException("regionLocationList is empty");
+        }
+        regionLocationList.forEach(item -> item.check());
+
+        return new CompiledRegion(getPolygon(regionLocationList, true));
+    }
+
+    /**
+     * 将可增量更新的凸包预编译为区域，凸包之后新增的点位不影响已编译的区域*
+     *
+     * @param incrementalHull 凸包，例如 ConvexHullEngine.hull 的结果
+     * @return
+     */
+    public static CompiledRegion compileRegion(IncrementalHull incrementalHull) {
+        if (ObjectUtil.isEmpty(incrementalHull)) {
+            throw new GeoValidationException("incrementalHull is null");
+        }
+        return new CompiledRegion(incrementalHull.toPolygon(geometryFactory()));
+    }
+
+    /**
+     * 按照 regionLocationList 的点位顺序组成区域并预编译*
+     *
+     * @param regionLocationList 几何图形组成的点位
+     * @return
+     */
+    public static CompiledRegion compileRegionSequence(List<LocationDTO> regionLocationList) {
+        if (CollectionUtil.isEmpty(regionLocationList)) {
+            throw new GeoValidationException("regionLocationList is empty");
+        }
+        regionLocationList.forEach(item -> item.check());
+
+        return new CompiledRegion(getPolygon(regionLocationList, false));
+    }
+
+    /**
+     * 按照 regionLocationList 的点位顺序组成区域，预编译为带内外近似多边形的两级区域，适合顶点很多的行政区划等边界*
+     *
+     * @param regionLocationList 几何图形组成的点位
+     * @param tolerance          简化容差 度
+     * @return
+     */
+    public static ApproximatedRegion compileApproximatedRegionSequence(List<LocationDTO> regionLocationList, double tolerance) {
+        return ApproximatedRegion.of(compileRegionSequence(regionLocationList), tolerance);
+    }
+
+    /**
+     * 将 roundnessDTO 预编译为圆形区域，半径口径与 pointIsContainedRoundRegion 一致，
+     * 但按精确的圆判断，不是 buffer 生成的内接多边形，圆周附近约半径 0.48% 的窄带内结果可能不同，见 CompiledCircle*
+     *
+     * @param roundnessDTO 圆心和半径
+     * @return
+     */
+    public static CompiledCircle compileRoundRegion(RoundnessDTO roundnessDTO) {
+        if (ObjectUtil.isEmpty(roundnessDTO)) {
+            throw new GeoValidationException("roundnessDTO is null");
+        }
+        roundnessDTO.check();
+
+        Coordinate centerCoordinate = createCoordinate(roundnessDTO.getCenterPoint().getLng(), roundnessDTO.getCenterPoint().getLat());
+        double radius = CoordinateParser.parse(roundnessDTO.getRadius());
+
+        return new CompiledCircle(centerCoordinate.getX(), centerCoordinate.getY(), radius, calculateDegreeRadius(centerCoordinate, radius));
+    }
+
+    /**
+     * 将 routeLocationDTOList 预编译为线路，用于计算点位的沿线距离、偏离距离和投影点*
+     *
+     * @param routeLocationDTOList 线路的点，按行驶顺序
+     * @return
+     */
+    public static CompiledRoute compileRoute(List<LocationDTO> routeLocationDTOList) {
+        if (CollectionUtil.isEmpty(routeLocationDTOList)) {
+            throw new GeoValidationException("routeLocationDTOList is empty");
+        }
+        if (routeLocationDTOList.size() < 2) {
+            throw new GeoValidationException("routeLocationDTOList size must ge 2");
+        }
+        routeLocationDTOList.forEach(item -> item.check());
+
+        int n = routeLocationDTOList.size();
+        double[] lngs = new double[n];
+        double[] lats = new double[n];
+        for (int i = 0; i < n; i++) {
+            LocationDTO locationDTO = routeLocationDTOList.get(i);
+            lngs[i] = CoordinateParser.parse(locationDTO.getLng());
+            lats[i] = CoordinateParser.parse(locationDTO.getLat());
+        }
+        return new CompiledRoute(lngs, lats);
+    }
+
     //============================== 坐标系转换 =========================================
 
     private static final double x_PI = 3.14159265358979324 * 3000.0 / 180.0;
@@ -1069,13 +1249,10 @@ public class GeoUtil {
      * @return GCJ02 坐标：[经度，纬度]
      */
     public static double[] transformBD09ToGCJ02(double lng, double lat) {
-        double x = lng - 0.0065;
-        double y = lat - 0.006;
-        double z = Math.sqrt(x * x + y * y) - 0.00002 * Math.sin(y * x_PI);
-        double theta = Math.atan2(y, x) - 0.000003 * Math.cos(x * x_PI);
-        double gcj_lng = z * Math.cos(theta);
-        double gcj_lat = z * Math.sin(theta);
-        return new double[]{gcj_lng, gcj_lat};
+        Object event = GeoEvents.beginCoordinateTransform();
+        double[] lngLat = bd09ToGcj02(lng, lat);
+        GeoEvents.completeCoordinateTransform(event, "BD09", "GCJ02");
+        return lngLat;
     }
 
     /**
@@ -1086,11 +1263,10 @@ public class GeoUtil {
      * @return 百度坐标：[经度，纬度]
      */
     public static double[] transformGCJ02ToBD09(double lng, double lat) {
-        double z = Math.sqrt(lng * lng + lat * lat) + 0.00002 * Math.sin(lat * x_PI);
-        double theta = Math.atan2(lat, lng) + 0.000003 * Math.cos(lng * x_PI);
-        double bd_lng = z * Math.cos(theta) + 0.0065;
-        double bd_lat = z * Math.sin(theta) + 0.006;
-        return new double[]{bd_lng, bd_lat};
+        Object event = GeoEvents.beginCoordinateTransform();
+        double[] lngLat = gcj02ToBd09(lng, lat);
+        GeoEvents.completeCoordinateTransform(event, "GCJ02", "BD09");
+        return lngLat;
     }
 
     /**
@@ -1101,21 +1277,10 @@ public class GeoUtil {
      * @return WGS84坐标：[经度，纬度]
      */
     public static double[] transformGCJ02ToWGS84(double lng, double lat) {
-        if (outOfChina(lng, lat)) {
-            return new double[]{lng, lat};
-        } else {
-            double dLat = transformLat(lng - 105.0, lat - 35.0);
-            double dLng = transformLng(lng - 105.0, lat - 35.0);
-            double radLat = lat / 180.0 * PI;
-            double magic = Math.sin(radLat);
-            magic = 1 - ee * magic * magic;
-            double sqrtMagic = Math.sqrt(magic);
-            dLat = (dLat * 180.0) / ((a * (1 - ee)) / (magic * sqrtMagic) * PI);
-            dLng = (dLng * 180.0) / (a / sqrtMagic * Math.cos(radLat) * PI);
-            double mgLat = lat + dLat;
-            double mgLng = lng + dLng;
-            return new double[]{lng * 2 - mgLng, lat * 2 - mgLat};
-        }
+        Object event = GeoEvents.beginCoordinateTransform();
+        double[] lngLat = gcj02ToWgs84(lng, lat);
+        GeoEvents.completeCoordinateTransform(event, "GCJ02", "WGS84");
+        return lngLat;
     }
 
     /**
@@ -1126,21 +1291,10 @@ public class GeoUtil {
      * @return GCJ02 坐标：[经度，纬度]
      */
     public static double[] transformWGS84ToGCJ02(double lng, double lat) {
-        if (outOfChina(lng, lat)) {
-            return new double[]{lng, lat};
-        } else {
-            double dLat = transformLat(lng - 105.0, lat - 35.0);
-            double dLng = transformLng(lng - 105.0, lat - 35.0);
-            double redLat = lat / 180.0 * PI;
-            double magic = Math.sin(redLat);
-            magic = 1 - ee * magic * magic;
-            double sqrtMagic = Math.sqrt(magic);
-            dLat = (dLat * 180.0) / ((a * (1 - ee)) / (magic * sqrtMagic) * PI);
-            dLng = (dLng * 180.0) / (a / sqrtMagic * Math.cos(redLat) * PI);
-            double mgLat = lat + dLat;
-            double mgLng = lng + dLng;
-            return new double[]{mgLng, mgLat};
-        }
+        Object event = GeoEvents.beginCoordinateTransform();
+        double[] lngLat = wgs84ToGcj02(lng, lat);
+        GeoEvents.completeCoordinateTransform(event, "WGS84", "GCJ02");
+        return lngLat;
     }
 
     /**
@@ -1151,9 +1305,11 @@ public class GeoUtil {
      * @return WGS84 坐标：[经度，纬度]
      */
     public static double[] transformBD09ToWGS84(double lng, double lat) {
-        double[] lngLat = transformBD09ToGCJ02(lng, lat);
-
-        return transformGCJ02ToWGS84(lngLat[0], lngLat[1]);
+        Object event = GeoEvents.beginCoordinateTransform();
+        double[] lngLat = bd09ToGcj02(lng, lat);
+        lngLat = gcj02ToWgs84(lngLat[0], lngLat[1]);
+        GeoEvents.completeCoordinateTransform(event, "BD09", "WGS84");
+        return lngLat;
     }
 
     /**
@@ -1164,11 +1320,66 @@ public class GeoUtil {
      * @return BD09 坐标：[经度，纬度]
      */
     public static double[] transformWGS84ToBD09(double lng, double lat) {
-        double[] lngLat = transformWGS84ToGCJ02(lng, lat);
+        Object event = GeoEvents.beginCoordinateTransform();
+        double[] lngLat = wgs84ToGcj02(lng, lat);
+        lngLat = gcj02ToBd09(lngLat[0], lngLat[1]);
+        GeoEvents.completeCoordinateTransform(event, "WGS84", "BD09");
+        return lngLat;
+    }
+
+    private static double[] bd09ToGcj02(double lng, double lat) {
+        double x = lng - 0.0065;
+        double y = lat - 0.006;
+        double z = Math.sqrt(x * x + y * y) - 0.00002 * Math.sin(y * x_PI);
+        double theta = Math.atan2(y, x) - 0.000003 * Math.cos(x * x_PI);
+        double gcj_lng = z * Math.cos(theta);
+        double gcj_lat = z * Math.sin(theta);
+        return new double[]{gcj_lng, gcj_lat};
+    }
 
-        return transformGCJ02ToBD09(lngLat[0], lngLat[1]);
+    private static double[] gcj02ToBd09(double lng, double lat) {
+        double z = Math.sqrt(lng * lng + lat * lat) + 0.00002 * Math.sin(lat * x_PI);
+        double theta = Math.atan2(lat, lng) + 0.000003 * Math.cos(lng * x_PI);
+        double bd_lng = z * Math.cos(theta) + 0.0065;
+        double bd_lat = z * Math.sin(theta) + 0.006;
+        return new double[]{bd_lng, bd_lat};
     }
 
+    private static double[] gcj02ToWgs84(double lng, double lat) {
+        if (outOfChina(lng, lat)) {
+            return new double[]{lng, lat};
+        } else {
+            double dLat = transformLat(lng - 105.0, lat - 35.0);
+            double dLng = transformLng(lng - 105.0, lat - 35.0);
+            double radLat = lat / 180.0 * PI;
+            double magic = Math.sin(radLat);
+            magic = 1 - ee * magic * magic;
+            double sqrtMagic = Math.sqrt(magic);
+            dLat = (dLat * 180.0) / ((a * (1 - ee)) / (magic * sqrtMagic) * PI);
+            dLng = (dLng * 180.0) / (a / sqrtMagic * Math.cos(radLat) * PI);
+            double mgLat = lat + dLat;
+            double mgLng = lng + dLng;
+            return new double[]{lng * 2 - mgLng, lat * 2 - mgLat};
+        }
+    }
+
+    private static double[] wgs84ToGcj02(double lng, double lat) {
+        if (outOfChina(lng, lat)) {
+            return new double[]{lng, lat};
+        } else {
+            double dLat = transformLat(lng - 105.0, lat - 35.0);
+            double dLng = transformLng(lng - 105.0, lat - 35.0);
+            double redLat = lat / 180.0 * PI;
+            double magic = Math.sin(redLat);
+            magic = 1 - ee * magic * magic;
+            double sqrtMagic = Math.sqrt(magic);
+            dLat = (dLat * 180.0) / ((a * (1 - ee)) / (magic * sqrtMagic) * PI);
+            dLng = (dLng * 180.0) / (a / sqrtMagic * Math.cos(redLat) * PI);
+            double mgLat = lat + dLat;
+            double mgLng = lng + dLng;
+            return new double[]{mgLng, mgLat};
+        }
+    }
 
     private static double transformLat(double lng, double lat) {
         double ret = -100.0 + 2.0 * lng + 3.0 * lat + 0.2 * lat * lat + 0.1 * lng * lat + 0.2 * Math.sqrt(Math.abs(lng));
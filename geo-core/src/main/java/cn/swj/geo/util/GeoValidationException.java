@@ -0,0 +1,15 @@
+package cn.swj.geo.util;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 10:20
+ * @Description: GeoUtil 参数校验失败（"xxx is empty" 等），调用方传入的数据有误，与计算过程中的异常区分开
+ * @Version 1.0
+ */
+public class GeoValidationException extends RuntimeException {
+
+    public GeoValidationException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,232 @@
+package cn.swj.geo.util;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 09:40
+ * @Description: WGS84 椭球上的大地线计算（Vincenty 公式），只做 double 运算，不创建任何对象
+ * @Version 1.0
+ */
+public class GeodesicUtil {
+
+    // WGS84 长半轴
+    private static final double A = 6378137.0;
+    // WGS84 扁率
+    private static final double F = 1 / 298.257223563;
+    // WGS84 短半轴
+    private static final double B = A * (1 - F);
+    // 地球平均半径，Vincenty 不收敛时的兜底
+    private static final double MEAN_RADIUS = 6371008.8;
+
+    private static final int MAX_ITERATIONS = 200;
+
+    // 纬度方向 1 度的最短距离（赤道附近）
+    private static final double MIN_METRES_PER_DEGREE = 110_574D;
+
+    // 经度方向 1 度在赤道上的距离
+    private static final double EQUATOR_METRES_PER_DEGREE = 111_320D;
+
+    // 经度方向换算时纬度的上限，避免极点附近 cos 趋于 0
+    private static final double MAX_SPAN_LATITUDE = 89;
+
+    // 经纬度跨度放大 1%，抵消椭球与上面近似值的误差
+    private static final double SPAN_MARGIN = 1.01;
+
+    // WGS84 第一偏心率
+    private static final double E = Math.sqrt(F * (2 - F));
+    // 极点处的 q 值，等面积纬度 sin(β) = q(φ) / QP
+    private static final double QP = q(1);
+    // 等面积球半径的平方，球面积与椭球面积相同
+    private static final double AUTHALIC_RADIUS_SQ = A * A * QP / 2;
+
+    private GeodesicUtil() {
+    }
+
+    /**
+     * 计算俩个点之间的大地线距离（米），Vincenty 收敛时结果与 GeodeticCalculator.getOrthodromicDistance 一致；
+     * 近似对跖点不收敛时退化为球面距离，与 GeodeticCalculator 相差可达 0.36%（约 70 公里）*
+     *
+     * @param lng1 起点经度
+     * @param lat1 起点纬度
+     * @param lng2 终点经度
+     * @param lat2 终点纬度
+     * @return 距离 单位米
+     */
+    public static double distance(double lng1, double lat1, double lng2, double lat2) {
+        if (lng1 == lng2 && lat1 == lat2) {
+            return 0;
+        }
+        double l = Math.toRadians(lng2 - lng1);
+        double u1 = Math.atan((1 - F) * Math.tan(Math.toRadians(lat1)));
+        double u2 = Math.atan((1 - F) * Math.tan(Math.toRadians(lat2)));
+        double sinU1 = Math.sin(u1), cosU1 = Math.cos(u1);
+        double sinU2 = Math.sin(u2), cosU2 = Math.cos(u2);
+
+        double lambda = l;
+        double lambdaP;
+        double sinSigma, cosSigma, sigma, cosSqAlpha, cos2SigmaM;
+        int iteration = MAX_ITERATIONS;
+        do {
+            double sinLambda = Math.sin(lambda), cosLambda = Math.cos(lambda);
+            double t1 = cosU2 * sinLambda;
+            double t2 = cosU1 * sinU2 - sinU1 * cosU2 * cosLambda;
+            sinSigma = Math.sqrt(t1 * t1 + t2 * t2);
+            if (sinSigma == 0) {
+                return 0;
+            }
+            cosSigma = sinU1 * sinU2 + cosU1 * cosU2 * cosLambda;
+            sigma = Math.atan2(sinSigma, cosSigma);
+            double sinAlpha = cosU1 * cosU2 * sinLambda / sinSigma;
+            cosSqAlpha = 1 - sinAlpha * sinAlpha;
+            // 赤道线上 cosSqAlpha 为0
+            cos2SigmaM = cosSqAlpha == 0 ? 0 : cosSigma - 2 * sinU1 * sinU2 / cosSqAlpha;
+            double c = F / 16 * cosSqAlpha * (4 + F * (4 - 3 * cosSqAlpha));
+            lambdaP = lambda;
+            lambda = l + (1 - c) * F * sinAlpha * (sigma + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+        } while (Math.abs(lambda - lambdaP) > 1e-12 && --iteration > 0);
+
+        if (iteration == 0) {
+            // 近似对跖点时不收敛，退化为球面距离
+            return haversine(lng1, lat1, lng2, lat2);
+        }
+
+        double uSq = cosSqAlpha * (A * A - B * B) / (B * B);
+        double bigA = 1 + uSq / 16384 * (4096 + uSq * (-768 + uSq * (320 - 175 * uSq)));
+        double bigB = uSq / 1024 * (256 + uSq * (-128 + uSq * (74 - 47 * uSq)));
+        double deltaSigma = bigB * sinSigma * (cos2SigmaM + bigB / 4 * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)
+                - bigB / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+
+        return B * bigA * (sigma - deltaSigma);
+    }
+
+    /**
+     * 从起点沿方位角 azimuth 走 distance 米后到达的点（Vincenty 正解），
+     * 结果与 GeodeticCalculator.setDirection 后的 getDestinationGeographicPoint 一致*
+     *
+     * @param lng      起点经度
+     * @param lat      起点纬度
+     * @param azimuth  方位角 单位度，正北为 0，顺时针
+     * @param distance 距离 单位米
+     * @return 终点坐标：[经度，纬度]
+     */
+    public static double[] destination(double lng, double lat, double azimuth, double distance) {
+        double alpha1 = Math.toRadians(azimuth);
+        double sinAlpha1 = Math.sin(alpha1);
+        double cosAlpha1 = Math.cos(alpha1);
+
+        double tanU1 = (1 - F) * Math.tan(Math.toRadians(lat));
+        double cosU1 = 1 / Math.sqrt(1 + tanU1 * tanU1);
+        double sinU1 = tanU1 * cosU1;
+        double sigma1 = Math.atan2(tanU1, cosAlpha1);
+        double sinAlpha = cosU1 * sinAlpha1;
+        double cosSqAlpha = 1 - sinAlpha * sinAlpha;
+        double uSq = cosSqAlpha * (A * A - B * B) / (B * B);
+        double bigA = 1 + uSq / 16384 * (4096 + uSq * (-768 + uSq * (320 - 175 * uSq)));
+        double bigB = uSq / 1024 * (256 + uSq * (-128 + uSq * (74 - 47 * uSq)));
+
+        double sigma = distance / (B * bigA);
+        double sigmaP;
+        double sinSigma, cosSigma, cos2SigmaM;
+        int iteration = MAX_ITERATIONS;
+        do {
+            cos2SigmaM = Math.cos(2 * sigma1 + sigma);
+            sinSigma = Math.sin(sigma);
+            cosSigma = Math.cos(sigma);
+            double deltaSigma = bigB * sinSigma * (cos2SigmaM + bigB / 4 * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)
+                    - bigB / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+            sigmaP = sigma;
+            sigma = distance / (B * bigA) + deltaSigma;
+        } while (Math.abs(sigma - sigmaP) > 1e-12 && --iteration > 0);
+
+        double tmp = sinU1 * sinSigma - cosU1 * cosSigma * cosAlpha1;
+        double lat2 = Math.atan2(sinU1 * cosSigma + cosU1 * sinSigma * cosAlpha1, (1 - F) * Math.sqrt(sinAlpha * sinAlpha + tmp * tmp));
+        double lambda = Math.atan2(sinSigma * sinAlpha1, cosU1 * cosSigma - sinU1 * sinSigma * cosAlpha1);
+        double c = F / 16 * cosSqAlpha * (4 + F * (4 - 3 * cosSqAlpha));
+        double l = lambda - (1 - c) * F * sinAlpha * (sigma + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+
+        return new double[]{lng + Math.toDegrees(l), Math.toDegrees(lat2)};
+    }
+
+    /**
+     * 环的面积（平方米），顶点为 [from, to)，首尾是否重复均可。先把纬度换算为 WGS84 等面积纬度，
+     * 再按等积圆柱投影下的梯形求和，边较短时（城市内的围栏、地块）与椭球面积的误差可以忽略*
+     *
+     * @param lngs 经度
+     * @param lats 纬度
+     * @param from 开始下标（包含）
+     * @param to   结束下标（不包含）
+     * @return 面积 单位平方米，与顶点方向无关
+     */
+    public static double area(double[] lngs, double[] lats, int from, int to) {
+        if (to - from < 3) {
+            return 0;
+        }
+        double sum = 0;
+        double previousSin = q(Math.sin(Math.toRadians(lats[to - 1]))) / QP;
+        double previousLng = lngs[to - 1];
+        for (int i = from; i < to; i++) {
+            double sin = q(Math.sin(Math.toRadians(lats[i]))) / QP;
+            double dLng = lngs[i] - previousLng;
+            // 跨 180 度经线的边取较短的一侧
+            if (dLng > 180) {
+                dLng -= 360;
+            } else if (dLng < -180) {
+                dLng += 360;
+            }
+            sum += Math.toRadians(dLng) * (sin + previousSin);
+            previousSin = sin;
+            previousLng = lngs[i];
+        }
+        return Math.abs(sum) / 2 * AUTHALIC_RADIUS_SQ;
+    }
+
+    // 等面积纬度中的 q(φ)，参数为 sin(φ)
+    private static double q(double sinLat) {
+        double eSin = E * sinLat;
+        return (1 - E * E) * (sinLat / (1 - eSin * eSin) - Math.log((1 - eSin) / (1 + eSin)) / (2 * E));
+    }
+
+    /**
+     * 到 (lng, lat) 大地线距离不超过 metres 的点，经纬度差分别不超过的度数，用于外包框、格子大小等粗筛，只会偏大。
+     * 经度方向按 |lat| + dLat 处换算，lat 传一组点的最大绝对纬度即可覆盖整组*
+     *
+     * @param lat    纬度
+     * @param metres 距离 以米为单位
+     * @return [经度差，纬度差]
+     */
+    public static double[] degreeSpan(double lat, double metres) {
+        double dLat = metres / MIN_METRES_PER_DEGREE * SPAN_MARGIN;
+        double maxAbsLat = Math.min(MAX_SPAN_LATITUDE, Math.abs(lat) + dLat);
+        double dLng = Math.min(360, metres / (EQUATOR_METRES_PER_DEGREE * Math.cos(Math.toRadians(maxAbsLat))) * SPAN_MARGIN);
+        return new double[]{dLng, dLat};
+    }
+
+    /**
+     * 绝对纬度不超过 |lat| 的范围内，经度或纬度方向 1 度对应的最短距离（米），用于按度数估算距离的下界*
+     *
+     * @param lat 纬度
+     * @return 米
+     */
+    public static double minMetresPerDegree(double lat) {
+        double maxAbsLat = Math.min(MAX_SPAN_LATITUDE, Math.abs(lat));
+        return Math.min(MIN_METRES_PER_DEGREE, EQUATOR_METRES_PER_DEGREE * Math.cos(Math.toRadians(maxAbsLat)));
+    }
+
+    /**
+     * 球面距离（米），精度低于 distance，但计算量小*
+     *
+     * @param lng1 起点经度
+     * @param lat1 起点纬度
+     * @param lng2 终点经度
+     * @param lat2 终点纬度
+     * @return 距离 单位米
+     */
+    public static double haversine(double lng1, double lat1, double lng2, double lat2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLng = Math.sin(dLng / 2);
+        double h = sinLat * sinLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLng * sinLng;
+        return 2 * MEAN_RADIUS * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+}
@@ -0,0 +1,208 @@
+package cn.swj.geo.util;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.store.PointStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 11:30
+ * @Description: 按 Hilbert / Z-order 曲线对点位排序，相邻的点位在内存访问上也相邻，
+ * 返回的置换数组 permutation[i] 表示排序后第 i 个点位在原集合中的下标，可据此还原原始顺序
+ * @Version 1.0
+ */
+public class SpatialSortUtil {
+
+    // 每个维度 16 位，曲线编号共 32 位
+    private static final int ORDER = 16;
+    private static final int GRID_SIZE = 1 << ORDER;
+
+    private SpatialSortUtil() {
+    }
+
+    /**
+     * 按 Hilbert 曲线排序*
+     *
+     * @param lngs 经度
+     * @param lats 纬度
+     * @param n    点位数量
+     * @return 置换数组
+     */
+    public static int[] sortHilbert(double[] lngs, double[] lats, int n) {
+        return sort(lngs, lats, n, true);
+    }
+
+    /**
+     * 按 Z-order 曲线排序，编号计算比 Hilbert 快，局部性稍差*
+     *
+     * @param lngs 经度
+     * @param lats 纬度
+     * @param n    点位数量
+     * @return 置换数组
+     */
+    public static int[] sortZOrder(double[] lngs, double[] lats, int n) {
+        return sort(lngs, lats, n, false);
+    }
+
+    /**
+     * 按 Hilbert 曲线排序，空对象排在最后*
+     *
+     * @param locationDTOList 点位
+     * @return 置换数组
+     */
+    public static int[] sortHilbert(List<LocationDTO> locationDTOList) {
+        if (CollectionUtil.isEmpty(locationDTOList)) {
+            return new int[0];
+        }
+        int n = locationDTOList.size();
+        double[] lngs = new double[n];
+        double[] lats = new double[n];
+        for (int i = 0; i < n; i++) {
+            LocationDTO locationDTO = locationDTOList.get(i);
+            if (locationDTO == null) {
+                lngs[i] = Double.NaN;
+                lats[i] = Double.NaN;
+                continue;
+            }
+            lngs[i] = CoordinateParser.parse(locationDTO.getLng());
+            lats[i] = CoordinateParser.parse(locationDTO.getLat());
+        }
+        return sortHilbert(lngs, lats, n);
+    }
+
+    /**
+     * 按 Hilbert 曲线排序 PointStore 的行号，供索引批量构建、空间连接使用*
+     *
+     * @param pointStore 点位存储
+     * @return 行号置换数组
+     */
+    public static int[] sortHilbert(PointStore pointStore) {
+        int n = pointStore.size();
+        double[] lngs = new double[n];
+        double[] lats = new double[n];
+        for (int i = 0; i < n; i++) {
+            lngs[i] = pointStore.getLng(i);
+            lats[i] = pointStore.getLat(i);
+        }
+        return sortHilbert(lngs, lats, n);
+    }
+
+    /**
+     * 按置换数组重排集合*
+     *
+     * @param list        原集合
+     * @param permutation 置换数组
+     * @return 重排后的集合
+     */
+    public static <T> List<T> reorder(List<T> list, int[] permutation) {
+        List<T> resList = new ArrayList<>(permutation.length);
+        for (int index : permutation) {
+            resList.add(list.get(index));
+        }
+        return resList;
+    }
+
+    /**
+     * 计算 Hilbert 曲线编号*
+     *
+     * @param x 网格横坐标 [0, 65536)
+     * @param y 网格纵坐标 [0, 65536)
+     * @return
+     */
+    public static long hilbertIndex(int x, int y) {
+        long d = 0;
+        for (int s = GRID_SIZE >>> 1; s > 0; s >>>= 1) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            // 旋转象限
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = GRID_SIZE - 1 - x;
+                    y = GRID_SIZE - 1 - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * 计算 Z-order（Morton）曲线编号*
+     *
+     * @param x 网格横坐标 [0, 65536)
+     * @param y 网格纵坐标 [0, 65536)
+     * @return
+     */
+    public static long zOrderIndex(int x, int y) {
+        return spread(x) | (spread(y) << 1);
+    }
+
+    // 将 16 位整数的每一位隔位展开
+    private static long spread(int v) {
+        long x = v & 0xFFFFL;
+        x = (x | (x << 8)) & 0x00FF00FFL;
+        x = (x | (x << 4)) & 0x0F0F0F0FL;
+        x = (x | (x << 2)) & 0x33333333L;
+        x = (x | (x << 1)) & 0x55555555L;
+        return x;
+    }
+
+    private static int[] sort(double[] lngs, double[] lats, int n, boolean hilbert) {
+        if (n > lngs.length || n > lats.length) {
+            throw new RuntimeException("n is gt array length");
+        }
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            // NaN 不参与外包框计算
+            if (lngs[i] < minX) {
+                minX = lngs[i];
+            }
+            if (lngs[i] > maxX) {
+                maxX = lngs[i];
+            }
+            if (lats[i] < minY) {
+                minY = lats[i];
+            }
+            if (lats[i] > maxY) {
+                maxY = lats[i];
+            }
+        }
+        double scaleX = maxX > minX ? (GRID_SIZE - 1) / (maxX - minX) : 0;
+        double scaleY = maxY > minY ? (GRID_SIZE - 1) / (maxY - minY) : 0;
+
+        // 低 31 位为原下标，其上为曲线编号，直接对 long 排序，避免装箱
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            long curve;
+            if (Double.isNaN(lngs[i]) || Double.isNaN(lats[i])) {
+                curve = 0xFFFFFFFFL;
+            } else {
+                int x = (int) ((lngs[i] - minX) * scaleX);
+                int y = (int) ((lats[i] - minY) * scaleY);
+                curve = hilbert ? hilbertIndex(x, y) : zOrderIndex(x, y);
+            }
+            keys[i] = (curve << 31) | i;
+        }
+        if (n > 1 << 16) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = (int) (keys[i] & 0x7FFFFFFFL);
+        }
+        return permutation;
+    }
+
+}
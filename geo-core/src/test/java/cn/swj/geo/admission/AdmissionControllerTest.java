@@ -0,0 +1,102 @@
+package cn.swj.geo.admission;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 17:20
+ * @Description: 准入控制：超限拒绝、并发已满拒绝、截止时间中途停止
+ * @Version 1.0
+ */
+class AdmissionControllerTest {
+
+    private static final List<LocationDTO> REGION = Arrays.asList(new LocationDTO("116.0", "39.0"), new LocationDTO("117.0", "39.0"),
+            new LocationDTO("117.0", "40.0"), new LocationDTO("116.0", "40.0"));
+
+    @Test
+    void rejectOversizedAndSaturated() throws Exception {
+        AdmissionController controller = new AdmissionController(100, 1_000, 10_000, 1, 1, 1, 0, 0, 10_000);
+        List<LocationDTO> points = points(1_000);
+        assertEquals(CostClass.LARGE, controller.classify(AdmissionController.estimateCost(points.size(), REGION.size())));
+        AdmissionRejectedException oversized = assertThrows(AdmissionRejectedException.class,
+                () -> controller.pointListIsContainedRegion(REGION, points(10_000)));
+        assertEquals(40_000, oversized.getCost());
+
+        // LARGE 只有 1 个许可且不排队，占住时第二个请求被拒绝
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<List<LocationDTO>> running = executor.submit(() -> controller.execute(4_000, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return GeoUtil.pointListIsContainedRegion(REGION, points);
+        }));
+        started.await();
+        assertEquals(1, controller.getInFlight(CostClass.LARGE));
+        AdmissionRejectedException saturated = assertThrows(AdmissionRejectedException.class,
+                () -> controller.pointListIsContainedRegion(REGION, points));
+        assertEquals(CostClass.LARGE, saturated.getCostClass());
+        release.countDown();
+        assertEquals(GeoUtil.pointListIsContainedRegion(REGION, points), running.get());
+        executor.shutdown();
+
+        // 其他等级不受影响
+        assertEquals(GeoUtil.pointListIsContainedRegion(REGION, points(10)), controller.pointListIsContainedRegion(REGION, points(10)));
+        assertEquals(2, controller.getRejectedCount());
+        assertEquals(0, controller.getInFlight(CostClass.LARGE));
+    }
+
+    @Test
+    void deadlineStopsBatchEarly() {
+        AdmissionController controller = new AdmissionController(100, 1_000, Long.MAX_VALUE, 1, 1, 1, 0, 0, 10_000);
+        List<LocationDTO> points = points(200_000);
+        assertThrows(DeadlineExceededException.class,
+                () -> controller.execute(AdmissionController.estimateCost(points.size(), REGION.size()), 1,
+                        () -> GeoUtil.pointListIsContainedRegion(REGION, points)));
+        assertEquals(1, controller.getDeadlineExceededCount());
+        assertEquals(Deadline.NONE, Deadline.current());
+    }
+
+    @Test
+    void checkIntervalScalesWithVertexCount() {
+        assertEquals(Deadline.CHECK_INTERVAL, Deadline.checkInterval(1));
+        assertEquals(Deadline.CHECK_INTERVAL, Deadline.checkInterval(16));
+        assertEquals(256, Deadline.checkInterval(256));
+        assertEquals(1, Deadline.checkInterval(1_000_000));
+
+        // 200 个顶点的区域上不到 1024 个点位也会检查截止时间
+        List<LocationDTO> region = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            double angle = 2 * Math.PI * i / 200;
+            region.add(new LocationDTO(String.valueOf(116 + Math.cos(angle)), String.valueOf(39.5 + Math.sin(angle))));
+        }
+        List<LocationDTO> points = points(1_000);
+        assertThrows(DeadlineExceededException.class, () -> Deadline.run(0, () -> GeoUtil.pointListIsContainedRegion(region, points)));
+    }
+
+    private static List<LocationDTO> points(int size) {
+        List<LocationDTO> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new LocationDTO(String.valueOf(115.5 + (i % 1000) * 0.002), String.valueOf(39.5 + (i / 1000 % 10) * 0.001)));
+        }
+        return points;
+    }
+
+}
@@ -0,0 +1,150 @@
+package cn.swj.geo.batch;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.region.CoordinatePredicate;
+import cn.swj.geo.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 17:40
+ * @Description: PointQueryCoalescer 测试
+ * @Version 1.0
+ */
+class PointQueryCoalescerTest {
+
+    private static CompiledRegion region() {
+        List<LocationDTO> regionLocationDTOList = new ArrayList<>();
+        regionLocationDTOList.add(new LocationDTO("113.12345", "34.56789"));
+        regionLocationDTOList.add(new LocationDTO("113.54321", "34.98765"));
+        regionLocationDTOList.add(new LocationDTO("113.87654", "34.12345"));
+        regionLocationDTOList.add(new LocationDTO("113.5", "34.4"));
+        return GeoUtil.compileRegionSequence(regionLocationDTOList);
+    }
+
+    @Test
+    void testBatch() {
+        CompiledRegion compiledRegion = region();
+        Random random = new Random(5);
+        int size = 10000;
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        for (int i = 0; i < size; i++) {
+            lngs[i] = 113 + random.nextDouble();
+            lats[i] = 34 + random.nextDouble();
+        }
+        boolean[] result = new boolean[size];
+        compiledRegion.testBatch(lngs, lats, size, result);
+        for (int i = 0; i < size; i++) {
+            assertEquals(compiledRegion.contains(lngs[i], lats[i]), result[i]);
+        }
+    }
+
+    @Test
+    void submit() {
+        CompiledRegion compiledRegion = region();
+        Random random = new Random(9);
+        double[][] points = new double[20000][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{113 + random.nextDouble(), 34 + random.nextDouble()};
+        }
+
+        try (PointQueryCoalescer coalescer = new PointQueryCoalescer(64, 500, 5000)) {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            IntStream.range(0, points.length).parallel()
+                    .mapToObj(i -> coalescer.submit(compiledRegion, points[i][0], points[i][1]))
+                    .forEachOrdered(futures::add);
+            for (int i = 0; i < points.length; i++) {
+                assertEquals(compiledRegion.contains(points[i][0], points[i][1]), futures.get(i).join());
+            }
+            assertEquals(points.length, coalescer.getRequestCount());
+            assertTrue(coalescer.getAverageBatchSize() > 1);
+        }
+    }
+
+    @Test
+    void slowBatchKeepsCoalescing() {
+        // 第一批耗时远超延迟目标，之后的窗口仍不为 0，继续合并并在定时器之外的线程判断
+        Set<String> flushThreads = ConcurrentHashMap.newKeySet();
+        CoordinatePredicate slowFence = new CoordinatePredicate() {
+            private final AtomicBoolean first = new AtomicBoolean(true);
+
+            @Override
+            public boolean test(double lng, double lat) {
+                return lng > lat;
+            }
+
+            @Override
+            public void testBatch(double[] lngs, double[] lats, int size, boolean[] result) {
+                flushThreads.add(Thread.currentThread().getName());
+                if (first.getAndSet(false)) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+                }
+                CoordinatePredicate.super.testBatch(lngs, lats, size, result);
+            }
+        };
+        try (PointQueryCoalescer coalescer = new PointQueryCoalescer(4, 100_000, 1000)) {
+            for (int i = 0; i < 4; i++) {
+                coalescer.submit(slowFence, i, 2);
+            }
+            assertTrue(coalescer.windowNanos() > 0);
+
+            CompletableFuture<Boolean> first = coalescer.submit(slowFence, 3, 2);
+            CompletableFuture<Boolean> second = coalescer.submit(slowFence, 1, 2);
+            assertTrue(first.join());
+            assertFalse(second.join());
+            assertEquals(2, coalescer.getBatchCount());
+            assertTrue(flushThreads.stream().anyMatch(name -> name.startsWith("geo-point-coalescer-flush")));
+            assertFalse(flushThreads.contains("geo-point-coalescer"));
+        }
+    }
+
+    @Test
+    void submitAfterClose() throws Exception {
+        CompiledRegion compiledRegion = region();
+        PointQueryCoalescer coalescer = new PointQueryCoalescer(64, 100_000, 1_000_000);
+        CompletableFuture<Boolean> pending = coalescer.submit(compiledRegion, 113.5, 34.5);
+        coalescer.close();
+        assertEquals(compiledRegion.contains(113.5, 34.5), pending.getNow(null));
+
+        // 关闭后提交的判断直接完成，不会留在等待中
+        CompletableFuture<Boolean> future = coalescer.submit(compiledRegion, 113.5, 34.5);
+        assertTrue(future.isDone());
+        assertEquals(compiledRegion.contains(113.5, 34.5), future.get());
+
+        // 与 close 并发提交的判断全部完成
+        Random random = new Random(3);
+        double[][] points = new double[20000][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{113 + random.nextDouble(), 34 + random.nextDouble()};
+        }
+        PointQueryCoalescer racing = new PointQueryCoalescer(64, 100_000, 1_000_000);
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        IntStream.range(0, points.length).parallel()
+                .mapToObj(i -> {
+                    if (i == points.length / 2) {
+                        racing.close();
+                    }
+                    return racing.submit(compiledRegion, points[i][0], points[i][1]);
+                })
+                .forEachOrdered(futures::add);
+        for (int i = 0; i < points.length; i++) {
+            assertEquals(compiledRegion.contains(points[i][0], points[i][1]), futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package cn.swj.geo.cache;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 15:10
+ * @Description: GeoQueryCache 测试
+ * @Version 1.0
+ */
+class GeoQueryCacheTest {
+
+    @Test
+    void pointIsContainedRegion() {
+        List<LocationDTO> regionLocationDTOList = new ArrayList<>();
+        regionLocationDTOList.add(new LocationDTO("113.12345", "34.56789"));
+        regionLocationDTOList.add(new LocationDTO("113.54321", "34.98765"));
+        regionLocationDTOList.add(new LocationDTO("113.87654", "34.12345"));
+
+        GeoQueryCache cache = new GeoQueryCache();
+        String[][] points = {{"113.45678", "34.56789"}, {"113.98765", "34.87654"}, {"113.23456", "34.34567"}};
+        for (int i = 0; i < 10; i++) {
+            for (String[] point : points) {
+                assertEquals(GeoUtil.pointIsContainedRegion(regionLocationDTOList, point[0], point[1]),
+                        cache.pointIsContainedRegion(regionLocationDTOList, point[0], point[1]));
+            }
+        }
+
+        assertEquals(3, cache.getMissCount());
+        assertEquals(27, cache.getHitCount());
+        assertEquals(0.9, cache.getHitRate(), 1e-9);
+
+        // 同一量化格子内的点位命中
+        cache.pointIsContainedRegion(regionLocationDTOList, "113.456780001", "34.56789");
+        assertEquals(28, cache.getHitCount());
+        // 相同点位按顺序组成区域是另一种判断，指纹不同，不命中
+        assertEquals(GeoUtil.pointIsContainedRegionSequence(regionLocationDTOList, "113.45678", "34.56789"),
+                cache.pointIsContainedRegionSequence(regionLocationDTOList, "113.45678", "34.56789"));
+        assertEquals(4, cache.getMissCount());
+        // 区域点位顺序不同，指纹不同，不命中
+        List<LocationDTO> reversed = new ArrayList<>(regionLocationDTOList);
+        Collections.reverse(reversed);
+        cache.pointIsContainedRegion(reversed, "113.45678", "34.56789");
+        assertEquals(5, cache.getMissCount());
+        assertEquals(28, cache.getHitCount());
+    }
+
+    @Test
+    void pointIsContainedRoundRegion() {
+        GeoQueryCache cache = new GeoQueryCache();
+        RoundnessDTO roundnessDTO = roundness("113.5", "34.5", "1000");
+        String[][] points = {{"113.5", "34.5"}, {"113.505", "34.5"}, {"113.52", "34.5"}};
+        for (int i = 0; i < 3; i++) {
+            for (String[] point : points) {
+                assertEquals(GeoUtil.pointIsContainedRoundRegion(roundnessDTO, point[0], point[1]),
+                        cache.pointIsContainedRoundRegion(roundnessDTO, point[0], point[1]));
+            }
+        }
+        assertEquals(3, cache.getMissCount());
+        assertEquals(6, cache.getHitCount());
+
+        // 内容相同的另一个对象命中
+        assertTrue(cache.pointIsContainedRoundRegion(roundness("113.5", "34.5", "1000"), "113.505", "34.5"));
+        assertEquals(7, cache.getHitCount());
+        // 半径、圆心不同都不命中，且结果按新的圆计算
+        assertTrue(cache.pointIsContainedRoundRegion(roundness("113.5", "34.5", "3000"), "113.52", "34.5"));
+        assertFalse(cache.pointIsContainedRoundRegion(roundness("113.6", "34.5", "1000"), "113.505", "34.5"));
+        assertEquals(5, cache.getMissCount());
+        assertEquals(7, cache.getHitCount());
+    }
+
+    @Test
+    void compiledRegion() {
+        List<LocationDTO> regionLocationDTOList = new ArrayList<>();
+        regionLocationDTOList.add(new LocationDTO("113.1", "34.5"));
+        regionLocationDTOList.add(new LocationDTO("113.5", "34.9"));
+        regionLocationDTOList.add(new LocationDTO("113.8", "34.1"));
+        CompiledRegion compiledRegion = GeoUtil.compileRegionSequence(regionLocationDTOList);
+        CompiledRegion same = GeoUtil.compileRegionSequence(regionLocationDTOList);
+        List<LocationDTO> shifted = new ArrayList<>(regionLocationDTOList);
+        shifted.set(0, new LocationDTO("113.6", "34.5"));
+        CompiledRegion other = GeoUtil.compileRegionSequence(shifted);
+        assertTrue(compiledRegion.hasSameVertices(same));
+        assertFalse(compiledRegion.hasSameVertices(other));
+
+        GeoQueryCache cache = new GeoQueryCache();
+        assertTrue(cache.pointIsContainedRegion(compiledRegion, 113.3, 34.5));
+        // 顶点相同的另一个对象命中，顶点不同的区域按自己的顶点计算
+        assertTrue(cache.pointIsContainedRegion(same, 113.3, 34.5));
+        assertEquals(1, cache.getHitCount());
+        assertFalse(cache.pointIsContainedRegion(other, 113.3, 34.5));
+        assertEquals(2, cache.getMissCount());
+        // 围栏版本号不同不命中
+        assertTrue(cache.pointIsContainedRegion(1L, compiledRegion, 113.3, 34.5));
+        assertEquals(3, cache.getMissCount());
+
+        // 按点位列表查询时以解析后的坐标为 key，写法不同但数值相同的区域命中
+        assertTrue(cache.pointIsContainedRegionSequence(regionLocationDTOList, "113.3", "34.5"));
+        List<LocationDTO> rewritten = new ArrayList<>();
+        rewritten.add(new LocationDTO("113.10", "34.50"));
+        rewritten.add(new LocationDTO("113.5", "34.9"));
+        rewritten.add(new LocationDTO("113.8", "34.1"));
+        assertTrue(cache.pointIsContainedRegionSequence(rewritten, "113.3", "34.5"));
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+        assertFalse(cache.pointIsContainedRegionSequence(shifted, "113.3", "34.5"));
+        assertEquals(5, cache.getMissCount());
+    }
+
+    @Test
+    void calculateDistance() {
+        GeoQueryCache cache = new GeoQueryCache();
+        LocationDTO start = new LocationDTO("116.397", "39.909");
+        LocationDTO end = new LocationDTO("121.473", "31.23");
+        String expected = GeoUtil.calculateDistance(start, end);
+        assertEquals(expected, cache.calculateDistance(start, end));
+        assertEquals(expected, cache.calculateDistance(new LocationDTO("116.397", "39.909"), new LocationDTO("121.473", "31.23")));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+
+        // 起止点交换是不同的键
+        assertEquals(GeoUtil.calculateDistance(end, start), cache.calculateDistance(end, start));
+        assertEquals(2, cache.getMissCount());
+        // 终点不同不命中
+        assertEquals(GeoUtil.calculateDistance(start, new LocationDTO("121.474", "31.23")), cache.calculateDistance(start, new LocationDTO("121.474", "31.23")));
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0.25, cache.getHitRate(), 1e-9);
+
+        // 清空后重新计算
+        cache.invalidateAll();
+        assertEquals(expected, cache.calculateDistance(start, end));
+        assertEquals(4, cache.getMissCount());
+    }
+
+    private static RoundnessDTO roundness(String lng, String lat, String radius) {
+        RoundnessDTO roundnessDTO = new RoundnessDTO();
+        roundnessDTO.setCenterPoint(new LocationDTO(lng, lat));
+        roundnessDTO.setRadius(radius);
+        return roundnessDTO;
+    }
+
+}
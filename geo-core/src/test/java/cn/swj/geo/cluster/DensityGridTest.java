@@ -0,0 +1,96 @@
+package cn.swj.geo.cluster;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 14:40
+ * @Description: DensityGrid 测试
+ * @Version 1.0
+ */
+class DensityGridTest {
+
+    @Test
+    void add() {
+        Random random = new Random(11);
+        int size = 300000;
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            lngs[i] = 113 + random.nextDouble();
+            lats[i] = 34 + random.nextDouble();
+            values[i] = 2;
+        }
+
+        DensityGrid parallel = new DensityGrid(113, 34, 114, 35, 10, 10, null);
+        parallel.add(lngs, lats, values, 0, size / 2, true);
+        parallel.add(lngs, lats, values, size / 2, size, true);
+
+        DensityGrid sequential = new DensityGrid(113, 34, 114, 35, 10, 10, null);
+        sequential.add(lngs, lats, 0, size, false);
+
+        assertArrayEquals(sequential.getCounts(), parallel.getCounts());
+        assertEquals(size, parallel.getTotal());
+        assertEquals(parallel.getCount(3, 4) * 2, parallel.getWeight(3, 4), 1e-9);
+        assertEquals(0, sequential.getWeight(3, 4));
+    }
+
+    @Test
+    void addStream() {
+        Random random = new Random(17);
+        int size = 200000;
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        for (int i = 0; i < size; i++) {
+            lngs[i] = 113 + random.nextDouble();
+            lats[i] = 34 + random.nextDouble();
+        }
+
+        DensityGrid sequential = new DensityGrid(113, 34, 114, 35, 64, 64, null);
+        sequential.add(lngs, lats, 0, size, false);
+
+        // 流中夹带空点位，局部网格跨批累加后只合并一次，结果与顺序统计一致
+        DensityGrid streamed = new DensityGrid(113, 34, 114, 35, 64, 64, null);
+        streamed.add(IntStream.range(0, size + 100)
+                .mapToObj(i -> i < size ? new LocationDTO(String.valueOf(lngs[i]), String.valueOf(lats[i])) : null));
+        streamed.add(IntStream.range(0, size)
+                .mapToObj(i -> new LocationDTO(String.valueOf(lngs[i]), String.valueOf(lats[i]))).parallel());
+
+        long[] expected = sequential.getCounts();
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] *= 2;
+        }
+        assertArrayEquals(expected, streamed.getCounts());
+        assertEquals(size * 2L, streamed.getTotal());
+    }
+
+    @Test
+    void clip() {
+        List<LocationDTO> regionLocationDTOList = new ArrayList<>();
+        regionLocationDTOList.add(new LocationDTO("113", "34"));
+        regionLocationDTOList.add(new LocationDTO("114", "34"));
+        regionLocationDTOList.add(new LocationDTO("114", "35"));
+        CompiledRegion compiledRegion = GeoUtil.compileRegionSequence(regionLocationDTOList);
+
+        DensityGrid densityGrid = DensityGrid.of(compiledRegion, 4, 4);
+        Random random = new Random(3);
+        densityGrid.add(IntStream.range(0, 100000).mapToObj(i -> new LocationDTO(String.valueOf(113 + random.nextDouble()), String.valueOf(34 + random.nextDouble()))));
+
+        // 三角形以外的格子没有点位
+        assertEquals(0, densityGrid.getCount(0, 3));
+        assertTrue(densityGrid.getCount(3, 0) > 0);
+        assertEquals(50000, densityGrid.getTotal(), 1000);
+    }
+
+}
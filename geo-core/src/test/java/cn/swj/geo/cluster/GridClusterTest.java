@@ -0,0 +1,60 @@
+package cn.swj.geo.cluster;
+
+import cn.swj.geo.dto.ClusterDTO;
+import cn.swj.geo.dto.LocationDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 12:10
+ * @Description: GridCluster 测试
+ * @Version 1.0
+ */
+class GridClusterTest {
+
+    @Test
+    void clusterPoints() {
+        // 两团相距较远的点位
+        Random random = new Random(7);
+        List<LocationDTO> locationDTOList = new ArrayList<>();
+        for (int i = 0; i < 30000; i++) {
+            double lng = (i % 2 == 0 ? 113.0 : 114.0) + random.nextDouble() * 0.01;
+            double lat = 34.0 + random.nextDouble() * 0.01;
+            locationDTOList.add(new LocationDTO(String.valueOf(lng), String.valueOf(lat)));
+        }
+
+        List<ClusterDTO<LocationDTO>> clusters = GridCluster.clusterPoints(null, locationDTOList, 0.05, 3);
+        assertEquals(2, clusters.size());
+        assertEquals(15000, clusters.get(0).getCount());
+        assertEquals(15000, clusters.get(1).getCount());
+        assertEquals(3, clusters.get(0).getSamples().size());
+        for (ClusterDTO<LocationDTO> cluster : clusters) {
+            assertEquals(34.005, cluster.getCenterLat(), 1e-3);
+        }
+
+        // 区域过滤
+        List<ClusterDTO<LocationDTO>> filtered = GridCluster.clusterPoints((lng, lat) -> lng < 113.5, locationDTOList, 0.05, 0);
+        assertEquals(1, filtered.size());
+        assertEquals(113.005, filtered.get(0).getCenterLng(), 1e-3);
+        assertTrue(filtered.get(0).getSamples().isEmpty());
+    }
+
+    @Test
+    void mergeNeighbours() {
+        // 跨网格边界的点位合并为一个聚合点
+        List<LocationDTO> locationDTOList = new ArrayList<>();
+        locationDTOList.add(new LocationDTO("113.099", "34.01"));
+        locationDTOList.add(new LocationDTO("113.101", "34.01"));
+        List<ClusterDTO<LocationDTO>> clusters = GridCluster.clusterPoints(null, locationDTOList, 0.1, 5);
+        assertEquals(1, clusters.size());
+        assertEquals(2, clusters.get(0).getCount());
+        assertEquals(113.1, clusters.get(0).getCenterLng(), 1e-9);
+    }
+
+}
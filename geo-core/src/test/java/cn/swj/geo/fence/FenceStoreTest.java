@@ -0,0 +1,96 @@
+package cn.swj.geo.fence;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 18:50
+ * @Description: FenceStore 测试
+ * @Version 1.0
+ */
+class FenceStoreTest {
+
+    @Test
+    void reload(@TempDir Path directory) throws Exception {
+        write(directory.resolve("a.wkt"), "POLYGON ((113 34, 114 34, 114 35, 113 35, 113 34))");
+        write(directory.resolve("b.json"), "[{\"lng\":\"115\",\"lat\":\"34\"},{\"lng\":\"116\",\"lat\":\"34\"},{\"lng\":\"116\",\"lat\":\"35\"}]");
+        write(directory.resolve("c.geojson"), "{\"type\":\"FeatureCollection\",\"features\":[{\"type\":\"Feature\",\"properties\":{\"id\":\"zone\"},"
+                + "\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[[[120,30],[121,30],[121,31],[120,31],[120,30]]]}}]}");
+
+        try (FenceStore fenceStore = new FenceStore(directory)) {
+            FenceSnapshot snapshot = fenceStore.snapshot();
+            assertEquals(3, snapshot.size());
+            assertTrue(snapshot.pointIsContainedFence("a", 113.5, 34.5));
+            assertTrue(snapshot.pointIsContainedFence("b", 115.9, 34.1));
+            assertEquals("zone", snapshot.fencesContaining(120.5, 30.5).get(0));
+
+            // 后台重新加载后替换快照，旧快照不受影响
+            fenceStore.start();
+            write(directory.resolve("a.wkt"), "POLYGON ((100 20, 101 20, 101 21, 100 21, 100 20))");
+            long deadline = System.currentTimeMillis() + 10000;
+            while (fenceStore.snapshot().getVersion() == snapshot.getVersion() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            FenceSnapshot newSnapshot = fenceStore.snapshot();
+            assertTrue(newSnapshot.getVersion() > snapshot.getVersion());
+            assertFalse(newSnapshot.pointIsContainedFence("a", 113.5, 34.5));
+            assertTrue(snapshot.pointIsContainedFence("a", 113.5, 34.5));
+
+            // 解析失败时保留旧快照
+            write(directory.resolve("d.wkt"), "POLYGON ((");
+            assertThrows(Exception.class, fenceStore::reload);
+            assertSame(newSnapshot.getFence("a"), fenceStore.getFence("a"));
+        }
+    }
+
+    @Test
+    void fencesContaining() {
+        // 20 x 20 个互相重叠的方形围栏，按外包框筛选后的结果与逐个判断一致
+        Map<String, CompiledRegion> fenceMap = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 20; j++) {
+                List<LocationDTO> regionLocationDTOList = new ArrayList<>();
+                regionLocationDTOList.add(new LocationDTO(String.valueOf(113 + i * 0.05), String.valueOf(34 + j * 0.05)));
+                regionLocationDTOList.add(new LocationDTO(String.valueOf(113.1 + i * 0.05), String.valueOf(34 + j * 0.05)));
+                regionLocationDTOList.add(new LocationDTO(String.valueOf(113.1 + i * 0.05), String.valueOf(34.1 + j * 0.05)));
+                regionLocationDTOList.add(new LocationDTO(String.valueOf(113 + i * 0.05), String.valueOf(34.1 + j * 0.05)));
+                fenceMap.put(i + "-" + j, GeoUtil.compileRegionSequence(regionLocationDTOList));
+            }
+        }
+        FenceSnapshot snapshot = new FenceSnapshot(1, System.currentTimeMillis(), fenceMap);
+
+        Random random = new Random(13);
+        for (int k = 0; k < 1000; k++) {
+            double lng = 112.9 + random.nextDouble() * 1.2;
+            double lat = 33.9 + random.nextDouble() * 1.2;
+            List<String> expected = new ArrayList<>();
+            for (String fenceId : snapshot.getFenceIds()) {
+                if (snapshot.pointIsContainedFence(fenceId, lng, lat)) {
+                    expected.add(fenceId);
+                }
+            }
+            assertEquals(expected, snapshot.fencesContaining(lng, lat));
+        }
+        assertTrue(new FenceSnapshot(2, System.currentTimeMillis(), new HashMap<>()).fencesContaining(113, 34).isEmpty());
+    }
+
+    private static void write(Path file, String text) throws Exception {
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
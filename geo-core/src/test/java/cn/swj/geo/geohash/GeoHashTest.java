@@ -0,0 +1,165 @@
+package cn.swj.geo.geohash;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.region.CompiledCircle;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.route.CompiledRoute;
+import cn.swj.geo.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 10:30
+ * @Description: geohash 编解码与覆盖格子
+ * @Version 1.0
+ */
+class GeoHashTest {
+
+    @Test
+    void encodeDecode() {
+        // 公认的参考值
+        assertEquals("ezs42", GeoHash.encodeBase32(-5.6, 42.6, 5));
+        assertEquals(bisect(116.3912, 39.9067, 8), GeoHash.encodeBase32(116.3912, 39.9067, 8));
+        assertEquals(GeoHash.encode(116.3912, 39.9067, 40), GeoHash.fromBase32(bisect(116.3912, 39.9067, 8)));
+
+        Random random = new Random(7);
+        int size = 1000;
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        for (int i = 0; i < size; i++) {
+            lngs[i] = random.nextDouble() * 360 - 180;
+            lats[i] = random.nextDouble() * 180 - 90;
+        }
+        long[] hashes = new long[size];
+        String[] strings = new String[size];
+        GeoHash.encode(lngs, lats, size, 60, hashes);
+        GeoHash.encodeBase32(lngs, lats, size, 12, strings);
+        double[] centerLngs = new double[size];
+        double[] centerLats = new double[size];
+        GeoHash.decode(hashes, size, 60, centerLngs, centerLats);
+        for (int i = 0; i < size; i++) {
+            assertEquals(bisect(lngs[i], lats[i], 12), strings[i]);
+            assertEquals(hashes[i], GeoHash.fromBase32(strings[i]));
+            double[] bounds = GeoHash.bounds(hashes[i], 60);
+            assertTrue(lngs[i] >= bounds[0] && lngs[i] <= bounds[2] && lats[i] >= bounds[1] && lats[i] <= bounds[3]);
+            assertEquals(lngs[i], centerLngs[i], 1e-6);
+            assertEquals(lats[i], centerLats[i], 1e-6);
+            // 奇数位数同样逐位一致
+            assertEquals(hashes[i] >>> 23, GeoHash.encode(lngs[i], lats[i], 37));
+        }
+    }
+
+    @Test
+    void continentCoveringWithinMaxCells() {
+        // 半径 4000 公里，精度 1 下外包框跨越 6 个格子，以前 maxCells 为 4 时结果会超过上限
+        RoundnessDTO roundnessDTO = new RoundnessDTO();
+        roundnessDTO.setCenterPoint(new LocationDTO("100", "40"));
+        roundnessDTO.setRadius("4000000");
+        CompiledCircle circle = GeoUtil.compileRoundRegion(roundnessDTO);
+        for (int maxCells : new int[]{32, 64, 1024}) {
+            GeoHashCovering covering = GeoHashCovering.of(circle, 6, maxCells);
+            assertTrue(covering.size() <= maxCells, maxCells + " " + covering.size());
+            Random random = new Random(43);
+            for (int i = 0; i < 5000; i++) {
+                double lng = 100 + (random.nextDouble() - 0.5) * 100;
+                double lat = 40 + (random.nextDouble() - 0.5) * 80;
+                if (circle.contains(lng, lat)) {
+                    assertTrue(covering.covers(GeoHash.encode(lng, lat, 30), 6));
+                }
+            }
+        }
+        assertThrows(RuntimeException.class, () -> GeoHashCovering.of(circle, 6, 16));
+    }
+
+    @Test
+    void coveringNeverMissesMatches() {
+        RoundnessDTO roundnessDTO = new RoundnessDTO();
+        roundnessDTO.setCenterPoint(new LocationDTO("116.4", "39.9"));
+        roundnessDTO.setRadius("3000");
+        CompiledCircle circle = GeoUtil.compileRoundRegion(roundnessDTO);
+        CompiledRegion region = GeoUtil.compileRegionSequence(Arrays.asList(new LocationDTO("116.30", "39.85"),
+                new LocationDTO("116.45", "39.82"), new LocationDTO("116.50", "39.95"), new LocationDTO("116.38", "39.92"),
+                new LocationDTO("116.32", "39.98")));
+        List<LocationDTO> curve = Arrays.asList(new LocationDTO("116.30", "39.80"), new LocationDTO("116.35", "39.86"),
+                new LocationDTO("116.42", "39.88"), new LocationDTO("116.48", "39.95"));
+
+        GeoHashCovering circleCovering = GeoHashCovering.of(roundnessDTO, 7, 256);
+        GeoHashCovering regionCovering = GeoHashCovering.of(region, 7, 256);
+        GeoHashCovering corridorCovering = GeoHashCovering.ofCorridor(GeoUtil.compileRoute(curve), 500, 7, 256);
+        assertTrue(circleCovering.size() <= 256 && regionCovering.size() <= 256 && corridorCovering.size() <= 256);
+
+        List<LocationDTO> points = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20000; i++) {
+            points.add(new LocationDTO(String.valueOf(116.25 + random.nextDouble() * 0.3), String.valueOf(39.75 + random.nextDouble() * 0.3)));
+        }
+        long[] ranges = circleCovering.toRanges(9);
+        int candidates = 0;
+        for (LocationDTO point : points) {
+            double lng = Double.parseDouble(point.getLng());
+            double lat = Double.parseDouble(point.getLat());
+            long hash = GeoHash.encode(lng, lat, 45);
+            if (circle.contains(lng, lat)) {
+                assertTrue(circleCovering.covers(hash, 9));
+                assertTrue(inRanges(ranges, hash));
+            }
+            if (region.contains(lng, lat)) {
+                assertTrue(regionCovering.covers(hash, 9));
+            }
+            if (circleCovering.covers(hash, 9)) {
+                candidates++;
+            }
+        }
+        for (LocationDTO point : GeoUtil.calculateShortestDistanceFromCurve4Points(curve, points, "500")) {
+            assertTrue(corridorCovering.covers(GeoHash.encode(Double.parseDouble(point.getLng()), Double.parseDouble(point.getLat()), 45), 9));
+        }
+        // 粗筛确实排除了大部分点位
+        assertTrue(candidates < points.size() / 4);
+    }
+
+    // 逐位二分的标准算法
+    private static String bisect(double lng, double lat, int precision) {
+        String base32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+        double[] lngRange = {-180, 180};
+        double[] latRange = {-90, 90};
+        StringBuilder geohash = new StringBuilder();
+        int value = 0;
+        for (int bit = 0; bit < precision * 5; bit++) {
+            double[] range = bit % 2 == 0 ? lngRange : latRange;
+            double v = bit % 2 == 0 ? lng : lat;
+            double mid = (range[0] + range[1]) / 2;
+            value <<= 1;
+            if (v >= mid) {
+                value |= 1;
+                range[0] = mid;
+            } else {
+                range[1] = mid;
+            }
+            if (bit % 5 == 4) {
+                geohash.append(base32.charAt(value));
+                value = 0;
+            }
+        }
+        return geohash.toString();
+    }
+
+    private static boolean inRanges(long[] ranges, long hash) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (hash >= ranges[i] && hash < ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
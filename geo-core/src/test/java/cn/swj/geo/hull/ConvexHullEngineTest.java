@@ -0,0 +1,95 @@
+package cn.swj.geo.hull;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.algorithm.ConvexHull;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Author swj
+ * @Date 2026/10/24 10:30
+ * @Description: 并行、增量凸包的顶点与 JTS ConvexHull 一致
+ * @Version 1.0
+ */
+class ConvexHullEngineTest {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+    @Test
+    void sameVerticesAsJts() {
+        Random random = new Random(49);
+        int size = 200_000;
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        for (int i = 0; i < size; i++) {
+            // 圆盘内的点位，凸包顶点较多
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double radius = Math.sqrt(random.nextDouble()) * 0.1;
+            lngs[i] = 116.4 + radius * Math.cos(angle);
+            lats[i] = 39.9 + radius * Math.sin(angle);
+        }
+        lngs[5] = Double.NaN;
+
+        IncrementalHull parallel = ConvexHullEngine.hull(lngs, lats, size, true);
+        IncrementalHull sequential = ConvexHullEngine.hull(lngs, lats, size, false);
+        Set<Coordinate> expected = vertices(jtsHull(lngs, lats, size));
+        assertEquals(expected, vertices(parallel.toPolygon(GEOMETRY_FACTORY)));
+        assertEquals(expected, vertices(sequential.toPolygon(GEOMETRY_FACTORY)));
+        assertTrue(parallel.toPolygon(GEOMETRY_FACTORY).isValid());
+
+        // 增量新增：凸包内的点位不改变凸包，凸包外的点位成为顶点
+        assertFalse(parallel.add(116.4, 39.9));
+        assertTrue(parallel.contains(116.4, 39.9));
+        assertFalse(parallel.contains(116.6, 39.9));
+        assertTrue(parallel.add(116.6, 39.9));
+        assertTrue(parallel.contains(116.55, 39.9));
+        double[] moreLngs = Arrays.copyOf(lngs, size + 1);
+        double[] moreLats = Arrays.copyOf(lats, size + 1);
+        moreLngs[size] = 116.6;
+        moreLats[size] = 39.9;
+        assertEquals(vertices(jtsHull(moreLngs, moreLats, size + 1)), vertices(parallel.toPolygon(GEOMETRY_FACTORY)));
+    }
+
+    @Test
+    void degenerate() {
+        // 坐标取二进制可精确表示的值，共线判断没有舍入误差
+        IncrementalHull hull = new IncrementalHull();
+        hull.add(116.0, 39.0);
+        hull.add(116.5, 39.5);
+        hull.add(117.0, 40.0);
+        assertEquals(0, hull.getCoordinates().length);
+        hull.add(117.0, 39.0);
+        assertEquals(3, hull.getVertexCount());
+        // 共线的点位不是顶点
+        hull.add(116.5, 39.0);
+        assertEquals(3, hull.getVertexCount());
+    }
+
+    private static Polygon jtsHull(double[] lngs, double[] lats, int size) {
+        Coordinate[] coordinates = new Coordinate[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (!Double.isNaN(lngs[i])) {
+                coordinates[n++] = new Coordinate(lngs[i], lats[i]);
+            }
+        }
+        Geometry hull = new ConvexHull(Arrays.copyOf(coordinates, n), GEOMETRY_FACTORY).getConvexHull();
+        return (Polygon) hull;
+    }
+
+    private static Set<Coordinate> vertices(Polygon polygon) {
+        return new HashSet<>(Arrays.asList(polygon.getExteriorRing().getCoordinates()));
+    }
+
+}
@@ -0,0 +1,121 @@
+package cn.swj.geo.io;
+
+import cn.swj.geo.store.PointStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.WKBWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 11:00
+ * @Description: GeoJSON / WKT / WKB 流式导入测试
+ * @Version 1.0
+ */
+class GeoStreamReaderTest {
+
+    private static final String FEATURE_COLLECTION = "{\"type\":\"FeatureCollection\",\"features\":["
+            + "{\"properties\":{\"poiId\":7,\"name\":\"a\"},\"geometry\":{\"coordinates\":[113.5,34.5],\"type\":\"Point\"},\"type\":\"Feature\"},"
+            + "{\"type\":\"Feature\",\"id\":\"fence\",\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[[[113,34],[114,34],[114,35],[113,35],[113,34]]]},\"properties\":null},"
+            + "{\"type\":\"Feature\",\"id\":9,\"geometry\":{\"type\":\"Point\",\"coordinates\":[116.1,39.9,50]}}]}";
+
+    @Test
+    void geoJson() throws Exception {
+        GeoJsonStreamReader reader = new GeoJsonStreamReader();
+        List<GeoFeature> features = new ArrayList<>();
+        long count = reader.readFeatures(new ByteArrayInputStream(FEATURE_COLLECTION.getBytes(StandardCharsets.UTF_8)), features::add);
+        assertEquals(3, count);
+        assertEquals("Point", features.get(0).getGeometry().getGeometryType());
+        assertEquals("a", features.get(0).getProperties().get("name"));
+        assertEquals("fence", features.get(1).getId());
+        assertEquals(1.0, features.get(1).getGeometry().getArea(), 1e-9);
+
+        PointStore pointStore = PointStore.allocateDirect(16, false);
+        count = reader.readPoints(new ByteArrayInputStream(FEATURE_COLLECTION.getBytes(StandardCharsets.UTF_8)), "poiId", pointStore::add);
+        assertEquals(2, count);
+        assertEquals(7, pointStore.getId(0));
+        assertEquals(34.5, pointStore.getLat(0));
+        assertEquals(9, pointStore.getId(1));
+        assertEquals(116.1, pointStore.getLng(1));
+    }
+
+    @Test
+    void emptyCoordinates() throws Exception {
+        String json = "{\"type\":\"FeatureCollection\",\"features\":["
+                + "{\"type\":\"Feature\",\"properties\":{\"poiId\":1},\"geometry\":{\"type\":\"Point\",\"coordinates\":[]}},"
+                + "{\"type\":\"Feature\",\"properties\":{\"poiId\":2},\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[]}},"
+                + "{\"type\":\"Feature\",\"properties\":{\"poiId\":3},\"geometry\":{\"type\":\"Point\",\"coordinates\":[113.5,34.5]}}]}";
+        GeoJsonStreamReader reader = new GeoJsonStreamReader();
+
+        // 空坐标的要素跳过，后面的要素照常读取
+        List<Long> ids = new ArrayList<>();
+        assertEquals(1, reader.readPoints(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "poiId", (id, lng, lat) -> ids.add(id)));
+        assertEquals(3L, ids.get(0));
+
+        List<GeoFeature> features = new ArrayList<>();
+        assertEquals(3, reader.readFeatures(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), features::add));
+        assertTrue(features.get(0).getGeometry().isEmpty());
+        assertEquals("Point", features.get(0).getGeometry().getGeometryType());
+        assertTrue(features.get(1).getGeometry().isEmpty());
+        assertFalse(features.get(2).getGeometry().isEmpty());
+    }
+
+    @Test
+    void geoJsonLines(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("poi.ndjson");
+        Files.write(file, IntStream.range(0, 5000)
+                .mapToObj(i -> "{\"type\":\"Feature\",\"properties\":{\"poiId\":" + i + "},\"geometry\":{\"type\":\"Point\",\"coordinates\":[" + (113 + i * 1e-4) + ",34]}}")
+                .collect(Collectors.toList()), StandardCharsets.UTF_8);
+
+        AtomicLong idSum = new AtomicLong();
+        long count = new GeoJsonStreamReader().readPointLines(file, "poiId", true, (id, lng, lat) -> idSum.addAndGet(id));
+        assertEquals(5000, count);
+        assertEquals(4999L * 5000 / 2, idSum.get());
+
+        AtomicLong featureCount = new AtomicLong();
+        assertEquals(5000, new GeoJsonStreamReader().readFeatureLines(file, true, feature -> featureCount.incrementAndGet()));
+        assertEquals(5000, featureCount.get());
+    }
+
+    @Test
+    void wktAndWkb() throws Exception {
+        List<Geometry> geometries = new ArrayList<>();
+        new WktStreamReader().read(new StringReader("POINT (113 34)\n\nLINESTRING (113 34, 114 35)\n"), geometries::add);
+        assertEquals(2, geometries.size());
+
+        GeometryFactory geometryFactory = new GeometryFactory();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WKBWriter writer = new WKBWriter();
+        for (int i = 0; i < 10; i++) {
+            out.write(writer.write(geometryFactory.createPoint(new Coordinate(113 + i, 34))));
+        }
+        out.write(writer.write(geometries.get(1)));
+
+        List<Geometry> wkbGeometries = new ArrayList<>();
+        assertEquals(11, new WkbStreamReader().read(new ByteArrayInputStream(out.toByteArray()), wkbGeometries::add));
+        assertEquals(geometries.get(1), wkbGeometries.get(10));
+
+        ByteArrayOutputStream points = new ByteArrayOutputStream();
+        points.write(out.toByteArray(), 0, 21 * 10);
+        double[] lngs = new double[10];
+        new WkbStreamReader().readPoints(new ByteArrayInputStream(points.toByteArray()), (id, lng, lat) -> lngs[(int) id] = lng);
+        assertEquals(122, lngs[9]);
+    }
+
+}
@@ -0,0 +1,82 @@
+package cn.swj.geo.jfr;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.util.GeoUtil;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 14:40
+ * @Description: 开启录制后 GeoUtil 的调用产生对应的事件和字段
+ * @Version 1.0
+ */
+class GeoEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordEvents() throws Exception {
+        List<LocationDTO> region = Arrays.asList(new LocationDTO("116.0", "39.0"), new LocationDTO("117.0", "39.0"),
+                new LocationDTO("117.0", "40.0"), new LocationDTO("116.0", "40.0"));
+        List<LocationDTO> points = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            points.add(new LocationDTO(String.valueOf(116.05 + i * 0.2), "39.5"));
+        }
+        RoundnessDTO roundnessDTO = new RoundnessDTO();
+        roundnessDTO.setCenterPoint(new LocationDTO("116.5", "39.5"));
+        roundnessDTO.setRadius("1000");
+
+        assertTrue(GeoEvents.isAvailable());
+        Path file = tempDir.resolve("geo.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RegionBuildEvent.class);
+            recording.enable(HullEvent.class);
+            recording.enable(ContainmentBatchEvent.class);
+            recording.enable(CoordinateTransformEvent.class);
+            recording.start();
+            GeoUtil.pointListIsContainedRegion(region, points);
+            GeoUtil.pointListIsContainedRoundRegion(roundnessDTO, points);
+            GeoUtil.transformWGS84ToBD09(116.5, 39.5);
+            // 未开启的事件不写入
+            GeoUtil.convert2LocationDTOList(points);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("cn.swj.geo."))
+                .collect(Collectors.toList());
+        List<RecordedEvent> batches = byName(events, "cn.swj.geo.ContainmentBatch");
+        assertEquals(2, batches.size());
+        RecordedEvent region0 = batches.stream().filter(event -> "region".equals(event.getString("operation"))).findFirst().get();
+        assertEquals(10, region0.getInt("pointCount"));
+        assertEquals(5, region0.getInt("matchCount"));
+        assertEquals(5, region0.getInt("vertexCount"));
+        assertEquals(1, byName(events, "cn.swj.geo.Hull").size());
+        assertEquals(1, byName(events, "cn.swj.geo.RegionBuild").size());
+        RecordedEvent transform = byName(events, "cn.swj.geo.CoordinateTransform").get(0);
+        assertEquals("WGS84", transform.getString("source"));
+        assertEquals("BD09", transform.getString("target"));
+        assertTrue(byName(events, "cn.swj.geo.ObjectMapping").isEmpty());
+    }
+
+    private static List<RecordedEvent> byName(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,80 @@
+package cn.swj.geo.join;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.util.GeodesicUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 18:30
+ * @Description: 网格自连接的结果与两两比较一致
+ * @Version 1.0
+ */
+class ProximityJoinTest {
+
+    @Test
+    void sameResultAsNestedLoop() {
+        Random random = new Random(47);
+        int size = 4_000;
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        for (int i = 0; i < size; i++) {
+            // 一半点位集中在几个热点附近，制造稠密格子
+            if (i % 2 == 0) {
+                lngs[i] = 116.40 + (random.nextDouble() - 0.5) * 0.004 + (i % 3) * 0.01;
+                lats[i] = 39.90 + (random.nextDouble() - 0.5) * 0.004;
+            } else {
+                lngs[i] = 116.2 + random.nextDouble() * 0.4;
+                lats[i] = 39.8 + random.nextDouble() * 0.2;
+            }
+        }
+        lngs[10] = Double.NaN;
+
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                // 纬度差超过 0.001 度（约 110 米）的不可能在 50 米内
+                if (i != 10 && j != 10 && Math.abs(lats[i] - lats[j]) < 0.001 && GeodesicUtil.distance(lngs[i], lats[i], lngs[j], lats[j]) <= 50) {
+                    expected.add((long) i * size + j);
+                }
+            }
+        }
+        assertTrue(expected.size() > 1000);
+
+        Set<Long> sequential = new HashSet<>();
+        long count = ProximityJoin.selfJoin(lngs, lats, size, 50, false, (first, second, distance) -> {
+            assertTrue(first < second && distance <= 50);
+            sequential.add((long) first * size + second);
+        });
+        assertEquals(expected, sequential);
+        assertEquals(expected.size(), count);
+
+        Set<Long> parallel = ConcurrentHashMap.newKeySet();
+        assertEquals(expected.size(), ProximityJoin.selfJoin(lngs, lats, size, 50, true, (first, second, distance) -> parallel.add((long) first * size + second)));
+        assertEquals(expected, parallel);
+    }
+
+    @Test
+    void locationList() {
+        List<LocationDTO> locationDTOList = new ArrayList<>();
+        locationDTOList.add(new LocationDTO("116.40000", "39.90000"));
+        locationDTOList.add(new LocationDTO("116.40030", "39.90000"));
+        locationDTOList.add(null);
+        locationDTOList.add(new LocationDTO("116.40100", "39.90000"));
+        List<int[]> pairs = new ArrayList<>();
+        assertEquals(1, ProximityJoin.selfJoin(locationDTOList, 30, false, (first, second, distance) -> pairs.add(new int[]{first, second})));
+        assertEquals(0, pairs.get(0)[0]);
+        assertEquals(1, pairs.get(0)[1]);
+    }
+
+}
@@ -0,0 +1,109 @@
+package cn.swj.geo.overlay;
+
+import cn.swj.geo.dto.OverlayDTO;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.util.GeodesicUtil;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Author swj
+ * @Date 2026/10/24 15:00
+ * @Description: 批量叠加的面积与逐个精确求交一致，完全覆盖和不相交的组合走捷径
+ * @Version 1.0
+ */
+class FenceOverlayTest {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+    @Test
+    void area() {
+        // 0.01 度见方的小方格，面积约等于东西边长乘以南北边长
+        double width = GeodesicUtil.distance(116.40, 39.905, 116.41, 39.905);
+        double height = GeodesicUtil.distance(116.40, 39.90, 116.40, 39.91);
+        double area = GeodesicUtil.area(new double[]{116.40, 116.41, 116.41, 116.40}, new double[]{39.90, 39.90, 39.91, 39.91}, 0, 4);
+        assertEquals(width * height, area, width * height * 1e-4);
+        assertEquals(area, FenceOverlay.area(box(116.40, 39.90, 116.41, 39.91)), 1e-6);
+    }
+
+    @Test
+    void fenceAndParcels() {
+        CompiledRegion fence = new CompiledRegion(GEOMETRY_FACTORY.createPolygon(new Coordinate[]{
+                new Coordinate(116.30, 39.80), new Coordinate(116.50, 39.82), new Coordinate(116.46, 40.00),
+                new Coordinate(116.32, 39.96), new Coordinate(116.30, 39.80)}));
+        // 覆盖 [116.2, 116.6] x [39.7, 40.1] 的地块网格，再加一个覆盖整个围栏的大地块
+        List<Geometry> parcels = new ArrayList<>();
+        for (int column = 0; column < 40; column++) {
+            for (int row = 0; row < 40; row++) {
+                double lng = 116.2 + column * 0.01;
+                double lat = 39.7 + row * 0.01;
+                parcels.add(box(lng, lat, lng + 0.01, lat + 0.01));
+            }
+        }
+        parcels.add(box(116.0, 39.5, 117.0, 40.5));
+
+        List<OverlayDTO> resList = FenceOverlay.overlay(fence, parcels, true);
+        assertEquals(resList, FenceOverlay.overlay(fence, parcels, false));
+
+        double fenceArea = FenceOverlay.area(fence.getGeometry());
+        double gridSum = 0;
+        int covered = 0;
+        for (OverlayDTO overlayDTO : resList) {
+            Geometry parcel = parcels.get(overlayDTO.getTargetIndex());
+            double expected = FenceOverlay.area(fence.getGeometry().intersection(parcel));
+            assertEquals(expected, overlayDTO.getIntersectionArea(), expected * 1e-9);
+            assertEquals(overlayDTO.getIntersectionArea() / overlayDTO.getTargetArea(), overlayDTO.getOverlapRatio(), 1e-12);
+            if (overlayDTO.getTargetIndex() < 1600) {
+                gridSum += overlayDTO.getIntersectionArea();
+            }
+            if (OverlayDTO.RELATION_COVERED.equals(overlayDTO.getRelation())) {
+                covered++;
+            }
+        }
+        assertTrue(covered > 100);
+        // 切开后的长边在等积投影下不再是同一条直线，各块面积之和与整体面积有微小差异
+        assertEquals(fenceArea, gridSum, fenceArea * 1e-3);
+        OverlayDTO last = resList.get(resList.size() - 1);
+        assertEquals(1600, last.getTargetIndex());
+        assertEquals(OverlayDTO.RELATION_FENCE_COVERED, last.getRelation());
+        assertEquals(1.0, last.getFenceRatio(), 1e-12);
+    }
+
+    @Test
+    void fenceSets() {
+        Map<String, CompiledRegion> left = new LinkedHashMap<>();
+        left.put("a", new CompiledRegion(box(116.30, 39.80, 116.40, 39.90)));
+        left.put("b", new CompiledRegion(box(116.50, 39.80, 116.60, 39.90)));
+        Map<String, CompiledRegion> right = new LinkedHashMap<>();
+        right.put("x", new CompiledRegion(box(116.35, 39.85, 116.55, 39.95)));
+        right.put("y", new CompiledRegion(box(116.40, 39.80, 116.45, 39.90)));
+        right.put("z", new CompiledRegion(box(117.00, 39.00, 117.10, 39.10)));
+
+        List<OverlayDTO> resList = FenceOverlay.overlay(left, right, true);
+        // a 与 y 只有边界接触，不计入
+        assertEquals(2, resList.size());
+        assertEquals("a", resList.get(0).getFenceId());
+        assertEquals("x", resList.get(0).getTargetId());
+        assertEquals("b", resList.get(1).getFenceId());
+        assertEquals("x", resList.get(1).getTargetId());
+        assertEquals(FenceOverlay.area(box(116.35, 39.85, 116.40, 39.90)), resList.get(0).getIntersectionArea(), 1e-3);
+        assertEquals(0.25, resList.get(0).getFenceRatio(), 1e-3);
+    }
+
+    private static Polygon box(double minLng, double minLat, double maxLng, double maxLat) {
+        return GEOMETRY_FACTORY.createPolygon(new Coordinate[]{new Coordinate(minLng, minLat), new Coordinate(maxLng, minLat),
+                new Coordinate(maxLng, maxLat), new Coordinate(minLng, maxLat), new Coordinate(minLng, minLat)});
+    }
+
+}
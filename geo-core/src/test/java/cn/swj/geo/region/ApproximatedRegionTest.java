@@ -0,0 +1,92 @@
+package cn.swj.geo.region;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKTReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 14:30
+ * @Description: 两级区域的判断结果与原区域一致，且近似多边形顶点远少于原区域
+ * @Version 1.0
+ */
+class ApproximatedRegionTest {
+
+    @Test
+    void sameResultAsExactRegion() {
+        // 锯齿很密的近似圆形边界，模拟行政区划
+        Random random = new Random(45);
+        int vertices = 20_000;
+        List<LocationDTO> boundary = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            double radius = 0.5 + 0.05 * Math.sin(angle * 7) + 0.002 * random.nextDouble();
+            boundary.add(new LocationDTO(String.valueOf(116.4 + radius * Math.cos(angle)), String.valueOf(39.9 + radius * Math.sin(angle))));
+        }
+        ApproximatedRegion region = GeoUtil.compileApproximatedRegionSequence(boundary, 0.005);
+        CompiledRegion exact = region.getExact();
+        assertNotNull(region.getInner());
+        assertNotNull(region.getOuter());
+        assertTrue(region.getInnerSimplificationRatio() < 0.1, region.toString());
+        assertTrue(region.getOuterSimplificationRatio() < 0.1, region.toString());
+
+        int size = 10_000;
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        for (int i = 0; i < size; i++) {
+            lngs[i] = 116.4 + (random.nextDouble() - 0.5) * 1.4;
+            lats[i] = 39.9 + (random.nextDouble() - 0.5) * 1.4;
+            assertEquals(exact.contains(lngs[i], lats[i]), region.contains(lngs[i], lats[i]));
+        }
+        assertTrue(region.getExactTestFraction() < 0.1, region.toString());
+
+        boolean[] expected = new boolean[size];
+        boolean[] actual = new boolean[size];
+        exact.testBatch(lngs, lats, size, expected);
+        region.testBatch(lngs, lats, size, actual);
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected[i], actual[i]);
+        }
+        assertEquals(2L * size, region.getTestCount());
+    }
+
+    @Test
+    void narrowRegionWithoutInner() {
+        List<LocationDTO> boundary = new ArrayList<>();
+        boundary.add(new LocationDTO("116.0", "39.9"));
+        boundary.add(new LocationDTO("117.0", "39.9"));
+        boundary.add(new LocationDTO("117.0", "39.901"));
+        boundary.add(new LocationDTO("116.0", "39.901"));
+        ApproximatedRegion region = GeoUtil.compileApproximatedRegionSequence(boundary, 0.01);
+        assertEquals(null, region.getInner());
+        // 比容差还窄的区域也要有外多边形，远处的点不用精确判断
+        assertNotNull(region.getOuter());
+        assertTrue(region.getOuter().getPreparedGeometry().covers(region.getExact().getGeometry()));
+        assertTrue(region.contains(116.5, 39.9005));
+        assertTrue(!region.contains(116.5, 39.95));
+        assertEquals(0.5, region.getExactTestFraction());
+    }
+
+    @Test
+    void smallIslandCoveredByOuter() throws Exception {
+        // 主体加一个比容差还小的岛
+        Geometry geometry = new WKTReader().read("MULTIPOLYGON (((116 39, 117 39, 117 40, 116 40, 116 39)),"
+                + " ((117.5 39.5, 117.501 39.5, 117.501 39.501, 117.5 39.501, 117.5 39.5)))");
+        ApproximatedRegion region = ApproximatedRegion.of(new CompiledRegion(geometry), 0.01);
+        assertNotNull(region.getOuter());
+        assertTrue(region.getOuter().getPreparedGeometry().covers(geometry));
+        assertTrue(region.contains(117.5005, 39.5005));
+        assertTrue(!region.contains(118.5, 39.5));
+    }
+
+}
@@ -0,0 +1,104 @@
+package cn.swj.geo.region;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.algorithm.locate.SimplePointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 16:30
+ * @Description: 边索引的定位结果（含边界）与 JTS 一致，顶点多的区域自动使用边索引
+ * @Version 1.0
+ */
+class EdgeIndexLocatorTest {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+    @Test
+    void sameLocationAsJts() {
+        Random random = new Random(46);
+        Polygon polygon = GEOMETRY_FACTORY.createPolygon(ring(random, 116.4, 39.9, 0.5, 5_000),
+                new LinearRing[]{ring(random, 116.4, 39.9, 0.1, 500)});
+        EdgeIndexLocator locator = EdgeIndexLocator.of(polygon);
+        assertTrue(locator.getSlabCount() > 1);
+
+        List<Coordinate> coordinates = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            coordinates.add(new Coordinate(116.4 + (random.nextDouble() - 0.5) * 1.2, 39.9 + (random.nextDouble() - 0.5) * 1.2));
+        }
+        // 顶点、边中点和与顶点同纬度的点
+        Coordinate[] shell = polygon.getExteriorRing().getCoordinates();
+        for (int i = 0; i < shell.length - 1; i += 7) {
+            coordinates.add(shell[i]);
+            coordinates.add(new Coordinate((shell[i].x + shell[i + 1].x) / 2, (shell[i].y + shell[i + 1].y) / 2));
+            coordinates.add(new Coordinate(shell[i].x - 0.01, shell[i].y));
+        }
+        for (Coordinate coordinate : coordinates) {
+            assertEquals(SimplePointInAreaLocator.locate(coordinate, polygon), locator.locate(coordinate), coordinate.toString());
+        }
+
+        CompiledRegion compiledRegion = new CompiledRegion(polygon);
+        assertNotNull(compiledRegion.getEdgeIndexLocator());
+        for (Coordinate coordinate : coordinates) {
+            int location = SimplePointInAreaLocator.locate(coordinate, polygon);
+            if (location != Location.BOUNDARY) {
+                assertEquals(location == Location.INTERIOR, compiledRegion.contains(coordinate.x, coordinate.y));
+            }
+        }
+    }
+
+    @Test
+    void regionSequenceUsesIndex() {
+        Random random = new Random(7);
+        LinearRing ring = ring(random, 116.4, 39.9, 0.5, 2_000);
+        List<LocationDTO> region = new ArrayList<>();
+        Coordinate[] coordinates = ring.getCoordinates();
+        for (int i = 0; i < coordinates.length - 1; i++) {
+            region.add(new LocationDTO(String.valueOf(coordinates[i].x), String.valueOf(coordinates[i].y)));
+        }
+        Polygon polygon = GEOMETRY_FACTORY.createPolygon(ring);
+        List<LocationDTO> points = new ArrayList<>();
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            LocationDTO point = new LocationDTO(String.valueOf(116.4 + (random.nextDouble() - 0.5) * 1.2),
+                    String.valueOf(39.9 + (random.nextDouble() - 0.5) * 1.2));
+            points.add(point);
+            Coordinate coordinate = new Coordinate(Double.parseDouble(point.getLng()), Double.parseDouble(point.getLat()));
+            if (SimplePointInAreaLocator.locate(coordinate, polygon) == Location.INTERIOR) {
+                expected.add(point.getLng() + "," + point.getLat());
+            }
+        }
+        Set<String> actual = new HashSet<>();
+        GeoUtil.pointListIsContainedRegionSequence(region, points).forEach(item -> actual.add(item.getLng() + "," + item.getLat()));
+        assertEquals(expected, actual);
+    }
+
+    // 锯齿状的近似圆形闭合环
+    private static LinearRing ring(Random random, double centerLng, double centerLat, double radius, int vertices) {
+        Coordinate[] coordinates = new Coordinate[vertices + 1];
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            double r = radius * (0.9 + 0.1 * random.nextDouble());
+            coordinates[i] = new Coordinate(centerLng + r * Math.cos(angle), centerLat + r * Math.sin(angle));
+        }
+        coordinates[vertices] = coordinates[0];
+        return GEOMETRY_FACTORY.createLinearRing(coordinates);
+    }
+
+}
@@ -0,0 +1,97 @@
+package cn.swj.geo.route;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RouteLocationDTO;
+import cn.swj.geo.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 14:05
+ * @Description: CompiledRoute 测试
+ * @Version 1.0
+ */
+class CompiledRouteTest {
+
+    private static CompiledRoute route() {
+        List<LocationDTO> routeLocationDTOList = new ArrayList<>();
+        routeLocationDTOList.add(new LocationDTO("113.60", "34.70"));
+        routeLocationDTOList.add(new LocationDTO("113.61", "34.70"));
+        routeLocationDTOList.add(new LocationDTO("113.61", "34.71"));
+        routeLocationDTOList.add(new LocationDTO("113.62", "34.71"));
+        return GeoUtil.compileRoute(routeLocationDTOList);
+    }
+
+    @Test
+    void locate() {
+        CompiledRoute route = route();
+
+        RouteLocationDTO location = route.locate(113.605, 34.7001);
+
+        assertEquals(0, location.getSegmentIndex());
+        assertEquals(route.getCumulativeLength(1) / 2, location.getDistanceAlongRoute(), 1);
+        assertEquals(11.1, location.getOffsetFromRoute(), 0.2);
+        assertEquals(34.70, location.getProjectedLat(), 1e-9);
+        assertEquals(113.605, location.getProjectedLng(), 1e-9);
+
+        // 第二段的中点东侧 0.0001 度
+        location = route.locate(113.6101, 34.705);
+        assertEquals(1, location.getSegmentIndex());
+        assertEquals((route.getCumulativeLength(1) + route.getCumulativeLength(2)) / 2, location.getDistanceAlongRoute(), 1);
+        assertEquals(9.15, location.getOffsetFromRoute(), 0.1);
+        assertEquals(113.61, location.getProjectedLng(), 1e-9);
+    }
+
+    @Test
+    void cursor() {
+        CompiledRoute route = route();
+        RouteCursor cursor = route.cursor();
+
+        double previous = -1;
+        for (int i = 0; i <= 30; i++) {
+            double lng = i <= 10 ? 113.60 + i * 0.001 : (i <= 20 ? 113.61 : 113.61 + (i - 20) * 0.001);
+            double lat = i <= 10 ? 34.70 : (i <= 20 ? 34.70 + (i - 10) * 0.001 : 34.71);
+            RouteLocationDTO location = cursor.update(lng + 0.00001, lat - 0.00001);
+
+            RouteLocationDTO expected = route.locate(lng + 0.00001, lat - 0.00001);
+            assertEquals(expected.getDistanceAlongRoute(), location.getDistanceAlongRoute(), 1e-6);
+            assertTrue(location.getDistanceAlongRoute() >= previous);
+            previous = location.getDistanceAlongRoute();
+        }
+        assertEquals(route.getLength(), previous, 2);
+    }
+
+    @Test
+    void cursorLost() {
+        // 1000 段的直线线路，点位持续偏离 1 公里时只按间隔全线搜索
+        double[] lngs = new double[1001];
+        double[] lats = new double[1001];
+        for (int i = 0; i < lngs.length; i++) {
+            lngs[i] = 113.60 + i * 0.0001;
+            lats[i] = 34.70;
+        }
+        CompiledRoute route = new CompiledRoute(lngs, lats);
+        RouteCursor cursor = route.cursor();
+        cursor.update(113.60, 34.70);
+
+        for (int i = 0; i < 100; i++) {
+            cursor.update(113.65, 34.71);
+        }
+        assertTrue(cursor.getRescanCount() <= 4);
+        assertEquals(500, cursor.getSegmentIndex(), 1);
+
+        // 回到线路上后沿线推进，跟丢后第一次更新立即全线搜索
+        RouteLocationDTO location = cursor.update(113.651, 34.70);
+        assertEquals(510, location.getSegmentIndex(), 1);
+        int rescanCount = cursor.getRescanCount();
+        location = cursor.update(113.69, 34.72);
+        assertEquals(rescanCount + 1, cursor.getRescanCount());
+        assertEquals(900, location.getSegmentIndex(), 1);
+    }
+
+}
@@ -0,0 +1,90 @@
+package cn.swj.geo.route;
+
+import cn.swj.geo.dto.LocationDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 20:30
+ * @Description: RouteRegistry 测试，结果与逐条线路逐段比较一致
+ * @Version 1.0
+ */
+class RouteRegistryTest {
+
+    @Test
+    void routesWithin() {
+        Random random = new Random(48);
+        Map<String, CompiledRoute> routeMap = new LinkedHashMap<>();
+        for (int r = 0; r < 2_000; r++) {
+            int vertices = 2 + random.nextInt(40);
+            double[] lngs = new double[vertices];
+            double[] lats = new double[vertices];
+            lngs[0] = 116.2 + random.nextDouble() * 0.4;
+            lats[0] = 39.8 + random.nextDouble() * 0.2;
+            for (int i = 1; i < vertices; i++) {
+                lngs[i] = lngs[i - 1] + (random.nextDouble() - 0.5) * 0.01;
+                lats[i] = lats[i - 1] + (random.nextDouble() - 0.5) * 0.01;
+            }
+            routeMap.put("route-" + r, new CompiledRoute(lngs, lats));
+        }
+        RouteRegistry registry = new RouteRegistry(routeMap);
+        assertEquals(2_000, registry.size());
+        assertSame(routeMap.get("route-7"), registry.getRoute("route-7"));
+
+        int size = 300;
+        double[] lngs = new double[size];
+        double[] lats = new double[size];
+        for (int i = 0; i < size; i++) {
+            lngs[i] = 116.2 + random.nextDouble() * 0.4;
+            lats[i] = 39.8 + random.nextDouble() * 0.2;
+        }
+        List<List<String>> batch = registry.routesWithin(lngs, lats, size, 300, true);
+        int hits = 0;
+        for (int i = 0; i < size; i++) {
+            List<String> expected = new ArrayList<>();
+            for (Map.Entry<String, CompiledRoute> entry : routeMap.entrySet()) {
+                CompiledRoute route = entry.getValue();
+                for (int segment = 0; segment < route.getSegmentCount(); segment++) {
+                    // 纬度相差超过 0.003 度（约 330 米）的线段不可能在 300 米内
+                    if (Math.min(route.getLat(segment), route.getLat(segment + 1)) - lats[i] > 0.003
+                            || lats[i] - Math.max(route.getLat(segment), route.getLat(segment + 1)) > 0.003) {
+                        continue;
+                    }
+                    if (route.segmentDistance(segment, lngs[i], lats[i]) <= 300) {
+                        expected.add(entry.getKey());
+                        break;
+                    }
+                }
+            }
+            assertEquals(expected, registry.routesWithin(lngs[i], lats[i], 300));
+            assertEquals(expected, batch.get(i));
+            hits += expected.size();
+        }
+        assertTrue(hits > size);
+    }
+
+    @Test
+    void locationList() {
+        Map<String, CompiledRoute> routeMap = new LinkedHashMap<>();
+        routeMap.put("a", new CompiledRoute(new double[]{113.60, 113.62}, new double[]{34.70, 34.70}));
+        routeMap.put("b", new CompiledRoute(new double[]{113.60, 113.62}, new double[]{34.71, 34.71}));
+        RouteRegistry registry = new RouteRegistry(routeMap);
+
+        List<List<String>> resList = registry.routesWithin(Arrays.asList(new LocationDTO("113.61", "34.7001"), null,
+                new LocationDTO("113.61", "34.705")), 100, false);
+        assertEquals(Arrays.asList("a"), resList.get(0));
+        assertTrue(resList.get(1).isEmpty());
+        assertTrue(resList.get(2).isEmpty());
+        assertEquals(Arrays.asList("a", "b"), registry.routesWithin(113.61, 34.705, 600));
+    }
+
+}
@@ -0,0 +1,97 @@
+package cn.swj.geo.snapshot;
+
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.store.PointStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.locationtech.jts.io.WKTReader;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 15:10
+ * @Description: 内存映射快照测试
+ * @Version 1.0
+ */
+class SnapshotTest {
+
+    @Test
+    void regionIndex(@TempDir Path directory) throws Exception {
+        WKTReader reader = new WKTReader();
+        Map<String, CompiledRegion> fenceMap = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            int x = 100 + i % 10;
+            int y = 20 + i / 10;
+            fenceMap.put("fence-" + i, new CompiledRegion(reader.read(
+                    "POLYGON ((" + x + " " + y + ", " + (x + 1) + " " + y + ", " + (x + 1) + " " + (y + 1) + ", " + x + " " + y + "))")));
+        }
+        fenceMap.put("hole", new CompiledRegion(reader.read("POLYGON ((100 20, 110 20, 110 30, 100 30, 100 20), (104 24, 106 24, 106 26, 104 26, 104 24))")));
+
+        Path file = directory.resolve("fences.snap");
+        MappedRegionIndex.write(file, 42, fenceMap);
+        MappedRegionIndex index = MappedRegionIndex.open(file, true);
+        assertEquals(42, index.getVersion());
+        assertEquals(101, index.size());
+
+        Random random = new Random(1);
+        for (int k = 0; k < 2000; k++) {
+            double lng = 100 + random.nextDouble() * 10;
+            double lat = 20 + random.nextDouble() * 10;
+            List<String> expected = new ArrayList<>();
+            fenceMap.forEach((fenceId, region) -> {
+                if (region.contains(lng, lat)) {
+                    expected.add(fenceId);
+                }
+            });
+            List<String> actual = index.fencesContaining(lng, lat);
+            expected.sort(null);
+            actual.sort(null);
+            assertEquals(expected, actual);
+        }
+        assertTrue(index.pointIsContainedFence("fence-0", 100.9, 20.1));
+        assertEquals(-1, index.indexOf("none"));
+
+        // 数据区损坏
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.seek(randomAccessFile.length() - 1);
+            randomAccessFile.write(0x7F);
+        }
+        assertThrows(IOException.class, () -> MappedRegionIndex.open(file, true));
+    }
+
+    @Test
+    void pointIndex(@TempDir Path directory) throws Exception {
+        Random random = new Random(2);
+        PointStore pointStore = PointStore.allocateDirect(50000, false);
+        for (int i = 0; i < 50000; i++) {
+            pointStore.add(i, 113 + random.nextDouble(), 34 + random.nextDouble());
+        }
+        Path file = directory.resolve("points.snap");
+        MappedPointIndex.write(file, 1, pointStore, 64, 64);
+        MappedPointIndex index = MappedPointIndex.open(file, false);
+        assertEquals(50000, index.size());
+
+        long expected = 0;
+        for (int row = 0; row < pointStore.size(); row++) {
+            double lng = pointStore.getLng(row);
+            double lat = pointStore.getLat(row);
+            if (lng >= 113.2 && lng <= 113.3 && lat >= 34.5 && lat <= 34.7) {
+                expected++;
+            }
+        }
+        long[] idSum = new long[1];
+        assertEquals(expected, index.query(113.2, 34.5, 113.3, 34.7, null, (id, lng, lat) -> idSum[0] += id));
+        assertTrue(idSum[0] > 0);
+    }
+
+}
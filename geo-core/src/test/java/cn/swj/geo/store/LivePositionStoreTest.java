@@ -0,0 +1,113 @@
+package cn.swj.geo.store;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.region.CompiledCircle;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.util.GeoUtil;
+import cn.swj.geo.util.GeodesicUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @Author swj
+ * @Date 2026/10/23 12:30
+ * @Description: 并发更新后，区域、圆形和最近邻查询与逐个比较的结果一致
+ * @Version 1.0
+ */
+class LivePositionStoreTest {
+
+    private static final int COURIERS = 20_000;
+
+    @Test
+    void concurrentUpdatesAndQueries() {
+        LivePositionStore store = new LivePositionStore(116.0, 39.6, 116.8, 40.2, 0.01);
+        double[][] last = new double[COURIERS][];
+        // 每个线程负责一段 ID，反复移动，最后一次的位置记入 last
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            Random random = new Random(thread);
+            for (int round = 0; round < 5; round++) {
+                for (int id = thread; id < COURIERS; id += 8) {
+                    double lng = 116.0 + random.nextDouble() * 0.8;
+                    double lat = 39.6 + random.nextDouble() * 0.6;
+                    store.update(id, lng, lat);
+                    last[id] = new double[]{lng, lat};
+                }
+            }
+        });
+        assertEquals(COURIERS, store.size());
+        assertArrayEquals(last[123], store.getPosition(123));
+        store.remove(123);
+        assertNull(store.getPosition(123));
+        last[123] = null;
+
+        CompiledRegion region = GeoUtil.compileRegionSequence(Arrays.asList(new LocationDTO("116.2", "39.8"),
+                new LocationDTO("116.5", "39.75"), new LocationDTO("116.6", "40.0"), new LocationDTO("116.3", "40.1")));
+        RoundnessDTO roundnessDTO = new RoundnessDTO();
+        roundnessDTO.setCenterPoint(new LocationDTO("116.4", "39.9"));
+        roundnessDTO.setRadius("5000");
+        CompiledCircle circle = GeoUtil.compileRoundRegion(roundnessDTO);
+
+        Set<Long> regionHits = new HashSet<>();
+        Set<Long> circleHits = new HashSet<>();
+        Set<Long> withinHits = new HashSet<>();
+        store.query(region, (id, lng, lat) -> regionHits.add(id));
+        store.query(circle, (id, lng, lat) -> circleHits.add(id));
+        store.within(116.4, 39.9, 3000, (id, lng, lat) -> withinHits.add(id));
+        Set<Long> expectedRegion = new HashSet<>();
+        Set<Long> expectedCircle = new HashSet<>();
+        Set<Long> expectedWithin = new HashSet<>();
+        for (int id = 0; id < COURIERS; id++) {
+            if (last[id] == null) {
+                continue;
+            }
+            if (region.contains(last[id][0], last[id][1])) {
+                expectedRegion.add((long) id);
+            }
+            if (circle.contains(last[id][0], last[id][1])) {
+                expectedCircle.add((long) id);
+            }
+            if (GeodesicUtil.distance(116.4, 39.9, last[id][0], last[id][1]) <= 3000) {
+                expectedWithin.add((long) id);
+            }
+        }
+        assertFalse(expectedRegion.isEmpty());
+        assertEquals(expectedRegion, regionHits);
+        assertEquals(expectedCircle, circleHits);
+        assertEquals(expectedWithin, withinHits);
+    }
+
+    @Test
+    void nearest() {
+        LivePositionStore store = new LivePositionStore(116.0, 39.6, 116.8, 40.2, 0.02);
+        Random random = new Random(3);
+        double[][] positions = new double[5_000][];
+        for (int id = 0; id < positions.length; id++) {
+            positions[id] = new double[]{116.0 + random.nextDouble() * 0.8, 39.6 + random.nextDouble() * 0.6};
+            store.update(id, positions[id][0], positions[id][1]);
+        }
+        long[] ids = new long[10];
+        double[] distances = new double[10];
+        assertEquals(10, store.nearest(116.41, 39.91, 10, Double.POSITIVE_INFINITY, ids, distances));
+
+        double[] expected = Arrays.stream(positions).mapToDouble(p -> GeodesicUtil.distance(116.41, 39.91, p[0], p[1])).sorted().limit(10).toArray();
+        assertArrayEquals(expected, distances, 1e-9);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(distances[i], GeodesicUtil.distance(116.41, 39.91, positions[(int) ids[i]][0], positions[(int) ids[i]][1]), 1e-9);
+        }
+        // 最大距离限制
+        int found = store.nearest(116.41, 39.91, 10, expected[2] + 1e-6, ids, distances);
+        assertEquals(3, found);
+    }
+
+}
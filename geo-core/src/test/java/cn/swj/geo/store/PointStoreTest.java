@@ -0,0 +1,97 @@
+package cn.swj.geo.store;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/19 11:05
+ * @Description: PointStore 测试
+ * @Version 1.0
+ */
+class PointStoreTest {
+
+    private static List<LocationDTO> region() {
+        List<LocationDTO> regionLocationDTOList = new ArrayList<>();
+        regionLocationDTOList.add(new LocationDTO("113.12345", "34.56789"));
+        regionLocationDTOList.add(new LocationDTO("113.54321", "34.98765"));
+        regionLocationDTOList.add(new LocationDTO("113.87654", "34.12345"));
+        return regionLocationDTOList;
+    }
+
+    @Test
+    void scanContainedRegion() {
+        PointStore pointStore = PointStore.allocateDirect(20000, true);
+        List<LocationDTO> locationDTOList = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            String lng = String.valueOf(113.0 + (i % 200) * 0.005);
+            String lat = String.valueOf(34.0 + (i / 200) * 0.01);
+            pointStore.add(i, Double.parseDouble(lng), Double.parseDouble(lat));
+            locationDTOList.add(new LocationDTO(lng, lat));
+        }
+
+        long[] ids = PointStoreScanner.scanContainedRegion(pointStore, region(), true);
+        List<LocationDTO> expected = GeoUtil.pointListIsContainedRegion(region(), locationDTOList);
+
+        assertEquals(expected.size(), ids.length);
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i - 1] < ids[i]);
+        }
+    }
+
+    @Test
+    void scanContainedRoundRegion() {
+        PointStore pointStore = PointStore.allocateDirect(3, false);
+        pointStore.add(10L, 113.12365, 34.56789);
+        pointStore.add(11L, 113.98765, 34.87654);
+        pointStore.add(12L, 113.23456, 34.34567);
+
+        RoundnessDTO roundnessDTO = new RoundnessDTO(new LocationDTO("113.12345", "34.56789"), "1000");
+        long[] ids = PointStoreScanner.scanContainedRoundRegion(pointStore, roundnessDTO, false);
+
+        assertArrayEquals(new long[]{10L}, ids);
+    }
+
+    @Test
+    void calculateDistance() {
+        PointStore pointStore = PointStore.allocateDirect(1, false);
+        pointStore.add(1L, 113.98765, 34.87654);
+
+        LocationDTO start = new LocationDTO("113.12345", "34.56789");
+        double[] distances = PointStoreScanner.calculateDistance(pointStore, start, false);
+
+        String expected = GeoUtil.calculateDistance(start, new LocationDTO("113.98765", "34.87654"));
+        assertEquals(Double.parseDouble(expected), distances[0], 0.01);
+    }
+
+    @Test
+    void map() throws Exception {
+        Path file = Files.createTempFile("point-store", ".bin");
+        Files.delete(file);
+        try {
+            PointStore pointStore = PointStore.map(file, 16, true);
+            pointStore.add(7L, 113.1234567, 34.7654321);
+            pointStore.force();
+
+            PointStore reopened = PointStore.map(file, 16, true);
+            assertEquals(1, reopened.size());
+            assertEquals(7L, reopened.getId(0));
+            assertEquals(113.1234567, reopened.getLng(0), 1e-9);
+            assertEquals(34.7654321, reopened.getLat(0), 1e-9);
+            assertArrayEquals(new long[]{7L}, PointStoreScanner.scan(reopened, (lng, lat) -> lng > 113, false));
+            assertArrayEquals(new long[0], PointStoreScanner.scan(reopened, (lng, lat) -> lng > 114, false));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
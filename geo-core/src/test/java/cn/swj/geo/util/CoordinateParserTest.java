@@ -0,0 +1,38 @@
+package cn.swj.geo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 16:30
+ * @Description: CoordinateParser 测试
+ * @Version 1.0
+ */
+class CoordinateParserTest {
+
+    @Test
+    void parse() {
+        Random random = new Random(13);
+        for (int i = 0; i < 200000; i++) {
+            double value = (random.nextDouble() - 0.5) * 360;
+            String text = i % 2 == 0 ? String.valueOf(value) : String.format("%." + (i % 12) + "f", value);
+            assertEquals(Double.parseDouble(text), CoordinateParser.parse(text), text);
+
+            byte[] bytes = ("[" + text + "]").getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Double.parseDouble(text), CoordinateParser.parse(bytes, 1, bytes.length - 1), text);
+        }
+
+        String[] texts = {"0", "-0.0", "113.12345", "+34.5", ".5", "1.", "007.25", "1e3", " 113.1 ", "1.0000000000000000000001"};
+        for (String text : texts) {
+            assertEquals(Double.parseDouble(text), CoordinateParser.parse(text), text);
+        }
+        assertThrows(NumberFormatException.class, () -> CoordinateParser.parse("abc"));
+        assertThrows(NumberFormatException.class, () -> CoordinateParser.parse("-"));
+    }
+
+}
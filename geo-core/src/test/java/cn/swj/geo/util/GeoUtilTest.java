@@ -4,10 +4,12 @@ import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
 import cn.swj.geo.dto.LocationDTO;
 import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.region.CompiledCircle;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -204,5 +206,58 @@ class GeoUtilTest {
         List<JSONObject> jsonObjectList = GeoUtil.calculateShortestDistanceFromCurve4Objs(curveLocationDTOList, objectList, distance,"ln","la");
         jsonObjectList.forEach(System.out::println);
     }
+
+    @Test
+    void pointListIsContainedRegionSpatialSort() {
+        List<LocationDTO> regionLocationDTOList = new ArrayList<>();
+        regionLocationDTOList.add(new LocationDTO("113.12345", "34.56789"));
+        regionLocationDTOList.add(new LocationDTO("113.54321", "34.98765"));
+        regionLocationDTOList.add(new LocationDTO("113.87654", "34.12345"));
+
+        List<LocationDTO> locationDTOList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            locationDTOList.add(new LocationDTO(String.valueOf(113.0 + (i * 7919 % 1000) * 0.001), String.valueOf(34.0 + (i * 104729 % 1000) * 0.001)));
+        }
+
+        List<LocationDTO> expected = GeoUtil.pointListIsContainedRegion(regionLocationDTOList, locationDTOList, Integer.MAX_VALUE);
+        assertEquals(expected, GeoUtil.pointListIsContainedRegion(regionLocationDTOList, locationDTOList, 1));
+        assertEquals(GeoUtil.pointListIsContainedRegionSequence(regionLocationDTOList, locationDTOList, Integer.MAX_VALUE),
+                GeoUtil.pointListIsContainedRegionSequence(regionLocationDTOList, locationDTOList, 1));
+    }
+
+    @Test
+    void compileRoundRegion() {
+        // 预编译圆形是精确的圆，GeoUtil 是内接多边形：多边形内的点都在圆内，不一致的点只在圆周附近的窄带上
+        RoundnessDTO roundnessDTO = new RoundnessDTO(new LocationDTO("113.12345", "34.56789"), "1000");
+        CompiledCircle circle = GeoUtil.compileRoundRegion(roundnessDTO);
+        double band = circle.getDegreeRadius() * (1 - Math.cos(Math.PI / 32));
+        Random random = new Random(21);
+        int mismatched = 0;
+        for (int i = 0; i < 2000; i++) {
+            double lng = 113.12345 + (random.nextDouble() * 2 - 1) * circle.getDegreeRadius() * 1.1;
+            double lat = 34.56789 + (random.nextDouble() * 2 - 1) * circle.getDegreeRadius() * 1.1;
+            boolean polygon = GeoUtil.pointIsContainedRoundRegion(roundnessDTO, String.valueOf(lng), String.valueOf(lat));
+            boolean exact = circle.contains(lng, lat);
+            if (polygon != exact) {
+                mismatched++;
+                assertTrue(exact);
+                double distance = Math.hypot(lng - 113.12345, lat - 34.56789);
+                assertTrue(distance > circle.getDegreeRadius() - band - 1e-12);
+            }
+        }
+        assertTrue(mismatched < 40);
+    }
+
+    @Test
+    void validation() {
+        List<LocationDTO> regionLocationDTOList = new ArrayList<>();
+        GeoValidationException e = assertThrows(GeoValidationException.class,
+                () -> GeoUtil.pointIsContainedRegion(regionLocationDTOList, "113.5", "34.5"));
+        assertEquals("locationDTOList is null", e.getMessage());
+        regionLocationDTOList.add(new LocationDTO("113.12345", "34.56789"));
+        regionLocationDTOList.add(new LocationDTO("113.54321", "34.98765"));
+        regionLocationDTOList.add(new LocationDTO("113.87654", "34.12345"));
+        assertThrows(GeoValidationException.class, () -> GeoUtil.pointIsContainedRegion(regionLocationDTOList, "", "34.5"));
+    }
 }
 
@@ -0,0 +1,106 @@
+package cn.swj.geo.util;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.region.CompiledCircle;
+import org.geotools.referencing.GeodeticCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.Point2D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Author swj
+ * @Date 2026/10/24 17:00
+ * @Description: 大地线距离和圆的经纬度半径与 GeoTools GeodeticCalculator 对照
+ * @Version 1.0
+ */
+class GeodesicUtilTest {
+
+    // Vincenty 收敛的点对：[经度1，纬度1，经度2，纬度2]，与 GeoTools 结果逐位相同
+    private static final double[][] PAIRS = {
+            {116.397, 39.909, 116.398, 39.910},
+            {116.397, 39.909, 121.473, 31.230},
+            {113.5, 34.5, 113.5, 34.5000001},
+            {0, 0, 1, 0},
+            {0, 0, 0, 1},
+            {-73.986, 40.758, 139.692, 35.690},
+            {151.207, -33.868, -0.128, 51.507},
+            {10, 89.9, -170, 89.9},
+            {-179.9, 10, 179.9, -10},
+            {0, 0, 179, 0},
+    };
+
+    // 近似对跖点，Vincenty 不收敛，退化为球面距离。实测与 GeoTools 相差 260 米 ~ 70 公里，相对误差不超过 0.36%
+    private static final double[][] ANTIPODAL_PAIRS = {
+            {0, 30, 179.5, -30},
+            {0, 0, 179.7, 0.3},
+            {0, 0.5, 179.5, -0.5},
+            {116.397, 39.909, -63.603, -39.909},
+    };
+
+    @Test
+    void distance() {
+        GeodeticCalculator calculator = new GeodeticCalculator();
+        for (double[] pair : PAIRS) {
+            assertEquals(orthodromicDistance(calculator, pair), calculateDistance(pair), 1e-6);
+        }
+        for (double[] pair : ANTIPODAL_PAIRS) {
+            double expected = orthodromicDistance(calculator, pair);
+            assertEquals(expected, calculateDistance(pair), expected * 0.004);
+        }
+    }
+
+    @Test
+    void degreeRadius() {
+        GeodeticCalculator calculator = new GeodeticCalculator();
+        double[] lats = {0, 23.5, 39.909, 60, 80, -45};
+        double[] radii = {1, 100, 5000, 100_000, 1_000_000};
+        for (double lat : lats) {
+            for (double radius : radii) {
+                calculator.setStartingGeographicPoint(116.397, lat);
+                calculator.setDirection(0, radius);
+                Point2D edge = calculator.getDestinationGeographicPoint();
+                double expected = Point2D.distance(116.397, lat, edge.getX(), edge.getY());
+
+                RoundnessDTO roundnessDTO = new RoundnessDTO();
+                roundnessDTO.setCenterPoint(new LocationDTO("116.397", String.valueOf(lat)));
+                roundnessDTO.setRadius(String.valueOf(radius));
+                CompiledCircle circle = GeoUtil.compileRoundRegion(roundnessDTO);
+                assertEquals(expected, circle.getDegreeRadius(), expected * 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void degreeSpanCoversDistance() {
+        double[] lats = {0, 39.909, -60, 85};
+        double[] radii = {10, 5000, 200_000};
+        for (double lat : lats) {
+            for (double radius : radii) {
+                double[] span = GeodesicUtil.degreeSpan(lat, radius);
+                for (int azimuth = 0; azimuth < 360; azimuth += 15) {
+                    double[] point = GeodesicUtil.destination(116.397, lat, azimuth, radius);
+                    assertTrue(Math.abs(point[0] - 116.397) <= span[0], lat + " " + radius + " " + azimuth);
+                    assertTrue(Math.abs(point[1] - lat) <= span[1], lat + " " + radius + " " + azimuth);
+                }
+                // 下界：1 度对应的距离不超过实际值
+                assertTrue(GeodesicUtil.minMetresPerDegree(lat) <= GeodesicUtil.distance(116.397, lat, 117.397, lat));
+            }
+        }
+    }
+
+    private static double orthodromicDistance(GeodeticCalculator calculator, double[] pair) {
+        calculator.setStartingGeographicPoint(pair[0], pair[1]);
+        calculator.setDestinationGeographicPoint(pair[2], pair[3]);
+        return calculator.getOrthodromicDistance();
+    }
+
+    private static double calculateDistance(double[] pair) {
+        return CoordinateParser.parse(GeoUtil.calculateDistance(new LocationDTO(String.valueOf(pair[0]), String.valueOf(pair[1])),
+                new LocationDTO(String.valueOf(pair[2]), String.valueOf(pair[3]))));
+    }
+
+}
@@ -0,0 +1,243 @@
+package cn.swj.geo.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 09:30
+ * @Description: 按种子生成的中国城市合成数据集：围栏、圆形区域、路线和点位池。
+ * 同一种子和配置在任意机器上生成完全相同的数据，压测结果才能跨版本对比。
+ * 几何图形预先编码为 JSON 片段，点位按城市连续存放在 double 数组中，压测时只拼接点位
+ * @Version 1.0
+ */
+public class CityDataset {
+
+    // 每度纬度的米数
+    private static final double METRES_PER_DEGREE = 111_320D;
+
+    /**
+     * 城市中心：名称、经度、纬度*
+     */
+    private static final Object[][] CITIES = {
+            {"北京", 116.4074, 39.9042},
+            {"上海", 121.4737, 31.2304},
+            {"广州", 113.2644, 23.1291},
+            {"深圳", 114.0579, 22.5431},
+            {"成都", 104.0665, 30.5723},
+            {"武汉", 114.3054, 30.5931},
+            {"西安", 108.9398, 34.3416},
+            {"杭州", 120.1551, 30.2741}
+    };
+
+    private final List<String> cityNames = new ArrayList<>();
+
+    private final List<Shape> fences = new ArrayList<>();
+
+    private final List<Shape> circles = new ArrayList<>();
+
+    private final List<Shape> routes = new ArrayList<>();
+
+    private final double[] lngs;
+
+    private final double[] lats;
+
+    // 第 i 个城市的点位在 [cityStarts[i], cityStarts[i + 1]) 区间
+    private final int[] cityStarts;
+
+    private CityDataset(int points) {
+        this.lngs = new double[points];
+        this.lats = new double[points];
+        this.cityStarts = new int[CITIES.length + 1];
+    }
+
+    /**
+     * 生成数据集*
+     *
+     * @param config 压测配置
+     * @return
+     */
+    public static CityDataset generate(LoadTestConfig config) {
+        CityDataset dataset = new CityDataset(config.getPoints());
+        Random random = new Random(config.getSeed());
+        for (int city = 0; city < CITIES.length; city++) {
+            dataset.cityNames.add((String) CITIES[city][0]);
+            double lng = (Double) CITIES[city][1];
+            double lat = (Double) CITIES[city][2];
+            for (int i = 0; i < config.getFencesPerCity(); i++) {
+                dataset.fences.add(dataset.fence(random, city, lng, lat, config.getFenceVertices()));
+            }
+            for (int i = 0; i < config.getCirclesPerCity(); i++) {
+                dataset.circles.add(dataset.circle(random, city, lng, lat));
+            }
+            for (int i = 0; i < config.getRoutesPerCity(); i++) {
+                dataset.routes.add(dataset.route(random, city, lng, lat, config.getRouteVertices()));
+            }
+            // 点位按城市平均分配，以城市中心为均值、约 10 公里为标准差
+            int from = (int) ((long) config.getPoints() * city / CITIES.length);
+            int to = (int) ((long) config.getPoints() * (city + 1) / CITIES.length);
+            dataset.cityStarts[city] = from;
+            for (int i = from; i < to; i++) {
+                dataset.lngs[i] = round(lng + metresToLng(random.nextGaussian() * 10_000, lat));
+                dataset.lats[i] = round(lat + metresToLat(random.nextGaussian() * 10_000));
+            }
+        }
+        dataset.cityStarts[CITIES.length] = config.getPoints();
+        return dataset;
+    }
+
+    /**
+     * 星形围栏，半径 1~8 公里，顶点按角度顺序排列*
+     */
+    private Shape fence(Random random, int city, double lng, double lat, int vertices) {
+        double centerLng = lng + metresToLng(random.nextGaussian() * 8_000, lat);
+        double centerLat = lat + metresToLat(random.nextGaussian() * 8_000);
+        double radius = 1_000 + random.nextDouble() * 7_000;
+        StringBuilder json = new StringBuilder(vertices * 48).append('[');
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            double r = radius * (0.5 + random.nextDouble() * 0.5);
+            appendLocation(json, i > 0,
+                    round(centerLng + metresToLng(r * Math.cos(angle), centerLat)),
+                    round(centerLat + metresToLat(r * Math.sin(angle))));
+        }
+        return new Shape(city, json.append(']').toString());
+    }
+
+    /**
+     * 圆形区域，半径 200 米~5 公里*
+     */
+    private Shape circle(Random random, int city, double lng, double lat) {
+        StringBuilder json = new StringBuilder(96).append("{\"centerPoint\":");
+        appendLocation(json, false,
+                round(lng + metresToLng(random.nextGaussian() * 10_000, lat)),
+                round(lat + metresToLat(random.nextGaussian() * 10_000)));
+        json.append(",\"radius\":\"").append(200 + random.nextInt(4_801)).append("\"}");
+        return new Shape(city, json.toString());
+    }
+
+    /**
+     * 随机游走路线，每段 100~500 米，方向缓慢变化*
+     */
+    private Shape route(Random random, int city, double lng, double lat, int vertices) {
+        double x = lng + metresToLng(random.nextGaussian() * 8_000, lat);
+        double y = lat + metresToLat(random.nextGaussian() * 8_000);
+        double heading = random.nextDouble() * 2 * Math.PI;
+        StringBuilder json = new StringBuilder(vertices * 48).append('[');
+        for (int i = 0; i < vertices; i++) {
+            appendLocation(json, i > 0, round(x), round(y));
+            double step = 100 + random.nextDouble() * 400;
+            heading += random.nextGaussian() * 0.3;
+            x += metresToLng(step * Math.cos(heading), y);
+            y += metresToLat(step * Math.sin(heading));
+        }
+        return new Shape(city, json.append(']').toString());
+    }
+
+    /**
+     * 追加一个 LocationDTO 的 JSON*
+     *
+     * @param json  输出
+     * @param comma 前面是否加逗号
+     * @param lng   经度
+     * @param lat   纬度
+     */
+    public static void appendLocation(StringBuilder json, boolean comma, double lng, double lat) {
+        if (comma) {
+            json.append(',');
+        }
+        json.append("{\"lng\":\"").append(lng).append("\",\"lat\":\"").append(lat).append("\"}");
+    }
+
+    /**
+     * 从指定城市的点位中随机取 size 个，追加为 LocationDTO 数组*
+     *
+     * @param json   输出
+     * @param random 随机数
+     * @param city   城市下标
+     * @param size   点位数
+     */
+    public void appendPoints(StringBuilder json, Random random, int city, int size) {
+        int from = cityStarts[city];
+        int range = Math.max(1, cityStarts[city + 1] - from);
+        json.append('[');
+        for (int i = 0; i < size; i++) {
+            int index = Math.min(from + random.nextInt(range), lngs.length - 1);
+            appendLocation(json, i > 0, lngs[index], lats[index]);
+        }
+        json.append(']');
+    }
+
+    public int randomPoint(Random random, int city) {
+        int from = cityStarts[city];
+        return Math.min(from + random.nextInt(Math.max(1, cityStarts[city + 1] - from)), lngs.length - 1);
+    }
+
+    public double getLng(int index) {
+        return lngs[index];
+    }
+
+    public double getLat(int index) {
+        return lats[index];
+    }
+
+    public List<String> getCityNames() {
+        return Collections.unmodifiableList(cityNames);
+    }
+
+    public List<Shape> getFences() {
+        return Collections.unmodifiableList(fences);
+    }
+
+    public List<Shape> getCircles() {
+        return Collections.unmodifiableList(circles);
+    }
+
+    public List<Shape> getRoutes() {
+        return Collections.unmodifiableList(routes);
+    }
+
+    public int getPointCount() {
+        return lngs.length;
+    }
+
+    // 保留 6 位小数，约 0.1 米
+    private static double round(double value) {
+        return Math.round(value * 1e6) / 1e6;
+    }
+
+    private static double metresToLat(double metres) {
+        return metres / METRES_PER_DEGREE;
+    }
+
+    private static double metresToLng(double metres, double lat) {
+        return metres / (METRES_PER_DEGREE * Math.cos(Math.toRadians(lat)));
+    }
+
+    /**
+     * 预先编码好的几何图形*
+     */
+    public static final class Shape {
+
+        private final int city;
+
+        private final String json;
+
+        private Shape(int city, String json) {
+            this.city = city;
+            this.json = json;
+        }
+
+        public int getCity() {
+            return city;
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package cn.swj.geo.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 10:20
+ * @Description: 计时期间的 GC 统计，通过 GC 通知记录每次回收的耗时。
+ * 内嵌模式下服务与压测线程在同一个 JVM 中，统计的是两者合计的 GC
+ * @Version 1.0
+ */
+public class GcMonitor implements NotificationListener {
+
+    // 每个回收器：次数、总耗时、最大耗时 毫秒
+    private final Map<String, AtomicLongArray> collectors = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+
+    /**
+     * 开始记录*
+     */
+    public void start() {
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectors.put(bean.getName(), new AtomicLongArray(3));
+            if (bean instanceof NotificationEmitter) {
+                ((NotificationEmitter) bean).addNotificationListener(this, null, null);
+            }
+        }
+        recording = true;
+    }
+
+    /**
+     * 停止记录*
+     */
+    public void stop() {
+        recording = false;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter) {
+                try {
+                    ((NotificationEmitter) bean).removeNotificationListener(this);
+                } catch (ListenerNotFoundException ignored) {
+                    // start 之后才出现的回收器
+                }
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!recording || !GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        AtomicLongArray stats = collectors.computeIfAbsent(info.getGcName(), name -> new AtomicLongArray(3));
+        long duration = info.getGcInfo().getDuration();
+        stats.incrementAndGet(0);
+        stats.addAndGet(1, duration);
+        stats.accumulateAndGet(2, duration, Math::max);
+    }
+
+    /**
+     * 写入报告的 GC 统计*
+     *
+     * @return
+     */
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        long count = 0, total = 0, max = 0;
+        Map<String, Object> byCollector = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLongArray> entry : collectors.entrySet()) {
+            AtomicLongArray stats = entry.getValue();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("count", stats.get(0));
+            item.put("totalMillis", stats.get(1));
+            item.put("maxMillis", stats.get(2));
+            byCollector.put(entry.getKey(), item);
+            count += stats.get(0);
+            total += stats.get(1);
+            max = Math.max(max, stats.get(2));
+        }
+        report.put("count", count);
+        report.put("totalMillis", total);
+        report.put("maxMillis", max);
+        report.put("collectors", byCollector);
+        return report;
+    }
+
+}
@@ -0,0 +1,125 @@
+package cn.swj.geo.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 10:00
+ * @Description: 单个压测线程的耗时记录，每种请求一个 long 数组，线程内无锁写入，结束后合并排序求分位数
+ * @Version 1.0
+ */
+public class LatencyRecorder {
+
+    private final long[][] latencies = new long[Operation.values().length][];
+
+    private final int[] sizes = new int[Operation.values().length];
+
+    private final long[] errors = new long[Operation.values().length];
+
+    public LatencyRecorder() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new long[1024];
+        }
+    }
+
+    /**
+     * 记录一次成功请求*
+     *
+     * @param operation 请求类型
+     * @param nanos     耗时 纳秒
+     */
+    public void record(Operation operation, long nanos) {
+        int index = operation.ordinal();
+        if (sizes[index] == latencies[index].length) {
+            latencies[index] = Arrays.copyOf(latencies[index], latencies[index].length * 2);
+        }
+        latencies[index][sizes[index]++] = nanos;
+    }
+
+    /**
+     * 记录一次失败请求，失败请求不计入耗时*
+     *
+     * @param operation 请求类型
+     */
+    public void error(Operation operation) {
+        errors[operation.ordinal()]++;
+    }
+
+    /**
+     * 合并所有线程的记录，生成报告中的统计项*
+     *
+     * @param recorders       各线程的记录
+     * @param durationSeconds 计时秒数
+     * @return 按请求类型的统计，最后一项 total 为全部请求
+     */
+    public static Map<String, Map<String, Object>> summarize(List<LatencyRecorder> recorders, int durationSeconds) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        long[] all = new long[0];
+        long allErrors = 0;
+        for (Operation operation : Operation.values()) {
+            int index = operation.ordinal();
+            long[] merged = new long[recorders.stream().mapToInt(recorder -> recorder.sizes[index]).sum()];
+            long operationErrors = 0;
+            int offset = 0;
+            for (LatencyRecorder recorder : recorders) {
+                System.arraycopy(recorder.latencies[index], 0, merged, offset, recorder.sizes[index]);
+                offset += recorder.sizes[index];
+                operationErrors += recorder.errors[index];
+            }
+            if (merged.length == 0 && operationErrors == 0) {
+                continue;
+            }
+            summary.put(operation.getCode(), stats(merged, operationErrors, durationSeconds));
+            long[] grown = Arrays.copyOf(all, all.length + merged.length);
+            System.arraycopy(merged, 0, grown, all.length, merged.length);
+            all = grown;
+            allErrors += operationErrors;
+        }
+        summary.put("total", stats(all, allErrors, durationSeconds));
+        return summary;
+    }
+
+    private static Map<String, Object> stats(long[] nanos, long errors, int durationSeconds) {
+        Arrays.sort(nanos);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", nanos.length);
+        stats.put("errors", errors);
+        stats.put("throughput", round((double) nanos.length / durationSeconds));
+        Map<String, Object> latency = new LinkedHashMap<>();
+        long sum = 0;
+        for (long value : nanos) {
+            sum += value;
+        }
+        latency.put("mean", nanos.length == 0 ? 0 : round(sum / 1000D / nanos.length));
+        latency.put("p50", percentile(nanos, 0.50));
+        latency.put("p90", percentile(nanos, 0.90));
+        latency.put("p99", percentile(nanos, 0.99));
+        latency.put("p999", percentile(nanos, 0.999));
+        latency.put("max", nanos.length == 0 ? 0 : round(nanos[nanos.length - 1] / 1000D));
+        stats.put("latencyMicros", latency);
+        return stats;
+    }
+
+    /**
+     * 最近秩分位数 微秒*
+     *
+     * @param sorted   升序排列的耗时 纳秒
+     * @param quantile 分位 0~1
+     * @return
+     */
+    static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return round(sorted[Math.max(0, Math.min(sorted.length, rank) - 1)] / 1000D);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10D;
+    }
+
+}
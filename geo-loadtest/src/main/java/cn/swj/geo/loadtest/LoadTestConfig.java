@@ -0,0 +1,241 @@
+package cn.swj.geo.loadtest;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 09:10
+ * @Description: 压测配置，命令行参数形如 --concurrency=32 --mix=region:4,circle:2
+ * @Version 1.0
+ */
+@Data
+public class LoadTestConfig {
+
+    /**
+     * 被测服务地址，为空时在本进程内以随机端口启动 GeoApplication*
+     */
+    private String url;
+
+    /**
+     * 并发线程数*
+     */
+    private int concurrency = 16;
+
+    /**
+     * 预热秒数，预热期间的请求不计入结果*
+     */
+    private int warmupSeconds = 10;
+
+    /**
+     * 计时秒数*
+     */
+    private int durationSeconds = 60;
+
+    /**
+     * 数据集随机种子，相同种子生成相同数据集*
+     */
+    private long seed = 20261022L;
+
+    /**
+     * 点位池大小*
+     */
+    private int points = 1_000_000;
+
+    /**
+     * 每个城市的围栏数量*
+     */
+    private int fencesPerCity = 20;
+
+    /**
+     * 每个城市的圆形区域数量*
+     */
+    private int circlesPerCity = 20;
+
+    /**
+     * 每个城市的路线数量*
+     */
+    private int routesPerCity = 10;
+
+    /**
+     * 围栏顶点数*
+     */
+    private int fenceVertices = 64;
+
+    /**
+     * 路线顶点数*
+     */
+    private int routeVertices = 50;
+
+    /**
+     * 批量接口每次提交的点位数*
+     */
+    private int batchSize = 500;
+
+    /**
+     * 路线判断的距离 以米为单位*
+     */
+    private String routeDistance = "200";
+
+    /**
+     * 请求类型权重*
+     */
+    private Map<Operation, Integer> mix = defaultMix();
+
+    /**
+     * 构建标识，写入报告便于不同版本对比*
+     */
+    private String label = "";
+
+    /**
+     * 报告输出文件*
+     */
+    private Path output = Paths.get("target", "loadtest-report.json");
+
+    /**
+     * 解析命令行参数，未知参数直接报错*
+     *
+     * @param args 命令行参数
+     * @return
+     */
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new RuntimeException("illegal argument: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1).trim();
+            switch (key) {
+                case "url":
+                    config.setUrl(value.isEmpty() ? null : value);
+                    break;
+                case "concurrency":
+                    config.setConcurrency(Integer.parseInt(value));
+                    break;
+                case "warmup":
+                    config.setWarmupSeconds(Integer.parseInt(value));
+                    break;
+                case "duration":
+                    config.setDurationSeconds(Integer.parseInt(value));
+                    break;
+                case "seed":
+                    config.setSeed(Long.parseLong(value));
+                    break;
+                case "points":
+                    config.setPoints(Integer.parseInt(value));
+                    break;
+                case "fences":
+                    config.setFencesPerCity(Integer.parseInt(value));
+                    break;
+                case "circles":
+                    config.setCirclesPerCity(Integer.parseInt(value));
+                    break;
+                case "routes":
+                    config.setRoutesPerCity(Integer.parseInt(value));
+                    break;
+                case "fenceVertices":
+                    config.setFenceVertices(Integer.parseInt(value));
+                    break;
+                case "routeVertices":
+                    config.setRouteVertices(Integer.parseInt(value));
+                    break;
+                case "batch":
+                    config.setBatchSize(Integer.parseInt(value));
+                    break;
+                case "routeDistance":
+                    config.setRouteDistance(value);
+                    break;
+                case "mix":
+                    config.setMix(parseMix(value));
+                    break;
+                case "label":
+                    config.setLabel(value);
+                    break;
+                case "output":
+                    config.setOutput(Paths.get(value));
+                    break;
+                default:
+                    throw new RuntimeException("unknown argument: " + key);
+            }
+        }
+        config.check();
+        return config;
+    }
+
+    /**
+     * 解析请求权重，例如 region:4,circle:2,point:1*
+     *
+     * @param value 权重字符串
+     * @return
+     */
+    public static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new RuntimeException("illegal mix: " + part);
+            }
+            mix.put(Operation.of(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    public void check() {
+        if (concurrency <= 0 || durationSeconds <= 0 || warmupSeconds < 0) {
+            throw new RuntimeException("concurrency, warmup or duration is out of range");
+        }
+        if (points <= 0 || batchSize <= 0 || fenceVertices < 3 || routeVertices < 2) {
+            throw new RuntimeException("points, batch, fenceVertices or routeVertices is out of range");
+        }
+        if (fencesPerCity <= 0 || circlesPerCity <= 0 || routesPerCity <= 0) {
+            throw new RuntimeException("fences, circles or routes is out of range");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0 || mix.values().stream().anyMatch(weight -> weight < 0)) {
+            throw new RuntimeException("mix is empty");
+        }
+    }
+
+    /**
+     * 写入报告的配置项*
+     *
+     * @return
+     */
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("url", url == null ? "embedded" : url);
+        report.put("concurrency", concurrency);
+        report.put("warmupSeconds", warmupSeconds);
+        report.put("durationSeconds", durationSeconds);
+        report.put("seed", seed);
+        report.put("points", points);
+        report.put("fencesPerCity", fencesPerCity);
+        report.put("circlesPerCity", circlesPerCity);
+        report.put("routesPerCity", routesPerCity);
+        report.put("fenceVertices", fenceVertices);
+        report.put("routeVertices", routeVertices);
+        report.put("batchSize", batchSize);
+        report.put("routeDistance", routeDistance);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((operation, weight) -> weights.put(operation.getCode(), weight));
+        report.put("mix", weights);
+        return report;
+    }
+
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.POINT, 2);
+        mix.put(Operation.REGION, 4);
+        mix.put(Operation.SEQUENCE, 1);
+        mix.put(Operation.CIRCLE, 2);
+        mix.put(Operation.CURVE, 2);
+        mix.put(Operation.DISTANCE, 1);
+        return mix;
+    }
+
+}
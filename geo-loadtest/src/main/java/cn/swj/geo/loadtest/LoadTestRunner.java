@@ -0,0 +1,276 @@
+package cn.swj.geo.loadtest;
+
+import cn.swj.geo.GeoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 10:40
+ * @Description: 压测入口。未指定 --url 时在本进程内以随机端口启动 GeoApplication，
+ * 按种子生成城市数据集后用固定数量的线程闭环压测，预热结束后开始计时，
+ * 输出各请求类型的 p50/p99/p999、吞吐量和 GC 停顿，报告为 JSON，不同构建用相同参数运行即可直接对比
+ * @Version 1.0
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    // 内嵌启动时不需要数据源，knife4j 的 basic 认证也只拦截文档页。
+    // 以命令行参数传入，优先级高于 geo-web 的 application.yml（其中 server.port 为 8080）
+    private static final String[] EMBEDDED_ARGS = {
+            "--server.port=0",
+            "--server.servlet.context-path=",
+            "--spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "--spring.main.banner-mode=off"
+    };
+
+    private final LoadTestConfig config;
+
+    public LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Map<String, Object> report = new LoadTestRunner(config).run();
+        write(report, config.getOutput());
+        log.info("load test finished, report: {}\n{}", config.getOutput().toAbsolutePath(),
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report.get("operations")));
+    }
+
+    /**
+     * 执行压测*
+     *
+     * @return 报告
+     * @throws InterruptedException
+     */
+    public Map<String, Object> run() throws InterruptedException {
+        long generateStart = System.nanoTime();
+        CityDataset dataset = CityDataset.generate(config);
+        long generateMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - generateStart);
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = config.getUrl();
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(GeoApplication.class).run(EMBEDDED_ARGS);
+            baseUrl = "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        // 每个线程一条长连接
+        System.setProperty("http.maxConnections", String.valueOf(config.getConcurrency()));
+        try {
+            return execute(baseUrl, dataset, generateMillis);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private Map<String, Object> execute(String baseUrl, CityDataset dataset, long generateMillis) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+
+        Operation[] operations = Operation.values();
+        int[] cumulative = new int[operations.length];
+        int weight = 0;
+        for (Operation operation : operations) {
+            weight += config.getMix().getOrDefault(operation, 0);
+            cumulative[operation.ordinal()] = weight;
+        }
+        int totalWeight = weight;
+
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            Random random = new Random(config.getSeed() * 31 + i);
+            recorders.add(recorder);
+            Thread worker = new Thread(() -> {
+                StringBuilder body = new StringBuilder(config.getBatchSize() * 48 + 4096);
+                for (long now = System.nanoTime(); now < end; now = System.nanoTime()) {
+                    int pick = random.nextInt(totalWeight);
+                    Operation operation = operations[0];
+                    while (cumulative[operation.ordinal()] <= pick) {
+                        operation = operations[operation.ordinal() + 1];
+                    }
+                    body.setLength(0);
+                    String query = buildRequest(operation, dataset, random, body);
+                    long requestStart = System.nanoTime();
+                    boolean success = post(baseUrl + operation.getPath() + query, body);
+                    if (requestStart < measureStart) {
+                        continue;
+                    }
+                    if (success) {
+                        recorder.record(operation, System.nanoTime() - requestStart);
+                    } else {
+                        recorder.error(operation);
+                    }
+                }
+            }, "geo-loadtest-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        workers.forEach(Thread::start);
+
+        GcMonitor gcMonitor = new GcMonitor();
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureStart - System.nanoTime()));
+        gcMonitor.start();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        gcMonitor.stop();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("schemaVersion", 1);
+        report.put("label", config.getLabel());
+        report.put("timestamp", OffsetDateTime.now().toString());
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("javaVendor", System.getProperty("java.vendor"));
+        environment.put("vmName", System.getProperty("java.vm.name"));
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        environment.put("embeddedServer", config.getUrl() == null);
+        environment.put("baseUrl", baseUrl);
+        report.put("environment", environment);
+        report.put("config", config.toReport());
+        Map<String, Object> datasetReport = new LinkedHashMap<>();
+        datasetReport.put("cities", dataset.getCityNames());
+        datasetReport.put("fences", dataset.getFences().size());
+        datasetReport.put("circles", dataset.getCircles().size());
+        datasetReport.put("routes", dataset.getRoutes().size());
+        datasetReport.put("points", dataset.getPointCount());
+        datasetReport.put("generateMillis", generateMillis);
+        report.put("dataset", datasetReport);
+        Map<String, Map<String, Object>> operationsReport = LatencyRecorder.summarize(recorders, config.getDurationSeconds());
+        report.put("total", operationsReport.remove("total"));
+        report.put("operations", operationsReport);
+        report.put("gc", gcMonitor.toReport());
+        return report;
+    }
+
+    /**
+     * 拼接请求体，返回 query 部分*
+     */
+    private String buildRequest(Operation operation, CityDataset dataset, Random random, StringBuilder body) {
+        switch (operation) {
+            case POINT: {
+                CityDataset.Shape fence = dataset.getFences().get(random.nextInt(dataset.getFences().size()));
+                int point = dataset.randomPoint(random, fence.getCity());
+                body.append(fence.getJson());
+                return "?x=" + dataset.getLng(point) + "&y=" + dataset.getLat(point);
+            }
+            case REGION:
+            case SEQUENCE: {
+                CityDataset.Shape fence = dataset.getFences().get(random.nextInt(dataset.getFences().size()));
+                body.append("{\"regionLocationDTOList\":").append(fence.getJson()).append(",\"locationDTOList\":");
+                dataset.appendPoints(body, random, fence.getCity(), config.getBatchSize());
+                body.append('}');
+                return "";
+            }
+            case CIRCLE: {
+                CityDataset.Shape circle = dataset.getCircles().get(random.nextInt(dataset.getCircles().size()));
+                body.append("{\"roundnessDTO\":").append(circle.getJson()).append(",\"locationDTOList\":");
+                dataset.appendPoints(body, random, circle.getCity(), config.getBatchSize());
+                body.append('}');
+                return "";
+            }
+            case CURVE: {
+                CityDataset.Shape route = dataset.getRoutes().get(random.nextInt(dataset.getRoutes().size()));
+                body.append("{\"curveLocationDTOList\":").append(route.getJson()).append(",\"distance\":\"")
+                        .append(config.getRouteDistance()).append("\",\"locationDTOList\":");
+                dataset.appendPoints(body, random, route.getCity(), config.getBatchSize());
+                body.append('}');
+                return "";
+            }
+            default: {
+                int city = random.nextInt(dataset.getCityNames().size());
+                int from = dataset.randomPoint(random, city);
+                int to = dataset.randomPoint(random, city);
+                body.append('[');
+                CityDataset.appendLocation(body, false, dataset.getLng(from), dataset.getLat(from));
+                CityDataset.appendLocation(body, true, dataset.getLng(to), dataset.getLat(to));
+                body.append(']');
+                return "";
+            }
+        }
+    }
+
+    /**
+     * 发送 POST 请求并读完响应，响应码不是 200 或连接异常都算失败*
+     */
+    private static boolean post(String url, CharSequence body) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+            connection.setFixedLengthStreamingMode(bytes.length);
+            try (OutputStream output = connection.getOutputStream()) {
+                output.write(bytes);
+            }
+            int status = connection.getResponseCode();
+            // 读完响应体才能复用连接
+            try (InputStream input = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                drain(input);
+            }
+            return status == HttpURLConnection.HTTP_OK;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            return false;
+        }
+    }
+
+    private static void drain(InputStream input) throws IOException {
+        if (input == null) {
+            return;
+        }
+        byte[] buffer = new byte[8192];
+        while (input.read(buffer) >= 0) {
+            // 丢弃
+        }
+    }
+
+    /**
+     * 写出报告*
+     *
+     * @param report 报告
+     * @param output 输出文件
+     * @throws IOException
+     */
+    public static void write(Map<String, Object> report, Path output) throws IOException {
+        if (output.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(output.toAbsolutePath().getParent());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(bytes, report);
+        Files.write(output, bytes.toByteArray());
+    }
+
+}
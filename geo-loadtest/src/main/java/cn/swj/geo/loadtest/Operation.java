@@ -0,0 +1,67 @@
+package cn.swj.geo.loadtest;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 09:00
+ * @Description: 压测的请求类型，对应 geo-web 的接口
+ * @Version 1.0
+ */
+public enum Operation {
+
+    /**
+     * 单点判断是否在区域内*
+     */
+    POINT("point", "/geo/pointIsContainedRegion"),
+
+    /**
+     * 批量判断是否在区域内，自动取最大几何图形*
+     */
+    REGION("region", "/geo/pointListIsContainedRegion"),
+
+    /**
+     * 批量判断是否在按顺序组成的区域内*
+     */
+    SEQUENCE("sequence", "/geo/pointListIsContainedRegionSequence"),
+
+    /**
+     * 批量判断是否在圆内*
+     */
+    CIRCLE("circle", "/geo/pointListIsContainedRoundRegion"),
+
+    /**
+     * 批量判断到曲线的距离*
+     */
+    CURVE("curve", "/geo/calculateShortestDistanceFromCurve4Points"),
+
+    /**
+     * 两点距离*
+     */
+    DISTANCE("distance", "/geo/calculateDistance");
+
+    private final String code;
+
+    private final String path;
+
+    Operation(String code, String path) {
+        this.code = code;
+        this.path = path;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public static Operation of(String code) {
+        for (Operation operation : values()) {
+            if (operation.code.equalsIgnoreCase(code)) {
+                return operation;
+            }
+        }
+        throw new RuntimeException("unknown operation: " + code);
+    }
+
+}
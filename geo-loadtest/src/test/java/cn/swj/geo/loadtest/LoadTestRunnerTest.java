@@ -0,0 +1,67 @@
+package cn.swj.geo.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 11:20
+ * @Description: 用极小的配置跑一遍内嵌压测，检查每种请求都成功且报告可写出
+ * @Version 1.0
+ */
+class LoadTestRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void smoke() throws Exception {
+        Path output = tempDir.resolve("report.json");
+        LoadTestConfig config = LoadTestConfig.parse(new String[]{
+                "--concurrency=2", "--warmup=1", "--duration=2", "--points=10000", "--fences=2", "--circles=2",
+                "--routes=2", "--batch=50", "--mix=point:1,region:1,sequence:1,circle:1,curve:1,distance:1",
+                "--output=" + output
+        });
+        Map<String, Object> report = new LoadTestRunner(config).run();
+        LoadTestRunner.write(report, output);
+
+        Map<String, Object> total = (Map<String, Object>) report.get("total");
+        assertTrue(((Number) total.get("requests")).longValue() > 0);
+        assertEquals(0L, ((Number) total.get("errors")).longValue());
+        assertEquals(Operation.values().length, ((Map<String, Object>) report.get("operations")).size());
+        assertTrue(Files.size(output) > 0);
+        // 内嵌服务使用随机端口，不占用 application.yml 中的 8080
+        String baseUrl = (String) ((Map<String, Object>) report.get("environment")).get("baseUrl");
+        assertFalse(baseUrl.endsWith(":8080"), baseUrl);
+    }
+
+    @Test
+    void sameSeedSameDataset() {
+        LoadTestConfig config = LoadTestConfig.parse(new String[]{"--points=1000", "--fences=3"});
+        CityDataset first = CityDataset.generate(config);
+        CityDataset second = CityDataset.generate(config);
+        assertEquals(first.getFences().get(5).getJson(), second.getFences().get(5).getJson());
+        assertEquals(first.getLng(999), second.getLng(999));
+    }
+
+    @Test
+    void percentile() {
+        long[] sorted = new long[1000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = (i + 1) * 1000L;
+        }
+        assertEquals(500D, LatencyRecorder.percentile(sorted, 0.5));
+        assertEquals(990D, LatencyRecorder.percentile(sorted, 0.99));
+        assertEquals(999D, LatencyRecorder.percentile(sorted, 0.999));
+    }
+
+}
@@ -0,0 +1,387 @@
+package cn.swj.geo.projection;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.region.CompiledRegion;
+import cn.swj.geo.util.CoordinateParser;
+import cn.swj.geo.util.GeoUtil;
+import org.geotools.referencing.CRS;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.referencing.FactoryException;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.opengis.referencing.operation.MathTransform;
+import org.opengis.referencing.operation.TransformException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 09:30
+ * @Description: 投影平面计算模式。按作业区域选择局部投影坐标系（UTM 或 CGCS2000 3度带高斯-克吕格），
+ * 每个投影带的 MathTransform 只创建一次并缓存，区域和点位通过数组形式的 transform 一次性批量投影，
+ * 之后的包含、距离判断都是以米为单位的平面欧氏计算。
+ * 投影带外 3 度以内误差可以忽略，跨度更大的区域请拆分后再计算
+ * @Version 1.0
+ */
+public class MetricPlane {
+
+    /**
+     * 投影带类型*
+     */
+    public enum ZoneType {
+        // WGS84 / UTM 6度带
+        UTM,
+        // CGCS2000 / 3度带高斯-克吕格，中央经线 75E ~ 135E
+        CGCS2000_GK
+    }
+
+    private static final String WGS84_EPSG_CODE = "EPSG:4326";
+
+    private static final String CGCS2000_EPSG_CODE = "EPSG:4490";
+
+    // CGCS2000 / 3-degree Gauss-Kruger CM 75E 为 EPSG:4534，每 3 度加 1，到 CM 135E 为 EPSG:4554
+    private static final int CGCS2000_GK_FIRST_CODE = 4534;
+    private static final int CGCS2000_GK_FIRST_MERIDIAN = 75;
+    private static final int CGCS2000_GK_LAST_MERIDIAN = 135;
+
+    // 投影平面缓存，key 为投影坐标系编码
+    private static final ConcurrentHashMap<String, MetricPlane> PLANE_CACHE = new ConcurrentHashMap<>();
+
+    private final String crsCode;
+
+    private final MathTransform forward;
+
+    private final MathTransform inverse;
+
+    private MetricPlane(String crsCode, MathTransform forward, MathTransform inverse) {
+        this.crsCode = crsCode;
+        this.forward = forward;
+        this.inverse = inverse;
+    }
+
+    /**
+     * 按中心点选择投影带*
+     *
+     * @param zoneType 投影带类型
+     * @param lng      中心经度
+     * @param lat      中心纬度
+     * @return
+     */
+    public static MetricPlane forCenter(ZoneType zoneType, double lng, double lat) {
+        String sourceCode;
+        String targetCode;
+        if (zoneType == ZoneType.CGCS2000_GK) {
+            int meridian = (int) Math.round(lng / 3) * 3;
+            if (meridian < CGCS2000_GK_FIRST_MERIDIAN || meridian > CGCS2000_GK_LAST_MERIDIAN) {
+                throw new RuntimeException("lng is out of CGCS2000 Gauss-Kruger zones: " + lng);
+            }
+            sourceCode = CGCS2000_EPSG_CODE;
+            targetCode = "EPSG:" + (CGCS2000_GK_FIRST_CODE + (meridian - CGCS2000_GK_FIRST_MERIDIAN) / 3);
+        } else {
+            int zone = (int) Math.floor((lng + 180) / 6) + 1;
+            zone = Math.max(1, Math.min(60, zone));
+            sourceCode = WGS84_EPSG_CODE;
+            targetCode = "EPSG:" + ((lat >= 0 ? 32600 : 32700) + zone);
+        }
+        return PLANE_CACHE.computeIfAbsent(targetCode, code -> create(sourceCode, code));
+    }
+
+    /**
+     * 按点位的外包框中心选择投影带*
+     *
+     * @param zoneType        投影带类型
+     * @param locationDTOList 作业区域的点位
+     * @return
+     */
+    public static MetricPlane forLocations(ZoneType zoneType, List<LocationDTO> locationDTOList) {
+        if (CollectionUtil.isEmpty(locationDTOList)) {
+            throw new RuntimeException("locationDTOList is empty");
+        }
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (LocationDTO locationDTO : locationDTOList) {
+            locationDTO.check();
+            double lng = CoordinateParser.parse(locationDTO.getLng());
+            double lat = CoordinateParser.parse(locationDTO.getLat());
+            minX = Math.min(minX, lng);
+            maxX = Math.max(maxX, lng);
+            minY = Math.min(minY, lat);
+            maxY = Math.max(maxY, lat);
+        }
+        return forCenter(zoneType, (minX + maxX) / 2, (minY + maxY) / 2);
+    }
+
+    private static MetricPlane create(String sourceCode, String targetCode) {
+        try {
+            // 强制经度在前
+            CoordinateReferenceSystem source = CRS.decode(sourceCode, true);
+            CoordinateReferenceSystem target = CRS.decode(targetCode, true);
+            MathTransform forward = CRS.findMathTransform(source, target, true);
+            return new MetricPlane(targetCode, forward, forward.inverse());
+        } catch (FactoryException | TransformException e) {
+            throw new RuntimeException("创建投影转换失败: " + targetCode, e);
+        }
+    }
+
+    /**
+     * 批量投影，输入输出均为 [x0, y0, x1, y1, ...] 交错数组*
+     *
+     * @param lngLats 经纬度
+     * @return 平面坐标 以米为单位
+     */
+    public double[] project(double[] lngLats) {
+        return transform(forward, lngLats);
+    }
+
+    /**
+     * 批量反投影，输入输出均为 [x0, y0, x1, y1, ...] 交错数组*
+     *
+     * @param xys 平面坐标 以米为单位
+     * @return 经纬度
+     */
+    public double[] unproject(double[] xys) {
+        return transform(inverse, xys);
+    }
+
+    /**
+     * 批量投影点位*
+     *
+     * @param locationDTOList 点位
+     * @return 平面坐标 [x0, y0, x1, y1, ...]
+     */
+    public double[] project(List<LocationDTO> locationDTOList) {
+        double[] lngLats = new double[locationDTOList.size() * 2];
+        for (int i = 0; i < locationDTOList.size(); i++) {
+            LocationDTO locationDTO = locationDTOList.get(i);
+            lngLats[2 * i] = CoordinateParser.parse(locationDTO.getLng());
+            lngLats[2 * i + 1] = CoordinateParser.parse(locationDTO.getLat());
+        }
+        return project(lngLats);
+    }
+
+    /**
+     * 将经纬度几何图形整体投影，所有顶点只调用一次 transform*
+     *
+     * @param geometry 经纬度几何图形
+     * @return 平面几何图形
+     */
+    public Geometry project(Geometry geometry) {
+        Coordinate[] coordinates = geometry.getCoordinates();
+        double[] lngLats = new double[coordinates.length * 2];
+        for (int i = 0; i < coordinates.length; i++) {
+            lngLats[2 * i] = coordinates[i].x;
+            lngLats[2 * i + 1] = coordinates[i].y;
+        }
+        double[] xys = project(lngLats);
+
+        Geometry projected = geometry.copy();
+        // 与 getCoordinates 的遍历顺序一致
+        projected.apply(new CoordinateSequenceFilter() {
+            private int index;
+
+            @Override
+            public void filter(CoordinateSequence seq, int i) {
+                seq.setOrdinate(i, 0, xys[2 * index]);
+                seq.setOrdinate(i, 1, xys[2 * index + 1]);
+                index++;
+            }
+
+            @Override
+            public boolean isDone() {
+                return false;
+            }
+
+            @Override
+            public boolean isGeometryChanged() {
+                return true;
+            }
+        });
+        return projected;
+    }
+
+    /**
+     * 将区域投影后预编译，自动取最大几何图形*
+     *
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @return 平面上的预编译区域
+     */
+    public CompiledRegion compileRegion(List<LocationDTO> regionLocationDTOList) {
+        return new CompiledRegion(project(GeoUtil.compileRegion(regionLocationDTOList).getGeometry()));
+    }
+
+    /**
+     * 将区域按点位顺序投影后预编译*
+     *
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @return 平面上的预编译区域
+     */
+    public CompiledRegion compileRegionSequence(List<LocationDTO> regionLocationDTOList) {
+        return new CompiledRegion(project(GeoUtil.compileRegionSequence(regionLocationDTOList).getGeometry()));
+    }
+
+    /**
+     * 判断 locationDTOList 里面的点 是否在 regionLocationDTOList 这个区域中，自动取最大几何图形*
+     *
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @param locationDTOList       待比较的点
+     * @return 有在里面的点位信息
+     */
+    public List<LocationDTO> pointListIsContainedRegion(List<LocationDTO> regionLocationDTOList, List<LocationDTO> locationDTOList) {
+        pointListCheck(locationDTOList);
+        return filter(locationDTOList, compileRegion(regionLocationDTOList));
+    }
+
+    /**
+     * 按照 regionLocationDTOList 的点位顺序组成区域,并判断 locationDTOList 里的点位是否在这区域里面*
+     *
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @param locationDTOList       待比较的点
+     * @return 有在里面的点位信息
+     */
+    public List<LocationDTO> pointListIsContainedRegionSequence(List<LocationDTO> regionLocationDTOList, List<LocationDTO> locationDTOList) {
+        pointListCheck(locationDTOList);
+        return filter(locationDTOList, compileRegionSequence(regionLocationDTOList));
+    }
+
+    /**
+     * 判断 locationDTOList 这些坐标 是否在 roundnessDTO 这个圆中，圆为投影平面上以米为单位的真实圆*
+     *
+     * @param roundnessDTO    圆心和半径
+     * @param locationDTOList 待比较的点
+     * @return
+     */
+    public List<LocationDTO> pointListIsContainedRoundRegion(RoundnessDTO roundnessDTO, List<LocationDTO> locationDTOList) {
+        if (ObjectUtil.isEmpty(roundnessDTO)) {
+            throw new RuntimeException("roundnessDTO is null");
+        }
+        roundnessDTO.check();
+        pointListCheck(locationDTOList);
+
+        double radius = CoordinateParser.parse(roundnessDTO.getRadius());
+        double[] center = project(new double[]{CoordinateParser.parse(roundnessDTO.getCenterPoint().getLng()), CoordinateParser.parse(roundnessDTO.getCenterPoint().getLat())});
+        double radiusSq = radius * radius;
+
+        double[] xys = project(locationDTOList);
+        List<LocationDTO> resList = new ArrayList<>();
+        for (int i = 0; i < locationDTOList.size(); i++) {
+            double dx = xys[2 * i] - center[0];
+            double dy = xys[2 * i + 1] - center[1];
+            if (dx * dx + dy * dy < radiusSq) {
+                resList.add(locationDTOList.get(i));
+            }
+        }
+        return resList;
+    }
+
+    /**
+     * 判断多个点到 curveLocationDTOList 组成的曲线（走廊）的垂直最短距离是否不大于 distance*
+     *
+     * @param curveLocationDTOList 曲线的点
+     * @param locationDTOList      点位列表
+     * @param distance             指定最大距离 以米为单位
+     * @return
+     */
+    public List<LocationDTO> calculateShortestDistanceFromCurve4Points(List<LocationDTO> curveLocationDTOList, List<LocationDTO> locationDTOList, double distance) {
+        if (CollectionUtil.isEmpty(curveLocationDTOList) || curveLocationDTOList.size() < 2) {
+            throw new RuntimeException("curveLocationDTOList size must ge 2");
+        }
+        curveLocationDTOList.forEach(item -> item.check());
+        pointListCheck(locationDTOList);
+        if (distance <= 0) {
+            throw new RuntimeException("distance is le 0");
+        }
+
+        double[] curve = project(curveLocationDTOList);
+        double[] xys = project(locationDTOList);
+        double distanceSq = distance * distance;
+
+        List<LocationDTO> resList = new ArrayList<>();
+        for (int i = 0; i < locationDTOList.size(); i++) {
+            if (distanceSq(curve, xys[2 * i], xys[2 * i + 1]) <= distanceSq) {
+                resList.add(locationDTOList.get(i));
+            }
+        }
+        return resList;
+    }
+
+    /**
+     * 计算 startLocation 到每个点位的平面距离*
+     *
+     * @param startLocation   开始坐标
+     * @param locationDTOList 点位列表
+     * @return 按传入顺序排列的距离 以米为单位
+     */
+    public double[] calculateDistance(LocationDTO startLocation, List<LocationDTO> locationDTOList) {
+        startLocation.check();
+        pointListCheck(locationDTOList);
+
+        double[] start = project(new double[]{CoordinateParser.parse(startLocation.getLng()), CoordinateParser.parse(startLocation.getLat())});
+        double[] xys = project(locationDTOList);
+        double[] distances = new double[locationDTOList.size()];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = Math.hypot(xys[2 * i] - start[0], xys[2 * i + 1] - start[1]);
+        }
+        return distances;
+    }
+
+    public String getCrsCode() {
+        return crsCode;
+    }
+
+    // 点到折线的最短距离的平方
+    private static double distanceSq(double[] curve, double x, double y) {
+        double min = Double.MAX_VALUE;
+        for (int j = 0; j + 3 < curve.length; j += 2) {
+            double ax = curve[j], ay = curve[j + 1];
+            double dx = curve[j + 2] - ax, dy = curve[j + 3] - ay;
+            double lengthSq = dx * dx + dy * dy;
+            double t = lengthSq == 0 ? 0 : ((x - ax) * dx + (y - ay) * dy) / lengthSq;
+            t = t < 0 ? 0 : (t > 1 ? 1 : t);
+            double ex = ax + t * dx - x, ey = ay + t * dy - y;
+            double temp = ex * ex + ey * ey;
+            if (temp < min) {
+                min = temp;
+            }
+        }
+        return min;
+    }
+
+    private List<LocationDTO> filter(List<LocationDTO> locationDTOList, CompiledRegion compiledRegion) {
+        double[] xys = project(locationDTOList);
+        List<LocationDTO> resList = new ArrayList<>();
+        for (int i = 0; i < locationDTOList.size(); i++) {
+            if (compiledRegion.contains(xys[2 * i], xys[2 * i + 1])) {
+                resList.add(locationDTOList.get(i));
+            }
+        }
+        return resList;
+    }
+
+    //check params
+    private static void pointListCheck(List<LocationDTO> locationDTOList) {
+        if (CollectionUtil.isEmpty(locationDTOList)) {
+            throw new RuntimeException("locationDTOList is empty");
+        }
+        locationDTOList.forEach(item -> item.check());
+    }
+
+    private static double[] transform(MathTransform transform, double[] source) {
+        if (source.length % 2 != 0) {
+            throw new RuntimeException("coordinate array length must be even");
+        }
+        double[] target = new double[source.length];
+        try {
+            transform.transform(source, 0, target, 0, source.length / 2);
+        } catch (TransformException e) {
+            throw new RuntimeException("坐标投影失败", e);
+        }
+        return target;
+    }
+
+}
@@ -0,0 +1,62 @@
+package cn.swj.geo.projection;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.util.GeodesicUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 10:05
+ * @Description: MetricPlane 测试
+ * @Version 1.0
+ */
+class MetricPlaneTest {
+
+    @Test
+    void calculateDistance() {
+        LocationDTO start = new LocationDTO("113.12345", "34.56789");
+        List<LocationDTO> locationDTOList = new ArrayList<>();
+        locationDTOList.add(new LocationDTO("113.14321", "34.58765"));
+        locationDTOList.add(new LocationDTO("113.20000", "34.50000"));
+
+        for (MetricPlane.ZoneType zoneType : MetricPlane.ZoneType.values()) {
+            MetricPlane plane = MetricPlane.forLocations(zoneType, locationDTOList);
+            assertSame(plane, MetricPlane.forLocations(zoneType, locationDTOList));
+
+            double[] distances = plane.calculateDistance(start, locationDTOList);
+            for (int i = 0; i < distances.length; i++) {
+                LocationDTO locationDTO = locationDTOList.get(i);
+                double geodesic = GeodesicUtil.distance(113.12345, 34.56789,
+                        Double.parseDouble(locationDTO.getLng()), Double.parseDouble(locationDTO.getLat()));
+                assertEquals(geodesic, distances[i], geodesic * 0.01);
+            }
+
+            double[] lngLats = plane.unproject(plane.project(new double[]{113.12345, 34.56789}));
+            assertEquals(113.12345, lngLats[0], 1e-7);
+            assertEquals(34.56789, lngLats[1], 1e-7);
+        }
+    }
+
+    @Test
+    void pointListIsContainedRegion() {
+        List<LocationDTO> regionLocationDTOList = new ArrayList<>();
+        regionLocationDTOList.add(new LocationDTO("113.12345", "34.56789"));
+        regionLocationDTOList.add(new LocationDTO("113.54321", "34.98765"));
+        regionLocationDTOList.add(new LocationDTO("113.87654", "34.12345"));
+
+        List<LocationDTO> locationDTOList = new ArrayList<>();
+        locationDTOList.add(new LocationDTO("113.45678", "34.56789"));
+        locationDTOList.add(new LocationDTO("113.98765", "34.87654"));
+
+        MetricPlane plane = MetricPlane.forLocations(MetricPlane.ZoneType.CGCS2000_GK, regionLocationDTOList);
+        List<LocationDTO> resList = plane.pointListIsContainedRegion(regionLocationDTOList, locationDTOList);
+        assertEquals(1, resList.size());
+        assertEquals("113.45678", resList.get(0).getLng());
+    }
+
+}
@@ -0,0 +1,34 @@
+package cn.swj.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 15:10
+ * @Description: 基于 WebFlux 的响应式服务，大批量判断不再长时间占用 Tomcat 线程
+ * @Version 1.0
+ */
+@Slf4j
+@SpringBootApplication
+public class GeoReactiveApplication {
+
+    public static void main(String[] args) throws UnknownHostException {
+        ConfigurableApplicationContext applicationContext = SpringApplication.run(GeoReactiveApplication.class, args);
+        Environment env = applicationContext.getEnvironment();
+        String ip = InetAddress.getLocalHost().getHostAddress();
+        String port = env.getProperty("server.port");
+        log.info("\n------------------------------------------------------------------\n\t" +
+                "Application geoUtil reactive is running! Access URLs:\n\t" +
+                "Local: \t \t \t http://localhost:" + port + "/\n\t" +
+                "External: \t \t http://" + ip + ":" + port + "/\n" +
+                "------------------------------------------------------------------");
+    }
+
+}
@@ -0,0 +1,87 @@
+package cn.swj.geo.controller;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.dto.RouteLocationDTO;
+import cn.swj.geo.service.FenceRegistry;
+import cn.swj.geo.service.StreamClassifier;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 15:45
+ * @Description: 响应式接口。先登记围栏，再以 application/stream+json 流式提交点位，结果同样流式返回
+ * @Version 1.0
+ */
+@Api(tags = "响应式判断")
+@RestController
+@RequestMapping("/reactive")
+public class ReactiveGeoController {
+
+    private final FenceRegistry fenceRegistry;
+
+    private final StreamClassifier streamClassifier;
+
+    public ReactiveGeoController(FenceRegistry fenceRegistry, StreamClassifier streamClassifier) {
+        this.fenceRegistry = fenceRegistry;
+        this.streamClassifier = streamClassifier;
+    }
+
+    @ApiOperation("登记区域围栏")
+    @PutMapping("/fence/region/{fenceId}")
+    public Mono<Boolean> putRegion(@PathVariable String fenceId, @RequestParam(defaultValue = "false") boolean sequence,
+                                   @RequestBody List<LocationDTO> regionLocationDTOList) {
+        fenceRegistry.putRegion(fenceId, regionLocationDTOList, sequence);
+        return Mono.just(true);
+    }
+
+    @ApiOperation("登记圆形围栏")
+    @PutMapping("/fence/circle/{fenceId}")
+    public Mono<Boolean> putCircle(@PathVariable String fenceId, @RequestBody RoundnessDTO roundnessDTO) {
+        fenceRegistry.putCircle(fenceId, roundnessDTO);
+        return Mono.just(true);
+    }
+
+    @ApiOperation("登记线路")
+    @PutMapping("/fence/route/{routeId}")
+    public Mono<Boolean> putRoute(@PathVariable String routeId, @RequestBody List<LocationDTO> routeLocationDTOList) {
+        fenceRegistry.putRoute(routeId, routeLocationDTOList);
+        return Mono.just(true);
+    }
+
+    @ApiOperation("删除围栏或线路")
+    @DeleteMapping("/fence/{id}")
+    public Mono<Boolean> remove(@PathVariable String id) {
+        return Mono.just(fenceRegistry.remove(id));
+    }
+
+    @ApiOperation("流式返回在围栏内的点位")
+    @PostMapping(value = "/fence/{fenceId}/points", consumes = MediaType.APPLICATION_STREAM_JSON_VALUE, produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<LocationDTO> pointsContained(@PathVariable String fenceId, @RequestBody Flux<LocationDTO> locationDTOFlux) {
+        return streamClassifier.pointsContained(fenceRegistry.getFence(fenceId), locationDTOFlux);
+    }
+
+    @ApiOperation("流式返回在围栏内的对象")
+    @PostMapping(value = "/fence/{fenceId}/objs", consumes = MediaType.APPLICATION_STREAM_JSON_VALUE, produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<Map<String, Object>> objsContained(@PathVariable String fenceId,
+                                                   @RequestParam(defaultValue = "lng") String lngField,
+                                                   @RequestParam(defaultValue = "lat") String latField,
+                                                   @RequestBody Flux<Map<String, Object>> objFlux) {
+        return streamClassifier.objsContained(fenceRegistry.getFence(fenceId), objFlux, lngField, latField);
+    }
+
+    @ApiOperation("流式返回点位在线路上的位置")
+    @PostMapping(value = "/route/{routeId}/locate", consumes = MediaType.APPLICATION_STREAM_JSON_VALUE, produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<RouteLocationDTO> locate(@PathVariable String routeId, @RequestBody Flux<LocationDTO> locationDTOFlux) {
+        return streamClassifier.locate(fenceRegistry.getRoute(routeId), locationDTOFlux);
+    }
+
+}
@@ -0,0 +1,82 @@
+package cn.swj.geo.service;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.region.CoordinatePredicate;
+import cn.swj.geo.route.CompiledRoute;
+import cn.swj.geo.util.GeoUtil;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 15:20
+ * @Description: 预编译围栏登记，区域和圆形按 CoordinatePredicate 保存，线路单独保存，
+ * 编译只在登记时做一次，流式判断时直接读取
+ * @Version 1.0
+ */
+@Component
+public class FenceRegistry {
+
+    private final Map<String, CoordinatePredicate> fenceMap = new ConcurrentHashMap<>();
+
+    private final Map<String, CompiledRoute> routeMap = new ConcurrentHashMap<>();
+
+    /**
+     * 登记区域围栏*
+     *
+     * @param fenceId               围栏ID
+     * @param regionLocationDTOList 几何图形组成的点位
+     * @param sequence              是否按点位顺序组成区域，否则自动取最大几何图形
+     */
+    public void putRegion(String fenceId, List<LocationDTO> regionLocationDTOList, boolean sequence) {
+        fenceMap.put(fenceId, sequence ? GeoUtil.compileRegionSequence(regionLocationDTOList) : GeoUtil.compileRegion(regionLocationDTOList));
+    }
+
+    /**
+     * 登记圆形围栏*
+     *
+     * @param fenceId      围栏ID
+     * @param roundnessDTO 圆心和半径
+     */
+    public void putCircle(String fenceId, RoundnessDTO roundnessDTO) {
+        fenceMap.put(fenceId, GeoUtil.compileRoundRegion(roundnessDTO));
+    }
+
+    /**
+     * 登记线路*
+     *
+     * @param routeId              线路ID
+     * @param routeLocationDTOList 线路的点位
+     */
+    public void putRoute(String routeId, List<LocationDTO> routeLocationDTOList) {
+        routeMap.put(routeId, GeoUtil.compileRoute(routeLocationDTOList));
+    }
+
+    public boolean remove(String id) {
+        boolean removed = fenceMap.remove(id) != null;
+        return routeMap.remove(id) != null || removed;
+    }
+
+    public CoordinatePredicate getFence(String fenceId) {
+        CoordinatePredicate fence = fenceMap.get(fenceId);
+        if (fence == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "fence not found: " + fenceId);
+        }
+        return fence;
+    }
+
+    public CompiledRoute getRoute(String routeId) {
+        CompiledRoute route = routeMap.get(routeId);
+        if (route == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "route not found: " + routeId);
+        }
+        return route;
+    }
+
+}
@@ -0,0 +1,86 @@
+package cn.swj.geo.service;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RouteLocationDTO;
+import cn.swj.geo.region.CoordinatePredicate;
+import cn.swj.geo.route.CompiledRoute;
+import cn.swj.geo.util.CoordinateParser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.ParallelFlux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 15:30
+ * @Description: 在有限数量的并行轨道上对坐标流做判断。每条轨道只预取 prefetch 个元素，
+ * 客户端读得慢时下游需求减少，上游随之停止读取请求体，服务端缓冲量有上限。结果不保证与输入顺序一致
+ * @Version 1.0
+ */
+@Service
+public class StreamClassifier {
+
+    private final int rails;
+
+    private final int prefetch;
+
+    public StreamClassifier(@Value("${geo.reactive.rails:0}") int rails, @Value("${geo.reactive.prefetch:256}") int prefetch) {
+        this.rails = rails > 0 ? rails : Runtime.getRuntime().availableProcessors();
+        this.prefetch = Math.max(1, prefetch);
+    }
+
+    /**
+     * 过滤出在围栏内的点位，空的点位跳过*
+     *
+     * @param fence          预编译的区域或圆形
+     * @param locationDTOFlux 点位流
+     * @return
+     */
+    public Flux<LocationDTO> pointsContained(CoordinatePredicate fence, Flux<LocationDTO> locationDTOFlux) {
+        return rails(locationDTOFlux.filter(StreamClassifier::isNotEmpty))
+                .filter(item -> fence.test(CoordinateParser.parse(item.getLng()), CoordinateParser.parse(item.getLat())))
+                .sequential(prefetch);
+    }
+
+    /**
+     * 过滤出在围栏内的对象，没有经纬度字段的对象跳过*
+     *
+     * @param fence    预编译的区域或圆形
+     * @param objFlux  对象流
+     * @param lngField 经度字段
+     * @param latField 纬度字段
+     * @return
+     */
+    public Flux<Map<String, Object>> objsContained(CoordinatePredicate fence, Flux<Map<String, Object>> objFlux, String lngField, String latField) {
+        return rails(objFlux.filter(item -> ObjectUtil.isNotEmpty(item.get(lngField)) && ObjectUtil.isNotEmpty(item.get(latField))))
+                .filter(item -> fence.test(CoordinateParser.parse(String.valueOf(item.get(lngField))), CoordinateParser.parse(String.valueOf(item.get(latField)))))
+                .sequential(prefetch);
+    }
+
+    /**
+     * 计算每个点位在线路上的位置*
+     *
+     * @param route           预编译线路
+     * @param locationDTOFlux 点位流
+     * @return
+     */
+    public Flux<RouteLocationDTO> locate(CompiledRoute route, Flux<LocationDTO> locationDTOFlux) {
+        return rails(locationDTOFlux.filter(StreamClassifier::isNotEmpty))
+                .map(item -> route.locate(CoordinateParser.parse(item.getLng()), CoordinateParser.parse(item.getLat())))
+                .sequential(prefetch);
+    }
+
+    private <T> ParallelFlux<T> rails(Flux<T> flux) {
+        return flux.parallel(rails, prefetch).runOn(Schedulers.parallel(), prefetch);
+    }
+
+    private static boolean isNotEmpty(LocationDTO locationDTO) {
+        return ObjectUtil.isNotEmpty(locationDTO) && StrUtil.isAllNotBlank(locationDTO.getLng(), locationDTO.getLat());
+    }
+
+}
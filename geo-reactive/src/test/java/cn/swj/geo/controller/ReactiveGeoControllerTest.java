@@ -0,0 +1,53 @@
+package cn.swj.geo.controller;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.service.FenceRegistry;
+import cn.swj.geo.service.StreamClassifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Author swj
+ * @Date 2026/10/20 16:10
+ * @Description: ReactiveGeoController 测试
+ * @Version 1.0
+ */
+class ReactiveGeoControllerTest {
+
+    @Test
+    void pointsContained() {
+        WebTestClient client = WebTestClient.bindToController(new ReactiveGeoController(new FenceRegistry(), new StreamClassifier(2, 16))).build();
+
+        List<LocationDTO> regionLocationDTOList = new ArrayList<>();
+        regionLocationDTOList.add(new LocationDTO("113", "34"));
+        regionLocationDTOList.add(new LocationDTO("114", "34"));
+        regionLocationDTOList.add(new LocationDTO("114", "35"));
+        regionLocationDTOList.add(new LocationDTO("113", "35"));
+        client.put().uri("/reactive/fence/region/f1?sequence=true").bodyValue(regionLocationDTOList)
+                .exchange().expectStatus().isOk();
+
+        Flux<LocationDTO> points = Flux.range(0, 1000).map(i -> new LocationDTO(String.valueOf(112.501 + i * 0.002), "34.5"));
+        List<LocationDTO> resList = client.post().uri("/reactive/fence/f1/points")
+                .contentType(MediaType.APPLICATION_STREAM_JSON)
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .body(points, LocationDTO.class)
+                .exchange().expectStatus().isOk()
+                .returnResult(LocationDTO.class).getResponseBody().collectList().block();
+
+        // 113.0 ~ 114.0 之间的点
+        assertEquals(500, resList.size());
+
+        client.post().uri("/reactive/fence/none/points")
+                .contentType(MediaType.APPLICATION_STREAM_JSON)
+                .body(Flux.just(new LocationDTO("113.5", "34.5")), LocationDTO.class)
+                .exchange().expectStatus().isNotFound();
+    }
+
+}
@@ -0,0 +1,33 @@
+package cn.swj.geo.config;
+
+import cn.swj.geo.admission.AdmissionController;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 17:00
+ * @Description: 批量接口的准入控制，未配置时按 CPU 核数取默认并发上限
+ * @Version 1.0
+ */
+@Configuration
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionController admissionController(@Value("${geo.admission.small-max-cost:1000000}") long smallMaxCost,
+                                                   @Value("${geo.admission.medium-max-cost:100000000}") long mediumMaxCost,
+                                                   @Value("${geo.admission.max-cost:10000000000}") long maxCost,
+                                                   @Value("${geo.admission.small-permits:0}") int smallPermits,
+                                                   @Value("${geo.admission.medium-permits:0}") int mediumPermits,
+                                                   @Value("${geo.admission.large-permits:1}") int largePermits,
+                                                   @Value("${geo.admission.max-queue-length:64}") int maxQueueLength,
+                                                   @Value("${geo.admission.queue-timeout-millis:200}") long queueTimeoutMillis,
+                                                   @Value("${geo.admission.timeout-millis:10000}") long timeoutMillis) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return new AdmissionController(smallMaxCost, mediumMaxCost, maxCost,
+                smallPermits > 0 ? smallPermits : processors * 4, mediumPermits > 0 ? mediumPermits : processors, largePermits,
+                maxQueueLength, queueTimeoutMillis, timeoutMillis);
+    }
+
+}
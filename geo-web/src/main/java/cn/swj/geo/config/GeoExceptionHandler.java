@@ -0,0 +1,50 @@
+package cn.swj.geo.config;
+
+import cn.swj.geo.admission.AdmissionRejectedException;
+import cn.swj.geo.admission.DeadlineExceededException;
+import cn.swj.geo.util.GeoValidationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @Author swj
+ * @Date 2026/10/22 17:10
+ * @Description: 准入拒绝返回 429，执行超时返回 503，调用方可据此退避重试或拆小批次；
+ * GeoUtil 的参数校验失败（GeoValidationException）返回 400，其余异常按 500 处理
+ * @Version 1.0
+ */
+@RestControllerAdvice
+public class GeoExceptionHandler {
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> rejected(AdmissionRejectedException e) {
+        Map<String, Object> body = body(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        body.put("cost", e.getCost());
+        body.put("costClass", e.getCostClass());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(body);
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Map<String, Object>> deadlineExceeded(DeadlineExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+
+    @ExceptionHandler(GeoValidationException.class)
+    public ResponseEntity<Map<String, Object>> badRequest(GeoValidationException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    private static Map<String, Object> body(HttpStatus status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        return body;
+    }
+
+}
@@ -56,7 +56,7 @@ public class Knife4jConfig {
 
         return new ApiInfoBuilder()
                 .title("GeoUtil-API文档")
-                .description("基于GeoTools 23.0实现的GeoUtil")
+                .description("基于JTS实现的GeoUtil")
                 .version("1.0")
                 .contact(new Contact("swj", "", ""))
                 .build();
@@ -0,0 +1,81 @@
+package cn.swj.geo.controller;
+
+import cn.swj.geo.admission.AdmissionController;
+import cn.swj.geo.controller.param.GeoBatchParam;
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import cn.swj.geo.util.GeoUtil;
+import cn.swj.geo.util.GeoValidationException;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 17:10
+ * @Description: GeoUtil 的 HTTP 接口，批量接口经过准入控制
+ * @Version 1.0
+ */
+@Api(tags = "地理判断")
+@RestController
+@RequestMapping("/geo")
+public class GeoController {
+
+    private final AdmissionController admissionController;
+
+    public GeoController(AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    @ApiOperation("判断点位是否在区域内，自动取最大几何图形")
+    @PostMapping("/pointIsContainedRegion")
+    public boolean pointIsContainedRegion(@RequestParam String x, @RequestParam String y, @RequestBody List<LocationDTO> regionLocationDTOList) {
+        return GeoUtil.pointIsContainedRegion(regionLocationDTOList, x, y);
+    }
+
+    @ApiOperation("判断点位是否在圆内")
+    @PostMapping("/pointIsContainedRoundRegion")
+    public boolean pointIsContainedRoundRegion(@RequestParam String x, @RequestParam String y, @RequestBody RoundnessDTO roundnessDTO) {
+        return GeoUtil.pointIsContainedRoundRegion(roundnessDTO, x, y);
+    }
+
+    @ApiOperation("返回在区域内的点位，自动取最大几何图形")
+    @PostMapping("/pointListIsContainedRegion")
+    public List<LocationDTO> pointListIsContainedRegion(@RequestBody GeoBatchParam param) {
+        return admissionController.pointListIsContainedRegion(param.getRegionLocationDTOList(), param.getLocationDTOList());
+    }
+
+    @ApiOperation("返回按点位顺序组成的区域内的点位")
+    @PostMapping("/pointListIsContainedRegionSequence")
+    public List<LocationDTO> pointListIsContainedRegionSequence(@RequestBody GeoBatchParam param) {
+        return admissionController.pointListIsContainedRegionSequence(param.getRegionLocationDTOList(), param.getLocationDTOList());
+    }
+
+    @ApiOperation("返回在圆内的点位")
+    @PostMapping("/pointListIsContainedRoundRegion")
+    public List<LocationDTO> pointListIsContainedRoundRegion(@RequestBody GeoBatchParam param) {
+        return admissionController.pointListIsContainedRoundRegion(param.getRoundnessDTO(), param.getLocationDTOList());
+    }
+
+    @ApiOperation("返回到曲线距离不大于 distance 的点位")
+    @PostMapping("/calculateShortestDistanceFromCurve4Points")
+    public List<LocationDTO> calculateShortestDistanceFromCurve4Points(@RequestBody GeoBatchParam param) {
+        return admissionController.calculateShortestDistanceFromCurve4Points(param.getCurveLocationDTOList(), param.getLocationDTOList(), param.getDistance());
+    }
+
+    @ApiOperation("计算两点距离 以米为单位")
+    @PostMapping("/calculateDistance")
+    public String calculateDistance(@RequestBody List<LocationDTO> locationDTOList) {
+        if (locationDTOList == null || locationDTOList.size() < 2) {
+            throw new GeoValidationException("locationDTOList is empty or less than 2");
+        }
+        return GeoUtil.calculateDistance(locationDTOList.get(0), locationDTOList.get(1));
+    }
+
+}
@@ -0,0 +1,51 @@
+package cn.swj.geo.controller.param;
+
+import cn.swj.geo.dto.LocationDTO;
+import cn.swj.geo.dto.RoundnessDTO;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @Author swj
+ * @Date 2026/10/21 17:00
+ * @Description: 批量判断接口的参数，不同接口使用其中的不同字段
+ * @Version 1.0
+ */
+@Data
+@ApiModel(value = "批量判断参数")
+public class GeoBatchParam {
+
+    /**
+     * 几何图形组成的点位*
+     */
+    @ApiModelProperty(value = "区域点位")
+    private List<LocationDTO> regionLocationDTOList;
+
+    /**
+     * 圆心和半径*
+     */
+    @ApiModelProperty(value = "圆形区域")
+    private RoundnessDTO roundnessDTO;
+
+    /**
+     * 曲线的点*
+     */
+    @ApiModelProperty(value = "曲线点位")
+    private List<LocationDTO> curveLocationDTOList;
+
+    /**
+     * 待判断的点位*
+     */
+    @ApiModelProperty(value = "待判断的点位")
+    private List<LocationDTO> locationDTOList;
+
+    /**
+     * 指定最大距离 以米为单位*
+     */
+    @ApiModelProperty(value = "距离", notes = "以米为单位")
+    private String distance;
+
+}